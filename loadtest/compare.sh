@@ -0,0 +1,33 @@
+#!/usr/bin/env bash
+# Compara el rendimiento con hilos de plataforma y con hilos virtuales a alta concurrencia.
+# Requiere el jar construido (mvn -B package -DskipTests), la base de datos configurada y k6 instalado.
+# Uso: VUS=2000 DURATION=60s loadtest/compare.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=$(ls target/*.jar | grep -v original | head -n 1)
+BASE_URL=${BASE_URL:-http://localhost:8080}
+VUS=${VUS:-2000}
+DURATION=${DURATION:-60s}
+mkdir -p target/loadtest
+
+for virtual in false true; do
+    echo "== spring.threads.virtual.enabled=${virtual} =="
+    VIRTUAL_THREADS=${virtual} java -jar "${JAR}" > "target/loadtest/app-virtual-${virtual}.log" 2>&1 &
+    pid=$!
+    trap 'kill ${pid} 2>/dev/null || true' EXIT
+
+    until curl -s -o /dev/null "${BASE_URL}/ping"; do sleep 1; done
+
+    k6 run --quiet -e BASE_URL="${BASE_URL}" -e VUS="${VUS}" -e DURATION="${DURATION}" \
+        --summary-export "target/loadtest/summary-virtual-${virtual}.json" loadtest/oportunidades.js
+
+    kill "${pid}"
+    wait "${pid}" 2>/dev/null || true
+done
+
+for virtual in false true; do
+    printf 'virtual=%-5s ' "${virtual}"
+    jq -r '"req/s=\(.metrics.http_reqs.rate | floor)  p95=\(.metrics.http_req_duration["p(95)"] | floor)ms  p99=\(.metrics.http_req_duration["p(99)"] | floor)ms"' \
+        "target/loadtest/summary-virtual-${virtual}.json"
+done
@@ -0,0 +1,25 @@
+// Prueba de carga de lectura de oportunidades con k6 (https://k6.io).
+// Uso: k6 run -e BASE_URL=http://localhost:8080 -e VUS=2000 -e DURATION=60s loadtest/oportunidades.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+
+export const options = {
+    scenarios: {
+        lectura: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 2000),
+            duration: __ENV.DURATION || '60s',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+    const res = http.get(`${BASE_URL}/api/v1/users/empresas/oportunidades/todas/publicas?size=20`);
+    check(res, {
+        'status 200': (r) => r.status === 200,
+        'status 503': (r) => r.status === 503,
+    });
+}
@@ -0,0 +1,113 @@
+/**
+ * BenchmarkFixtures.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Datos y objetos de apoyo compartidos por los benchmarks JMH. Construye los servicios
+ * sin levantar el contexto de Spring, con la misma configuración por defecto que la aplicación.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.benchmarks;
+
+import com.example.demo1.config.JwtConfiguration;
+import com.example.demo1.models.entidades.Oportunidad;
+import com.example.demo1.models.entidades.Portafolio;
+import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.models.enums.EstadoOportunidad;
+import com.example.demo1.models.enums.RoleName;
+import com.example.demo1.models.enums.TipoArchivo;
+import com.example.demo1.repositories.IUserRepository;
+import com.example.demo1.security.TokenVersionCache;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Fábrica de configuración y entidades de ejemplo para los benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Configuración JWT con los valores por defecto de la aplicación.
+     * @param cacheMaxSize  tamaño de la caché de tokens verificados (0 la desactiva)
+     * @return              configuración JWT
+     */
+    static JwtConfiguration jwtConfiguration(int cacheMaxSize) {
+        JwtConfiguration configuration = new JwtConfiguration();
+        ReflectionTestUtils.setField(configuration, "jwtSecret", "w3bh00ks$3cr3t_wi7h_m0r3_than_32_chars");
+        ReflectionTestUtils.setField(configuration, "jwtExpirationMs", 86400000);
+        ReflectionTestUtils.setField(configuration, "jwtCacheMaxSize", cacheMaxSize);
+        ReflectionTestUtils.setField(configuration, "jwtStateless", true);
+        ReflectionTestUtils.setField(configuration, "tokenVersionTtlSeconds", 30L);
+        return configuration;
+    }
+
+    /**
+     * Registro de versiones de token sobre un repositorio simulado en el que todos los usuarios tienen la versión 0.
+     * @param configuration configuración JWT
+     * @return              registro de versiones de token
+     */
+    static TokenVersionCache tokenVersionCache(JwtConfiguration configuration) {
+        IUserRepository userRepository = mock(IUserRepository.class, withSettings().stubOnly());
+        when(userRepository.findTokenVersionById(anyLong())).thenReturn(Optional.of(0));
+        return new TokenVersionCache(userRepository, configuration);
+    }
+
+    static UserModel usuario() {
+        UserModel user = new UserModel();
+        user.setId_user(42L);
+        user.setUuid(UUID.fromString("2f1c7a5e-8a4b-4f0e-9d7c-3b2a1f0e9d8c"));
+        user.setUsername("artista");
+        user.setFirstName("Ana");
+        user.setLastName("García");
+        user.setEmail("artista@example.com");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuv");
+        user.setTypeUser(RoleName.ARTIST);
+        user.setVerified(true);
+        user.setLocation("Madrid");
+        user.setDescription("Guitarrista y compositora");
+        user.setCreatedAt(LocalDateTime.of(2025, 5, 1, 10, 0));
+        return user;
+    }
+
+    static Oportunidad oportunidad() {
+        Oportunidad oportunidad = new Oportunidad();
+        oportunidad.setId(7L);
+        oportunidad.setTitulo("Casting de guitarrista");
+        oportunidad.setDescripcion("Buscamos guitarrista para gira nacional de verano");
+        oportunidad.setCategoria("Música");
+        oportunidad.setRequisitos("Experiencia en directo");
+        oportunidad.setUbicacion("Madrid");
+        oportunidad.setFecha(LocalDateTime.of(2025, 5, 1, 12, 0));
+        oportunidad.setFechaCierre(LocalDateTime.of(2025, 6, 1, 12, 0));
+        oportunidad.setEstado(EstadoOportunidad.ABIERTO);
+        oportunidad.setUsuarioEmpresa(usuario());
+        return oportunidad;
+    }
+
+    static Portafolio portafolio() {
+        Portafolio portafolio = new Portafolio();
+        portafolio.setIdPortafolio(3L);
+        portafolio.setTitulo("Concierto acústico");
+        portafolio.setDescripcion("Grabación en directo");
+        portafolio.setTipoArchivo(TipoArchivo.AUDIO);
+        portafolio.setUrlArchivo("https://cdn.example.com/audio.mp3");
+        portafolio.setUrlImagen("https://cdn.example.com/portada.png");
+        portafolio.setDescripcionImagen("Portada");
+        portafolio.setEtiquetas(List.of("rock", "acústico", "directo"));
+        portafolio.setFechaCreacion(LocalDateTime.of(2025, 5, 2, 18, 0));
+        portafolio.setUserModel(usuario());
+        return portafolio;
+    }
+}
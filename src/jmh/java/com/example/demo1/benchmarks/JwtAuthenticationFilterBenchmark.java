@@ -0,0 +1,68 @@
+/**
+ * JwtAuthenticationFilterBenchmark.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Benchmark JMH del filtro de autenticación JWT con una cadena de filtros vacía,
+ * para medir el coste que añade a cada petición autenticada.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.benchmarks;
+
+import com.example.demo1.config.JwtConfiguration;
+import com.example.demo1.security.JwtAuthenticationFilter;
+import com.example.demo1.services.JwtTokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide JwtAuthenticationFilter.doFilterInternal (a través de doFilter) para una petición con token válido.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"0", "10000"})
+    public int cacheMaxSize;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtConfiguration configuration = BenchmarkFixtures.jwtConfiguration(cacheMaxSize);
+        JwtTokenService jwtTokenService =
+                new JwtTokenService(configuration, BenchmarkFixtures.tokenVersionCache(configuration), new SimpleMeterRegistry());
+        // En modo sin estado el filtro no consulta el UserDetailsService
+        filter = new JwtAuthenticationFilter(jwtTokenService, username -> {
+            throw new UsernameNotFoundException(username);
+        }, configuration);
+        authorization = "Bearer " + jwtTokenService.generateToken(BenchmarkFixtures.usuario());
+    }
+
+    @Benchmark
+    public void doFilter(Blackhole blackhole) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/portafolios/mis-portafolios");
+        request.setServletPath("/api/v1/users/portafolios/mis-portafolios");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+
+        filter.doFilter(request, response, chain);
+        SecurityContextHolder.clearContext();
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * JwtTokenServiceBenchmark.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Benchmarks JMH de la generación y verificación de tokens JWT, con y sin la caché
+ * de tokens verificados.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.benchmarks;
+
+import com.example.demo1.config.JwtConfiguration;
+import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.services.JwtTokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide las operaciones de JwtTokenService que se ejecutan en cada login y en cada petición autenticada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenServiceBenchmark {
+
+    /**
+     * Tamaño de la caché de tokens: 0 mide la verificación completa de la firma en cada llamada.
+     */
+    @Param({"0", "10000"})
+    public int cacheMaxSize;
+
+    private JwtTokenService jwtTokenService;
+    private UserModel user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtConfiguration configuration = BenchmarkFixtures.jwtConfiguration(cacheMaxSize);
+        jwtTokenService = new JwtTokenService(configuration, BenchmarkFixtures.tokenVersionCache(configuration),
+                new SimpleMeterRegistry());
+        user = BenchmarkFixtures.usuario();
+        token = jwtTokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenService.validateToken(token);
+    }
+
+    @Benchmark
+    public UUID getUuidFromToken() {
+        return jwtTokenService.getUuidFromToken(token);
+    }
+}
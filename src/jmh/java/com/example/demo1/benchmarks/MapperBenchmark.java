@@ -0,0 +1,64 @@
+/**
+ * MapperBenchmark.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Benchmarks JMH de los mappers de entidad a DTO usados en todos los listados.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.benchmarks;
+
+import com.example.demo1.mappers.OportunidadMapper;
+import com.example.demo1.mappers.PortafolioMapper;
+import com.example.demo1.mappers.UserMapper;
+import com.example.demo1.models.dtos.Oportunidad.OportunidadResponseDTO;
+import com.example.demo1.models.dtos.Portafolio.PortafolioPubliDTO;
+import com.example.demo1.models.dtos.UserModel.UserResponseDTO;
+import com.example.demo1.models.entidades.Oportunidad;
+import com.example.demo1.models.entidades.Portafolio;
+import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.services.PasswordEncoderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide OportunidadMapper.toResponseDTO, PortafolioMapper.toPubliDTO y UserMapper.toResponseDTO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private UserMapper userMapper;
+    private UserModel user;
+    private Oportunidad oportunidad;
+    private Portafolio portafolio;
+
+    @Setup
+    public void setUp() {
+        userMapper = new UserMapper(new PasswordEncoderService(new SimpleMeterRegistry()));
+        user = BenchmarkFixtures.usuario();
+        oportunidad = BenchmarkFixtures.oportunidad();
+        portafolio = BenchmarkFixtures.portafolio();
+    }
+
+    @Benchmark
+    public OportunidadResponseDTO oportunidadToResponseDTO() {
+        return OportunidadMapper.toResponseDTO(oportunidad);
+    }
+
+    @Benchmark
+    public PortafolioPubliDTO portafolioToPubliDTO() {
+        return PortafolioMapper.toPubliDTO(portafolio);
+    }
+
+    @Benchmark
+    public UserResponseDTO userToResponseDTO() {
+        return userMapper.toResponseDTO(user);
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * PasswordEncoderServiceBenchmark.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Benchmarks JMH del cifrado y la verificación de contraseñas con BCrypt,
+ * la operación más costosa del registro y del login.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.benchmarks;
+
+import com.example.demo1.services.PasswordEncoderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide PasswordEncoderService.encodePassword y matches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderServiceBenchmark {
+
+    private static final String PASSWORD = "password123";
+
+    private PasswordEncoderService passwordEncoderService;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        passwordEncoderService = new PasswordEncoderService(new SimpleMeterRegistry());
+        encoded = passwordEncoderService.encodePassword(PASSWORD);
+    }
+
+    @Benchmark
+    public String encodePassword() {
+        return passwordEncoderService.encodePassword(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoderService.matches(PASSWORD, encoded);
+    }
+}
@@ -0,0 +1,22 @@
+/**
+ * AsyncConfig.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Clase de configuración que habilita la ejecución de métodos {@code @Async}.
+ * El ejecutor lo crea Spring Boot: con spring.threads.virtual.enabled=true usa hilos virtuales
+ * y, en caso contrario, un pool de hilos de plataforma.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Habilita el soporte de {@code @Async}.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,73 @@
+/**
+ * DataSourcePoolConfiguration.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Clase de configuración que se activa con spring.threads.virtual.enabled=true y
+ * dimensiona el pool de conexiones HikariCP según los núcleos disponibles cuando no se indica un
+ * tamaño explícito. Con hilos virtuales el número de peticiones concurrentes deja de estar limitado
+ * por el pool de Tomcat, por lo que el pool de conexiones pasa a ser el recurso que hay que proteger.
+ * Con hilos de plataforma se mantienen los valores por defecto de Hikari.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuración del tamaño del pool de conexiones en el modo de hilos virtuales.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class DataSourcePoolConfiguration {
+
+    /**
+     * Tiempo máximo de espera por una conexión libre cuando no se configura
+     * spring.datasource.hikari.connection-timeout.
+     */
+    static final long DEFAULT_CONNECTION_TIMEOUT_MS = 3000;
+
+    /**
+     * Tamaño de pool recomendado por HikariCP para una base de datos en SSD: núcleos * 2 + 1.
+     * @return  número de conexiones del pool
+     */
+    public static int recommendedPoolSize() {
+        return Runtime.getRuntime().availableProcessors() * 2 + 1;
+    }
+
+    /**
+     * Ajusta el pool de Hikari con las propiedades que no se hayan configurado explícitamente:
+     * tamaño fijo (mínimo igual al máximo) según los núcleos y espera corta por conexión.
+     * @param environment   entorno con las propiedades de la aplicación
+     * @return              post-procesador del DataSource
+     */
+    @Bean
+    public static BeanPostProcessor hikariPoolSizer(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    configurar(hikari, environment);
+                }
+                return bean;
+            }
+        };
+    }
+
+    static void configurar(HikariDataSource hikari, Environment environment) {
+        if (!environment.containsProperty("spring.datasource.hikari.maximum-pool-size")) {
+            hikari.setMaximumPoolSize(recommendedPoolSize());
+        }
+        if (!environment.containsProperty("spring.datasource.hikari.minimum-idle")) {
+            hikari.setMinimumIdle(hikari.getMaximumPoolSize());
+        }
+        if (!environment.containsProperty("spring.datasource.hikari.connection-timeout")) {
+            hikari.setConnectionTimeout(DEFAULT_CONNECTION_TIMEOUT_MS);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * EmailOutboxConfiguration.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Clase de configuración que carga desde el archivo de propiedades los parámetros
+ * del envío en segundo plano de la bandeja de salida de correos.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la bandeja de salida de correos.
+ */
+@Getter
+@Configuration
+public class EmailOutboxConfiguration {
+
+    /**
+     * Número máximo de correos enviados por la misma conexión SMTP en cada ciclo.
+     * Valor por defecto: 50.
+     */
+    @Value("${email.outbox.batch-size:50}")
+    private int batchSize;
+
+    /**
+     * Número de intentos tras el cual un correo pasa al estado FALLIDO.
+     * Valor por defecto: 5.
+     */
+    @Value("${email.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    /**
+     * Espera antes del primer reintento, en milisegundos. Se duplica en cada intento fallido.
+     * Valor por defecto: 30000 ms (30 segundos).
+     */
+    @Value("${email.outbox.backoff-ms:30000}")
+    private long backoffMs;
+
+    /**
+     * Espera máxima entre reintentos, en milisegundos.
+     * Valor por defecto: 3600000 ms (1 hora).
+     */
+    @Value("${email.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    /**
+     * Tiempo durante el cual un lote reclamado pertenece a la instancia que lo envía, en milisegundos.
+     * Si la instancia cae antes de terminar, otra vuelve a reclamar los correos al vencer este plazo.
+     * Valor por defecto: 300000 ms (5 minutos).
+     */
+    @Value("${email.outbox.claim-timeout-ms:300000}")
+    private long claimTimeoutMs;
+
+    /**
+     * Calcula la espera antes del siguiente intento de un correo.
+     * @param intentos  número de intentos ya realizados (1 o más)
+     * @return          espera antes de reintentar
+     */
+    public Duration backoff(int intentos) {
+        int exponente = Math.min(Math.max(intentos - 1, 0), 30);
+        long espera = backoffMs << exponente;
+        if (espera <= 0 || espera > maxBackoffMs) {
+            espera = maxBackoffMs;
+        }
+        return Duration.ofMillis(espera);
+    }
+}
@@ -31,10 +31,42 @@ public class JwtConfiguration {
     private String jwtSecret;
 
     /**
-     * Tiempo de expiración del token JWT en milisegundos.
-     * Valor por defecto: 86400000 ms (24 horas).
+     * Tiempo de expiración del token JWT de acceso en milisegundos. Es corto porque la sesión se
+     * mantiene con el token de refresco.
+     * Valor por defecto: 900000 ms (15 minutos).
      */
-    @Value("${jwt.expiration:86400000}")
+    @Value("${jwt.expiration:900000}")
     private int jwtExpirationMs;
 
+    /**
+     * Tiempo de expiración de cada token de refresco en milisegundos; se renueva en cada rotación,
+     * por lo que la sesión caduca tras ese tiempo sin uso.
+     * Valor por defecto: 2592000000 ms (30 días).
+     */
+    @Value("${jwt.refresh.expiration-ms:2592000000}")
+    private long refreshExpirationMs;
+
+    /**
+     * Número máximo de tokens verificados que se mantienen en caché.
+     * Valor por defecto: 10000. Con 0 se desactiva la caché.
+     */
+    @Value("${jwt.cache.max-size:10000}")
+    private int jwtCacheMaxSize;
+
+    /**
+     * Modo de autenticación sin estado: construye la autenticación a partir de los claims
+     * del token sin consultar la base de datos en cada petición.
+     * Valor por defecto: true.
+     */
+    @Value("${jwt.stateless:true}")
+    private boolean jwtStateless;
+
+    /**
+     * Segundos que cada instancia reutiliza la versión de token de un usuario leída de la base de datos.
+     * Es el retraso máximo con el que una revocación hecha en otra instancia se aplica en esta.
+     * Valor por defecto: 30 segundos.
+     */
+    @Value("${jwt.token-version.ttl-seconds:30}")
+    private long tokenVersionTtlSeconds;
+
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+/**
+ * MediaStorageConfiguration.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Clase de configuración que carga desde el archivo de propiedades los parámetros
+ * del almacenamiento de imágenes subidas por los usuarios y de la generación de miniaturas.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del almacenamiento de imágenes.
+ */
+@Getter
+@Configuration
+public class MediaStorageConfiguration {
+
+    /**
+     * Directorio donde se guardan las imágenes. Las miniaturas se guardan en el subdirectorio "thumbs".
+     * Valor por defecto: upload-photo.
+     */
+    @Value("${media.storage.path:upload-photo}")
+    private String storagePath;
+
+    /**
+     * Prefijo de las URL públicas de las imágenes guardadas.
+     * Valor por defecto: /upload-photo/.
+     */
+    @Value("${media.public-url:/upload-photo/}")
+    private String publicUrl;
+
+    /**
+     * Lado mayor de las miniaturas, en píxeles.
+     * Valor por defecto: 320.
+     */
+    @Value("${media.thumbnail.size:320}")
+    private int thumbnailSize;
+
+    /**
+     * Píxeles máximos (ancho por alto) de una imagen para generar su miniatura. Las dimensiones se leen
+     * de la cabecera antes de decodificar; por encima de este límite no se genera miniatura.
+     * Valor por defecto: 40000000 (40 megapíxeles).
+     */
+    @Value("${media.thumbnail.max-pixels:40000000}")
+    private long thumbnailMaxPixels;
+
+    /**
+     * Hilos dedicados a generar miniaturas.
+     * Valor por defecto: 2.
+     */
+    @Value("${media.thumbnail.threads:2}")
+    private int thumbnailThreads;
+
+    /**
+     * Miniaturas pendientes que pueden esperar en cola. Si la cola está llena, la miniatura se descarta.
+     * Valor por defecto: 100.
+     */
+    @Value("${media.thumbnail.queue-capacity:100}")
+    private int thumbnailQueueCapacity;
+}
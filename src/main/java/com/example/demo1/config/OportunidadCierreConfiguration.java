@@ -0,0 +1,46 @@
+/**
+ * OportunidadCierreConfiguration.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Clase de configuración que carga desde el archivo de propiedades los parámetros
+ * del cierre automático de oportunidades vencidas.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuración del cierre automático de oportunidades.
+ */
+@Getter
+@Configuration
+public class OportunidadCierreConfiguration {
+
+    /**
+     * Número máximo de oportunidades cerradas en cada sentencia UPDATE.
+     * Valor por defecto: 500.
+     */
+    @Value("${oportunidades.cierre.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Tiempo máximo que una instancia mantiene el bloqueo de la tarea si no lo libera (por ejemplo, si se cae).
+     * Valor por defecto: 600000 ms (10 minutos).
+     */
+    @Value("${oportunidades.cierre.lock-at-most-ms:600000}")
+    private long lockAtMostMs;
+
+    /**
+     * Devuelve la duración máxima del bloqueo de la tarea.
+     * @return  duración máxima del bloqueo
+     */
+    public Duration lockAtMost() {
+        return Duration.ofMillis(lockAtMostMs);
+    }
+}
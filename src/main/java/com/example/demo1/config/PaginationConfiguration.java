@@ -0,0 +1,48 @@
+/**
+ * PaginationConfiguration.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Clase de configuración que carga desde el archivo de propiedades los tamaños
+ * de página usados en los listados paginados por cursor.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de la paginación de los listados.
+ */
+@Getter
+@Configuration
+public class PaginationConfiguration {
+
+    /**
+     * Tamaño de página cuando el cliente no indica ninguno.
+     * Valor por defecto: 20.
+     */
+    @Value("${pagination.default-size:20}")
+    private int defaultSize;
+
+    /**
+     * Tamaño máximo de página que puede solicitar un cliente.
+     * Valor por defecto: 100.
+     */
+    @Value("${pagination.max-size:100}")
+    private int maxSize;
+
+    /**
+     * Ajusta el tamaño solicitado por el cliente a los límites configurados.
+     * @param requested     tamaño solicitado (puede ser null)
+     * @return              tamaño de página entre 1 y el máximo configurado
+     */
+    public int resolveSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultSize;
+        }
+        return Math.min(requested, maxSize);
+    }
+}
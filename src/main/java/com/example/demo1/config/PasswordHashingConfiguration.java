@@ -0,0 +1,51 @@
+/**
+ * PasswordHashingConfiguration.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Clase de configuración que carga desde el archivo de propiedades los parámetros del
+ * ejecutor dedicado a las comprobaciones de contraseñas con BCrypt.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del ejecutor de BCrypt.
+ */
+@Getter
+@Configuration
+public class PasswordHashingConfiguration {
+
+    /**
+     * Hilos dedicados a calcular hashes BCrypt. Con 0 se usa un hilo por núcleo disponible.
+     * Valor por defecto: 0.
+     */
+    @Value("${security.bcrypt.threads:0}")
+    private int threads;
+
+    /**
+     * Comprobaciones que pueden esperar en cola. Si la cola está llena, la petición se rechaza con 503.
+     * Valor por defecto: 64.
+     */
+    @Value("${security.bcrypt.queue-capacity:64}")
+    private int queueCapacity;
+
+    /**
+     * Segundos que se indican al cliente en la cabecera Retry-After cuando se rechaza la petición.
+     * Valor por defecto: 1.
+     */
+    @Value("${security.bcrypt.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    /**
+     * Devuelve el número de hilos efectivo del ejecutor.
+     * @return  hilos configurados, o el número de núcleos si no se configuró ninguno
+     */
+    public int resolveThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
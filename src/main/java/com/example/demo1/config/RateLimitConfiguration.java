@@ -0,0 +1,127 @@
+/**
+ * RateLimitConfiguration.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Clase de configuración de la limitación de tasa de las rutas de autenticación.
+ * Define los límites por IP y por cuenta de cada ruta con el formato "capacidad/por-minuto"
+ * y el almacén de cubos: en memoria para una instancia o en base de datos (rate-limit.backend=jdbc)
+ * cuando hay varias instancias detrás de un balanceador.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.config;
+
+import com.example.demo1.repositories.IRateLimitBucketRepository;
+import com.example.demo1.security.InMemoryRateLimiter;
+import com.example.demo1.security.JdbcRateLimiter;
+import com.example.demo1.security.LimiteTasa;
+import com.example.demo1.security.RateLimitFilter;
+import com.example.demo1.security.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+/**
+ * Límites de tasa de login, registro y recuperación de contraseña.
+ */
+@Getter
+@Configuration
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfiguration {
+
+    /**
+     * Límite de intentos de login por IP. Valor por defecto: 20/10 (ráfaga de 20, 10 por minuto).
+     */
+    @Value("${rate-limit.login.ip:20/10}")
+    private String loginIp;
+
+    /**
+     * Límite de intentos de login por cuenta (email). Valor por defecto: 10/5.
+     */
+    @Value("${rate-limit.login.account:10/5}")
+    private String loginAccount;
+
+    /**
+     * Límite de registros por IP. Valor por defecto: 5/5.
+     */
+    @Value("${rate-limit.register.ip:5/5}")
+    private String registerIp;
+
+    /**
+     * Límite de registros por email. Valor por defecto: 3/1.
+     */
+    @Value("${rate-limit.register.account:3/1}")
+    private String registerAccount;
+
+    /**
+     * Límite de solicitudes de recuperación de contraseña por IP. Valor por defecto: 5/5.
+     */
+    @Value("${rate-limit.forgot-password.ip:5/5}")
+    private String forgotPasswordIp;
+
+    /**
+     * Límite de solicitudes de recuperación de contraseña por email. Valor por defecto: 3/1.
+     */
+    @Value("${rate-limit.forgot-password.account:3/1}")
+    private String forgotPasswordAccount;
+
+    /**
+     * Número máximo de cubos del almacén en memoria. Valor por defecto: 100000.
+     */
+    @Value("${rate-limit.memory.max-buckets:100000}")
+    private long maxBuckets;
+
+    /**
+     * Almacén de cubos en memoria, usado salvo que se configure rate-limit.backend=jdbc.
+     * @return  almacén en memoria
+     */
+    @Bean
+    @ConditionalOnProperty(name = "rate-limit.backend", havingValue = "memory", matchIfMissing = true)
+    public RateLimiter inMemoryRateLimiter() {
+        return new InMemoryRateLimiter(maxBuckets);
+    }
+
+    /**
+     * Almacén de cubos compartido en la base de datos, para varias instancias.
+     * @param rateLimitBucketRepository repositorio de cubos
+     * @return                          almacén compartido
+     */
+    @Bean
+    @ConditionalOnProperty(name = "rate-limit.backend", havingValue = "jdbc")
+    public RateLimiter jdbcRateLimiter(IRateLimitBucketRepository rateLimitBucketRepository) {
+        return new JdbcRateLimiter(rateLimitBucketRepository);
+    }
+
+    /**
+     * Registra el filtro de limitación de tasa antes del límite de concurrencia y de la cadena de seguridad,
+     * para que las peticiones rechazadas no ocupen turno.
+     * @param rateLimiter   almacén de cubos
+     * @param objectMapper  mapeador JSON de la aplicación
+     * @param meterRegistry registro de métricas
+     * @return              registro del filtro
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper,
+                                                                   MeterRegistry meterRegistry) {
+        List<RateLimitFilter.Ruta> rutas = List.of(
+                new RateLimitFilter.Ruta("login", "/api/v1/users/login",
+                        LimiteTasa.parse(loginIp), LimiteTasa.parse(loginAccount)),
+                new RateLimitFilter.Ruta("register", "/api/v1/users/register",
+                        LimiteTasa.parse(registerIp), LimiteTasa.parse(registerAccount)),
+                new RateLimitFilter.Ruta("forgot-password", "/api/v1/users/forgot-password",
+                        LimiteTasa.parse(forgotPasswordIp), LimiteTasa.parse(forgotPasswordAccount)));
+
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(rateLimiter, rutas, objectMapper, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+}
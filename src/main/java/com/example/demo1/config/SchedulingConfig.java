@@ -0,0 +1,21 @@
+/**
+ * SchedulingConfig.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Clase de configuración que habilita las tareas programadas de la aplicación,
+ * como el envío en segundo plano de la bandeja de salida de correos.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita el soporte de {@code @Scheduled}.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
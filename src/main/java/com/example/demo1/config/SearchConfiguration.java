@@ -0,0 +1,51 @@
+/**
+ * SearchConfiguration.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Clase de configuración del buscador de texto completo de oportunidades.
+ * Define el directorio donde se guarda el índice invertido (Lucene) a partir del archivo
+ * de propiedades de la aplicación.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.config;
+
+import lombok.Getter;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Configuración del índice de búsqueda de oportunidades.
+ */
+@Getter
+@Configuration
+public class SearchConfiguration {
+
+    /**
+     * Ruta en disco del índice de oportunidades. Si se deja vacía, el índice se mantiene en memoria
+     * y se reconstruye desde la base de datos en cada arranque.
+     * Valor por defecto: data/oportunidades-index.
+     */
+    @Value("${search.index.path:data/oportunidades-index}")
+    private String indexPath;
+
+    /**
+     * Directorio Lucene donde se almacena el índice de oportunidades.
+     * @return              directorio en disco o en memoria según la configuración
+     * @throws IOException  si no se puede abrir el directorio
+     */
+    @Bean(destroyMethod = "close")
+    public Directory oportunidadIndexDirectory() throws IOException {
+        if (indexPath == null || indexPath.isBlank()) {
+            return new ByteBuffersDirectory();
+        }
+        return FSDirectory.open(Paths.get(indexPath));
+    }
+}
@@ -11,6 +11,9 @@
 package com.example.demo1.config;
 
 import com.example.demo1.security.JwtAuthenticationFilter;
+import com.example.demo1.security.MeteredBCryptPasswordEncoder;
+import com.example.demo1.security.RutasPublicas;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -74,17 +77,14 @@ public class SecurityConfig {
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
-                        .requestMatchers("/api/v1/users/register").permitAll()
-                        .requestMatchers(HttpMethod.POST,"/api/v1/users/register").permitAll()
+                        // Los mismos matchers deciden en JwtAuthenticationFilter cuándo leer el token
+                        .requestMatchers(RutasPublicas.AUTENTICACION).permitAll()
+                        .requestMatchers(RutasPublicas.LECTURAS_PUBLICAS).permitAll()
                         .requestMatchers("/ping").permitAll()
-                        .requestMatchers(HttpMethod.POST,"/api/v1/users/login").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST,"/api/v1/portafolios/**").permitAll()
-                        .requestMatchers(HttpMethod.GET,"/api/v1/portafolios/**").permitAll()
-                        .requestMatchers(HttpMethod.GET,"/api/v1/users/**").permitAll()
-                        .requestMatchers(HttpMethod.GET,"/api/v1/users/uuid/{uuid}").permitAll()
                         .requestMatchers(HttpMethod.PUT, "/api/v1/users/uuid/**").permitAll()
                         .requestMatchers(HttpMethod.DELETE,"/api/v1/users/uuid/**").permitAll()
-                        .requestMatchers("/api/v1/users/forgot-password").permitAll()
                         .requestMatchers(HttpMethod.GET, "api/v1/**").permitAll()
                         .requestMatchers("/error").permitAll()
                         .requestMatchers("/api/v1/users/upload-photo/**").permitAll()
@@ -124,12 +124,13 @@ public class SecurityConfig {
     }
 
     /**
-     * Proporciona el codificador de contraseñas (BCrypt).
+     * Proporciona el codificador de contraseñas (BCrypt) con métricas de tiempo.
+     * @param meterRegistry registro de métricas
      * @return instancia de BCryptPasswordEncoder
      */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new MeteredBCryptPasswordEncoder(meterRegistry);
     }
 
     /**
@@ -143,7 +144,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(List.of("http://localhost:4200"));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
-        // configuration.setExposedHeaders(List.of("x-auth-token"));
+        configuration.setExposedHeaders(List.of("X-Next-Cursor", "X-Total-Count"));
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -0,0 +1,37 @@
+/**
+ * UserCacheConfiguration.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Clase de configuración que carga desde el archivo de propiedades el tamaño
+ * y el tiempo de vida de la caché de usuarios.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de la caché de consultas de usuarios.
+ */
+@Getter
+@Configuration
+public class UserCacheConfiguration {
+
+    /**
+     * Número máximo de usuarios guardados en la caché.
+     * Valor por defecto: 10000.
+     */
+    @Value("${user.cache.max-size:10000}")
+    private long maxSize;
+
+    /**
+     * Tiempo de vida de cada entrada, en segundos, desde que se carga. Es el retraso máximo con el que
+     * un nodo ve los cambios de rol o tipo de usuario hechos en otro, igual que jwt.token-version.ttl-seconds.
+     * Valor por defecto: 30 segundos.
+     */
+    @Value("${user.cache.ttl-seconds:30}")
+    private long ttlSeconds;
+}
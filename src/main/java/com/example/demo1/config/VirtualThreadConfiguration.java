@@ -0,0 +1,103 @@
+/**
+ * VirtualThreadConfiguration.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Clase de configuración que se activa con spring.threads.virtual.enabled=true.
+ * Spring Boot ya ejecuta Tomcat y las tareas {@code @Async} sobre hilos virtuales; esta clase
+ * limita cuántas peticiones y tareas asíncronas pueden estar en curso a la vez en función del
+ * tamaño del pool de conexiones, para que miles de hilos virtuales no se acumulen esperando
+ * una conexión a la base de datos.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.config;
+
+import com.example.demo1.filters.RequestConcurrencyFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Límites de concurrencia para el modo de hilos virtuales.
+ */
+@Getter
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+    /**
+     * Rutas de la API, las únicas que usan la base de datos. Las imágenes, Actuator y los recursos
+     * estáticos no ocupan conexiones y no se limitan.
+     */
+    private static final String RUTAS_API = "/api/*";
+
+    /**
+     * Número máximo de peticiones HTTP en curso. Con 0 se calcula como el tamaño del pool
+     * de conexiones multiplicado por server.virtual-threads.requests-per-connection.
+     */
+    @Value("${server.virtual-threads.max-concurrent-requests:0}")
+    private int maxConcurrentRequests;
+
+    /**
+     * Peticiones en curso admitidas por cada conexión del pool cuando no se fija un máximo.
+     * Valor por defecto: 4 (una petición usa la conexión solo durante parte de su ejecución).
+     */
+    @Value("${server.virtual-threads.requests-per-connection:4}")
+    private int requestsPerConnection;
+
+    /**
+     * Espera máxima de una petición para entrar, en milisegundos, antes de responder 503.
+     * Valor por defecto: 3000 ms.
+     */
+    @Value("${server.virtual-threads.queue-timeout-ms:3000}")
+    private long queueTimeoutMs;
+
+    /**
+     * Registra el filtro que limita las peticiones concurrentes a la API, antes de la cadena de seguridad.
+     * @param dataSource    DataSource de la aplicación, usado para conocer el tamaño del pool
+     * @return              registro del filtro
+     */
+    @Bean
+    public FilterRegistrationBean<RequestConcurrencyFilter> requestConcurrencyFilter(DataSource dataSource) {
+        int permits = maxConcurrentRequests > 0
+                ? maxConcurrentRequests
+                : poolSize(dataSource) * requestsPerConnection;
+
+        FilterRegistrationBean<RequestConcurrencyFilter> registration =
+                new FilterRegistrationBean<>(new RequestConcurrencyFilter(permits, queueTimeoutMs));
+        registration.addUrlPatterns(RUTAS_API);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /**
+     * Limita las tareas {@code @Async} simultáneas al tamaño del pool de conexiones, salvo que se haya
+     * configurado spring.task.execution.simple.concurrency-limit.
+     * @param dataSource    DataSource de la aplicación
+     * @param environment   entorno con las propiedades de la aplicación
+     * @return              personalización del ejecutor de hilos virtuales
+     */
+    @Bean
+    public SimpleAsyncTaskExecutorCustomizer asyncConcurrencyLimit(DataSource dataSource, Environment environment) {
+        return executor -> {
+            if (!environment.containsProperty("spring.task.execution.simple.concurrency-limit")) {
+                executor.setConcurrencyLimit(poolSize(dataSource));
+            }
+        };
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        return dataSource instanceof HikariDataSource hikari
+                ? hikari.getMaximumPoolSize()
+                : DataSourcePoolConfiguration.recommendedPoolSize();
+    }
+}
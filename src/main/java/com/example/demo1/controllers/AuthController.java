@@ -2,20 +2,26 @@
  * AuthController.java
  * Proyecto: Scénico -Plataforma para artistas emergentes
  * Descripción: Controlador REST que gestiona la autenticación de usuarios.
- * Expone endpoints para iniciar sesión y solicitar restablecimiento de contraseña.
+ * Expone endpoints para iniciar sesión, renovar y cerrar la sesión y solicitar restablecimiento de contraseña.
  * Autor: Andrea Johanna Villavicencio Lema
  * Fecha: Mayo de 2025
  * Email: johannna.villavicencio@gmail.com
  */
 package com.example.demo1.controllers;
 
+import com.example.demo1.config.JwtConfiguration;
+import com.example.demo1.config.PasswordHashingConfiguration;
+import com.example.demo1.models.dtos.ErrorResponseDTO;
 import com.example.demo1.models.dtos.auth.LoginRequestDTO;
 import com.example.demo1.models.dtos.auth.LoginResponseDTO;
+import com.example.demo1.models.dtos.auth.RefreshTokenRequestDTO;
 import com.example.demo1.models.entidades.UserModel;
 import com.example.demo1.services.AuthenticationService;
 import com.example.demo1.services.EmailService;
 import com.example.demo1.services.JwtTokenService;
+import com.example.demo1.services.RefreshTokenService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -26,6 +32,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 
 
@@ -36,24 +43,37 @@ public class AuthController {
     private final AuthenticationService authenticationService;
     private final JwtTokenService jwtTokenService;
     private final EmailService emailService;
+    private final PasswordHashingConfiguration passwordHashingConfiguration;
+    private final RefreshTokenService refreshTokenService;
+    private final JwtConfiguration jwtConfiguration;
 
     /**
      * Constructor que inyecta los servicios necesarios para la autenticación y gestión de usuarios.
-     * @param authenticationService     servicio de autenticación de usuarios
-     * @param jwtTokenService           servicio que genera los tokens
-     * @param emailService              servicio para el envío de correos electrónicos
+     * @param authenticationService         servicio de autenticación de usuarios
+     * @param jwtTokenService               servicio que genera los tokens
+     * @param emailService                  servicio para el envío de correos electrónicos
+     * @param passwordHashingConfiguration  configuración del ejecutor de BCrypt (cabecera Retry-After)
+     * @param refreshTokenService           servicio de tokens de refresco
+     * @param jwtConfiguration              configuración JWT (expiración del token de acceso)
      */
-    public AuthController(AuthenticationService authenticationService, JwtTokenService jwtTokenService, EmailService emailService) {
+    public AuthController(AuthenticationService authenticationService, JwtTokenService jwtTokenService,
+                          EmailService emailService, PasswordHashingConfiguration passwordHashingConfiguration,
+                          RefreshTokenService refreshTokenService, JwtConfiguration jwtConfiguration) {
         this.authenticationService = authenticationService;
         this.jwtTokenService = jwtTokenService;
         this.emailService = emailService;
+        this.passwordHashingConfiguration = passwordHashingConfiguration;
+        this.refreshTokenService = refreshTokenService;
+        this.jwtConfiguration = jwtConfiguration;
     }
 
     /**
      * Endpoint para iniciar sesión en la plataforma.
      * @param loginRequest      DTO con las credenciales del usuario (email y contraseña)
-     * @return                  ResponseEntity con DTO de respuesta con token y datos del usuario (200),
-     *                          da mensaje de error si las credenciales son inválidas (400)
+     * @return                  ResponseEntity con DTO de respuesta con token de acceso, token de refresco
+     *                          y datos del usuario (200),
+     *                          da mensaje de error si las credenciales son inválidas (400),
+     *                          si la comprobación de contraseñas está saturada (503 con Retry-After)
      *                          y en caso de error en el servidor, exception interna (500)
      */
     @PostMapping("/login")
@@ -64,31 +84,53 @@ public class AuthController {
                     loginRequest.getPassword()
             );
 
-            String jwt = jwtTokenService.generateToken(user);
-
-            // Obtener el único rol del usuario
-            String role = user.getTypeUser() != null
-                    ? user.getTypeUser().name()
-                    : "UNASSIGNED";
-
-            // Devolver la respuesta como DTO
-            return ResponseEntity.ok(new LoginResponseDTO(
-                    jwt,
-                    user.getId_user(),
-                    user.getUsername(),
-                    role
-            ));
+            return ResponseEntity.ok(toLoginResponse(user, refreshTokenService.emitir(user)));
 
         }  catch (BadCredentialsException e) {
             return ResponseEntity.badRequest().body("Credenciales inválidas");
+        } catch (RejectedExecutionException e) {
+            // El ejecutor de BCrypt está saturado: se rechaza al momento en lugar de encolar sin límite
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(passwordHashingConfiguration.getRetryAfterSeconds()))
+                    .body(new ErrorResponseDTO("Servicio saturado, inténtelo de nuevo en unos segundos", "SERVICE_UNAVAILABLE"));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body("Error en el servidor: " + e.getMessage());
         }
 
     }
 
+    /**
+     * Endpoint para renovar la sesión sin volver a enviar la contraseña. El token de refresco se canjea
+     * por un token de acceso nuevo y un token de refresco nuevo; el presentado deja de ser válido.
+     * @param request   DTO con el token de refresco
+     * @return          DTO de respuesta con los tokens nuevos (200) o error si el token no es válido,
+     *                  ha caducado o ya se había usado (401)
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshTokenRequestDTO request) {
+        return refreshTokenService.rotar(request.getRefreshToken())
+                .<ResponseEntity<?>>map(rotacion -> ResponseEntity.ok(
+                        toLoginResponse(rotacion.getUser(), rotacion.getRefreshToken())))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(new ErrorResponseDTO("Token de refresco inválido o caducado", "INVALID_REFRESH_TOKEN")));
+    }
+
+    /**
+     * Endpoint para cerrar la sesión a la que pertenece un token de refresco.
+     * Los tokens de acceso ya emitidos siguen siendo válidos hasta que expiran.
+     * @param request   DTO con el token de refresco
+     * @return          respuesta vacía (204), exista o no el token
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequestDTO request) {
+        refreshTokenService.revocar(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      *  Endpoint para solicitar el restablecimiento de contraseña.
+     *  El correo se encola en la bandeja de salida y se envía en segundo plano, por lo que la
+     *  respuesta no espera al servidor SMTP.
      * @param request       DTO con el email del usuario que solicita recuperación
      * @return              ResponseEntity devuelve un mensaje o error de acuerdo a la solicitud
      */
@@ -107,5 +149,21 @@ public class AuthController {
         return ResponseEntity.ok("Correo enviado");
     }
 
+    private LoginResponseDTO toLoginResponse(UserModel user, String refreshToken) {
+        // Obtener el único rol del usuario
+        String role = user.getTypeUser() != null
+                ? user.getTypeUser().name()
+                : "UNASSIGNED";
+
+        return new LoginResponseDTO(
+                jwtTokenService.generateToken(user),
+                user.getId_user(),
+                user.getUsername(),
+                role,
+                refreshToken,
+                jwtConfiguration.getJwtExpirationMs() / 1000L
+        );
+    }
+
 
 }
\ No newline at end of file
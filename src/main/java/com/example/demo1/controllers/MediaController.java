@@ -0,0 +1,209 @@
+/**
+ * MediaController.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Controlador que sirve los archivos guardados por el almacenamiento de medios.
+ * Como los archivos se nombran por su contenido, se publican con ETag fuerte y caché de larga
+ * duración; admite peticiones condicionales y rangos de bytes para poder avanzar en audio y vídeo.
+ * El contenido se envía sin pasar por el heap: con sendfile de Tomcat cuando está disponible
+ * y, si no, con {@link FileChannel#transferTo}.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.controllers;
+
+import com.example.demo1.services.MediaStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Controlador REST que sirve imágenes, miniaturas y demás archivos del almacenamiento de medios.
+ */
+@RestController
+public class MediaController {
+
+    /**
+     * Los archivos nunca cambian de contenido sin cambiar de nombre, por lo que pueden cachearse un año.
+     */
+    static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final Map<String, String> TIPOS = Map.of(
+            "jpg", "image/jpeg",
+            "png", "image/png",
+            "gif", "image/gif",
+            "webp", "image/webp",
+            "mp3", "audio/mpeg",
+            "ogg", "audio/ogg",
+            "wav", "audio/wav",
+            "mp4", "video/mp4",
+            "webm", "video/webm");
+
+    private final MediaStorageService mediaStorageService;
+
+    /**
+     * Constructor que inyecta el almacenamiento de medios.
+     * @param mediaStorageService   servicio de almacenamiento de medios
+     */
+    public MediaController(MediaStorageService mediaStorageService) {
+        this.mediaStorageService = mediaStorageService;
+    }
+
+    /**
+     * Sirve un archivo guardado.
+     * @param nombre    nombre del archivo ({@code <sha256>.<extensión>})
+     * @param request   petición HTTP
+     * @param response  respuesta HTTP
+     * @throws IOException si falla el envío
+     */
+    @GetMapping("/upload-photo/{nombre}")
+    public void servir(@PathVariable String nombre, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        enviar(mediaStorageService.buscar(nombre), request, response);
+    }
+
+    /**
+     * Sirve la miniatura de una imagen guardada.
+     * @param nombre    nombre de la miniatura ({@code <sha256>.jpg})
+     * @param request   petición HTTP
+     * @param response  respuesta HTTP
+     * @throws IOException si falla el envío
+     */
+    @GetMapping("/upload-photo/thumbs/{nombre}")
+    public void servirMiniatura(@PathVariable String nombre, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        enviar(mediaStorageService.buscarMiniatura(nombre), request, response);
+    }
+
+    private void enviar(Optional<Path> encontrado, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (encontrado.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        Path archivo = encontrado.get();
+        String nombre = archivo.getFileName().toString();
+        int punto = nombre.lastIndexOf('.');
+        String etag = "\"" + nombre.substring(0, punto) + "\"";
+        long longitud = Files.size(archivo);
+        long modificado = Files.getLastModifiedTime(archivo).toMillis();
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        // Responde 304 a If-None-Match / If-Modified-Since y añade ETag y Last-Modified a la respuesta
+        if (new ServletWebRequest(request, response).checkNotModified(etag, modificado)) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(TIPOS.getOrDefault(nombre.substring(punto + 1).toLowerCase(Locale.ROOT),
+                "application/octet-stream"));
+
+        long inicio = 0;
+        long fin = longitud - 1;
+        HttpRange rango = rangoSolicitado(request, etag, modificado);
+        if (rango != null) {
+            try {
+                inicio = rango.getRangeStart(longitud);
+                fin = rango.getRangeEnd(longitud);
+            } catch (IllegalArgumentException e) {
+                inicio = longitud;
+            }
+            if (inicio >= longitud || fin < inicio) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + longitud);
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + inicio + "-" + fin + "/" + longitud);
+        }
+
+        long cantidad = fin - inicio + 1;
+        response.setContentLengthLong(cantidad);
+        if (cantidad <= 0 || HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+        transferir(archivo, inicio, cantidad, request, response);
+    }
+
+    /**
+     * Devuelve el único rango de bytes solicitado, o null si no hay cabecera Range, está mal formada,
+     * pide varios rangos (se responde el archivo completo) o If-Range no coincide con el archivo actual.
+     */
+    private static HttpRange rangoSolicitado(HttpServletRequest request, String etag, long modificado) {
+        String cabecera = request.getHeader(HttpHeaders.RANGE);
+        if (cabecera == null || !coincideIfRange(request, etag, modificado)) {
+            return null;
+        }
+        try {
+            List<HttpRange> rangos = HttpRange.parseRanges(cabecera);
+            return rangos.size() == 1 ? rangos.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean coincideIfRange(HttpServletRequest request, String etag, long modificado) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == modificado / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Envía el tramo del archivo sin copiarlo al heap. Con Tomcat se delega en sendfile, que copia del
+     * disco al socket en el núcleo al terminar la petición; en otros contenedores se usa transferTo.
+     */
+    private static void transferir(Path archivo, long inicio, long cantidad, HttpServletRequest request,
+                                   HttpServletResponse response) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, archivo.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, inicio);
+            request.setAttribute(SENDFILE_END, inicio + cantidad);
+            return;
+        }
+
+        WritableByteChannel salida = Channels.newChannel(response.getOutputStream());
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long enviado = 0;
+            while (enviado < cantidad) {
+                long transferido = canal.transferTo(inicio + enviado, cantidad - enviado, salida);
+                if (transferido <= 0) {
+                    break;
+                }
+                enviado += transferido;
+            }
+        }
+    }
+}
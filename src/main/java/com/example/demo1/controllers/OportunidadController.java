@@ -20,12 +20,15 @@ import com.example.demo1.models.enums.EstadoOportunidad;
 import com.example.demo1.models.enums.RoleName;
 import com.example.demo1.repositories.IOportunidadRepository;
 import com.example.demo1.repositories.IUserRepository;
+import com.example.demo1.mappers.InvalidCursorException;
 import com.example.demo1.mappers.OportunidadMapper;
 import com.example.demo1.services.JwtTokenService;
 import com.example.demo1.services.OportunidadService;
 import com.example.demo1.services.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -38,10 +41,22 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("api/v1/users/empresas/oportunidades")
 public class OportunidadController {
+
+    /**
+     * Cabecera con el cursor de la página siguiente en los listados paginados.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Cabecera con el número total de resultados de una búsqueda de texto.
+     */
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     @Autowired
     private IOportunidadRepository oportunidadRepository;
     @Autowired
@@ -61,13 +76,14 @@ public class OportunidadController {
 
     @PostMapping
     public ResponseEntity<?> crearOportunidad(@Valid @RequestBody CrearOportunidadDTO dto) {
-        String token = jwtTokenService.resolveToken();
-        if (token == null) {
+        UUID uuid;
+        try {
+            uuid = jwtTokenService.getCurrentPrincipal().getUuid();
+        } catch (IllegalStateException e) {
             return ResponseEntity
                     .status(HttpStatus.UNAUTHORIZED)
                     .body(new ErrorResponseDTO("Token no proporcionado", "UNAUTHORIZED"));
         }
-        UUID uuid = jwtTokenService.getUuidFromToken(token);
 
         return userRepository.findByUuid(uuid)
                 .map(empresaUser -> {
@@ -79,7 +95,7 @@ public class OportunidadController {
                     nuevaOportunidad.setUsuarioEmpresa(empresaUser);
                     nuevaOportunidad.setFechaCierre(LocalDateTime.now().plusDays(30));
 
-                    Oportunidad savedOportunidad = oportunidadRepository.save(nuevaOportunidad);
+                    Oportunidad savedOportunidad = oportunidadService.crear(nuevaOportunidad);
                     return ResponseEntity
                             .status(HttpStatus.CREATED)
                             .body(OportunidadMapper.toResponseDTO(savedOportunidad));
@@ -95,32 +111,45 @@ public class OportunidadController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Lista una página de oportunidades, de la más reciente a la más antigua.
+     * Si hay más resultados, el cursor de la página siguiente se devuelve en la cabecera X-Next-Cursor.
+     * @param cursor    cursor de continuación de la página anterior (opcional)
+     * @param size      tamaño de página (opcional)
+     * @return          página de oportunidades
+     */
     @GetMapping("/todas/publicas")
-    public ResponseEntity<List<OportunidadResponseDTO>> findAll() {
-        List<OportunidadResponseDTO> oportunidades = oportunidadRepository.findAll().stream()
-                .map(OportunidadMapper::toResponseDTO)
-                .toList();
-
-        return ResponseEntity.ok(oportunidades);
+    public ResponseEntity<List<OportunidadResponseDTO>> findAll(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer size) {
+        return toPage(oportunidadService.listar(cursor, size), OportunidadMapper::toResponseDTO);
     }
 
+    /**
+     * Lista una página de oportunidades de una categoría.
+     * @param categoria categoría de la oportunidad
+     * @param cursor    cursor de continuación de la página anterior (opcional)
+     * @param size      tamaño de página (opcional)
+     * @return          página de oportunidades
+     */
     @GetMapping("/categoria/{categoria}")
-
-    public ResponseEntity<List<OportunidadResponseDTO>> findByCategoriaIgnoreCase(@PathVariable String categoria) {
-        List<OportunidadResponseDTO> oportunidades = oportunidadRepository
-                .findByCategoriaIgnoreCase(categoria).stream()
-                .map(OportunidadMapper::toResponseDTO)
-                .toList();
-        return ResponseEntity.ok(oportunidades);
+    public ResponseEntity<List<OportunidadResponseDTO>> findByCategoria(@PathVariable String categoria,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(required = false) Integer size) {
+        return toPage(oportunidadService.listarPorCategoria(categoria, cursor, size), OportunidadMapper::toResponseDTO);
     }
 
+    /**
+     * Lista una página de oportunidades en un estado.
+     * @param estadoOportunidad estado de la oportunidad
+     * @param cursor            cursor de continuación de la página anterior (opcional)
+     * @param size              tamaño de página (opcional)
+     * @return                  página de oportunidades
+     */
     @GetMapping("/estadoOportunidad/{estadoOportunidad}")
-    public ResponseEntity<List<OportunidadResponseDTO>> findByEstado(@PathVariable EstadoOportunidad estadoOportunidad) {
-        List<OportunidadResponseDTO> oportunidades = oportunidadRepository
-                .findByEstado(estadoOportunidad).stream()
-                .map(OportunidadMapper::toResponseDTO)
-                .toList();
-        return ResponseEntity.ok(oportunidades);
+    public ResponseEntity<List<OportunidadResponseDTO>> findByEstado(@PathVariable EstadoOportunidad estadoOportunidad,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(required = false) Integer size) {
+        return toPage(oportunidadService.listarPorEstado(estadoOportunidad, cursor, size), OportunidadMapper::toResponseDTO);
     }
 
     @GetMapping("/buscar")
@@ -134,13 +163,65 @@ public class OportunidadController {
         return ResponseEntity.ok(oportunidades);
     }
 
+    /**
+     * Busca oportunidades por palabras clave en título, descripción, requisitos y ubicación,
+     * ordenadas por relevancia. El total de coincidencias se devuelve en la cabecera X-Total-Count.
+     * @param q                     palabras clave (opcional)
+     * @param categoria             categoría (opcional)
+     * @param estadoOportunidad     estado de la oportunidad (opcional)
+     * @param ubicacion             ubicación (opcional)
+     * @param page                  número de página, empezando en 0 (opcional)
+     * @param size                  tamaño de página (opcional)
+     * @return                      página de oportunidades encontradas, o 400 si la consulta o la página no son válidas
+     */
+    @GetMapping("/buscar/texto")
+    public ResponseEntity<?> buscarTexto(@RequestParam(required = false) String q,
+                                                                    @RequestParam(required = false) String categoria,
+                                                                    @RequestParam(required = false) EstadoOportunidad estadoOportunidad,
+                                                                    @RequestParam(required = false) String ubicacion,
+                                                                    @RequestParam(required = false) Integer page,
+                                                                    @RequestParam(required = false) Integer size) {
+        Page<Oportunidad> resultado;
+        try {
+            resultado = oportunidadService.buscarTexto(q, categoria, estadoOportunidad, ubicacion, page, size);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponseDTO(e.getMessage(), "BAD_REQUEST"));
+        }
+        List<OportunidadResponseDTO> contenido = resultado.stream()
+                .map(OportunidadMapper::toResponseDTO)
+                .toList();
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(resultado.getTotalElements()))
+                .body(contenido);
+    }
+
 
+    /**
+     * Lista una página de oportunidades en su formato público.
+     * @param cursor    cursor de continuación de la página anterior (opcional)
+     * @param size      tamaño de página (opcional)
+     * @return          página de oportunidades públicas
+     */
     @GetMapping("/publicas")
-    public ResponseEntity<List<OportunidadPublicDTO>> listarOportunidadesPublico() {
-        List<OportunidadPublicDTO> oportunidades = oportunidadRepository.findAll().stream()
-                .map(OportunidadMapper::toOportunidadPublicDTO)
-                .toList();
-        return ResponseEntity.ok(oportunidades);
+    public ResponseEntity<List<OportunidadPublicDTO>> listarOportunidadesPublico(@RequestParam(required = false) String cursor,
+                                                                                 @RequestParam(required = false) Integer size) {
+        return toPage(oportunidadService.listar(cursor, size), OportunidadMapper::toOportunidadPublicDTO);
+    }
+
+    /**
+     * Convierte una ventana de oportunidades en la respuesta HTTP, añadiendo el cursor
+     * de la página siguiente en la cabecera X-Next-Cursor cuando hay más resultados.
+     * @param window    ventana de oportunidades
+     * @param mapper    conversión de cada oportunidad a su DTO
+     * @return          respuesta con la página de DTOs
+     */
+    private <T> ResponseEntity<List<T>> toPage(Window<Oportunidad> window, Function<Oportunidad, T> mapper) {
+        List<T> contenido = window.stream().map(mapper).toList();
+        String nextCursor = oportunidadService.nextCursor(window);
+        if (nextCursor == null) {
+            return ResponseEntity.ok(contenido);
+        }
+        return ResponseEntity.ok().header(NEXT_CURSOR_HEADER, nextCursor).body(contenido);
     }
 
     @PutMapping("/idOportunidad/{id}")
@@ -149,16 +230,9 @@ public class OportunidadController {
             @Valid @RequestBody CrearOportunidadDTO dto) {
 
 
-        String token = jwtTokenService.resolveToken();
-        if (token == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(new ErrorResponseDTO("Token no proporcionado", "UNAUTHORIZED"));
-        }
-
-
         UUID uuidUsuario;
         try {
-            uuidUsuario = jwtTokenService.getUuidFromToken(token);
+            uuidUsuario = jwtTokenService.getCurrentPrincipal().getUuid();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ErrorResponseDTO("Token inválido o expirado", "UNAUTHORIZED"));
@@ -205,11 +279,22 @@ public class OportunidadController {
                         return ResponseEntity.status(403)
                                 .body(new ErrorResponseDTO("No autorizado para eliminar esta oportunidad", "FORBIDDEN"));
                     }
-                    oportunidadRepository.delete(oportunidad);
+                    oportunidadService.eliminar(oportunidad);
                     return ResponseEntity.ok().build();
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
+    /**
+     * Manejador para cursores de paginación inválidos.
+     * @param ex    excepción capturada
+     * @return      DTO de error con código 400
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidCursor(InvalidCursorException ex) {
+        return ResponseEntity.badRequest()
+                .body(new ErrorResponseDTO(ex.getMessage(), "INVALID_CURSOR"));
+    }
+
     @ExceptionHandler(MethodValidationException.class)
     public ResponseEntity<ErrorResponseDTO> handleValidationExceptions(
             MethodArgumentNotValidException ex) {
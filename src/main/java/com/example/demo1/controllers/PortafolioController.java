@@ -68,10 +68,7 @@ public class PortafolioController {
     @PostMapping
     public ResponseEntity<?> crearPortafolio(@RequestBody @Valid PortafolioRequestDTO dto) {
 
-        String token = jwtTokenService.resolveToken();
-
-
-        UUID uuid = jwtTokenService.getUuidFromToken(token);
+        UUID uuid = jwtTokenService.getCurrentPrincipal().getUuid();
 
 
         UserModel user = userService.getByUuid(uuid);
@@ -146,8 +143,7 @@ public class PortafolioController {
             @RequestBody @Valid PortafolioRequestDTO dto) {
 
 
-        String token = jwtTokenService.resolveToken();
-        UUID uuid = jwtTokenService.getUuidFromToken(token);
+        UUID uuid = jwtTokenService.getCurrentPrincipal().getUuid();
         UserModel user = userService.getByUuid(uuid);
 
 
@@ -164,8 +160,7 @@ public class PortafolioController {
     @DeleteMapping("/username/{idPortafolio}")
     public ResponseEntity<?> eliminarPortafolioAuth(@PathVariable Long idPortafolio) {
 
-        String token = jwtTokenService.resolveToken();
-        UUID currentUserUuid = jwtTokenService.getUuidFromToken(token);
+        UUID currentUserUuid = jwtTokenService.getCurrentPrincipal().getUuid();
 
         Optional<Portafolio> optionalPortafolio = portafolioRepository.findById(idPortafolio);
 
@@ -179,7 +174,7 @@ public class PortafolioController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("No tienes permiso para eliminar este portafolio.");
         }
 
-        portafolioRepository.delete(portafolio);
+        portafolioService.eliminarPortafolio(portafolio.getIdPortafolio());
         return ResponseEntity.ok().build();
     }
 
@@ -191,7 +186,7 @@ public class PortafolioController {
     @DeleteMapping("/{idPortafolio}")
     public ResponseEntity<?> eliminarPortafolio(@PathVariable Long idPortafolio) {
        if (portafolioRepository.findById(idPortafolio).isPresent()) {
-           portafolioRepository.deleteById(idPortafolio);
+           portafolioService.eliminarPortafolio(idPortafolio);
            return ResponseEntity.ok().build();
        }else {
            return ResponseEntity.notFound().build();
@@ -203,18 +198,18 @@ public class PortafolioController {
      * Filtra portafolios por tipo de archivo y/o etiqueta.
      * @param tipoArchivo  tipo de archivo
      * @param etiqueta     etiqueta parcial
+     * @param prefijo      true para buscar solo etiquetas que empiecen por el texto indicado
      * @return             lista de portafolios que coinciden con los filtros
      */
     @GetMapping("/buscar")
-    public ResponseEntity<List<PortafolioPubliDTO>> buscarPorTipoArchivoAndEtiquetas(@RequestParam(required = false)TipoArchivo tipoArchivo, @RequestParam(required = false) String etiqueta) {
+    public ResponseEntity<List<PortafolioPubliDTO>> buscarPorTipoArchivoAndEtiquetas(@RequestParam(required = false)TipoArchivo tipoArchivo, @RequestParam(required = false) String etiqueta,
+                                                                                     @RequestParam(required = false, defaultValue = "false") boolean prefijo) {
 
         List<Portafolio> portafolios;
-        if (tipoArchivo != null && etiqueta != null) {
-            portafolios = portafolioRepository.findByTipoArchivoAndEtiquetasContainingIgnoreCase(tipoArchivo, etiqueta);
+        if (etiqueta != null) {
+            portafolios = portafolioService.buscarPorEtiqueta(tipoArchivo, etiqueta, prefijo);
         } else if (tipoArchivo != null) {
             portafolios = portafolioRepository.findByTipoArchivo(tipoArchivo);
-        } else if (etiqueta != null) {
-            portafolios = portafolioRepository.findByEtiquetaYTipoArchivo(tipoArchivo, etiqueta);
         } else {
             portafolios = portafolioRepository.findAll();
         }
@@ -1,5 +1,8 @@
 package com.example.demo1.controllers;
 
+import com.example.demo1.mappers.PostulacionMapper;
+import com.example.demo1.models.dtos.ErrorResponseDTO;
+import com.example.demo1.models.dtos.Postulacion.ActualizarEstadosPostulacionDTO;
 import com.example.demo1.models.entidades.Oportunidad;
 import com.example.demo1.models.entidades.Postulacion;
 import com.example.demo1.models.entidades.UserModel;
@@ -8,26 +11,39 @@ import com.example.demo1.models.enums.RoleName;
 import com.example.demo1.repositories.IOportunidadRepository;
 import com.example.demo1.repositories.IPostulacionRepository;
 import com.example.demo1.repositories.IUserRepository;
+import com.example.demo1.services.JwtTokenService;
+import com.example.demo1.services.PostulacionService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 
 import java.util.Optional;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/postulaciones")
 public class PostulacionController {
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     @Autowired
     private IPostulacionRepository postulacionRepository;
     @Autowired
     private IUserRepository userRepository;
     @Autowired
     private IOportunidadRepository oportunidadRepository;
+    @Autowired
+    private PostulacionService postulacionService;
+    @Autowired
+    private JwtTokenService jwtTokenService;
 
     @PostMapping("/{idArtista}/{idOportunidad}")
     public ResponseEntity<?> crearPostulacion(@PathVariable Long idArtista, @PathVariable Long idOportunidad,
-                                              @RequestBody(required = false) String mensaje)
+                                              @RequestBody(required = false) String mensaje,
+                                              @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey)
     {
         Optional<UserModel> artistaOptional = userRepository.findById(idArtista);
         Optional<Oportunidad> oportunidadOptional = oportunidadRepository.findById(idOportunidad);
@@ -42,8 +58,9 @@ public class PostulacionController {
         if(artista.getTypeUser() != RoleName.ARTIST) {
             return  ResponseEntity.status(403).body("Solo pueden artistas.");
         }
-        if(postulacionRepository.findByUsuarioArtistaAndOportunidad(artista, oportunidad).isPresent()) {
-            return ResponseEntity.badRequest().body("Han sido ocupadas todas las vacantes.");
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > 64)) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponseDTO("La cabecera Idempotency-Key debe tener entre 1 y 64 caracteres", "INVALID_IDEMPOTENCY_KEY"));
         }
 
         Postulacion postulacion = new Postulacion();
@@ -52,43 +69,85 @@ public class PostulacionController {
         postulacion.setMensaje(mensaje);
         postulacion.setEstadoPostulacion(EstadoPostulacion.PENDENTE);
         postulacion.setFecha(java.time.LocalDateTime.now());
-
-        return  ResponseEntity.ok(postulacionRepository.save(postulacion));
+        postulacion.setIdempotencyKey(idempotencyKey);
+
+        try {
+            return ResponseEntity.ok(PostulacionMapper.toResponseDTO(postulacionService.crear(postulacion)));
+        } catch (DataIntegrityViolationException e) {
+            // Reintento de una petición ya atendida: se devuelve la postulación original
+            return postulacionService.buscarReintento(idempotencyKey, idArtista, idOportunidad)
+                    .<ResponseEntity<?>>map(original -> ResponseEntity.ok(PostulacionMapper.toResponseDTO(original)))
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT)
+                            .body(new ErrorResponseDTO("El artista ya se ha postulado a esta oportunidad", "POSTULACION_DUPLICADA")));
+        }
 
     }
 
     @GetMapping("/artista/{idArtista}")
     public ResponseEntity<?> obtenerPostulacionesPorArtista(@PathVariable Long idArtista) {
-        Optional<UserModel> artista = userRepository.findById(idArtista);
-
-        if (artista.isEmpty()) {
+        if (!userRepository.existsById(idArtista)) {
             return ResponseEntity.notFound().build();
         }
 
-        return ResponseEntity.ok(postulacionRepository.findByUsuarioArtista(artista.get()));
+        return ResponseEntity.ok(postulacionRepository.findResumenByArtista(idArtista));
     }
 
     @GetMapping("/oportunidad/{idOportunidad}")
     public ResponseEntity<?> obtenerPostulacionesPorOportunidad(@PathVariable Long idOportunidad){
-        Optional<Oportunidad> oportunidad = oportunidadRepository.findById(idOportunidad);
-        if(oportunidad.isEmpty()){
+        if(!oportunidadRepository.existsById(idOportunidad)){
             return ResponseEntity.notFound().build();
 
         }
-        return ResponseEntity.ok(postulacionRepository.findByOportunidad(oportunidad.get()));
+        return ResponseEntity.ok(postulacionRepository.findResumenByOportunidad(idOportunidad));
+    }
+
+    @GetMapping("/oportunidad/{idOportunidad}/estadisticas")
+    public ResponseEntity<?> obtenerEstadisticasPorOportunidad(@PathVariable Long idOportunidad) {
+        return postulacionService.estadisticas(idOportunidad)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Cambia el estado de varias postulaciones de una oportunidad de la empresa autenticada.
+     * La propiedad de la oportunidad se comprueba una sola vez para todo el lote.
+     * @param idOportunidad identificador de la oportunidad
+     * @param dto           cambios de estado solicitados
+     * @return              resultado de cada cambio, en el orden recibido
+     */
+    @PatchMapping("/oportunidad/{idOportunidad}/estados")
+    public ResponseEntity<?> actualizarEstados(@PathVariable Long idOportunidad,
+                                               @Valid @RequestBody ActualizarEstadosPostulacionDTO dto) {
+        UUID uuidUsuario;
+        try {
+            uuidUsuario = jwtTokenService.getCurrentPrincipal().getUuid();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ErrorResponseDTO("Token inválido o expirado", "UNAUTHORIZED"));
+        }
+
+        Optional<Oportunidad> oportunidad = oportunidadRepository.findById(idOportunidad);
+        if (oportunidad.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        UserModel empresa = oportunidad.get().getUsuarioEmpresa();
+        if (empresa.getTypeUser() != RoleName.ENTERPRISE || !empresa.getUuid().equals(uuidUsuario)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ErrorResponseDTO("No autorizado para gestionar las postulaciones de esta oportunidad", "FORBIDDEN"));
+        }
+
+        return ResponseEntity.ok(postulacionService.actualizarEstados(idOportunidad, dto.getCambios()));
     }
 
     @GetMapping("/{idPostulacion}/estado")
     public ResponseEntity<?> actualizarEstado(@PathVariable Long idPostulacion, @RequestParam EstadoPostulacion nuevoEstado){
-        Optional<Postulacion> postulacion = postulacionRepository.findById(idPostulacion);
+        Optional<Postulacion> postulacion = postulacionService.actualizarEstado(idPostulacion, nuevoEstado);
         if(postulacion.isEmpty()){
             return ResponseEntity.notFound().build();
 
         }
 
-        Postulacion postulacion1 = postulacion.get();
-        postulacion1.setEstadoPostulacion(nuevoEstado);
-        return ResponseEntity.ok(postulacionRepository.save(postulacion1));
+        return ResponseEntity.ok(PostulacionMapper.toResponseDTO(postulacion.get()));
     }
 
 
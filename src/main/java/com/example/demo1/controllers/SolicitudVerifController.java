@@ -1,16 +1,21 @@
 package com.example.demo1.controllers;
 
+import com.example.demo1.mappers.InvalidCursorException;
 import com.example.demo1.mappers.SolicitudVerificacionMapper;
 import com.example.demo1.models.dtos.ErrorResponseDTO;
+import com.example.demo1.models.dtos.SolicitudVerificacion.ModerarSolicitudesDTO;
+import com.example.demo1.models.dtos.SolicitudVerificacion.ResultadoModeracionDTO;
 import com.example.demo1.models.dtos.SolicitudVerificacion.SolicitudVerificacionRequestDTO;
 import com.example.demo1.models.dtos.SolicitudVerificacion.SolicitudVerificacionResponseDTO;
 import com.example.demo1.models.enums.EstadoSolicitud;
+import com.example.demo1.models.enums.RoleName;
 import com.example.demo1.models.entidades.SolicitudVerificacion;
 import com.example.demo1.models.entidades.UserModel;
 import com.example.demo1.repositories.ISolucitudVerifRepository;
 import com.example.demo1.repositories.IUserRepository;
 import com.example.demo1.services.SolicitudVerificacionService;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -84,17 +89,31 @@ public class SolicitudVerifController {
     }
 
 
+    /**
+     * Lista una página de la cola de verificación, de la solicitud más antigua a la más reciente.
+     * Si hay más resultados, el cursor de la página siguiente se devuelve en la cabecera X-Next-Cursor.
+     * @param estado    estado de las solicitudes (opcional)
+     * @param rol       rol solicitado (opcional)
+     * @param cursor    cursor de continuación de la página anterior (opcional)
+     * @param size      tamaño de página (opcional)
+     * @return          página de solicitudes
+     */
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<SolicitudVerificacionResponseDTO>> getSolicitudesPorEstado(@RequestParam(required = false) EstadoSolicitud estado){
-        List<SolicitudVerificacion> solicitudes = estado != null ?
-                solicitudVerifRepository.findByEstadoSolicitud(estado) :
-                solicitudVerifRepository.findAll();
+    public ResponseEntity<List<SolicitudVerificacionResponseDTO>> getSolicitudesPorEstado(@RequestParam(required = false) EstadoSolicitud estado,
+                                                                                          @RequestParam(required = false) RoleName rol,
+                                                                                          @RequestParam(required = false) String cursor,
+                                                                                          @RequestParam(required = false) Integer size){
+        Window<SolicitudVerificacion> window = solicitudVerificacionService.listarCola(estado, rol, cursor, size);
 
-        List<SolicitudVerificacionResponseDTO> dtos = solicitudes.stream()
+        List<SolicitudVerificacionResponseDTO> dtos = window.stream()
                 .map(SolicitudVerificacionMapper::toResponseDTO)
                 .toList();
-        return ResponseEntity.ok(dtos);
+        String nextCursor = solicitudVerificacionService.nextCursor(window);
+        if (nextCursor == null) {
+            return ResponseEntity.ok(dtos);
+        }
+        return ResponseEntity.ok().header(OportunidadController.NEXT_CURSOR_HEADER, nextCursor).body(dtos);
     }
 
 
@@ -126,6 +145,30 @@ public class SolicitudVerifController {
     }
 
 
+    /**
+     * Aprueba o rechaza varias solicitudes de verificación en una sola operación.
+     * Las solicitudes que no se pueden resolver se indican en su resultado sin afectar al resto.
+     * @param dto   resoluciones a aplicar
+     * @return      resultado de cada resolución, en el orden recibido
+     */
+    @PutMapping("/moderar")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ResultadoModeracionDTO>> moderarSolicitudes(@Valid @RequestBody ModerarSolicitudesDTO dto) {
+        return ResponseEntity.ok(solicitudVerificacionService.moderarSolicitudes(dto.getDecisiones()));
+    }
+
+
+    /**
+     * Manejador para cursores de paginación inválidos.
+     * @param ex    excepción capturada
+     * @return      DTO de error con código 400
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidCursor(InvalidCursorException ex) {
+        return ResponseEntity.badRequest()
+                .body(new ErrorResponseDTO(ex.getMessage(), "INVALID_CURSOR"));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponseDTO> handleValidationExceptions(MethodArgumentNotValidException ex) {
         String message = ex.getBindingResult().getAllErrors().get(0).getDefaultMessage();
@@ -24,6 +24,8 @@ import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -144,13 +146,21 @@ public class UserController {
      * Permite a un usuario subir una imagen de perfil
      * @param file  archivo con la imagen
      * @param uuid  UUID del usuario de la imagen de perfil
-     * @return      URL pública de la imagen guardada
+     * @return      URL pública de la imagen guardada, 400 si el usuario no existe o el archivo no es una imagen,
+     *              o 500 si no se pudo escribir la imagen
      */
     @PostMapping("/upload-photo")
-    public ResponseEntity<String> uploadPhoto(@RequestParam("file") MultipartFile file,
-                                              @RequestParam("uuid") String uuid) {
-        String url = userService.saveProfileImage(uuid, file);
-        return ResponseEntity.ok(url); // devuelves la URL para mostrar
+    public ResponseEntity<?> uploadPhoto(@RequestParam("file") MultipartFile file,
+                                         @RequestParam("uuid") String uuid) {
+        try {
+            String url = userService.saveProfileImage(uuid, file);
+            return ResponseEntity.ok(url); // devuelves la URL para mostrar
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponseDTO(e.getMessage(), "ERROR_UPLOADING_PHOTO"));
+        } catch (UncheckedIOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponseDTO(e.getMessage(), "ERROR_STORING_PHOTO"));
+        }
     }
 
 }
@@ -0,0 +1,90 @@
+/**
+ * RequestConcurrencyFilter.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Filtro que limita el número de peticiones HTTP atendidas a la vez. Las peticiones
+ * que superan el límite esperan un tiempo acotado y, si no obtienen turno, reciben un 503 con la
+ * cabecera Retry-After en lugar de quedarse bloqueadas esperando una conexión a la base de datos.
+ * Las peticiones preflight de CORS no usan la base de datos y no se limitan.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro de limitación de concurrencia basado en un semáforo justo.
+ */
+public class RequestConcurrencyFilter extends OncePerRequestFilter {
+
+    private static final String BODY =
+            "{\"message\":\"Servidor ocupado, inténtelo de nuevo en unos segundos\",\"code\":\"SERVICE_UNAVAILABLE\"}";
+
+    private final Semaphore permits;
+    private final long queueTimeoutMs;
+
+    /**
+     * Constructor del filtro.
+     * @param maxConcurrentRequests     número máximo de peticiones en curso
+     * @param queueTimeoutMs            espera máxima para obtener turno, en milisegundos
+     */
+    public RequestConcurrencyFilter(int maxConcurrentRequests, long queueTimeoutMs) {
+        this.permits = new Semaphore(Math.max(1, maxConcurrentRequests), true);
+        this.queueTimeoutMs = queueTimeoutMs;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write(BODY);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Número de peticiones que pueden entrar en este momento sin esperar.
+     * @return  permisos libres
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * CursorMapper.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Clase utilitaria que convierte posiciones de paginación por clave (keyset)
+ * en cursores opacos para el cliente y viceversa. El cursor codifica la fecha y el
+ * identificador del último elemento devuelto.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.mappers;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Mapper entre {@link ScrollPosition} de Spring Data y cursores de continuación en Base64.
+ */
+public class CursorMapper {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Convierte una posición keyset en un cursor opaco.
+     * @param position          posición del último elemento de la página
+     * @param fechaProperty     nombre de la propiedad de fecha usada en la ordenación
+     * @param idProperty        nombre de la propiedad identificadora usada en la ordenación
+     * @return                  cursor codificado en Base64 URL-safe
+     * @throws IllegalArgumentException si la posición no es de tipo keyset
+     */
+    public static String toCursor(ScrollPosition position, String fechaProperty, String idProperty) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Solo se admiten posiciones keyset");
+        }
+        Map<String, ?> keys = keyset.getKeys();
+        String raw = keys.get(fechaProperty) + SEPARATOR + keys.get(idProperty);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Convierte un cursor recibido del cliente en una posición keyset.
+     * @param cursor            cursor opaco o null para la primera página
+     * @param fechaProperty     nombre de la propiedad de fecha usada en la ordenación
+     * @param idProperty        nombre de la propiedad identificadora usada en la ordenación
+     * @return                  posición desde la que continuar el listado
+     * @throws InvalidCursorException si el cursor no es válido
+     */
+    public static ScrollPosition toPosition(String cursor, String fechaProperty, String idProperty) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException(null);
+            }
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(fechaProperty, LocalDateTime.parse(raw.substring(0, separator)));
+            keys.put(idProperty, Long.parseLong(raw.substring(separator + 1)));
+            return ScrollPosition.forward(keys);
+        } catch (InvalidCursorException e) {
+            throw e;
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new InvalidCursorException(e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+/**
+ * InvalidCursorException.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Excepción lanzada cuando el cliente envía un cursor de paginación que no se puede
+ * decodificar. Los controladores la traducen a una respuesta 400.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.mappers;
+
+/**
+ * Cursor de continuación inválido recibido del cliente.
+ */
+public class InvalidCursorException extends IllegalArgumentException {
+
+    /**
+     * Crea la excepción con la causa del error de decodificación.
+     * @param cause excepción original, o null
+     */
+    public InvalidCursorException(Throwable cause) {
+        super("Cursor inválido", cause);
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * PostulacionMapper.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Clase utilitaria encargada de transformar entidades Postulacion en el DTO de respuesta
+ * que se expone al cliente, para no serializar el grafo completo de usuarios y oportunidades.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.mappers;
+
+import com.example.demo1.models.dtos.Postulacion.PostulacionResponseDTO;
+import com.example.demo1.models.entidades.Postulacion;
+
+/**
+ * Clase mapper para convertir la entidad Postulacion en su DTO de respuesta.
+ */
+public class PostulacionMapper {
+
+    /**
+     * Convierte una postulación ya cargada (por ejemplo, recién guardada) en su DTO de respuesta.
+     * Los listados no usan este método: se proyectan directamente desde el repositorio.
+     * @param postulacion   entidad Postulacion a convertir.
+     * @return              DTO con los datos de la postulación.
+     */
+    public static PostulacionResponseDTO toResponseDTO(Postulacion postulacion) {
+        return new PostulacionResponseDTO(
+                postulacion.getId(),
+                postulacion.getMensaje(),
+                postulacion.getFecha(),
+                postulacion.getEstadoPostulacion(),
+                postulacion.getUsuarioArtista().getId_user(),
+                postulacion.getUsuarioArtista().getUsername(),
+                postulacion.getOportunidad().getId(),
+                postulacion.getOportunidad().getTitulo());
+    }
+}
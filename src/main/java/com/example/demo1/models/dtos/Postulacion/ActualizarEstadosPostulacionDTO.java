@@ -0,0 +1,21 @@
+package com.example.demo1.models.dtos.Postulacion;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * DTO con los cambios de estado a aplicar sobre varias postulaciones de una misma oportunidad.
+ */
+@Getter
+@Setter
+public class ActualizarEstadosPostulacionDTO {
+
+    @NotEmpty(message = "Debe indicar al menos una postulación")
+    @Size(max = 500, message = "No se pueden actualizar más de 500 postulaciones a la vez")
+    private List<@Valid CambioEstadoPostulacionDTO> cambios;
+}
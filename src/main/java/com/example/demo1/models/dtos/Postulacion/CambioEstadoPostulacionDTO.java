@@ -0,0 +1,20 @@
+package com.example.demo1.models.dtos.Postulacion;
+
+import com.example.demo1.models.enums.EstadoPostulacion;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * DTO con el nuevo estado de una postulación dentro de un cambio masivo.
+ */
+@Getter
+@Setter
+public class CambioEstadoPostulacionDTO {
+
+    @NotNull(message = "El identificador de la postulación es obligatorio")
+    private Long idPostulacion;
+
+    @NotNull(message = "El nuevo estado es obligatorio")
+    private EstadoPostulacion nuevoEstado;
+}
@@ -0,0 +1,18 @@
+package com.example.demo1.models.dtos.Postulacion;
+
+import com.example.demo1.models.enums.EstadoPostulacion;
+import lombok.Getter;
+
+/**
+ * Proyección con el estado actual de una postulación, usada para calcular un cambio masivo sin cargar entidades.
+ */
+@Getter
+public class EstadoPostulacionDTO {
+    private final Long idPostulacion;
+    private final EstadoPostulacion estado;
+
+    public EstadoPostulacionDTO(Long idPostulacion, EstadoPostulacion estado) {
+        this.idPostulacion = idPostulacion;
+        this.estado = estado;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.demo1.models.dtos.Postulacion;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * DTO con el número de postulaciones de una oportunidad en cada estado.
+ */
+@Setter
+@Getter
+public class PostulacionEstadisticasDTO {
+    private Long idOportunidad;
+    private long pendientes;
+    private long aceptadas;
+    private long rechazadas;
+    private long total;
+
+    public PostulacionEstadisticasDTO(Long idOportunidad, long pendientes, long aceptadas, long rechazadas) {
+        this.idOportunidad = idOportunidad;
+        this.pendientes = pendientes;
+        this.aceptadas = aceptadas;
+        this.rechazadas = rechazadas;
+        this.total = pendientes + aceptadas + rechazadas;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo1.models.dtos.Postulacion;
+
+import com.example.demo1.models.enums.EstadoPostulacion;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de respuesta de una postulación con los datos básicos del artista y de la oportunidad.
+ * Se construye directamente desde las consultas de IPostulacionRepository, sin cargar entidades.
+ */
+@Setter
+@Getter
+public class PostulacionResponseDTO {
+    private Long id;
+    private String mensaje;
+    private LocalDateTime fecha;
+    private EstadoPostulacion estadoPostulacion;
+    private Long idArtista;
+    private String usernameArtista;
+    private Long idOportunidad;
+    private String tituloOportunidad;
+
+    public PostulacionResponseDTO(Long id, String mensaje, LocalDateTime fecha, EstadoPostulacion estadoPostulacion,
+                                  Long idArtista, String usernameArtista, Long idOportunidad, String tituloOportunidad) {
+        this.id = id;
+        this.mensaje = mensaje;
+        this.fecha = fecha;
+        this.estadoPostulacion = estadoPostulacion;
+        this.idArtista = idArtista;
+        this.usernameArtista = usernameArtista;
+        this.idOportunidad = idOportunidad;
+        this.tituloOportunidad = tituloOportunidad;
+    }
+}
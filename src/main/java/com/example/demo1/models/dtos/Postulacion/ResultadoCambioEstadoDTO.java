@@ -0,0 +1,23 @@
+package com.example.demo1.models.dtos.Postulacion;
+
+import com.example.demo1.models.enums.EstadoPostulacion;
+import com.example.demo1.models.enums.ResultadoCambioEstado;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * DTO con el resultado del cambio de estado de una postulación dentro de un lote.
+ */
+@Getter
+@Setter
+public class ResultadoCambioEstadoDTO {
+    private Long idPostulacion;
+    private EstadoPostulacion nuevoEstado;
+    private ResultadoCambioEstado resultado;
+
+    public ResultadoCambioEstadoDTO(Long idPostulacion, EstadoPostulacion nuevoEstado, ResultadoCambioEstado resultado) {
+        this.idPostulacion = idPostulacion;
+        this.nuevoEstado = nuevoEstado;
+        this.resultado = resultado;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.demo1.models.dtos.SolicitudVerificacion;
+
+import com.example.demo1.models.enums.EstadoSolicitud;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * DTO con la resolución de una solicitud de verificación dentro de una moderación masiva.
+ * El nuevo estado debe ser ACEPTADO o RECHAZADO; los rechazos requieren observaciones.
+ */
+@Getter
+@Setter
+public class DecisionSolicitudDTO {
+
+    @NotNull(message = "El identificador de la solicitud es obligatorio")
+    private Long idSolicitud;
+
+    @NotNull(message = "El nuevo estado es obligatorio")
+    private EstadoSolicitud nuevoEstado;
+
+    private String observacionAdmin;
+}
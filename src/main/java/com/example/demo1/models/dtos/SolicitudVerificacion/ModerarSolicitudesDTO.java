@@ -0,0 +1,21 @@
+package com.example.demo1.models.dtos.SolicitudVerificacion;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * DTO con las resoluciones a aplicar sobre varias solicitudes de verificación.
+ */
+@Getter
+@Setter
+public class ModerarSolicitudesDTO {
+
+    @NotEmpty(message = "Debe indicar al menos una solicitud")
+    @Size(max = 500, message = "No se pueden moderar más de 500 solicitudes a la vez")
+    private List<@Valid DecisionSolicitudDTO> decisiones;
+}
@@ -0,0 +1,25 @@
+package com.example.demo1.models.dtos.SolicitudVerificacion;
+
+import com.example.demo1.models.enums.EstadoSolicitud;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * DTO con el resultado de la resolución de una solicitud dentro de una moderación masiva.
+ * Si no se pudo procesar, el mensaje indica el motivo y la solicitud queda sin cambios.
+ */
+@Setter
+@Getter
+public class ResultadoModeracionDTO {
+    private Long idSolicitud;
+    private boolean procesada;
+    private EstadoSolicitud estadoSolicitud;
+    private String mensaje;
+
+    public ResultadoModeracionDTO(Long idSolicitud, boolean procesada, EstadoSolicitud estadoSolicitud, String mensaje) {
+        this.idSolicitud = idSolicitud;
+        this.procesada = procesada;
+        this.estadoSolicitud = estadoSolicitud;
+        this.mensaje = mensaje;
+    }
+}
@@ -11,6 +11,8 @@ public class LoginResponseDTO {
     private Long userId;
     private String username;
     private String roles;
+    private String refreshToken;
+    private long expiresIn;
 
     public LoginResponseDTO(String token, Long userId, String username, String roles) {
         this.token = token;
@@ -18,4 +20,11 @@ public class LoginResponseDTO {
         this.username = username;
         this.roles = roles;
     }
+
+    public LoginResponseDTO(String token, Long userId, String username, String roles,
+                            String refreshToken, long expiresIn) {
+        this(token, userId, username, roles);
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.example.demo1.models.dtos.auth;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class RefreshTokenRequestDTO {
+
+    @NotBlank(message = "El token de refresco es obligatorio")
+    private String refreshToken;
+}
@@ -0,0 +1,100 @@
+/**
+ * EmailOutbox.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Entidad que representa un correo electrónico en la bandeja de salida persistente.
+ * Los correos se encolan en la misma petición HTTP y un proceso en segundo plano los envía
+ * por lotes, con reintentos y un estado final de fallo.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.models.entidades;
+
+import com.example.demo1.models.enums.EstadoEmail;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA de un correo pendiente de envío.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_estado_proximo", columnList = "estado, proximo_intento, id")
+})
+public class EmailOutbox {
+
+    /**
+     * Identificador único del correo.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Dirección de correo del destinatario.
+     */
+    @Column(nullable = false)
+    private String destinatario;
+
+    /**
+     * Asunto del correo.
+     */
+    @Column(nullable = false)
+    private String asunto;
+
+    /**
+     * Cuerpo del correo en formato HTML.
+     */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String cuerpo;
+
+    /**
+     * Estado del correo en la bandeja de salida. Se guarda como VARCHAR, y no como ENUM de MySQL,
+     * para que añadir un estado no obligue a alterar la columna.
+     */
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 20)
+    private EstadoEmail estado = EstadoEmail.PENDIENTE;
+
+    /**
+     * Número de intentos de envío realizados.
+     */
+    private int intentos;
+
+    /**
+     * Momento a partir del cual se puede volver a intentar el envío. Mientras el correo está
+     * en estado ENVIANDO, es el momento en que vence la reclamación.
+     */
+    @Column(name = "proximo_intento", nullable = false)
+    private LocalDateTime proximoIntento = LocalDateTime.now();
+
+    /**
+     * Identificador del lote que ha reclamado el correo para enviarlo, o null si no está reclamado.
+     */
+    @Column(name = "reclamado_por", length = 36)
+    private String reclamadoPor;
+
+    /**
+     * Último error devuelto por el servidor SMTP.
+     */
+    @Column(length = 1000)
+    private String ultimoError;
+
+    /**
+     * Fecha en la que se encoló el correo.
+     */
+    private LocalDateTime fechaCreacion = LocalDateTime.now();
+
+    /**
+     * Fecha en la que se entregó el correo al servidor SMTP.
+     */
+    private LocalDateTime fechaEnvio;
+}
@@ -0,0 +1,55 @@
+/**
+ * Etiqueta.java
+ * Proyecto: Scénico -Plataforma para artistas emergentes
+ * Descripción: Entidad que representa una etiqueta normalizada (en minúsculas y sin espacios
+ * sobrantes) del diccionario de etiquetas de portafolios. Cada etiqueta se guarda una sola vez
+ * y se relaciona con los portafolios mediante una tabla intermedia indexada.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.models.entidades;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Locale;
+
+/**
+ * Entidad JPA del diccionario de etiquetas normalizadas.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "etiquetas")
+public class Etiqueta {
+
+    /**
+     * Identificador único de la etiqueta.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_etiqueta")
+    private Long idEtiqueta;
+
+    /**
+     * Texto normalizado de la etiqueta, único en el diccionario. Admite la misma longitud que las
+     * etiquetas originales del portafolio (255, la longitud por defecto de la colección).
+     */
+    @Column(unique = true, nullable = false, length = 255)
+    private String nombre;
+
+    /**
+     * Normaliza el texto de una etiqueta: elimina espacios sobrantes y la pasa a minúsculas.
+     * @param etiqueta  texto original de la etiqueta
+     * @return          texto normalizado, o null si la etiqueta está vacía
+     */
+    public static String normalizar(String etiqueta) {
+        if (etiqueta == null) {
+            return null;
+        }
+        String normalizada = etiqueta.trim().toLowerCase(Locale.ROOT);
+        return normalizada.isEmpty() ? null : normalizada;
+    }
+}
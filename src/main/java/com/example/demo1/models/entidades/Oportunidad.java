@@ -17,6 +17,8 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import java.time.LocalDateTime;
 
 /**
@@ -25,7 +27,13 @@ import java.time.LocalDateTime;
 @Setter
 @Getter
 @Entity
-@Table(name = "oportunidades")
+@Table(name = "oportunidades", indexes = {
+        @Index(name = "idx_oportunidades_fecha_id", columnList = "fecha, id"),
+        @Index(name = "idx_oportunidades_categoria_fecha_id", columnList = "categoria, fecha, id"),
+        @Index(name = "idx_oportunidades_estado_fecha_id", columnList = "estado, fecha, id"),
+        @Index(name = "idx_oportunidades_estado_fecha_cierre", columnList = "estado, fecha_cierre"),
+        @Index(name = "idx_oportunidades_actualizada_en", columnList = "actualizada_en")
+})
 public class Oportunidad {
 
     /**
@@ -71,7 +79,9 @@ public class Oportunidad {
 
     /**
      * Fecha de publicación de la oportunidad. Se asigna automáticamente al crearla.
+     * Es obligatoria porque los listados paginan por (fecha, id).
      */
+    @Column(nullable = false)
     private LocalDateTime fecha = LocalDateTime.now();
 
     /**
@@ -86,6 +96,14 @@ public class Oportunidad {
     @Enumerated(EnumType.STRING)
     private EstadoOportunidad estado = EstadoOportunidad.ABIERTO;
 
+    /**
+     * Momento de la última modificación. Cada instancia lo usa para incorporar a su índice de búsqueda
+     * los cambios hechos en otras instancias; las oportunidades anteriores a la columna no lo tienen.
+     */
+    @UpdateTimestamp
+    @Column(name = "actualizada_en")
+    private LocalDateTime actualizadaEn;
+
     /**
      * Relación muchos a uno con el usuario de tipo empresa que creó la oportunidad
      */
@@ -13,7 +13,10 @@ import com.example.demo1.models.enums.TipoArchivo;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import java.time.LocalDateTime;
 
@@ -69,11 +72,23 @@ public class Portafolio {
     private String descripcionImagen;
 
     /**
-     *
+     * Etiquetas libres del portafolio. Cuando no se cargan con un entity graph,
+     * se inicializan por lotes para evitar una consulta por portafolio.
      */
     @ElementCollection(fetch = FetchType.EAGER)
+    @BatchSize(size = 100)
     private List<String> etiquetas;
 
+    /**
+     * Etiquetas normalizadas del diccionario, usadas para las búsquedas por etiqueta.
+     */
+    @ManyToMany
+    @JoinTable(name = "portafolio_etiqueta",
+            joinColumns = @JoinColumn(name = "id_portafolio"),
+            inverseJoinColumns = @JoinColumn(name = "id_etiqueta"),
+            indexes = @Index(name = "idx_portafolio_etiqueta_etiqueta", columnList = "id_etiqueta"))
+    private Set<Etiqueta> etiquetasNormalizadas = new HashSet<>();
+
     /**
      * Fecha y hora de creación del portafolio. Se asigna al momento de instanciar la entidad
      */
@@ -1,6 +1,7 @@
 package com.example.demo1.models.entidades;
 
 import com.example.demo1.models.enums.EstadoPostulacion;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -10,7 +11,10 @@ import java.time.LocalDateTime;
 @Setter
 @Getter
 @Entity
-@Table(name = "postulacion")
+@Table(name = "postulacion", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_postulacion_artista_oportunidad", columnNames = {"id_artista", "id_oportunidad"}),
+        @UniqueConstraint(name = "uk_postulacion_idempotency_key", columnNames = "idempotency_key")
+})
 public class Postulacion {
 
 
@@ -28,6 +32,9 @@ public class Postulacion {
     private LocalDateTime fecha = LocalDateTime.now();
     @Enumerated(EnumType.STRING)
     private EstadoPostulacion estadoPostulacion = EstadoPostulacion.PENDENTE;
+    @JsonIgnore
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
 
 
 }
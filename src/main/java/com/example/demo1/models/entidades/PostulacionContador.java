@@ -0,0 +1,50 @@
+/**
+ * PostulacionContador.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Entidad que guarda, por cada oportunidad, cuántas postulaciones hay en cada estado.
+ * Se actualiza en la misma transacción que crea o cambia de estado una postulación, de modo que
+ * las estadísticas de una oportunidad se leen sin cargar sus postulaciones.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.models.entidades;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Entidad JPA con los contadores de postulaciones de una oportunidad.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "postulacion_contadores")
+public class PostulacionContador {
+
+    /**
+     * Identificador de la oportunidad (clave primaria).
+     */
+    @Id
+    @Column(name = "id_oportunidad")
+    private Long idOportunidad;
+
+    /**
+     * Postulaciones pendientes de revisión.
+     */
+    @Column(nullable = false)
+    private long pendientes;
+
+    /**
+     * Postulaciones aceptadas.
+     */
+    @Column(nullable = false)
+    private long aceptadas;
+
+    /**
+     * Postulaciones rechazadas.
+     */
+    @Column(nullable = false)
+    private long rechazadas;
+}
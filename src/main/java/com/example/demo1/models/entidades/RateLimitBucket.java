@@ -0,0 +1,51 @@
+/**
+ * RateLimitBucket.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Entidad que guarda un cubo de fichas de la limitación de tasa cuando los cubos se
+ * comparten entre varias instancias de la aplicación a través de la base de datos.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.models.entidades;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Entidad JPA de un cubo de fichas compartido.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "rate_limit_buckets", indexes = {
+        @Index(name = "idx_rate_limit_buckets_caduca", columnList = "caduca_en")
+})
+public class RateLimitBucket {
+
+    /**
+     * Clave del cubo (ruta, tipo y valor).
+     */
+    @Id
+    @Column(length = 191)
+    private String clave;
+
+    /**
+     * Fichas disponibles en el instante de la última actualización.
+     */
+    @Column(nullable = false)
+    private double fichas;
+
+    /**
+     * Instante de la última actualización, en milisegundos desde la época.
+     */
+    @Column(name = "actualizado_en", nullable = false)
+    private long actualizadoEn;
+
+    /**
+     * Instante a partir del cual el cubo estaría lleno y puede borrarse, en milisegundos desde la época.
+     */
+    @Column(name = "caduca_en", nullable = false)
+    private long caducaEn;
+}
@@ -0,0 +1,71 @@
+/**
+ * RefreshToken.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Entidad que representa un token de refresco emitido al iniciar sesión. Solo se guarda
+ * el hash SHA-256 del token; cada uso lo rota por uno nuevo de la misma familia (la sesión), y el
+ * uso de un token ya rotado se interpreta como robo y revoca toda la familia.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.models.entidades;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entidad JPA de un token de refresco.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "refresh_tokens", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_refresh_tokens_hash", columnNames = "token_hash")
+}, indexes = {
+        @Index(name = "idx_refresh_tokens_familia", columnList = "familia"),
+        @Index(name = "idx_refresh_tokens_expira", columnList = "expira_en")
+})
+public class RefreshToken {
+
+    /**
+     * Identificador único del token.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Hash SHA-256 del token en hexadecimal; el token en claro solo lo conoce el cliente.
+     */
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    /**
+     * Familia del token: todos los tokens obtenidos por rotación desde un mismo inicio de sesión.
+     */
+    @Column(nullable = false)
+    private UUID familia;
+
+    /**
+     * Usuario al que pertenece la sesión.
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "id_user", nullable = false)
+    private UserModel user;
+
+    /**
+     * Momento a partir del cual el token deja de aceptarse.
+     */
+    @Column(name = "expira_en", nullable = false)
+    private LocalDateTime expiraEn;
+
+    /**
+     * Momento en el que el token se rotó; un token con valor ya no puede volver a usarse.
+     */
+    @Column(name = "usado_en")
+    private LocalDateTime usadoEn;
+}
@@ -0,0 +1,52 @@
+/**
+ * SchedulerLock.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Entidad que representa un bloqueo con caducidad sobre una tarea programada.
+ * Permite que, con varias instancias de la aplicación, solo una ejecute la tarea a la vez;
+ * si la instancia que la tiene se cae, el bloqueo expira solo.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.models.entidades;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA del bloqueo de una tarea programada.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "scheduler_locks")
+public class SchedulerLock {
+
+    /**
+     * Nombre de la tarea bloqueada (clave primaria).
+     */
+    @Id
+    @Column(length = 64)
+    private String nombre;
+
+    /**
+     * Momento hasta el que el bloqueo es válido, en UTC.
+     */
+    @Column(nullable = false)
+    private LocalDateTime bloqueadoHasta;
+
+    /**
+     * Momento en que se adquirió el bloqueo, en UTC.
+     */
+    @Column(nullable = false)
+    private LocalDateTime bloqueadoEn;
+
+    /**
+     * Instancia de la aplicación que tiene el bloqueo.
+     */
+    @Column(nullable = false)
+    private String bloqueadoPor;
+}
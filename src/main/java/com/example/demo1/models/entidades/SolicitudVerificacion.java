@@ -11,7 +11,12 @@ import java.time.LocalDateTime;
 @Setter
 @Getter
 @Entity
-@Table(name = "solicitudes_verificaciones")
+@Table(name = "solicitudes_verificaciones", indexes = {
+        @Index(name = "idx_solicitudes_estado_fecha", columnList = "estado_solicitud, date_solicitud, id_solicitud"),
+        @Index(name = "idx_solicitudes_estado_rol_fecha", columnList = "estado_solicitud, rol_solicitado, date_solicitud, id_solicitud"),
+        @Index(name = "idx_solicitudes_rol_fecha", columnList = "rol_solicitado, date_solicitud, id_solicitud"),
+        @Index(name = "idx_solicitudes_fecha", columnList = "date_solicitud, id_solicitud")
+})
 public class SolicitudVerificacion
 {
     @Id
@@ -16,6 +16,8 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.lang.Nullable;
@@ -26,9 +28,23 @@ import java.util.UUID;
 
 @Data
 @Entity
-@Table(name = "user")
+@BatchSize(size = 100)
+@Table(name = "user", uniqueConstraints = {
+        @UniqueConstraint(name = UserModel.UK_EMAIL, columnNames = "email"),
+        @UniqueConstraint(name = UserModel.UK_USERNAME, columnNames = "username")
+})
 
 public class UserModel {
+    /**
+     * Nombre de la restricción única del email, usado para identificar registros duplicados.
+     */
+    public static final String UK_EMAIL = "uk_user_email";
+
+    /**
+     * Nombre de la restricción única del nombre de usuario, usado para identificar registros duplicados.
+     */
+    public static final String UK_USERNAME = "uk_user_username";
+
     /**
      * Identificador interno único del usuario, clave primaria de la tabla.
      */
@@ -39,7 +55,7 @@ public class UserModel {
     /**
      * Identificador único del usuario, expuesto al público de manera segura.
      */
-    @Column(name ="uuid", unique = true, nullable = false, updatable = false)
+    @Column(name ="uuid", unique = true, nullable = false)
     private UUID uuid;
 
     /**
@@ -60,7 +76,7 @@ public class UserModel {
     /**
      * Nombre de usuario único en el sistema.
      */
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     @Size(min = 4, max = 50)
     private String username;
 
@@ -81,7 +97,7 @@ public class UserModel {
      */
     @NotBlank(message = "Es necesario rellenar este campo.")
     @Email
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String email;
 
     /**
@@ -97,6 +113,16 @@ public class UserModel {
     @Enumerated(EnumType.STRING)
     private RoleName typeUser;
 
+    /**
+     * Versión de los tokens del usuario. Se incrementa al cambiar su rol o sus credenciales,
+     * y los tokens emitidos con una versión anterior dejan de aceptarse en todas las instancias.
+     * Solo la modifica el UPDATE atómico de {@code IUserRepository.incrementarTokenVersion}: guardar la
+     * entidad no la reescribe, de modo que un guardado concurrente no puede deshacer una revocación.
+     */
+    @Column(name = "token_version", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private int tokenVersion;
+
     /**
      * Indica si el usuario ha sido verificado manualmente.
      */
@@ -0,0 +1,37 @@
+/**
+ * EstadoEmail.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Enumeración que representa el estado de un correo en la bandeja de salida.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+
+package com.example.demo1.models.enums;
+
+/**
+ * Enum que define los posibles estados de un correo pendiente de envío.
+ */
+public enum EstadoEmail {
+
+    /**
+     * El correo está en cola, a la espera de su primer envío o de un reintento.
+     */
+    PENDIENTE,
+
+    /**
+     * Una instancia ha reclamado el correo y lo está enviando. Si la instancia cae, el correo se
+     * vuelve a reclamar cuando vence el plazo de la reclamación.
+     */
+    ENVIANDO,
+
+    /**
+     * El correo se entregó al servidor SMTP.
+     */
+    ENVIADO,
+
+    /**
+     * Se agotaron los reintentos; el correo queda apartado para revisión manual.
+     */
+    FALLIDO
+}
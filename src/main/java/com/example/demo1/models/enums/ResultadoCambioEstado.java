@@ -0,0 +1,36 @@
+/**
+ * ResultadoCambioEstado.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Enumeración con el resultado de cada elemento de un cambio de estado masivo de postulaciones.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+
+package com.example.demo1.models.enums;
+
+/**
+ * Enum que define el resultado del cambio de estado de una postulación dentro de un lote.
+ */
+public enum ResultadoCambioEstado {
+
+    /**
+     * La postulación pasó al nuevo estado.
+     */
+    ACTUALIZADA,
+
+    /**
+     * La postulación ya estaba en el estado solicitado.
+     */
+    SIN_CAMBIOS,
+
+    /**
+     * La postulación no existe o no pertenece a la oportunidad indicada.
+     */
+    NO_ENCONTRADA,
+
+    /**
+     * La postulación aparece más de una vez en el lote; solo se aplica la primera aparición.
+     */
+    DUPLICADA
+}
@@ -0,0 +1,74 @@
+/**
+ * IEmailOutboxRepository.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Repositorio JPA para la bandeja de salida de correos electrónicos.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.repositories;
+
+import com.example.demo1.models.entidades.EmailOutbox;
+import com.example.demo1.models.enums.EstadoEmail;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Interfaz que define operaciones de acceso a datos para la entidad EmailOutbox.
+ */
+public interface IEmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * Obtiene los identificadores de los siguientes correos listos para enviarse, en orden de llegada.
+     * @param estados   estados reclamables (PENDIENTE, y ENVIANDO con la reclamación vencida)
+     * @param ahora     momento actual; se excluyen los correos con reintento o reclamación hasta más tarde
+     * @param limit     tamaño máximo del lote
+     * @return          identificadores de los correos candidatos
+     */
+    @Query("SELECT e.id FROM EmailOutbox e WHERE e.estado IN :estados AND e.proximoIntento <= :ahora ORDER BY e.id")
+    List<Long> findIdsListos(@Param("estados") Collection<EstadoEmail> estados, @Param("ahora") LocalDateTime ahora,
+                             Limit limit);
+
+    /**
+     * Reclama para un lote los correos candidatos que siguen libres, con una única sentencia UPDATE.
+     * Si dos instancias reclaman el mismo correo, la base de datos serializa ambas sentencias y la
+     * segunda ya no lo encuentra libre.
+     * @param ids       identificadores de los correos candidatos
+     * @param estados   estados reclamables
+     * @param lote      identificador del lote que reclama
+     * @param enviando  estado de los correos reclamados (ENVIANDO)
+     * @param vence     momento en que vence la reclamación
+     * @param ahora     momento actual
+     * @return          número de correos reclamados
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox e SET e.estado = :enviando, e.reclamadoPor = :lote, e.proximoIntento = :vence " +
+            "WHERE e.id IN :ids AND e.estado IN :estados AND e.proximoIntento <= :ahora")
+    int reclamar(@Param("ids") Collection<Long> ids, @Param("estados") Collection<EstadoEmail> estados,
+                 @Param("lote") String lote, @Param("enviando") EstadoEmail enviando,
+                 @Param("vence") LocalDateTime vence, @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Carga los correos reclamados por un lote.
+     * @param ids   identificadores de los correos candidatos
+     * @param lote  identificador del lote
+     * @return      correos reclamados por el lote, en orden de llegada
+     */
+    List<EmailOutbox> findByIdInAndReclamadoPorOrderByIdAsc(Collection<Long> ids, String lote);
+
+    /**
+     * Cuenta los correos en un estado.
+     * @param estado    estado de los correos
+     * @return          número de correos en ese estado
+     */
+    long countByEstado(EstadoEmail estado);
+}
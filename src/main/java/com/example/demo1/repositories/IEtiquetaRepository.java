@@ -0,0 +1,54 @@
+/**
+ * IEtiquetaRepository.java
+ * Proyecto: Scénico -Plataforma para artistas emergentes
+ * Descripción: Repositorio JPA para el diccionario de etiquetas normalizadas.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.repositories;
+
+import com.example.demo1.models.entidades.Etiqueta;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Interfaz que define operaciones de acceso a datos para la entidad Etiqueta.
+ */
+public interface IEtiquetaRepository extends JpaRepository<Etiqueta, Long> {
+
+    /**
+     * Busca las etiquetas del diccionario cuyo nombre está en la colección indicada.
+     * @param nombres   nombres normalizados a buscar
+     * @return          etiquetas existentes
+     */
+    List<Etiqueta> findByNombreIn(Collection<String> nombres);
+
+    /**
+     * Busca etiquetas del diccionario con una lectura con bloqueo, que ve las filas confirmadas por otras
+     * transacciones después de empezar la actual.
+     * @param nombres   nombres normalizados a buscar
+     * @return          etiquetas existentes
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT e FROM Etiqueta e WHERE e.nombre IN :nombres")
+    List<Etiqueta> findByNombreInForShare(@Param("nombres") Collection<String> nombres);
+
+    /**
+     * Crea una etiqueta en el diccionario. Si otra transacción ya la ha creado, no hace nada en lugar
+     * de fallar por la restricción única sobre el nombre.
+     * @param nombre    nombre normalizado de la etiqueta
+     * @return          1 si se ha creado, 0 si ya existía
+     */
+    @Modifying
+    @Query(value = "INSERT INTO etiquetas (nombre) VALUES (:nombre) ON DUPLICATE KEY UPDATE nombre = nombre",
+            nativeQuery = true)
+    int insertarSiNoExiste(@Param("nombre") String nombre);
+}
@@ -12,8 +12,18 @@ package com.example.demo1.repositories;
 import com.example.demo1.models.enums.EstadoOportunidad;
 import com.example.demo1.models.entidades.Oportunidad;
 import com.example.demo1.models.entidades.UserModel;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -51,4 +61,97 @@ public interface IOportunidadRepository extends JpaRepository<Oportunidad, Long>
      */
     List<Oportunidad> findByCategoriaIgnoreCaseAndEstado(String categoria, EstadoOportunidad estado);
 
+    /**
+     * Devuelve una ventana de oportunidades ordenadas de la más reciente a la más antigua,
+     * paginando por clave sobre (fecha, id). La empresa se carga en la misma consulta.
+     * @param position  posición desde la que continuar (keyset)
+     * @param limit     número máximo de oportunidades de la ventana
+     * @return          ventana de oportunidades
+     */
+    @EntityGraph(attributePaths = "usuarioEmpresa")
+    Window<Oportunidad> findAllByOrderByFechaDescIdDesc(ScrollPosition position, Limit limit);
+
+    /**
+     * Devuelve una ventana de oportunidades de una categoría, paginando por clave sobre (fecha, id).
+     * La categoría se compara tal cual, sin funciones sobre la columna, para que la consulta use el índice
+     * (categoria, fecha, id); en MySQL la colación por defecto de la columna ya no distingue mayúsculas.
+     * @param categoria nombre de la categoría
+     * @param position  posición desde la que continuar (keyset)
+     * @param limit     número máximo de oportunidades de la ventana
+     * @return          ventana de oportunidades de esa categoría
+     */
+    @EntityGraph(attributePaths = "usuarioEmpresa")
+    Window<Oportunidad> findByCategoriaOrderByFechaDescIdDesc(String categoria, ScrollPosition position, Limit limit);
+
+    /**
+     * Devuelve una ventana de oportunidades en un estado, paginando por clave sobre (fecha, id).
+     * @param estado    estado de la oportunidad
+     * @param position  posición desde la que continuar (keyset)
+     * @param limit     número máximo de oportunidades de la ventana
+     * @return          ventana de oportunidades con ese estado
+     */
+    @EntityGraph(attributePaths = "usuarioEmpresa")
+    Window<Oportunidad> findByEstadoOrderByFechaDescIdDesc(EstadoOportunidad estado, ScrollPosition position, Limit limit);
+
+
+    /**
+     * Carga las oportunidades con los identificadores indicados junto con su empresa.
+     * Se usa para resolver los resultados del buscador de texto completo.
+     * @param ids   identificadores de las oportunidades
+     * @return      lista de oportunidades encontradas (sin orden garantizado)
+     */
+    @EntityGraph(attributePaths = "usuarioEmpresa")
+    List<Oportunidad> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Devuelve los identificadores de las oportunidades en un estado cuya fecha de cierre ya ha pasado.
+     * Usa el índice (estado, fecha_cierre).
+     * @param estado    estado de las oportunidades (ABIERTO)
+     * @param ahora     momento actual
+     * @param limit     tamaño máximo del lote
+     * @return          identificadores de las oportunidades vencidas
+     */
+    @Query("SELECT o.id FROM Oportunidad o WHERE o.estado = :estado AND o.fechaCierre < :ahora ORDER BY o.fechaCierre")
+    List<Long> findIdsVencidas(@Param("estado") EstadoOportunidad estado, @Param("ahora") LocalDateTime ahora, Limit limit);
+
+    /**
+     * Cambia de estado las oportunidades indicadas que sigan en el estado de origen, en una sola sentencia.
+     * Si otra instancia ya las ha cambiado, no se vuelven a modificar. Como la sentencia no pasa por la
+     * entidad, actualiza también la fecha de modificación.
+     * @param ids       identificadores de las oportunidades
+     * @param origen    estado actual esperado
+     * @param destino   nuevo estado
+     * @param ahora     momento del cambio
+     * @return          número de oportunidades modificadas
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Oportunidad o SET o.estado = :destino, o.actualizadaEn = :ahora " +
+            "WHERE o.id IN :ids AND o.estado = :origen")
+    int cambiarEstado(@Param("ids") Collection<Long> ids, @Param("origen") EstadoOportunidad origen,
+                      @Param("destino") EstadoOportunidad destino, @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Devuelve las oportunidades modificadas desde un momento dado. Usa el índice sobre actualizada_en.
+     * @param desde     momento a partir del cual buscar cambios
+     * @return          oportunidades modificadas
+     */
+    List<Oportunidad> findByActualizadaEnGreaterThanEqual(LocalDateTime desde);
+
+    /**
+     * Devuelve los identificadores de todas las oportunidades, sin cargar las entidades.
+     * @return  identificadores de las oportunidades
+     */
+    @Query("SELECT o.id FROM Oportunidad o")
+    List<Long> findAllIds();
+
+    /**
+     * Asigna una fecha de publicación a las oportunidades que no la tienen, creadas antes de que la columna
+     * fuese obligatoria. Sin ella quedarían fuera de los listados paginados por (fecha, id).
+     * @param fecha     fecha a asignar
+     * @return          número de oportunidades actualizadas
+     */
+    @Modifying
+    @Query("UPDATE Oportunidad o SET o.fecha = :fecha WHERE o.fecha IS NULL")
+    int rellenarFechasNulas(@Param("fecha") LocalDateTime fecha);
 }
\ No newline at end of file
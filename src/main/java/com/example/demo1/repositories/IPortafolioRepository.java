@@ -13,23 +13,36 @@ package com.example.demo1.repositories;
 import com.example.demo1.models.entidades.Portafolio;
 import com.example.demo1.models.enums.TipoArchivo;
 import com.example.demo1.models.entidades.UserModel;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Interfaz que define operaciones de acceso a datos para la entidad de Portafolio.
  * Extiende JpaRepository para heredar operaciones CRUD.
+ * Los listados cargan el usuario y las etiquetas en la misma consulta (entity graph)
+ * para que una página de PortafolioPubliDTO no genere consultas adicionales por fila.
  */
 public interface IPortafolioRepository extends JpaRepository<Portafolio, Long> {
 
+    /**
+     * Devuelve todos los portafolios junto con su usuario y etiquetas.
+     * @return lista completa de portafolios
+     */
+    @Override
+    @EntityGraph(attributePaths = {"userModel", "etiquetas"})
+    List<Portafolio> findAll();
+
     /**
      * Busca todos los portafolios asociados a un usuario específico.
      * @param userModel  entidad del usuario
      * @return           lista de portafolios creados por ese usuario
      */
+    @EntityGraph(attributePaths = {"userModel", "etiquetas"})
     List<Portafolio> findByUserModel(UserModel userModel);
 
      /**
@@ -37,27 +50,49 @@ public interface IPortafolioRepository extends JpaRepository<Portafolio, Long> {
       * @param tipoArchivo   tipo de archivo a filtrar
       * @return              lista de portafolios que contiene ese tipo de archivo
       */
+     @EntityGraph(attributePaths = {"userModel", "etiquetas"})
      List<Portafolio> findByTipoArchivo(TipoArchivo tipoArchivo);
 
     /**
-     * Busca portafolios filtrando por tipo de archivo y etiquetas parcial
-     * @param tipoArchivo  tipo de archivo
-     * @param etiqueta     texto parcial de la etiqueta
-     * @return             lista de portafolios que coinciden con los filtros
+     * Carga los portafolios con los identificadores indicados, del más reciente al más antiguo.
+     * Se usa para resolver los resultados del índice de etiquetas en memoria.
+     * @param ids   identificadores de los portafolios
+     * @return      lista de portafolios encontrados
      */
-    @Query("SELECT p FROM Portafolio p JOIN p.etiquetas e " +
-                  "WHERE (:tipoArchivo IS NULL OR p.tipoArchivo = :tipoArchivo) " +
-                  "AND (:etiqueta IS NULL OR LOWER(e) LIKE LOWER(CONCAT('%', :etiqueta, '%')))")
-    List<Portafolio> findByEtiquetaYTipoArchivo(@Param("tipoArchivo") TipoArchivo tipoArchivo,
-                                            @Param("etiqueta") String etiqueta);
+    @EntityGraph(attributePaths = {"userModel", "etiquetas"})
+    List<Portafolio> findByIdPortafolioInOrderByFechaCreacionDesc(Collection<Long> ids);
 
     /**
-     * Busca portafolios que coinciden con exactamente con un tipo de archivo y contenga una etiqueta específica.
+     * Carga los portafolios con los identificadores indicados y un tipo de archivo concreto.
+     * @param ids           identificadores de los portafolios
      * @param tipoArchivo   tipo de archivo
-     * @param etiquetas     etiqueta que debe estar contenida en el portafolio
      * @return              lista de portafolios que cumplen ambos criterios
      */
-    List<Portafolio> findByTipoArchivoAndEtiquetasContainingIgnoreCase(TipoArchivo tipoArchivo, String etiquetas);
+    @EntityGraph(attributePaths = {"userModel", "etiquetas"})
+    List<Portafolio> findByIdPortafolioInAndTipoArchivoOrderByFechaCreacionDesc(Collection<Long> ids, TipoArchivo tipoArchivo);
+
+    /**
+     * Devuelve todos los pares (portafolio, etiqueta normalizada) para construir el índice en memoria.
+     * @return  lista de pares portafolio-etiqueta
+     */
+    @Query("SELECT p.idPortafolio AS idPortafolio, t.nombre AS nombre FROM Portafolio p JOIN p.etiquetasNormalizadas t")
+    List<EtiquetaPortafolioView> findAllEtiquetasNormalizadas();
+
+    /**
+     * Busca los portafolios que tienen etiquetas pero todavía no están enlazados con el diccionario.
+     * @return  lista de portafolios pendientes de normalizar
+     */
+    @EntityGraph(attributePaths = "etiquetas")
+    @Query("SELECT p FROM Portafolio p WHERE p.etiquetasNormalizadas IS EMPTY AND p.etiquetas IS NOT EMPTY")
+    List<Portafolio> findSinEtiquetasNormalizadas();
+
+    /**
+     * Proyección de un par portafolio-etiqueta normalizada.
+     */
+    interface EtiquetaPortafolioView {
+        Long getIdPortafolio();
+        String getNombre();
+    }
 
 
 }
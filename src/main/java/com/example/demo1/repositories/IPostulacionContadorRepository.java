@@ -0,0 +1,59 @@
+/**
+ * IPostulacionContadorRepository.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Repositorio JPA para los contadores de postulaciones por oportunidad.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.repositories;
+
+import com.example.demo1.models.entidades.PostulacionContador;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Interfaz que define operaciones de acceso a datos para la entidad PostulacionContador.
+ */
+public interface IPostulacionContadorRepository extends JpaRepository<PostulacionContador, Long> {
+
+    /**
+     * Suma los incrementos indicados a los contadores de una oportunidad, creando la fila si no existe.
+     * Es una única sentencia atómica, por lo que las postulaciones concurrentes no pierden actualizaciones.
+     * Debe ejecutarse dentro de la transacción que modifica la postulación.
+     * @param idOportunidad identificador de la oportunidad
+     * @param pendientes    incremento (o decremento) de postulaciones pendientes
+     * @param aceptadas     incremento (o decremento) de postulaciones aceptadas
+     * @param rechazadas    incremento (o decremento) de postulaciones rechazadas
+     * @return              filas afectadas
+     */
+    @Modifying
+    @Query(value = "INSERT INTO postulacion_contadores (id_oportunidad, pendientes, aceptadas, rechazadas) " +
+            "VALUES (:idOportunidad, :pendientes, :aceptadas, :rechazadas) " +
+            "ON DUPLICATE KEY UPDATE pendientes = pendientes + :pendientes, " +
+            "aceptadas = aceptadas + :aceptadas, rechazadas = rechazadas + :rechazadas",
+            nativeQuery = true)
+    int sumar(@Param("idOportunidad") Long idOportunidad, @Param("pendientes") long pendientes,
+              @Param("aceptadas") long aceptadas, @Param("rechazadas") long rechazadas);
+
+    /**
+     * Crea los contadores de las oportunidades que tienen postulaciones pero todavía no tienen fila,
+     * calculándolos a partir de la tabla de postulaciones. Si otra instancia que arranca a la vez ya creó
+     * la fila, se deja como está en lugar de fallar por la clave duplicada.
+     * @return  número de filas afectadas
+     */
+    @Modifying
+    @Query(value = "INSERT INTO postulacion_contadores (id_oportunidad, pendientes, aceptadas, rechazadas) " +
+            "SELECT p.id_oportunidad, " +
+            "SUM(CASE WHEN p.estado_postulacion = 'PENDENTE' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN p.estado_postulacion = 'ACEPTADA' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN p.estado_postulacion = 'RECHAZADA' THEN 1 ELSE 0 END) " +
+            "FROM postulacion p " +
+            "WHERE NOT EXISTS (SELECT 1 FROM postulacion_contadores c WHERE c.id_oportunidad = p.id_oportunidad) " +
+            "GROUP BY p.id_oportunidad " +
+            "ON DUPLICATE KEY UPDATE id_oportunidad = id_oportunidad",
+            nativeQuery = true)
+    int crearContadoresFaltantes();
+}
@@ -1,18 +1,80 @@
 package com.example.demo1.repositories;
 
-import com.example.demo1.models.entidades.Oportunidad;
+import com.example.demo1.models.dtos.Postulacion.EstadoPostulacionDTO;
+import com.example.demo1.models.dtos.Postulacion.PostulacionResponseDTO;
 import com.example.demo1.models.entidades.Postulacion;
-import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.models.enums.EstadoPostulacion;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface IPostulacionRepository  extends JpaRepository<Postulacion, Long> {
 
-    List<Postulacion> findByUsuarioArtista(UserModel artista);
-    List<Postulacion> findByOportunidad(Oportunidad oportunidad);
-    Optional<Postulacion> findByUsuarioArtistaAndOportunidad(UserModel artista, Oportunidad oportunidad);
+    Optional<Postulacion> findByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * Lista las postulaciones de un artista, de la más reciente a la más antigua, seleccionando
+     * solo las columnas del DTO de respuesta.
+     * @param idArtista identificador del artista
+     * @return          postulaciones del artista
+     */
+    @Query("SELECT new com.example.demo1.models.dtos.Postulacion.PostulacionResponseDTO(" +
+            "p.id, p.mensaje, p.fecha, p.estadoPostulacion, a.id_user, a.username, o.id, o.titulo) " +
+            "FROM Postulacion p JOIN p.usuarioArtista a JOIN p.oportunidad o " +
+            "WHERE a.id_user = :idArtista ORDER BY p.fecha DESC, p.id DESC")
+    List<PostulacionResponseDTO> findResumenByArtista(@Param("idArtista") Long idArtista);
+
+    /**
+     * Lista las postulaciones recibidas por una oportunidad, de la más reciente a la más antigua,
+     * seleccionando solo las columnas del DTO de respuesta.
+     * @param idOportunidad identificador de la oportunidad
+     * @return              postulaciones de la oportunidad
+     */
+    @Query("SELECT new com.example.demo1.models.dtos.Postulacion.PostulacionResponseDTO(" +
+            "p.id, p.mensaje, p.fecha, p.estadoPostulacion, a.id_user, a.username, o.id, o.titulo) " +
+            "FROM Postulacion p JOIN p.usuarioArtista a JOIN p.oportunidad o " +
+            "WHERE o.id = :idOportunidad ORDER BY p.fecha DESC, p.id DESC")
+    List<PostulacionResponseDTO> findResumenByOportunidad(@Param("idOportunidad") Long idOportunidad);
+
+    /**
+     * Busca una postulación bloqueando su fila hasta el final de la transacción.
+     * @param id    identificador de la postulación
+     * @return      postulación bloqueada, si existe
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Postulacion p WHERE p.id = :id")
+    Optional<Postulacion> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Lee y bloquea el estado actual de las postulaciones indicadas que pertenecen a una oportunidad,
+     * sin cargar las entidades ni sus relaciones.
+     * @param idOportunidad identificador de la oportunidad
+     * @param ids           identificadores de las postulaciones
+     * @return              identificador y estado de cada postulación encontrada
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.example.demo1.models.dtos.Postulacion.EstadoPostulacionDTO(p.id, p.estadoPostulacion) " +
+            "FROM Postulacion p WHERE p.oportunidad.id = :idOportunidad AND p.id IN :ids")
+    List<EstadoPostulacionDTO> findEstadosForUpdate(@Param("idOportunidad") Long idOportunidad,
+                                                    @Param("ids") Collection<Long> ids);
+
+    /**
+     * Cambia el estado de varias postulaciones con una sola sentencia UPDATE.
+     * @param ids           identificadores de las postulaciones
+     * @param estado        nuevo estado
+     * @return              número de postulaciones actualizadas
+     */
+    @Modifying
+    @Query("UPDATE Postulacion p SET p.estadoPostulacion = :estado WHERE p.id IN :ids")
+    int cambiarEstado(@Param("ids") Collection<Long> ids, @Param("estado") EstadoPostulacion estado);
+
    // List<Postulacion> findByEstadoPostulacion(EstadoPostulacion estadoPostulacion);
    //  List<Postulacion> findByUsuarioArtistaAndEstadoPostulacion(UserModel artista, EstadoPostulacion estadoPostulacion);
 
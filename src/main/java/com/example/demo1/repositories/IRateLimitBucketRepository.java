@@ -0,0 +1,63 @@
+/**
+ * IRateLimitBucketRepository.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Repositorio JPA para los cubos de fichas compartidos de la limitación de tasa.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.repositories;
+
+import com.example.demo1.models.entidades.RateLimitBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Interfaz que define operaciones de acceso a datos para la entidad RateLimitBucket.
+ */
+public interface IRateLimitBucketRepository extends JpaRepository<RateLimitBucket, String> {
+
+    /**
+     * Crea el cubo lleno si no existe o repone las fichas acumuladas desde la última actualización.
+     * La fila queda bloqueada hasta el final de la transacción, por lo que el consumo posterior no compite
+     * con otras instancias. En MySQL las asignaciones se evalúan en orden, y la reposición usa el
+     * actualizado_en anterior.
+     * @param clave         clave del cubo
+     * @param capacidad     fichas máximas
+     * @param porMinuto     fichas repuestas por minuto
+     * @param ahora         instante actual en milisegundos
+     * @param caducaEn      instante a partir del cual el cubo estará lleno sin más consumo
+     * @return              filas afectadas
+     */
+    @Modifying
+    @Query(value = "INSERT INTO rate_limit_buckets (clave, fichas, actualizado_en, caduca_en) " +
+            "VALUES (:clave, :capacidad, :ahora, :caducaEn) " +
+            "ON DUPLICATE KEY UPDATE fichas = LEAST(:capacidad, fichas + GREATEST(0, :ahora - actualizado_en) * :porMinuto / 60000.0), " +
+            "actualizado_en = GREATEST(actualizado_en, :ahora), caduca_en = :caducaEn",
+            nativeQuery = true)
+    int reponer(@Param("clave") String clave, @Param("capacidad") int capacidad, @Param("porMinuto") int porMinuto,
+                @Param("ahora") long ahora, @Param("caducaEn") long caducaEn);
+
+    /**
+     * Consume una ficha si el cubo tiene al menos una.
+     * @param clave clave del cubo
+     * @return      1 si se consumió la ficha, 0 si el cubo está vacío
+     */
+    @Modifying
+    @Query(value = "UPDATE rate_limit_buckets SET fichas = fichas - 1 WHERE clave = :clave AND fichas >= 1",
+            nativeQuery = true)
+    int consumir(@Param("clave") String clave);
+
+    /**
+     * Borra los cubos que ya estarían llenos, equivalentes a no tener cubo.
+     * @param ahora instante actual en milisegundos
+     * @return      cubos borrados
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RateLimitBucket b WHERE b.caducaEn < :ahora")
+    int borrarCaducados(@Param("ahora") long ahora);
+}
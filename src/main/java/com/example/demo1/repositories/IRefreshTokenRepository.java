@@ -0,0 +1,71 @@
+/**
+ * IRefreshTokenRepository.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Repositorio JPA para los tokens de refresco.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.repositories;
+
+import com.example.demo1.models.entidades.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Interfaz que define operaciones de acceso a datos para la entidad RefreshToken.
+ */
+public interface IRefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Busca un token por su hash junto con su usuario, en una sola consulta por índice único.
+     * @param tokenHash hash SHA-256 del token
+     * @return          token con el usuario cargado, si existe
+     */
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.user WHERE r.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Marca un token como usado solo si no lo estaba, de modo que dos rotaciones simultáneas
+     * del mismo token no puedan tener éxito ambas.
+     * @param id    identificador del token
+     * @param ahora momento de la rotación
+     * @return      1 si se marcó, 0 si ya estaba usado
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.usadoEn = :ahora WHERE r.id = :id AND r.usadoEn IS NULL")
+    int marcarUsado(@Param("id") Long id, @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Borra todos los tokens de una familia (cierra la sesión).
+     * @param familia   familia de tokens
+     * @return          tokens borrados
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.familia = :familia")
+    int deleteByFamilia(@Param("familia") UUID familia);
+
+    /**
+     * Borra todos los tokens de un usuario (cierra todas sus sesiones).
+     * @param userId    identificador interno del usuario
+     * @return          tokens borrados
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.user.id_user = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Borra los tokens caducados, usados o no, recorriendo el índice por fecha de expiración.
+     * @param ahora momento actual
+     * @return      tokens borrados
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiraEn < :ahora")
+    int deleteCaducados(@Param("ahora") LocalDateTime ahora);
+}
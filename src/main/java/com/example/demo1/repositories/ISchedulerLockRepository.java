@@ -0,0 +1,52 @@
+/**
+ * ISchedulerLockRepository.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Repositorio JPA para los bloqueos de tareas programadas.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.repositories;
+
+import com.example.demo1.models.entidades.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Interfaz que define operaciones de acceso a datos para la entidad SchedulerLock.
+ */
+public interface ISchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    /**
+     * Adquiere un bloqueo existente si ha caducado. La condición se evalúa en la propia sentencia,
+     * por lo que dos instancias no pueden adquirirlo a la vez.
+     * @param nombre    nombre de la tarea
+     * @param ahora     momento actual
+     * @param hasta     caducidad del nuevo bloqueo
+     * @param instancia instancia que adquiere el bloqueo
+     * @return          1 si se adquirió, 0 si otra instancia lo tiene o no existe
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.bloqueadoHasta = :hasta, l.bloqueadoEn = :ahora, l.bloqueadoPor = :instancia " +
+            "WHERE l.nombre = :nombre AND l.bloqueadoHasta <= :ahora")
+    int adquirir(@Param("nombre") String nombre, @Param("ahora") LocalDateTime ahora,
+                 @Param("hasta") LocalDateTime hasta, @Param("instancia") String instancia);
+
+    /**
+     * Libera un bloqueo haciéndolo caducar, solo si lo tiene la instancia indicada.
+     * @param nombre    nombre de la tarea
+     * @param ahora     momento actual
+     * @param instancia instancia que tiene el bloqueo
+     * @return          1 si se liberó, 0 en caso contrario
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.bloqueadoHasta = :ahora WHERE l.nombre = :nombre AND l.bloqueadoPor = :instancia")
+    int liberar(@Param("nombre") String nombre, @Param("ahora") LocalDateTime ahora, @Param("instancia") String instancia);
+}
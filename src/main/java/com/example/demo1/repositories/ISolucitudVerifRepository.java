@@ -3,15 +3,99 @@ package com.example.demo1.repositories;
 import com.example.demo1.models.enums.EstadoSolicitud;
 import com.example.demo1.models.entidades.SolicitudVerificacion;
 import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.models.enums.RoleName;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ISolucitudVerifRepository extends JpaRepository<SolicitudVerificacion, Long> {
-        List<SolicitudVerificacion> findByEstadoSolicitud(EstadoSolicitud estado);
         List<SolicitudVerificacion> findByUserAndEstadoSolicitud(UserModel user, EstadoSolicitud estado);
 
         List<SolicitudVerificacion> findByUser(UserModel user);
 
+        /**
+         * Carga varias solicitudes junto con sus usuarios en una sola consulta.
+         * @param ids   identificadores de las solicitudes
+         * @return      solicitudes encontradas
+         */
+        @EntityGraph(attributePaths = "user")
+        List<SolicitudVerificacion> findByIdSolicitudIn(Collection<Long> ids);
+
+        /**
+         * Carga las solicitudes en un estado de varios usuarios en una sola consulta.
+         * @param users     usuarios
+         * @param estado    estado de la solicitud
+         * @return          solicitudes encontradas
+         */
+        List<SolicitudVerificacion> findByUserInAndEstadoSolicitud(Collection<UserModel> users, EstadoSolicitud estado);
+
+        /**
+         * Lista una página de la cola de solicitudes, de la más antigua a la más reciente.
+         * @param position  posición de continuación
+         * @param limit     tamaño de página
+         * @return          ventana de solicitudes
+         */
+        @EntityGraph(attributePaths = "user")
+        Window<SolicitudVerificacion> findAllByOrderByDateSolicitudAscIdSolicitudAsc(ScrollPosition position, Limit limit);
+
+        /**
+         * Lista una página de las solicitudes en un estado, de la más antigua a la más reciente.
+         * Usa el índice (estado_solicitud, date_solicitud, id_solicitud).
+         * @param estado    estado de la solicitud
+         * @param position  posición de continuación
+         * @param limit     tamaño de página
+         * @return          ventana de solicitudes
+         */
+        @EntityGraph(attributePaths = "user")
+        Window<SolicitudVerificacion> findByEstadoSolicitudOrderByDateSolicitudAscIdSolicitudAsc(
+                EstadoSolicitud estado, ScrollPosition position, Limit limit);
+
+        /**
+         * Lista una página de las solicitudes de un rol, de la más antigua a la más reciente.
+         * @param rol       rol solicitado
+         * @param position  posición de continuación
+         * @param limit     tamaño de página
+         * @return          ventana de solicitudes
+         */
+        @EntityGraph(attributePaths = "user")
+        Window<SolicitudVerificacion> findByRolSolicitadoOrderByDateSolicitudAscIdSolicitudAsc(
+                RoleName rol, ScrollPosition position, Limit limit);
+
+        /**
+         * Lista una página de las solicitudes en un estado y de un rol, de la más antigua a la más reciente.
+         * Usa el índice (estado_solicitud, rol_solicitado, date_solicitud, id_solicitud).
+         * @param estado    estado de la solicitud
+         * @param rol       rol solicitado
+         * @param position  posición de continuación
+         * @param limit     tamaño de página
+         * @return          ventana de solicitudes
+         */
+        @EntityGraph(attributePaths = "user")
+        Window<SolicitudVerificacion> findByEstadoSolicitudAndRolSolicitadoOrderByDateSolicitudAscIdSolicitudAsc(
+                EstadoSolicitud estado, RoleName rol, ScrollPosition position, Limit limit);
+
+        /**
+         * Cuenta las solicitudes en un estado.
+         * @param estado    estado de la solicitud
+         * @return          número de solicitudes
+         */
+        long countByEstadoSolicitud(EstadoSolicitud estado);
+
+        /**
+         * Devuelve la fecha de la solicitud más antigua en un estado.
+         * @param estado    estado de la solicitud
+         * @return          fecha más antigua, o null si no hay solicitudes en ese estado
+         */
+        @Query("SELECT MIN(s.dateSolicitud) FROM SolicitudVerificacion s WHERE s.estadoSolicitud = :estado")
+        LocalDateTime findFechaMasAntigua(@Param("estado") EstadoSolicitud estado);
+
 
 }
@@ -12,7 +12,11 @@ package com.example.demo1.repositories;
 
 import com.example.demo1.models.entidades.UserModel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -60,5 +64,36 @@ public interface IUserRepository extends JpaRepository<UserModel, Long> {
      */
     Optional<UserModel> findByEmail(String email);
 
+    /**
+     * Obtiene solo la versión de token de un usuario, sin cargar la entidad.
+     * @param idUser    identificador interno del usuario
+     * @return          versión de token, o vacío si el usuario no existe
+     */
+    @Query("SELECT u.tokenVersion FROM UserModel u WHERE u.id_user = :idUser")
+    Optional<Integer> findTokenVersionById(@Param("idUser") Long idUser);
+
+    /**
+     * Incrementa la versión de token de un usuario en la propia sentencia, sin leerla antes, para que
+     * dos revocaciones simultáneas no se pisen.
+     * @param idUser    identificador interno del usuario
+     * @return          número de usuarios actualizados (0 si no existe)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserModel u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id_user = :idUser")
+    int incrementarTokenVersion(@Param("idUser") Long idUser);
+
+    /**
+     * Guarda la URL de la imagen de perfil de un usuario sin reescribir el resto de columnas, para no
+     * pisar cambios hechos en el usuario mientras se subía la imagen.
+     * @param uuid  identificador público del usuario
+     * @param url   URL pública de la imagen
+     * @return      número de usuarios actualizados (0 si ya no existe)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserModel u SET u.photoProfile = :url WHERE u.uuid = :uuid")
+    int actualizarFotoPerfil(@Param("uuid") UUID uuid, @Param("url") String url);
+
 
 }
@@ -1,7 +1,7 @@
 package com.example.demo1.security;
 
 import com.example.demo1.models.entidades.UserModel;
-import com.example.demo1.repositories.IUserRepository;
+import com.example.demo1.services.UserCacheService;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -16,14 +16,14 @@ import java.util.List;
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
-    private final IUserRepository userRepository;
+    private final UserCacheService userCacheService;
 
     /**
-     * Constructor con inyección del repositorio de usuarios
-     * @param userRepository repositorio que accede a los datos de los usuarios
+     * Constructor con inyección de la caché de usuarios
+     * @param userCacheService caché de lectura sobre el repositorio de usuarios
      */
-    public CustomUserDetailsService(IUserRepository userRepository) {
-        this.userRepository = userRepository;
+    public CustomUserDetailsService(UserCacheService userCacheService) {
+        this.userCacheService = userCacheService;
     }
 
     /**
@@ -36,7 +36,7 @@ public class CustomUserDetailsService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        UserModel user = userRepository.findByEmail(email)
+        UserModel user = userCacheService.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + email));
 
         if (user.getTypeUser() == null) {
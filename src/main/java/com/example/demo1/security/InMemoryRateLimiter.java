@@ -0,0 +1,104 @@
+/**
+ * InMemoryRateLimiter.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Implementación en memoria de los cubos de fichas. Cada cubo es un estado inmutable
+ * que se sustituye con compare-and-set, sin bloqueos; los cubos se guardan en una caché de Caffeine
+ * y se descartan cuando llevan sin usarse el tiempo que tardarían en volver a llenarse.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Cubos de fichas en memoria, válidos para una sola instancia de la aplicación.
+ */
+public class InMemoryRateLimiter implements RateLimiter {
+
+    private final Cache<String, Cubo> cubos;
+    private final LongSupplier relojMs;
+
+    /**
+     * Constructor del almacén en memoria.
+     * @param maxCubos  número máximo de cubos en memoria
+     */
+    public InMemoryRateLimiter(long maxCubos) {
+        this(maxCubos, System::currentTimeMillis);
+    }
+
+    InMemoryRateLimiter(long maxCubos, LongSupplier relojMs) {
+        this.relojMs = relojMs;
+        this.cubos = Caffeine.newBuilder()
+                .maximumSize(maxCubos)
+                .expireAfter(new Expiry<String, Cubo>() {
+                    @Override
+                    public long expireAfterCreate(String clave, Cubo cubo, long ahora) {
+                        return TimeUnit.MILLISECONDS.toNanos(cubo.limite.milisegundosHastaLleno());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String clave, Cubo cubo, long ahora, long restante) {
+                        return restante;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String clave, Cubo cubo, long ahora, long restante) {
+                        return TimeUnit.MILLISECONDS.toNanos(cubo.limite.milisegundosHastaLleno());
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public boolean intentarConsumir(String clave, LimiteTasa limite) {
+        long ahora = relojMs.getAsLong();
+        Cubo cubo = cubos.get(clave, k -> new Cubo(limite, new Estado(limite.getCapacidad(), ahora)));
+        while (true) {
+            Estado actual = cubo.estado.get();
+            double fichas = Math.min(limite.getCapacidad(),
+                    actual.fichas + Math.max(0, ahora - actual.instante) * limite.porMilisegundo());
+            if (fichas < 1) {
+                return false;
+            }
+            if (cubo.estado.compareAndSet(actual, new Estado(fichas - 1, Math.max(ahora, actual.instante)))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Número aproximado de cubos en memoria.
+     * @return  cubos
+     */
+    public long cubosActivos() {
+        return cubos.estimatedSize();
+    }
+
+    private static final class Cubo {
+        private final LimiteTasa limite;
+        private final AtomicReference<Estado> estado;
+
+        private Cubo(LimiteTasa limite, Estado inicial) {
+            this.limite = limite;
+            this.estado = new AtomicReference<>(inicial);
+        }
+    }
+
+    private static final class Estado {
+        private final double fichas;
+        private final long instante;
+
+        private Estado(double fichas, long instante) {
+            this.fichas = fichas;
+            this.instante = instante;
+        }
+    }
+}
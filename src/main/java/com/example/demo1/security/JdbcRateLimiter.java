@@ -0,0 +1,56 @@
+/**
+ * JdbcRateLimiter.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Implementación compartida de los cubos de fichas sobre la base de datos, para que
+ * varias instancias de la aplicación apliquen los mismos límites. Cada consumo son dos sentencias
+ * en una transacción corta: reposición (con bloqueo de la fila) y consumo condicional.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.security;
+
+import com.example.demo1.repositories.IRateLimitBucketRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Cubos de fichas compartidos a través de la tabla rate_limit_buckets.
+ */
+public class JdbcRateLimiter implements RateLimiter {
+
+    private final IRateLimitBucketRepository rateLimitBucketRepository;
+    private final LongSupplier relojMs;
+
+    /**
+     * Constructor del almacén compartido.
+     * @param rateLimitBucketRepository repositorio de cubos
+     */
+    public JdbcRateLimiter(IRateLimitBucketRepository rateLimitBucketRepository) {
+        this(rateLimitBucketRepository, System::currentTimeMillis);
+    }
+
+    JdbcRateLimiter(IRateLimitBucketRepository rateLimitBucketRepository, LongSupplier relojMs) {
+        this.rateLimitBucketRepository = rateLimitBucketRepository;
+        this.relojMs = relojMs;
+    }
+
+    @Override
+    @Transactional
+    public boolean intentarConsumir(String clave, LimiteTasa limite) {
+        long ahora = relojMs.getAsLong();
+        rateLimitBucketRepository.reponer(clave, limite.getCapacidad(), limite.getPorMinuto(), ahora,
+                ahora + limite.milisegundosHastaLleno());
+        return rateLimitBucketRepository.consumir(clave) == 1;
+    }
+
+    /**
+     * Borra periódicamente los cubos que ya se habrían llenado.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.jdbc.cleanup-interval-ms:300000}")
+    public void borrarCaducados() {
+        rateLimitBucketRepository.borrarCaducados(relojMs.getAsLong());
+    }
+}
@@ -10,6 +10,7 @@
  */
 package com.example.demo1.security;
 
+import com.example.demo1.config.JwtConfiguration;
 import com.example.demo1.services.JwtTokenService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -18,17 +19,28 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Filtro personalizado de Spring Security que válida el token JWT en cada petición.
+ * El token se parsea y verifica una sola vez y el resultado se guarda como {@link JwtPrincipal}.
+ * Las rutas públicas se reconocen con los mismos matchers que la configuración de seguridad ({@link RutasPublicas}).
+ * En modo sin estado los permisos se obtienen del claim "role", sin consultar la base de datos.
  */
 @Component
 @Lazy
@@ -36,19 +48,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenService jwtTokenService;
     private final UserDetailsService userDetailsService;
+    private final JwtConfiguration jwtConfiguration;
 
     /**
      * Constructor con inyección de servicios necesarios.
      * @param jwtTokenService       servicio que maneja la lógica de tokens JWT
      * @param userDetailsService    servicio que recupera datos del usuario desde la base de datos.
+     * @param jwtConfiguration      configuración JWT (modo de autenticación sin estado)
      */
-    public JwtAuthenticationFilter(JwtTokenService jwtTokenService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtTokenService jwtTokenService, UserDetailsService userDetailsService,
+                                   JwtConfiguration jwtConfiguration) {
         this.jwtTokenService = jwtTokenService;
         this.userDetailsService = userDetailsService;
+        this.jwtConfiguration = jwtConfiguration;
     }
 
     /**
-     * Método que intercepta todas las peticiones HTTP para validar y establecer la autenticación
+     * Método que intercepta todas las peticiones HTTP para validar y establecer la autenticación.
+     * En las rutas de autenticación no se lee el token; en las lecturas públicas se deja un contexto
+     * de seguridad diferido, de modo que el token solo se verifica (y, sin modo sin estado, el usuario
+     * solo se consulta) si el controlador o una regla de seguridad pide la autenticación.
      * @param request               petición HTTP entrante
      * @param response              respuesta HTTP saliente
      * @param filterChain           cadena de filtros a ejecutar
@@ -59,33 +78,70 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
             throws ServletException, IOException {
 
-        String path = request.getServletPath();
-        System.out.println("REQUEST PATH: " + path);
-
-
-        if (path.startsWith("/api/v1/users/register") || path.startsWith("/api/v1/users/login")) {
+        String jwt = RutasPublicas.AUTENTICACION.matches(request) ? null : getJwtFromRequest(request);
+        if (jwt == null) {
             filterChain.doFilter(request, response);
             return;
         }
 
+        if (RutasPublicas.LECTURAS_PUBLICAS.matches(request)) {
+            SecurityContextHolderStrategy strategy = SecurityContextHolder.getContextHolderStrategy();
+            strategy.setDeferredContext(SingletonSupplier.of(() -> {
+                SecurityContext context = strategy.createEmptyContext();
+                context.setAuthentication(authenticate(jwt, request));
+                return context;
+            }));
+        } else {
+            Authentication authentication = authenticate(jwt, request);
+            if (authentication != null) {
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Verifica el token y construye la autenticación con el principal tipado.
+     * @param jwt       token JWT de la cabecera Authorization
+     * @param request   petición HTTP, para los detalles de la autenticación
+     * @return          autenticación, o null si el token no es válido o no tiene permisos
+     */
+    private Authentication authenticate(String jwt, HttpServletRequest request) {
         try {
-            String jwt = getJwtFromRequest(request);
+            JwtPrincipal principal = jwtTokenService.parseToken(jwt).orElse(null);
 
-            if (jwt != null && jwtTokenService.validateToken(jwt)) {
-                String email = jwtTokenService.getUsernameFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            Collection<? extends GrantedAuthority> authorities = principal != null ? getAuthorities(principal) : List.of();
 
+            if (!authorities.isEmpty()) {
+                // El principal tipado evita que los controladores vuelvan a parsear el token
                 UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                        new UsernamePasswordAuthenticationToken(principal, null, authorities);
 
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                return authentication;
             }
         } catch (Exception e) {
             logger.error("No se pudo establecer la autenticación del usuario", e);
         }
+        return null;
+    }
 
-        filterChain.doFilter(request, response);
+    /**
+     * Obtiene los permisos del usuario. En modo sin estado se construyen a partir del claim "role";
+     * en caso contrario se cargan desde la base de datos.
+     * @param principal     principal obtenido del token
+     * @return              permisos del usuario, vacío si el token no incluye rol
+     */
+    private Collection<? extends GrantedAuthority> getAuthorities(JwtPrincipal principal) {
+        if (!jwtConfiguration.isJwtStateless()) {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(principal.getEmail());
+            return userDetails.getAuthorities();
+        }
+        if (principal.getRole() == null) {
+            return List.of();
+        }
+        return List.of(new SimpleGrantedAuthority("ROLE_" + principal.getRole()));
     }
 
     /**
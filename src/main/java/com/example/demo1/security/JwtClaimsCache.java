@@ -0,0 +1,123 @@
+/**
+ * JwtClaimsCache.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Caché acotada de tokens JWT ya verificados. Evita volver a parsear y
+ * comprobar la firma HMAC de un mismo token en cada petición. Las entradas se indexan
+ * por el resumen SHA-256 del token y se descartan cuando el token expira. El tamaño y la
+ * caducidad de cada entrada los gestiona Caffeine.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Caché en memoria de principals JWT con tamaño máximo y expiración por token.
+ */
+public class JwtClaimsCache {
+
+    private final Cache<String, JwtPrincipal> entries;
+
+    /**
+     * Constructor de la caché.
+     * @param maxSize número máximo de tokens almacenados; 0 desactiva la caché
+     */
+    public JwtClaimsCache(int maxSize) {
+        this.entries = maxSize <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ExpiracionDelToken())
+                .build();
+    }
+
+    /**
+     * Devuelve el principal asociado al token si está en caché y no ha expirado.
+     * @param token     token JWT recibido
+     * @return          principal verificado o null si no está en caché
+     */
+    public JwtPrincipal get(String token) {
+        if (entries == null) {
+            return null;
+        }
+        JwtPrincipal principal = entries.getIfPresent(digest(token));
+        return principal == null || principal.isExpired(Instant.now()) ? null : principal;
+    }
+
+    /**
+     * Guarda un principal verificado. Si la caché está llena, Caffeine descarta las entradas
+     * menos usadas; cada entrada caduca cuando expira su token.
+     * @param token         token JWT ya verificado
+     * @param principal     principal construido a partir de sus claims
+     */
+    public void put(String token, JwtPrincipal principal) {
+        if (entries == null) {
+            return;
+        }
+        entries.put(digest(token), principal);
+    }
+
+    /**
+     * Elimina todas las entradas de la caché.
+     */
+    public void clear() {
+        if (entries != null) {
+            entries.invalidateAll();
+        }
+    }
+
+    /**
+     * Número aproximado de tokens actualmente en caché.
+     * @return tamaño de la caché
+     */
+    public int size() {
+        if (entries == null) {
+            return 0;
+        }
+        entries.cleanUp();
+        return (int) entries.estimatedSize();
+    }
+
+    /**
+     * Cada entrada caduca cuando expira su token; las lecturas no alargan su vida.
+     */
+    private static final class ExpiracionDelToken implements Expiry<String, JwtPrincipal> {
+
+        @Override
+        public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+            if (principal.getExpiration() == null) {
+                return Long.MAX_VALUE;
+            }
+            Duration restante = Duration.between(Instant.now(), principal.getExpiration());
+            return restante.isNegative() ? 0 : restante.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, principal, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
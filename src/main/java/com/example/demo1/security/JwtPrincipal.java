@@ -0,0 +1,95 @@
+/**
+ * JwtPrincipal.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Representación tipada de los claims de un token JWT ya verificado.
+ * Se guarda en el SecurityContext para que los controladores lean la identidad del
+ * usuario sin volver a parsear ni verificar la firma del token.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.security;
+
+import lombok.Getter;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Principal inmutable construido a partir de los claims de un token JWT válido.
+ */
+@Getter
+public class JwtPrincipal implements Principal {
+
+    /**
+     * Identificador público del usuario (claim "uuid").
+     */
+    private final UUID uuid;
+
+    /**
+     * Identificador interno del usuario (claim "userId").
+     */
+    private final Long userId;
+
+    /**
+     * Rol del usuario (claim "role").
+     */
+    private final String role;
+
+    /**
+     * Correo electrónico del usuario (subject del token).
+     */
+    private final String email;
+
+    /**
+     * Instante de expiración del token.
+     */
+    private final Instant expiration;
+
+    /**
+     * Versión de token del usuario en el momento de emitirlo (claim "ver").
+     */
+    private final int tokenVersion;
+
+    /**
+     * Constructor con todos los datos extraídos del token.
+     * @param uuid          identificador público del usuario
+     * @param userId        identificador interno del usuario
+     * @param role          rol del usuario
+     * @param email         correo electrónico del usuario
+     * @param expiration    instante de expiración del token
+     * @param tokenVersion  versión de token del usuario
+     */
+    public JwtPrincipal(UUID uuid, Long userId, String role, String email, Instant expiration, int tokenVersion) {
+        this.uuid = uuid;
+        this.userId = userId;
+        this.role = role;
+        this.email = email;
+        this.expiration = expiration;
+        this.tokenVersion = tokenVersion;
+    }
+
+    /**
+     * Nombre del principal, que en la plataforma corresponde al email del usuario.
+     * @return email del usuario
+     */
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    /**
+     * Indica si el token ya ha expirado en el instante indicado.
+     * @param now   instante de referencia
+     * @return      true si el token ha expirado
+     */
+    public boolean isExpired(Instant now) {
+        return expiration != null && !now.isBefore(expiration);
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * LimiteTasa.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Límite de un cubo de fichas (token bucket): ráfaga máxima y fichas repuestas por minuto.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.security;
+
+import lombok.Getter;
+
+/**
+ * Límite de tasa de un cubo de fichas.
+ */
+@Getter
+public class LimiteTasa {
+
+    /**
+     * Número máximo de fichas del cubo, es decir, peticiones seguidas permitidas.
+     */
+    private final int capacidad;
+
+    /**
+     * Fichas que se reponen cada minuto.
+     */
+    private final int porMinuto;
+
+    /**
+     * Constructor del límite.
+     * @param capacidad ráfaga máxima (al menos 1)
+     * @param porMinuto fichas repuestas por minuto (al menos 1)
+     */
+    public LimiteTasa(int capacidad, int porMinuto) {
+        if (capacidad < 1 || porMinuto < 1) {
+            throw new IllegalArgumentException("La capacidad y la reposición deben ser positivas");
+        }
+        this.capacidad = capacidad;
+        this.porMinuto = porMinuto;
+    }
+
+    /**
+     * Crea un límite a partir de su representación en propiedades, "capacidad/por-minuto" (por ejemplo, "20/10").
+     * @param valor texto del límite
+     * @return      límite
+     * @throws IllegalArgumentException si el texto no tiene ese formato
+     */
+    public static LimiteTasa parse(String valor) {
+        String[] partes = valor.trim().split("/");
+        if (partes.length != 2) {
+            throw new IllegalArgumentException("Límite inválido, se espera capacidad/por-minuto: " + valor);
+        }
+        return new LimiteTasa(Integer.parseInt(partes[0].trim()), Integer.parseInt(partes[1].trim()));
+    }
+
+    /**
+     * Fichas repuestas por milisegundo.
+     * @return  tasa de reposición
+     */
+    public double porMilisegundo() {
+        return porMinuto / 60_000.0;
+    }
+
+    /**
+     * Segundos que tarda en reponerse una ficha, para la cabecera Retry-After.
+     * @return  segundos (al menos 1)
+     */
+    public long segundosPorFicha() {
+        return Math.max(1, (long) Math.ceil(60.0 / porMinuto));
+    }
+
+    /**
+     * Tiempo que tarda un cubo vacío en volver a llenarse; pasado ese tiempo sin uso puede descartarse.
+     * @return  milisegundos
+     */
+    public long milisegundosHastaLleno() {
+        return (long) Math.ceil(capacidad / porMilisegundo());
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * MeteredBCryptPasswordEncoder.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Codificador BCrypt que mide el tiempo de cada codificación y comprobación de
+ * contraseñas. BCrypt es deliberadamente costoso, por lo que su latencia se publica como métrica
+ * para poder distinguirla del resto del tiempo de login y registro.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BCryptPasswordEncoder} con temporizadores de Micrometer.
+ */
+public class MeteredBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    /**
+     * Temporizador de las operaciones BCrypt, etiquetado por operación (encode o matches).
+     */
+    public static final String TIMER = "security.bcrypt";
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    /**
+     * Constructor que registra los temporizadores en el registro indicado.
+     * @param meterRegistry registro de métricas
+     */
+    public MeteredBCryptPasswordEncoder(MeterRegistry meterRegistry) {
+        this.encodeTimer = timer(meterRegistry, "encode");
+        this.matchesTimer = timer(meterRegistry, "matches");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> super.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long inicio = System.nanoTime();
+        try {
+            return super.matches(rawPassword, encodedPassword);
+        } finally {
+            matchesTimer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operacion) {
+        return Timer.builder(TIMER)
+                .description("Tiempo de codificación y comprobación de contraseñas con BCrypt")
+                .tag("operation", operacion)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,259 @@
+/**
+ * RateLimitFilter.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Filtro que limita la frecuencia de las peticiones a las rutas de autenticación
+ * (login, registro y recuperación de contraseña) con cubos de fichas por IP y por cuenta. Las
+ * peticiones que superan el límite reciben un 429 con la cabecera Retry-After antes de llegar a
+ * la cadena de seguridad, sin consultar la base de datos ni calcular BCrypt. Las rutas se comparan
+ * con la ruta ya decodificada por el contenedor, igual que los matchers de Spring Security.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
+
+/**
+ * Filtro de limitación de tasa por IP y por cuenta para las rutas de autenticación.
+ * La IP es la de {@code getRemoteAddr()}: detrás de un proxy o balanceador hay que configurar
+ * {@code server.forward-headers-strategy} para que sea la del cliente y no la del proxy.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Tamaño máximo del cuerpo que se lee para obtener el email; los cuerpos mayores solo se limitan por IP.
+     */
+    static final int MAX_CUERPO = 16 * 1024;
+
+    private static final String BODY =
+            "{\"message\":\"Demasiadas peticiones, inténtelo de nuevo más tarde\",\"code\":\"TOO_MANY_REQUESTS\"}";
+
+    private final RateLimiter rateLimiter;
+    private final List<Ruta> rutas;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor del filtro.
+     * @param rateLimiter   almacén de cubos de fichas
+     * @param rutas         rutas limitadas y sus límites
+     * @param objectMapper  mapeador JSON para leer el email del cuerpo
+     * @param meterRegistry registro de métricas
+     */
+    public RateLimitFilter(RateLimiter rateLimiter, List<Ruta> rutas, ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.rutas = List.copyOf(rutas);
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return buscarRuta(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Ruta ruta = buscarRuta(request);
+
+        if (!consumir(ruta, "ip", request.getRemoteAddr(), ruta.getPorIp())) {
+            rechazar(response, ruta.getPorIp());
+            return;
+        }
+
+        CuerpoLeido cuerpo = CuerpoLeido.leer(request);
+        String email = extraerEmail(cuerpo.prefijo, cuerpo.completo);
+        if (email != null && !consumir(ruta, "account", hash(email), ruta.getPorCuenta())) {
+            rechazar(response, ruta.getPorCuenta());
+            return;
+        }
+
+        filterChain.doFilter(cuerpo.envolver(request), response);
+    }
+
+    private Ruta buscarRuta(HttpServletRequest request) {
+        for (Ruta ruta : rutas) {
+            if (ruta.matcher.matches(request)) {
+                return ruta;
+            }
+        }
+        return null;
+    }
+
+    private boolean consumir(Ruta ruta, String tipo, String valor, LimiteTasa limite) {
+        boolean permitida = rateLimiter.intentarConsumir(ruta.getNombre() + ":" + tipo + ":" + valor, limite);
+        Counter.builder("security.rate_limit.requests")
+                .description("Peticiones evaluadas por la limitación de tasa de autenticación")
+                .tag("route", ruta.getNombre())
+                .tag("key", tipo)
+                .tag("outcome", permitida ? "allowed" : "rejected")
+                .register(meterRegistry)
+                .increment();
+        return permitida;
+    }
+
+    private String extraerEmail(byte[] cuerpo, boolean completo) {
+        if (!completo || cuerpo.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode email = objectMapper.readTree(cuerpo).get("email");
+            if (email == null || !email.isTextual() || email.asText().isBlank()) {
+                return null;
+            }
+            return email.asText().trim().toLowerCase(Locale.ROOT);
+        } catch (IOException e) {
+            // El controlador responderá al cuerpo mal formado; aquí solo se limita por IP.
+            return null;
+        }
+    }
+
+    private static String hash(String valor) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(valor.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static void rechazar(HttpServletResponse response, LimiteTasa limite) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(limite.segundosPorFicha()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(BODY);
+    }
+
+    /**
+     * Ruta limitada: nombre usado en claves y métricas, path de las peticiones POST limitadas y límites
+     * por IP y por cuenta.
+     */
+    @Getter
+    public static class Ruta {
+        private final String nombre;
+        private final String path;
+        private final LimiteTasa porIp;
+        private final LimiteTasa porCuenta;
+        @Getter(AccessLevel.NONE)
+        private final RequestMatcher matcher;
+
+        public Ruta(String nombre, String path, LimiteTasa porIp, LimiteTasa porCuenta) {
+            this.nombre = nombre;
+            this.path = path;
+            this.porIp = porIp;
+            this.porCuenta = porCuenta;
+            this.matcher = antMatcher(HttpMethod.POST, path);
+        }
+    }
+
+    /**
+     * Primeros bytes del cuerpo, leídos para obtener el email, y el resto del flujo sin leer.
+     */
+    private static final class CuerpoLeido {
+        private final byte[] prefijo;
+        private final boolean completo;
+        private final InputStream resto;
+
+        private CuerpoLeido(byte[] prefijo, boolean completo, InputStream resto) {
+            this.prefijo = prefijo;
+            this.completo = completo;
+            this.resto = resto;
+        }
+
+        static CuerpoLeido leer(HttpServletRequest request) throws IOException {
+            InputStream entrada = request.getInputStream();
+            byte[] prefijo = entrada.readNBytes(MAX_CUERPO + 1);
+            boolean completo = prefijo.length <= MAX_CUERPO;
+            return new CuerpoLeido(prefijo, completo, entrada);
+        }
+
+        HttpServletRequest envolver(HttpServletRequest request) {
+            InputStream cuerpo = new SequenceInputStream(new ByteArrayInputStream(prefijo), resto);
+            return new HttpServletRequestWrapper(request) {
+                @Override
+                public ServletInputStream getInputStream() {
+                    return new CuerpoInputStream(cuerpo);
+                }
+
+                @Override
+                public BufferedReader getReader() {
+                    String encoding = getCharacterEncoding() != null
+                            ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+                    return new BufferedReader(new InputStreamReader(cuerpo, Charset.forName(encoding)));
+                }
+            };
+        }
+    }
+
+    private static final class CuerpoInputStream extends ServletInputStream {
+        private final InputStream cuerpo;
+        private boolean terminado;
+
+        private CuerpoInputStream(InputStream cuerpo) {
+            this.cuerpo = cuerpo;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = cuerpo.read();
+            terminado = b < 0;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = cuerpo.read(b, off, len);
+            terminado = n < 0;
+            return n;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return terminado;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new UnsupportedOperationException("Lectura asíncrona no soportada");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+/**
+ * RateLimiter.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Interfaz del almacén de cubos de fichas usado por el filtro de limitación de tasa.
+ * La implementación en memoria sirve para una sola instancia; con varias instancias se configura
+ * una implementación compartida para que todas consuman de los mismos cubos.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.security;
+
+/**
+ * Almacén de cubos de fichas identificados por clave.
+ */
+public interface RateLimiter {
+
+    /**
+     * Intenta consumir una ficha del cubo de la clave, creándolo lleno si no existe.
+     * @param clave     clave del cubo (ruta, tipo y valor, por ejemplo "login:ip:10.0.0.1")
+     * @param limite    límite del cubo
+     * @return          true si había ficha y se consumió; false si la petición debe rechazarse
+     */
+    boolean intentarConsumir(String clave, LimiteTasa limite);
+}
@@ -0,0 +1,48 @@
+/**
+ * RutasPublicas.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Rutas públicas de la API, definidas una sola vez para que la configuración de
+ * seguridad y el filtro JWT usen exactamente los mismos matchers. El filtro no procesa el token
+ * en las rutas de autenticación y lo procesa solo bajo demanda en las lecturas públicas.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.security;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
+
+/**
+ * Matchers de las rutas que no requieren autenticación.
+ */
+public final class RutasPublicas {
+
+    /**
+     * Registro, inicio y cierre de sesión, renovación de tokens y recuperación de contraseña.
+     * No usan el usuario autenticado, por lo que el filtro JWT no lee el token.
+     */
+    public static final RequestMatcher AUTENTICACION = new OrRequestMatcher(
+            antMatcher("/api/v1/users/register"),
+            antMatcher(HttpMethod.POST, "/api/v1/users/login"),
+            antMatcher(HttpMethod.POST, "/api/v1/users/refresh"),
+            antMatcher(HttpMethod.POST, "/api/v1/users/logout"),
+            antMatcher("/api/v1/users/forgot-password"));
+
+    /**
+     * Lecturas públicas. Algunos controladores de estas rutas usan el usuario si hay token
+     * (o lo exigen con {@code @PreAuthorize}), así que el filtro lo resuelve solo cuando se consulta.
+     */
+    public static final RequestMatcher LECTURAS_PUBLICAS = new OrRequestMatcher(
+            antMatcher(HttpMethod.GET, "/actuator/health/**"),
+            antMatcher(HttpMethod.GET, "/api/v1/portafolios/**"),
+            antMatcher(HttpMethod.GET, "/api/v1/users/**"),
+            antMatcher(HttpMethod.GET, "/upload-photo/**"),
+            antMatcher(HttpMethod.HEAD, "/upload-photo/**"));
+
+    private RutasPublicas() {
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * TokenVersionCache.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Caché de la versión de token de cada usuario, guardada en la columna token_version.
+ * Cada token JWT incluye la versión vigente al emitirse; al cambiar el rol o las credenciales del
+ * usuario se incrementa la versión y los tokens anteriores dejan de aceptarse. Al estar persistida,
+ * la versión es la misma en todas las instancias y se conserva tras un reinicio.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.security;
+
+import com.example.demo1.config.JwtConfiguration;
+import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.repositories.IUserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Registro de versiones de token por usuario, utilizado para revocar tokens.
+ * Las versiones leídas se reutilizan durante jwt.token-version.ttl-seconds, por lo que validar un token
+ * normalmente no consulta la base de datos. Un token con una versión más nueva que la guardada indica
+ * que la entrada está desactualizada (la revocación se hizo en otra instancia) y se vuelve a leer.
+ */
+@Component
+public class TokenVersionCache {
+
+    private final IUserRepository userRepository;
+    private final Cache<Long, Integer> versions;
+
+    /**
+     * Constructor que crea la caché de versiones.
+     * @param userRepository    repositorio de usuarios, del que se leen las versiones
+     * @param jwtConfiguration  configuración JWT (tiempo de vida de las versiones en caché)
+     */
+    public TokenVersionCache(IUserRepository userRepository, JwtConfiguration jwtConfiguration) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, jwtConfiguration.getJwtCacheMaxSize()))
+                .expireAfterWrite(Duration.ofSeconds(jwtConfiguration.getTokenVersionTtlSeconds()))
+                .build();
+    }
+
+    /**
+     * Comprueba si la versión incluida en un token sigue vigente.
+     * @param userId        identificador interno del usuario
+     * @param tokenVersion  versión incluida en el token
+     * @return              true si el token no ha sido revocado y el usuario existe; false si el token
+     *                      no identifica al usuario
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        if (userId == null) {
+            return false;
+        }
+        Integer current = versions.getIfPresent(userId);
+        if (current == null || tokenVersion > current) {
+            current = userRepository.findTokenVersionById(userId).orElse(null);
+            if (current == null) {
+                return false;
+            }
+            versions.put(userId, current);
+        }
+        return current == tokenVersion;
+    }
+
+    /**
+     * Revoca todos los tokens emitidos hasta ahora para un usuario incrementando su versión con un UPDATE
+     * atómico, que no depende de guardar la entidad. La entidad recibe la versión resultante para que los
+     * tokens que se emitan con ella la incluyan.
+     * La entrada local se descarta de nuevo al terminar la transacción, para no conservar la versión anterior.
+     * @param user  usuario cuyos tokens se revocan
+     */
+    public void revoke(UserModel user) {
+        Long userId = user.getId_user();
+        if (userId == null) {
+            return;
+        }
+        if (userRepository.incrementarTokenVersion(userId) == 1) {
+            userRepository.findTokenVersionById(userId).ifPresent(user::setTokenVersion);
+        }
+        versions.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    versions.invalidate(userId);
+                }
+            });
+        }
+    }
+}
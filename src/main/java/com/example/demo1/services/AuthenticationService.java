@@ -12,51 +12,56 @@ package com.example.demo1.services;
 
 import com.example.demo1.models.entidades.UserModel;
 import com.example.demo1.repositories.IUserRepository;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Servicio de autenticación que encapsula la lógica relacionada con el login de usuarios.
- * Utiliza el sistema de autenticación de Spring Security y consulta los datos mediante JPA.
+ * Busca al usuario una sola vez en la base de datos y comprueba la contraseña en el
+ * ejecutor dedicado de BCrypt, devolviendo el mismo usuario para generar el token.
+ * No usa la caché de usuarios: una copia cacheada podría aceptar la contraseña anterior
+ * tras un cambio de contraseña hecho en otra instancia.
  */
 @Service
 public class AuthenticationService {
 
-    private final AuthenticationManager authenticationManager;
     private final IUserRepository userRepository;
-    private final JwtTokenService jwtTokenService;
+    private final PasswordHashingService passwordHashingService;
 
     /**
      * Constructor con inyección de dependencias necesarias para la autenticación.
-     * @param authenticationManager gestor encargado de verificar las credenciales del usuario.
      * @param userRepository repositorio JPA para acceder a los datos de los usuarios.
-     * @param jwtTokenService  servicio encargado de la gestión de tokens JWT.
+     * @param passwordHashingService servicio que comprueba las contraseñas en el ejecutor de BCrypt.
      */
-    public AuthenticationService(AuthenticationManager authenticationManager,
-                                 IUserRepository userRepository, JwtTokenService jwtTokenService) {
-        this.authenticationManager = authenticationManager;
+    public AuthenticationService(IUserRepository userRepository, PasswordHashingService passwordHashingService) {
         this.userRepository = userRepository;
-        this.jwtTokenService = jwtTokenService;
+        this.passwordHashingService = passwordHashingService;
     }
 
     /**
      * Método que permite autenticar a un usuario mediante su email y contraseña.
-     * Si la autenticación es exitosa, se recupera el usuario desde la base de datos.
+     * El usuario se busca una sola vez y es el mismo que se devuelve para generar el token.
      * @param email correo electrónico del usuario
      * @param password contraseña del usuario
      * @return instancia de UserModel correspondiente al usuario autenticado.
-     * @throws IllegalStateException si el email no existe en el sistema.
+     * @throws BadCredentialsException si el email no existe o la contraseña no coincide.
+     * @throws IllegalStateException si el usuario no tiene un rol asignado.
+     * @throws RejectedExecutionException si el ejecutor de BCrypt está saturado.
      */
     public UserModel authenticate(String email, String password) {
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(email, password)
-        );
-        
-        return userRepository.findByEmail(email)
-            .orElseThrow(() -> new IllegalStateException("Email  no encontrado: " + email));
+        Optional<UserModel> user = userRepository.findByEmail(email);
+
+        // Sin usuario también se calcula un hash, para no revelar qué emails existen
+        boolean valida = passwordHashingService.matches(password, user.map(UserModel::getPassword).orElse(null));
+        if (user.isEmpty() || !valida) {
+            throw new BadCredentialsException("Credenciales inválidas");
+        }
+        if (user.get().getTypeUser() == null) {
+            throw new IllegalStateException("El usuario no tiene un rol asignado");
+        }
+        return user.get();
     }
 
     /**
@@ -0,0 +1,175 @@
+/**
+ * EmailOutboxDispatcher.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Proceso en segundo plano que envía los correos de la bandeja de salida por lotes,
+ * reutilizando una misma conexión SMTP para todo el lote. Cada lote se reclama antes de enviarlo,
+ * de modo que varias instancias no envíen el mismo correo. Los envíos fallidos se reintentan con
+ * espera exponencial y, al agotar los intentos, quedan en estado FALLIDO.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.services;
+
+import com.example.demo1.config.EmailOutboxConfiguration;
+import com.example.demo1.models.entidades.EmailOutbox;
+import com.example.demo1.models.enums.EstadoEmail;
+import com.example.demo1.repositories.IEmailOutboxRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Servicio que vacía periódicamente la bandeja de salida de correos.
+ */
+@Service
+public class EmailOutboxDispatcher {
+
+    private static final int MAX_ERROR = 1000;
+    private static final List<EstadoEmail> RECLAMABLES = List.of(EstadoEmail.PENDIENTE, EstadoEmail.ENVIANDO);
+
+    private final IEmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final EmailOutboxConfiguration configuration;
+    private final Clock clock;
+
+    /**
+     * Constructor que inyecta las dependencias del envío.
+     * @param emailOutboxRepository repositorio de la bandeja de salida
+     * @param mailSender            cliente SMTP
+     * @param configuration         parámetros de lotes y reintentos
+     */
+    @Autowired
+    public EmailOutboxDispatcher(IEmailOutboxRepository emailOutboxRepository, JavaMailSender mailSender,
+                                 EmailOutboxConfiguration configuration) {
+        this(emailOutboxRepository, mailSender, configuration, Clock.systemDefaultZone());
+    }
+
+    EmailOutboxDispatcher(IEmailOutboxRepository emailOutboxRepository, JavaMailSender mailSender,
+                          EmailOutboxConfiguration configuration, Clock clock) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.configuration = configuration;
+        this.clock = clock;
+    }
+
+    /**
+     * Envía los correos pendientes, lote a lote, hasta vaciar la bandeja o hasta que un lote falle por completo.
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:5000}")
+    public void despacharPendientes() {
+        int enviados;
+        do {
+            enviados = despacharLote();
+        } while (enviados == configuration.getBatchSize());
+    }
+
+    /**
+     * Reclama un lote de correos pendientes y lo envía por una única conexión SMTP.
+     * Los correos que otra instancia reclama a la vez se quedan fuera del lote.
+     * @return  número de correos enviados correctamente
+     */
+    public int despacharLote() {
+        LocalDateTime ahora = LocalDateTime.now(clock);
+        List<Long> candidatos = emailOutboxRepository.findIdsListos(RECLAMABLES, ahora,
+                Limit.of(configuration.getBatchSize()));
+        if (candidatos.isEmpty()) {
+            return 0;
+        }
+        String idLote = UUID.randomUUID().toString();
+        LocalDateTime vence = ahora.plus(Duration.ofMillis(configuration.getClaimTimeoutMs()));
+        if (emailOutboxRepository.reclamar(candidatos, RECLAMABLES, idLote, EstadoEmail.ENVIANDO, vence, ahora) == 0) {
+            return 0;
+        }
+        List<EmailOutbox> lote = emailOutboxRepository.findByIdInAndReclamadoPorOrderByIdAsc(candidatos, idLote);
+
+        Map<MimeMessage, EmailOutbox> porMensaje = new IdentityHashMap<>();
+        List<MimeMessage> mensajes = new ArrayList<>();
+        for (EmailOutbox email : lote) {
+            try {
+                MimeMessage mensaje = toMimeMessage(email);
+                porMensaje.put(mensaje, email);
+                mensajes.add(mensaje);
+            } catch (MessagingException e) {
+                registrarFallo(email, e, ahora);
+            }
+        }
+
+        Map<Object, Exception> fallidos = Map.of();
+        if (!mensajes.isEmpty()) {
+            try {
+                // JavaMailSender envía todo el array por la misma conexión (una sola negociación STARTTLS).
+                mailSender.send(mensajes.toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                fallidos = e.getFailedMessages().isEmpty() ? todosFallidos(mensajes, e) : e.getFailedMessages();
+            } catch (MailException e) {
+                fallidos = todosFallidos(mensajes, e);
+            }
+        }
+
+        int enviados = 0;
+        for (MimeMessage mensaje : mensajes) {
+            EmailOutbox email = porMensaje.get(mensaje);
+            Exception error = fallidos.get(mensaje);
+            if (error == null) {
+                email.setEstado(EstadoEmail.ENVIADO);
+                email.setReclamadoPor(null);
+                email.setFechaEnvio(ahora);
+                email.setIntentos(email.getIntentos() + 1);
+                email.setUltimoError(null);
+                enviados++;
+            } else {
+                registrarFallo(email, error, ahora);
+            }
+        }
+        emailOutboxRepository.saveAll(lote);
+        return enviados;
+    }
+
+    private MimeMessage toMimeMessage(EmailOutbox email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, StandardCharsets.UTF_8.name());
+
+        helper.setTo(email.getDestinatario());
+        helper.setSubject(email.getAsunto());
+        helper.setText(email.getCuerpo(), true);
+        return message;
+    }
+
+    private void registrarFallo(EmailOutbox email, Exception error, LocalDateTime ahora) {
+        int intentos = email.getIntentos() + 1;
+        email.setIntentos(intentos);
+        String mensaje = String.valueOf(error.getMessage());
+        email.setUltimoError(mensaje.length() > MAX_ERROR ? mensaje.substring(0, MAX_ERROR) : mensaje);
+        email.setReclamadoPor(null);
+        if (intentos >= configuration.getMaxAttempts()) {
+            email.setEstado(EstadoEmail.FALLIDO);
+        } else {
+            email.setEstado(EstadoEmail.PENDIENTE);
+            email.setProximoIntento(ahora.plus(configuration.backoff(intentos)));
+        }
+    }
+
+    private static Map<Object, Exception> todosFallidos(List<MimeMessage> mensajes, Exception error) {
+        Map<Object, Exception> fallidos = new IdentityHashMap<>();
+        mensajes.forEach(mensaje -> fallidos.put(mensaje, error));
+        return fallidos;
+    }
+}
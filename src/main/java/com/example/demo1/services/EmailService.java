@@ -1,36 +1,38 @@
 package com.example.demo1.services;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import com.example.demo1.models.entidades.EmailOutbox;
+import com.example.demo1.repositories.IEmailOutboxRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+/**
+ * Servicio de envío de correos. Los correos no se envían en la petición HTTP: se guardan en la
+ * bandeja de salida y {@link EmailOutboxDispatcher} los entrega en segundo plano.
+ */
 @Service
 public class EmailService {
 
 
-    private final JavaMailSender mailSender;
+    private final IEmailOutboxRepository emailOutboxRepository;
 
     @Autowired
-    public EmailService(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public EmailService(IEmailOutboxRepository emailOutboxRepository) {
+        this.emailOutboxRepository = emailOutboxRepository;
     }
 
 
-    public void sendResetEmail(String to, String subject, String body) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(body, true);
-
-            mailSender.send(message);
-        } catch (MessagingException e) {
-            throw new IllegalStateException("No se pudo enviar el correo", e);
-        }
+    /**
+     * Encola el correo de restablecimiento de contraseña.
+     * @param to        destinatario
+     * @param subject   asunto
+     * @param body      cuerpo en HTML
+     * @return          correo encolado
+     */
+    public EmailOutbox sendResetEmail(String to, String subject, String body) {
+        EmailOutbox email = new EmailOutbox();
+        email.setDestinatario(to);
+        email.setAsunto(subject);
+        email.setCuerpo(body);
+        return emailOutboxRepository.save(email);
     }
 }
@@ -0,0 +1,336 @@
+/**
+ * EtiquetaIndexService.java
+ * Proyecto: Scénico -Plataforma para artistas emergentes
+ * Descripción: Servicio que mantiene el diccionario de etiquetas normalizadas y un índice
+ * invertido en memoria (prefijos y trigramas) para buscar portafolios por etiqueta sin
+ * recorrer la tabla de etiquetas en la base de datos. El índice es propio de cada instancia:
+ * los cambios hechos en otra instancia se incorporan al recargarlo periódicamente.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.services;
+
+import com.example.demo1.models.entidades.Etiqueta;
+import com.example.demo1.models.entidades.Portafolio;
+import com.example.demo1.repositories.IEtiquetaRepository;
+import com.example.demo1.repositories.IPortafolioRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servicio del índice de etiquetas de portafolios.
+ * Las lecturas no bloquean; las escrituras (alta o edición de portafolios) se serializan.
+ * Cada instancia indexa al confirmarse sus propios cambios y recarga el índice desde la base de datos
+ * cada etiquetas.indice.refresh-interval-ms, por lo que los cambios de otras instancias pueden tardar
+ * ese intervalo en aparecer en las búsquedas.
+ */
+@Service
+public class EtiquetaIndexService {
+
+    private static final int NGRAMA = 3;
+
+    private final IEtiquetaRepository etiquetaRepository;
+    private final IPortafolioRepository portafolioRepository;
+
+    /**
+     * Etiqueta normalizada → identificadores de portafolios. Ordenado para responder búsquedas por prefijo.
+     */
+    private final ConcurrentSkipListMap<String, Set<Long>> portafoliosPorEtiqueta = new ConcurrentSkipListMap<>();
+
+    /**
+     * Trigrama → etiquetas que lo contienen, para responder búsquedas por subcadena.
+     */
+    private final ConcurrentHashMap<String, Set<String>> etiquetasPorTrigrama = new ConcurrentHashMap<>();
+
+    /**
+     * Portafolio → etiquetas indexadas, para poder reindexarlo al actualizarlo.
+     */
+    private final ConcurrentHashMap<Long, Set<String>> etiquetasPorPortafolio = new ConcurrentHashMap<>();
+
+    /**
+     * Portafolio → número de la última modificación local, para que una recarga no deshaga cambios
+     * indexados mientras se leía la base de datos.
+     */
+    private final ConcurrentHashMap<Long, Long> modificaciones = new ConcurrentHashMap<>();
+    private final AtomicLong secuencia = new AtomicLong();
+
+    /**
+     * Constructor que inyecta los repositorios necesarios.
+     * @param etiquetaRepository    repositorio del diccionario de etiquetas
+     * @param portafolioRepository  repositorio de portafolios
+     */
+    public EtiquetaIndexService(IEtiquetaRepository etiquetaRepository, IPortafolioRepository portafolioRepository) {
+        this.etiquetaRepository = etiquetaRepository;
+        this.portafolioRepository = portafolioRepository;
+    }
+
+    /**
+     * Carga el índice al arrancar la aplicación. Antes enlaza con el diccionario los portafolios
+     * creados antes de que existiera la tabla de etiquetas normalizadas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void cargarIndice() {
+        for (Portafolio portafolio : portafolioRepository.findSinEtiquetasNormalizadas()) {
+            portafolio.setEtiquetasNormalizadas(resolverEtiquetas(portafolio.getEtiquetas()));
+        }
+        leerEtiquetas().forEach(this::indexar);
+    }
+
+    /**
+     * Recarga periódicamente el índice desde la base de datos, para incorporar los portafolios creados,
+     * editados o eliminados en otras instancias. Solo se reindexan los portafolios que han cambiado.
+     */
+    @Scheduled(fixedDelayString = "${etiquetas.indice.refresh-interval-ms:300000}",
+            initialDelayString = "${etiquetas.indice.refresh-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void recargarIndice() {
+        long inicio = secuencia.get();
+        Map<Long, Set<String>> etiquetas = leerEtiquetas();
+
+        synchronized (this) {
+            for (Long idPortafolio : new ArrayList<>(etiquetasPorPortafolio.keySet())) {
+                if (!etiquetas.containsKey(idPortafolio) && !modificadoDesde(idPortafolio, inicio)) {
+                    eliminar(idPortafolio);
+                }
+            }
+            etiquetas.forEach((idPortafolio, nombres) -> {
+                if (!nombres.equals(etiquetasPorPortafolio.get(idPortafolio)) && !modificadoDesde(idPortafolio, inicio)) {
+                    indexar(idPortafolio, nombres);
+                }
+            });
+        }
+    }
+
+    /**
+     * Obtiene del diccionario las etiquetas normalizadas correspondientes a una lista de etiquetas,
+     * creando las que todavía no existen.
+     * @param etiquetas     etiquetas originales del portafolio
+     * @return              conjunto de etiquetas del diccionario
+     */
+    @Transactional
+    public Set<Etiqueta> resolverEtiquetas(Collection<String> etiquetas) {
+        Set<String> nombres = normalizar(etiquetas);
+        if (nombres.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        Set<Etiqueta> resultado = new HashSet<>(etiquetaRepository.findByNombreIn(nombres));
+        // Ordenadas, para que dos transacciones que crean las mismas etiquetas las bloqueen en el mismo orden
+        Set<String> faltantes = new TreeSet<>(nombres);
+        resultado.forEach(etiqueta -> faltantes.remove(etiqueta.getNombre()));
+        if (faltantes.isEmpty()) {
+            return resultado;
+        }
+
+        // Otra transacción puede estar creando la misma etiqueta: la inserción no falla si ya existe y
+        // la lectura con bloqueo devuelve la fila aunque se haya confirmado después de empezar esta transacción
+        faltantes.forEach(etiquetaRepository::insertarSiNoExiste);
+        resultado.addAll(etiquetaRepository.findByNombreInForShare(faltantes));
+        return resultado;
+    }
+
+    /**
+     * Indexa las etiquetas de un portafolio cuando se confirma la transacción actual, para que una
+     * transacción revertida no deje en el índice un portafolio que no existe. Sin transacción, indexa ya.
+     * @param idPortafolio  identificador del portafolio
+     * @param etiquetas     etiquetas guardadas del portafolio
+     */
+    public void indexarAlConfirmar(Long idPortafolio, Collection<String> etiquetas) {
+        List<String> copia = etiquetas == null ? List.of() : new ArrayList<>(etiquetas);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            indexar(idPortafolio, copia);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                indexar(idPortafolio, copia);
+            }
+        });
+    }
+
+    /**
+     * Retira un portafolio eliminado del índice cuando se confirma la transacción actual, para que una
+     * transacción revertida no lo deje fuera de las búsquedas. Sin transacción, lo retira ya.
+     * @param idPortafolio  identificador del portafolio
+     */
+    public void eliminarAlConfirmar(Long idPortafolio) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eliminar(idPortafolio);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eliminar(idPortafolio);
+            }
+        });
+    }
+
+    /**
+     * Indexa (o reindexa) las etiquetas de un portafolio.
+     * @param idPortafolio  identificador del portafolio
+     * @param etiquetas     etiquetas actuales del portafolio
+     */
+    public synchronized void indexar(Long idPortafolio, Collection<String> etiquetas) {
+        eliminar(idPortafolio);
+
+        Set<String> nombres = normalizar(etiquetas);
+        if (nombres.isEmpty()) {
+            return;
+        }
+        etiquetasPorPortafolio.put(idPortafolio, nombres);
+        for (String nombre : nombres) {
+            portafoliosPorEtiqueta.computeIfAbsent(nombre, clave -> {
+                for (String trigrama : trigramas(clave)) {
+                    etiquetasPorTrigrama.computeIfAbsent(trigrama, t -> ConcurrentHashMap.newKeySet()).add(clave);
+                }
+                return ConcurrentHashMap.newKeySet();
+            }).add(idPortafolio);
+        }
+    }
+
+    /**
+     * Elimina un portafolio del índice.
+     * @param idPortafolio identificador del portafolio
+     */
+    public synchronized void eliminar(Long idPortafolio) {
+        modificaciones.put(idPortafolio, secuencia.incrementAndGet());
+        Set<String> anteriores = etiquetasPorPortafolio.remove(idPortafolio);
+        if (anteriores == null) {
+            return;
+        }
+        for (String nombre : anteriores) {
+            Set<Long> ids = portafoliosPorEtiqueta.get(nombre);
+            if (ids == null) {
+                continue;
+            }
+            ids.remove(idPortafolio);
+            if (ids.isEmpty()) {
+                portafoliosPorEtiqueta.remove(nombre);
+                for (String trigrama : trigramas(nombre)) {
+                    Set<String> conTrigrama = etiquetasPorTrigrama.get(trigrama);
+                    if (conTrigrama != null) {
+                        conTrigrama.remove(nombre);
+                        if (conTrigrama.isEmpty()) {
+                            etiquetasPorTrigrama.remove(trigrama);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Busca los portafolios con alguna etiqueta que empiece por el texto indicado.
+     * @param texto     prefijo a buscar (sin distinguir mayúsculas)
+     * @return          identificadores de los portafolios encontrados
+     */
+    public Set<Long> buscarPorPrefijo(String texto) {
+        String prefijo = Etiqueta.normalizar(texto);
+        if (prefijo == null) {
+            return Set.of();
+        }
+        Set<Long> resultado = new HashSet<>();
+        portafoliosPorEtiqueta.subMap(prefijo, true, prefijo + Character.MAX_VALUE, true)
+                .values()
+                .forEach(resultado::addAll);
+        return resultado;
+    }
+
+    /**
+     * Busca los portafolios con alguna etiqueta que contenga el texto indicado.
+     * Para textos de al menos tres caracteres se usa el índice de trigramas; los más cortos
+     * se resuelven recorriendo el diccionario en memoria.
+     * @param texto     subcadena a buscar (sin distinguir mayúsculas)
+     * @return          identificadores de los portafolios encontrados
+     */
+    public Set<Long> buscarPorSubcadena(String texto) {
+        String subcadena = Etiqueta.normalizar(texto);
+        if (subcadena == null) {
+            return Set.of();
+        }
+
+        Collection<String> candidatas = subcadena.length() < NGRAMA
+                ? portafoliosPorEtiqueta.keySet()
+                : candidatasPorTrigramas(subcadena);
+
+        Set<Long> resultado = new HashSet<>();
+        for (String etiqueta : candidatas) {
+            if (etiqueta.contains(subcadena)) {
+                Set<Long> ids = portafoliosPorEtiqueta.get(etiqueta);
+                if (ids != null) {
+                    resultado.addAll(ids);
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Intersección de las etiquetas que contienen todos los trigramas del texto.
+     */
+    private Collection<String> candidatasPorTrigramas(String texto) {
+        Set<String> candidatas = null;
+        for (String trigrama : trigramas(texto)) {
+            Set<String> conTrigrama = etiquetasPorTrigrama.get(trigrama);
+            if (conTrigrama == null) {
+                return List.of();
+            }
+            if (candidatas == null) {
+                candidatas = new HashSet<>(conTrigrama);
+            } else {
+                candidatas.retainAll(conTrigrama);
+            }
+            if (candidatas.isEmpty()) {
+                return List.of();
+            }
+        }
+        return candidatas == null ? List.of() : candidatas;
+    }
+
+    private Map<Long, Set<String>> leerEtiquetas() {
+        Map<Long, Set<String>> etiquetas = new HashMap<>();
+        for (IPortafolioRepository.EtiquetaPortafolioView fila : portafolioRepository.findAllEtiquetasNormalizadas()) {
+            etiquetas.computeIfAbsent(fila.getIdPortafolio(), id -> new HashSet<>()).add(fila.getNombre());
+        }
+        return etiquetas;
+    }
+
+    private boolean modificadoDesde(Long idPortafolio, long inicio) {
+        return modificaciones.getOrDefault(idPortafolio, 0L) > inicio;
+    }
+
+    private static Set<String> trigramas(String texto) {
+        Set<String> trigramas = new HashSet<>();
+        for (int i = 0; i + NGRAMA <= texto.length(); i++) {
+            trigramas.add(texto.substring(i, i + NGRAMA));
+        }
+        return trigramas;
+    }
+
+    private static Set<String> normalizar(Collection<String> etiquetas) {
+        Set<String> nombres = new LinkedHashSet<>();
+        if (etiquetas != null) {
+            for (String etiqueta : etiquetas) {
+                String nombre = Etiqueta.normalizar(etiqueta);
+                if (nombre != null) {
+                    nombres.add(nombre);
+                }
+            }
+        }
+        return nombres;
+    }
+}
@@ -11,9 +11,17 @@ package com.example.demo1.services;
 
 import com.example.demo1.config.JwtConfiguration;
 import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.security.JwtClaimsCache;
+import com.example.demo1.security.JwtPrincipal;
+import com.example.demo1.security.TokenVersionCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
@@ -21,31 +29,70 @@ import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Servicio que gestiona la generación, validación y lectura de tokens JWT.
  * Utiliza la clave secreta definida en la configuración para firmar y verificar tokens.
+ * Cada token se parsea y verifica una sola vez; el resultado se guarda en una caché acotada.
+ * El tiempo de verificación de firma y los aciertos de la caché se publican como métricas.
  */
 @Service
 public class JwtTokenService {
 
+    /**
+     * Temporizador de la verificación de tokens que no estaban en caché, etiquetado por resultado.
+     */
+    public static final String PARSE_TIMER = "security.jwt.parse";
+
+    /**
+     * Contador de tokens servidos desde la caché de claims.
+     */
+    public static final String CACHE_HITS_COUNTER = "security.jwt.cache.hits";
+
     private final JwtConfiguration jwtConfiguration;
     private final SecretKey key;
+    private final JwtParser jwtParser;
+    private final JwtClaimsCache claimsCache;
+    private final TokenVersionCache tokenVersionCache;
+    private final Timer parseValidTimer;
+    private final Timer parseInvalidTimer;
+    private final Counter cacheHits;
 
     /**
      * Constructor que inicializa el servicio con la clave secreta para JWT.
      *
      * @param jwtConfiguration configuración externa con los valores de expiración y clave secreta
+     * @param tokenVersionCache registro de versiones de token usado para revocar tokens
+     * @param meterRegistry registro de métricas
      */
-    public JwtTokenService(JwtConfiguration jwtConfiguration) {
+    public JwtTokenService(JwtConfiguration jwtConfiguration, TokenVersionCache tokenVersionCache,
+                           MeterRegistry meterRegistry) {
         this.jwtConfiguration = jwtConfiguration;
+        this.tokenVersionCache = tokenVersionCache;
         this.key = Keys.hmacShaKeyFor(jwtConfiguration.getJwtSecret().getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser().verifyWith(key).build();
+        this.claimsCache = new JwtClaimsCache(jwtConfiguration.getJwtCacheMaxSize());
+        this.parseValidTimer = parseTimer(meterRegistry, "valid");
+        this.parseInvalidTimer = parseTimer(meterRegistry, "invalid");
+        this.cacheHits = Counter.builder(CACHE_HITS_COUNTER)
+                .description("Tokens JWT resueltos desde la caché sin verificar la firma")
+                .register(meterRegistry);
+    }
+
+    private static Timer parseTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(PARSE_TIMER)
+                .description("Verificación de firma y lectura de claims de tokens JWT")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     /**
      * Genera un token JWT para un usuario autenticado.
-     * Incluye claims personalizados como UUID, ID y rol.
+     * Incluye claims personalizados como UUID, ID, rol y versión de token.
      *
      * @param userModel entidad del usuario autenticado
      * @return token JWT firmado
@@ -62,12 +109,28 @@ public class JwtTokenService {
                 .claim("role", role)
                 .claim("userId", userModel.getId_user())
                 .claim("uuid", userModel.getUuid().toString())
+                .claim("ver", userModel.getTokenVersion())
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(key)
                 .compact();
     }
 
+    /**
+     * Parsea y verifica un token JWT una única vez, devolviendo sus claims como principal tipado.
+     * Los tokens ya verificados se sirven desde la caché hasta que expiran.
+     *
+     * @param token token JWT a parsear
+     * @return principal con los datos del token, o vacío si es inválido, ha expirado o ha sido revocado
+     */
+    public Optional<JwtPrincipal> parseToken(String token) {
+        try {
+            return Optional.of(getPrincipal(token));
+        } catch (IllegalStateException e) {
+            return Optional.empty();
+        }
+    }
+
     /**
      * Valida si un token JWT es correcto y no ha expirado.
      *
@@ -75,12 +138,7 @@ public class JwtTokenService {
      * @return true si el token es válido, false si es inválido o ha expirado
      */
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return parseToken(token).isPresent();
     }
 
     /**
@@ -90,12 +148,7 @@ public class JwtTokenService {
      * @return nombre de usuario contenido en el token
      */
     public String getUsernameFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        return getPrincipal(token).getEmail();
     }
 
     /**
@@ -106,14 +159,88 @@ public class JwtTokenService {
      * @throws IllegalStateException si no se encuentra el campo "uuid"
      */
     public UUID getUuidFromToken(String token) {
-        Claims claims = getClaims(token);
-        String uuidString = claims.get("uuid", String.class);
+        UUID uuid = getPrincipal(token).getUuid();
 
-        if (uuidString == null) {
+        if (uuid == null) {
             throw new IllegalStateException("El token no contiene UUID");
         }
 
-        return UUID.fromString(uuidString);
+        return uuid;
+    }
+
+    /**
+     * Devuelve el principal del usuario autenticado en la petición actual.
+     * Lo lee del SecurityContext cuando el filtro JWT ya lo ha establecido y,
+     * si no, lo obtiene a partir de la cabecera Authorization.
+     *
+     * @return principal con los datos del token
+     * @throws IllegalStateException si no hay token o es inválido
+     */
+    public JwtPrincipal getCurrentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return principal;
+        }
+        return getPrincipal(resolveToken());
+    }
+
+    /**
+     * Obtiene el principal de un token, usando la caché si ya fue verificado.
+     * Rechaza los tokens cuya versión ya no coincide con la vigente del usuario.
+     *
+     * @param token token JWT
+     * @return principal con los datos del token
+     * @throws IllegalStateException si el token es inválido o ha sido revocado
+     */
+    private JwtPrincipal getPrincipal(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalStateException("Error al procesar el token: token vacío");
+        }
+
+        JwtPrincipal principal = claimsCache.get(token);
+        if (principal == null) {
+            long inicio = System.nanoTime();
+            try {
+                principal = toPrincipal(getClaims(token));
+            } finally {
+                Timer timer = principal != null ? parseValidTimer : parseInvalidTimer;
+                timer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            }
+            claimsCache.put(token, principal);
+        } else {
+            cacheHits.increment();
+        }
+
+        if (!tokenVersionCache.isCurrent(principal.getUserId(), principal.getTokenVersion())) {
+            throw new IllegalStateException("El token ha sido revocado");
+        }
+        return principal;
+    }
+
+    /**
+     * Construye el principal a partir de los claims del token.
+     *
+     * @param claims claims verificados del token
+     * @return principal tipado
+     * @throws IllegalStateException si el claim "uuid" no tiene formato válido
+     */
+    private JwtPrincipal toPrincipal(Claims claims) {
+        String uuidString = claims.get("uuid", String.class);
+        Object userId = claims.get("userId");
+        Object version = claims.get("ver");
+
+        try {
+            return new JwtPrincipal(
+                    uuidString != null ? UUID.fromString(uuidString) : null,
+                    userId instanceof Number number ? number.longValue() : null,
+                    claims.get("role", String.class),
+                    claims.getSubject(),
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                    version instanceof Number versionNumber ? versionNumber.intValue() : 0
+            );
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Error al procesar el token: " + e.getMessage());
+        }
     }
 
     /**
@@ -125,11 +252,7 @@ public class JwtTokenService {
      */
     private Claims getClaims(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return jwtParser.parseSignedClaims(token).getPayload();
         } catch (JwtException | IllegalArgumentException e) {
             throw new IllegalStateException("Error al procesar el token: " + e.getMessage());
         }
@@ -0,0 +1,355 @@
+/**
+ * MediaStorageService.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Servicio que guarda en disco las imágenes subidas por los usuarios. El contenido se
+ * copia por canales NIO mientras se calcula su resumen SHA-256, que da nombre al archivo: dos
+ * subidas con el mismo contenido comparten un único archivo. El formato se reconoce por los primeros
+ * bytes del contenido, no por el tipo declarado por el cliente. Las miniaturas se generan en un
+ * ejecutor acotado en segundo plano, leyendo antes las dimensiones de la cabecera.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.services;
+
+import com.example.demo1.config.MediaStorageConfiguration;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Servicio de almacenamiento de imágenes direccionado por contenido.
+ */
+@Service
+public class MediaStorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(MediaStorageService.class);
+
+    /**
+     * Subdirectorio de las miniaturas dentro del directorio de almacenamiento.
+     */
+    public static final String THUMBNAILS_DIR = "thumbs";
+
+    private static final String THUMBNAIL_FORMAT = "jpg";
+    private static final Pattern NOMBRE_VALIDO = Pattern.compile("[0-9a-f]{64}\\.[a-z0-9]{2,5}");
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int CABECERA_SIZE = 12;
+
+    private static final byte[] FIRMA_JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] FIRMA_PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] FIRMA_GIF87 = {'G', 'I', 'F', '8', '7', 'a'};
+    private static final byte[] FIRMA_GIF89 = {'G', 'I', 'F', '8', '9', 'a'};
+    private static final byte[] FIRMA_RIFF = {'R', 'I', 'F', 'F'};
+    private static final byte[] FIRMA_WEBP = {'W', 'E', 'B', 'P'};
+
+    private final MediaStorageConfiguration configuration;
+    private final Path directorio;
+    private final Path directorioMiniaturas;
+    private final ThreadPoolExecutor thumbnailExecutor;
+
+    /**
+     * Constructor que crea los directorios de almacenamiento y el ejecutor de miniaturas.
+     * @param configuration     configuración del almacenamiento
+     * @throws IOException      si no se pueden crear los directorios
+     */
+    public MediaStorageService(MediaStorageConfiguration configuration) throws IOException {
+        this.configuration = configuration;
+        this.directorio = Paths.get(configuration.getStoragePath()).toAbsolutePath().normalize();
+        this.directorioMiniaturas = directorio.resolve(THUMBNAILS_DIR);
+        Files.createDirectories(directorioMiniaturas);
+
+        AtomicInteger contador = new AtomicInteger();
+        this.thumbnailExecutor = new ThreadPoolExecutor(
+                configuration.getThumbnailThreads(), configuration.getThumbnailThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(configuration.getThumbnailQueueCapacity()),
+                tarea -> {
+                    Thread hilo = new Thread(tarea, "thumbnail-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Guarda una imagen en disco. El formato (JPEG, PNG, GIF o WebP) se obtiene de los primeros bytes
+     * del contenido; el tipo declarado por el cliente se ignora. El archivo se escribe en un temporal,
+     * se sincroniza con el disco y se renombra de forma atómica a su nombre definitivo, de modo que al
+     * volver de este método el archivo es duradero. La miniatura se genera después, en segundo plano.
+     * @param file      imagen recibida
+     * @return          nombre y URL públicas de la imagen y de su miniatura
+     * @throws IllegalArgumentException si el archivo está vacío o su contenido no es un tipo de imagen admitido
+     * @throws UncheckedIOException     si no se puede leer o escribir el archivo
+     */
+    public MediaGuardada guardar(MultipartFile file) {
+        String extension = file.isEmpty() ? null : detectarExtension(file);
+        if (extension == null) {
+            throw new IllegalArgumentException("Formato de imagen no permitido");
+        }
+
+        Path temporal = directorio.resolve(".upload-" + UUID.randomUUID());
+        try {
+            String hash = copiar(file, temporal);
+            String nombre = hash + "." + extension;
+            Path destino = directorio.resolve(nombre);
+
+            if (Files.exists(destino)) {
+                Files.deleteIfExists(temporal);
+            } else {
+                Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+                sincronizarDirectorio(directorio);
+            }
+
+            programarMiniatura(destino, hash);
+            return new MediaGuardada(nombre, configuration.getPublicUrl() + nombre,
+                    configuration.getPublicUrl() + THUMBNAILS_DIR + "/" + hash + "." + THUMBNAIL_FORMAT);
+        } catch (IOException e) {
+            eliminarTemporal(temporal);
+            throw new UncheckedIOException("Error al guardar la imagen", e);
+        }
+    }
+
+    /**
+     * Busca una imagen guardada por su nombre. Solo se aceptan nombres con el formato
+     * {@code <sha256>.<extensión>} que genera este servicio, lo que impide salir del directorio.
+     * @param nombre    nombre del archivo
+     * @return          ruta del archivo, o vacío si el nombre no es válido o no existe
+     */
+    public Optional<Path> buscar(String nombre) {
+        return buscarEn(directorio, nombre);
+    }
+
+    /**
+     * Busca una miniatura por su nombre, con las mismas reglas que {@link #buscar(String)}.
+     * @param nombre    nombre del archivo de la miniatura
+     * @return          ruta de la miniatura, o vacío si el nombre no es válido o aún no se ha generado
+     */
+    public Optional<Path> buscarMiniatura(String nombre) {
+        return buscarEn(directorioMiniaturas, nombre);
+    }
+
+    private static Optional<Path> buscarEn(Path directorio, String nombre) {
+        if (nombre == null || !NOMBRE_VALIDO.matcher(nombre).matches()) {
+            return Optional.empty();
+        }
+        Path archivo = directorio.resolve(nombre);
+        return Files.isRegularFile(archivo) ? Optional.of(archivo) : Optional.empty();
+    }
+
+    /**
+     * Detiene el ejecutor de miniaturas esperando a que terminen las pendientes.
+     * @throws InterruptedException si se interrumpe la espera
+     */
+    @PreDestroy
+    public void cerrar() throws InterruptedException {
+        thumbnailExecutor.shutdown();
+        thumbnailExecutor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Reconoce el formato de imagen por su firma en los primeros bytes del contenido.
+     * @return  extensión con la que se guarda, o {@code null} si no es un formato admitido
+     */
+    private static String detectarExtension(MultipartFile file) {
+        byte[] cabecera;
+        try (InputStream entrada = file.getInputStream()) {
+            cabecera = entrada.readNBytes(CABECERA_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al leer la imagen", e);
+        }
+        if (empiezaPor(cabecera, 0, FIRMA_JPEG)) {
+            return "jpg";
+        }
+        if (empiezaPor(cabecera, 0, FIRMA_PNG)) {
+            return "png";
+        }
+        if (empiezaPor(cabecera, 0, FIRMA_GIF87) || empiezaPor(cabecera, 0, FIRMA_GIF89)) {
+            return "gif";
+        }
+        if (empiezaPor(cabecera, 0, FIRMA_RIFF) && empiezaPor(cabecera, 8, FIRMA_WEBP)) {
+            return "webp";
+        }
+        return null;
+    }
+
+    private static boolean empiezaPor(byte[] cabecera, int desde, byte[] firma) {
+        return cabecera.length >= desde + firma.length
+                && Arrays.equals(cabecera, desde, desde + firma.length, firma, 0, firma.length);
+    }
+
+    /**
+     * Copia el contenido del archivo al temporal por canales NIO, calculando el SHA-256 en la misma pasada.
+     * @return  resumen SHA-256 en hexadecimal
+     */
+    private String copiar(MultipartFile file, Path temporal) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        try (ReadableByteChannel origen = Channels.newChannel(file.getInputStream());
+             FileChannel destino = FileChannel.open(temporal, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (origen.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    destino.write(buffer);
+                }
+                buffer.clear();
+            }
+            destino.force(true);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void programarMiniatura(Path original, String hash) {
+        Path miniatura = directorioMiniaturas.resolve(hash + "." + THUMBNAIL_FORMAT);
+        if (Files.exists(miniatura)) {
+            return;
+        }
+        try {
+            thumbnailExecutor.execute(() -> generarMiniatura(original, miniatura));
+        } catch (RejectedExecutionException e) {
+            log.warn("Cola de miniaturas llena, se omite la miniatura de {}", original.getFileName());
+        }
+    }
+
+    /**
+     * Genera una miniatura JPEG cuyo lado mayor no supera el tamaño configurado.
+     */
+    private void generarMiniatura(Path original, Path miniatura) {
+        Path temporal = directorioMiniaturas.resolve(".thumb-" + UUID.randomUUID());
+        try {
+            BufferedImage imagen = leerSubmuestreada(original);
+            if (imagen == null) {
+                return;
+            }
+            double escala = Math.min(1.0, (double) configuration.getThumbnailSize()
+                    / Math.max(imagen.getWidth(), imagen.getHeight()));
+            int ancho = Math.max(1, (int) Math.round(imagen.getWidth() * escala));
+            int alto = Math.max(1, (int) Math.round(imagen.getHeight() * escala));
+
+            BufferedImage reducida = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = reducida.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, ancho, alto);
+                graphics.drawImage(imagen, 0, 0, ancho, alto, null);
+            } finally {
+                graphics.dispose();
+            }
+
+            ImageIO.write(reducida, THUMBNAIL_FORMAT, temporal.toFile());
+            Files.move(temporal, miniatura, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException | OutOfMemoryError e) {
+            log.warn("No se pudo generar la miniatura de {}", original.getFileName(), e);
+        } finally {
+            eliminarTemporal(temporal);
+        }
+    }
+
+    /**
+     * Lee la imagen comprobando antes sus dimensiones en la cabecera. Las imágenes que superan el límite
+     * de píxeles no se decodifican; el resto se decodifica submuestreada, a no menos del doble del tamaño
+     * de la miniatura, para no cargar en memoria la imagen completa.
+     * @return  imagen submuestreada, o {@code null} si no hay lector para el formato o es demasiado grande
+     */
+    private BufferedImage leerSubmuestreada(Path original) throws IOException {
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> lectores = entrada == null ? null : ImageIO.getImageReaders(entrada);
+            if (lectores == null || !lectores.hasNext()) {
+                return null;
+            }
+            ImageReader lector = lectores.next();
+            try {
+                lector.setInput(entrada, true, true);
+                int ancho = lector.getWidth(0);
+                int alto = lector.getHeight(0);
+                if ((long) ancho * alto > configuration.getThumbnailMaxPixels()) {
+                    log.warn("Imagen {} de {}x{} píxeles supera el límite, se omite la miniatura",
+                            original.getFileName(), ancho, alto);
+                    return null;
+                }
+                int paso = Math.max(1, Math.max(ancho, alto) / (configuration.getThumbnailSize() * 2));
+                ImageReadParam parametros = lector.getDefaultReadParam();
+                parametros.setSourceSubsampling(paso, paso, 0, 0);
+                return lector.read(0, parametros);
+            } finally {
+                lector.dispose();
+            }
+        }
+    }
+
+    /**
+     * Sincroniza la entrada del directorio para que el renombrado sobreviva a una caída del sistema.
+     * No todos los sistemas permiten abrir un directorio; en ese caso se omite.
+     */
+    private static void sincronizarDirectorio(Path directorio) {
+        try (FileChannel canal = FileChannel.open(directorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException ignored) {
+            // Windows no permite abrir directorios como canal.
+        }
+    }
+
+    private static void eliminarTemporal(Path temporal) {
+        try {
+            Files.deleteIfExists(temporal);
+        } catch (IOException ignored) {
+            // Los temporales huérfanos empiezan por "." y no se publican.
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Imagen guardada: nombre en disco, URL pública y URL de su miniatura.
+     */
+    @Getter
+    public static class MediaGuardada {
+        private final String nombre;
+        private final String url;
+        private final String urlMiniatura;
+
+        public MediaGuardada(String nombre, String url, String urlMiniatura) {
+            this.nombre = nombre;
+            this.url = url;
+            this.urlMiniatura = urlMiniatura;
+        }
+    }
+}
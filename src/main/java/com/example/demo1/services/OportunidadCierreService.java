@@ -0,0 +1,138 @@
+/**
+ * OportunidadCierreService.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Servicio que cierra periódicamente las oportunidades cuya fecha de cierre ya ha
+ * pasado. Las cierra por lotes con sentencias UPDATE, en una sola instancia de la aplicación a la
+ * vez, y publica cuántas oportunidades cierra cada ejecución.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.services;
+
+import com.example.demo1.config.OportunidadCierreConfiguration;
+import com.example.demo1.models.enums.EstadoOportunidad;
+import com.example.demo1.repositories.IOportunidadRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Servicio de cierre automático de oportunidades vencidas.
+ */
+@Service
+public class OportunidadCierreService {
+
+    /**
+     * Nombre del bloqueo de la tarea en la tabla scheduler_locks.
+     */
+    static final String LOCK = "cierre-oportunidades";
+
+    /**
+     * Contador del total de oportunidades cerradas automáticamente.
+     */
+    public static final String CERRADAS_COUNTER = "oportunidades.cierre.cerradas";
+
+    /**
+     * Distribución del número de oportunidades cerradas en cada ejecución.
+     */
+    public static final String POR_EJECUCION_SUMMARY = "oportunidades.cierre.por.ejecucion";
+
+    /**
+     * Duración de cada ejecución del cierre.
+     */
+    public static final String DURACION_TIMER = "oportunidades.cierre.duracion";
+
+    private final IOportunidadRepository oportunidadRepository;
+    private final OportunidadSearchService oportunidadSearchService;
+    private final SchedulerLockService schedulerLockService;
+    private final OportunidadCierreConfiguration configuration;
+    private final Clock clock;
+    private final Counter cerradas;
+    private final DistributionSummary porEjecucion;
+    private final Timer duracion;
+
+    /**
+     * Constructor que inyecta las dependencias del cierre.
+     * @param oportunidadRepository     repositorio de oportunidades
+     * @param oportunidadSearchService  índice de búsqueda, que guarda el estado de cada oportunidad
+     * @param schedulerLockService      bloqueo entre instancias
+     * @param configuration             parámetros del cierre
+     * @param meterRegistry             registro de métricas
+     */
+    @Autowired
+    public OportunidadCierreService(IOportunidadRepository oportunidadRepository,
+                                    OportunidadSearchService oportunidadSearchService,
+                                    SchedulerLockService schedulerLockService,
+                                    OportunidadCierreConfiguration configuration,
+                                    MeterRegistry meterRegistry) {
+        this(oportunidadRepository, oportunidadSearchService, schedulerLockService, configuration, meterRegistry,
+                Clock.systemDefaultZone());
+    }
+
+    OportunidadCierreService(IOportunidadRepository oportunidadRepository,
+                             OportunidadSearchService oportunidadSearchService,
+                             SchedulerLockService schedulerLockService,
+                             OportunidadCierreConfiguration configuration,
+                             MeterRegistry meterRegistry, Clock clock) {
+        this.oportunidadRepository = oportunidadRepository;
+        this.oportunidadSearchService = oportunidadSearchService;
+        this.schedulerLockService = schedulerLockService;
+        this.configuration = configuration;
+        this.clock = clock;
+        this.cerradas = Counter.builder(CERRADAS_COUNTER)
+                .description("Oportunidades cerradas automáticamente al vencer su fecha de cierre")
+                .register(meterRegistry);
+        this.porEjecucion = DistributionSummary.builder(POR_EJECUCION_SUMMARY)
+                .description("Oportunidades cerradas en cada ejecución del cierre automático")
+                .register(meterRegistry);
+        this.duracion = Timer.builder(DURACION_TIMER)
+                .description("Duración de cada ejecución del cierre automático")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cierra las oportunidades vencidas si ninguna otra instancia lo está haciendo.
+     */
+    @Scheduled(fixedDelayString = "${oportunidades.cierre.interval-ms:60000}",
+            initialDelayString = "${oportunidades.cierre.initial-delay-ms:30000}")
+    public void cerrarVencidas() {
+        schedulerLockService.ejecutarConBloqueo(LOCK, configuration.lockAtMost(), this::cerrarLotes);
+    }
+
+    /**
+     * Cierra por lotes las oportunidades abiertas cuya fecha de cierre ya ha pasado y actualiza su
+     * estado en el índice de búsqueda.
+     * @return  número de oportunidades cerradas
+     */
+    public int cerrarLotes() {
+        return duracion.record(() -> {
+            LocalDateTime ahora = LocalDateTime.now(clock);
+            int total = 0;
+            List<Long> ids;
+            do {
+                ids = oportunidadRepository.findIdsVencidas(EstadoOportunidad.ABIERTO, ahora,
+                        Limit.of(configuration.getBatchSize()));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                total += oportunidadRepository.cambiarEstado(ids, EstadoOportunidad.ABIERTO, EstadoOportunidad.CERRADO,
+                        ahora);
+                oportunidadSearchService.indexarTodas(oportunidadRepository.findByIdIn(ids));
+            } while (ids.size() == configuration.getBatchSize());
+
+            cerradas.increment(total);
+            porEjecucion.record(total);
+            return total;
+        });
+    }
+}
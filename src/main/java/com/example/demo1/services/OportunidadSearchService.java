@@ -0,0 +1,368 @@
+/**
+ * OportunidadSearchService.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Servicio de búsqueda de texto completo sobre las oportunidades. Mantiene un
+ * índice invertido embebido (Lucene) con el título, la descripción, los requisitos y la
+ * ubicación de cada oportunidad, y resuelve consultas por palabras clave ordenadas por relevancia.
+ * El índice es local a cada instancia y se reconcilia periódicamente con la base de datos.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.services;
+
+import com.example.demo1.models.entidades.Oportunidad;
+import com.example.demo1.models.enums.EstadoOportunidad;
+import com.example.demo1.repositories.IOportunidadRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.es.SpanishAnalyzer;
+import org.apache.lucene.document.*;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.Directory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Servicio del índice de texto completo de oportunidades.
+ * Los cambios se confirman en el índice en cada escritura, ya que las oportunidades se publican
+ * con poca frecuencia; las búsquedas usan lectores casi en tiempo real y no bloquean.
+ * Cada instancia tiene su propio índice: los cambios hechos en otra instancia, incluido el cierre
+ * automático, solo se ven aquí después de la siguiente reconciliación.
+ */
+@Service
+public class OportunidadSearchService {
+
+    /**
+     * Número máximo de resultados que se pueden recorrer paginando una misma consulta.
+     */
+    public static final int MAX_RESULTADOS = 1000;
+
+    private static final String ID = "id";
+    private static final String TITULO = "titulo";
+    private static final String DESCRIPCION = "descripcion";
+    private static final String REQUISITOS = "requisitos";
+    private static final String UBICACION = "ubicacion";
+    private static final String CATEGORIA = "categoria";
+    private static final String ESTADO = "estado";
+    private static final String FECHA = "fecha";
+
+    /**
+     * Margen que se resta a la última reconciliación al buscar cambios, para cubrir las transacciones
+     * que confirman tarde y la diferencia de reloj entre instancias.
+     */
+    private static final Duration MARGEN_RECONCILIACION = Duration.ofMinutes(1);
+
+    private static final String[] CAMPOS_TEXTO = {TITULO, DESCRIPCION, REQUISITOS, UBICACION};
+    private static final Map<String, Float> PESOS = Map.of(
+            TITULO, 3.0f,
+            REQUISITOS, 1.5f,
+            DESCRIPCION, 1.0f,
+            UBICACION, 1.0f);
+
+    private final IOportunidadRepository oportunidadRepository;
+    private final Analyzer analyzer;
+    private final IndexWriter indexWriter;
+    private final SearcherManager searcherManager;
+    private volatile LocalDateTime ultimaReconciliacion;
+
+    /**
+     * Constructor que abre el índice en el directorio configurado.
+     * @param oportunidadIndexDirectory directorio Lucene del índice
+     * @param oportunidadRepository     repositorio de oportunidades, usado para reconstruir el índice
+     * @throws IOException              si no se puede abrir el índice
+     */
+    public OportunidadSearchService(Directory oportunidadIndexDirectory,
+                                    IOportunidadRepository oportunidadRepository) throws IOException {
+        this.oportunidadRepository = oportunidadRepository;
+        this.analyzer = new SpanishAnalyzer();
+        this.indexWriter = new IndexWriter(oportunidadIndexDirectory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(indexWriter, null);
+    }
+
+    /**
+     * Al arrancar, reconcilia el índice completo con la base de datos (primer arranque, índice en memoria
+     * o cambios hechos mientras la aplicación estaba parada). Las siguientes reconciliaciones solo
+     * reindexan las oportunidades modificadas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void sincronizarIndice() {
+        ultimaReconciliacion = null;
+        reconciliarIndice();
+    }
+
+    /**
+     * Incorpora periódicamente al índice los cambios hechos en otras instancias: reindexa las oportunidades
+     * modificadas desde la última reconciliación y retira las que ya no existen en la base de datos.
+     * Las búsquedas nunca escriben en el índice; esta tarea es la única que lo repara.
+     */
+    @Scheduled(fixedDelayString = "${search.index.refresh-interval-ms:60000}",
+            initialDelayString = "${search.index.refresh-interval-ms:60000}")
+    public synchronized void reconciliarIndice() {
+        LocalDateTime inicio = LocalDateTime.now();
+        LocalDateTime anterior = ultimaReconciliacion;
+        List<Oportunidad> modificadas = anterior == null
+                ? oportunidadRepository.findAll()
+                : oportunidadRepository.findByActualizadaEnGreaterThanEqual(anterior.minus(MARGEN_RECONCILIACION));
+        indexarTodas(modificadas);
+
+        // Se leen primero los identificadores del índice: una oportunidad creada después no se retira.
+        Set<Long> huerfanas = idsIndexados();
+        huerfanas.removeAll(oportunidadRepository.findAllIds());
+        if (!huerfanas.isEmpty()) {
+            try {
+                for (Long id : huerfanas) {
+                    indexWriter.deleteDocuments(new Term(ID, id.toString()));
+                }
+                confirmar();
+            } catch (IOException e) {
+                throw new IllegalStateException("No se pudieron eliminar oportunidades del índice", e);
+            }
+        }
+        ultimaReconciliacion = inicio;
+    }
+
+    /**
+     * Sustituye el contenido del índice por las oportunidades indicadas.
+     * @param oportunidades todas las oportunidades a indexar
+     */
+    public synchronized void reconstruirIndice(Iterable<Oportunidad> oportunidades) {
+        try {
+            indexWriter.deleteAll();
+            for (Oportunidad oportunidad : oportunidades) {
+                indexWriter.addDocument(toDocument(oportunidad));
+            }
+            confirmar();
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo reconstruir el índice de búsqueda", e);
+        }
+    }
+
+    /**
+     * Añade o actualiza una oportunidad en el índice.
+     * @param oportunidad   oportunidad guardada (con identificador)
+     */
+    public void indexar(Oportunidad oportunidad) {
+        try {
+            indexWriter.updateDocument(new Term(ID, oportunidad.getId().toString()), toDocument(oportunidad));
+            confirmar();
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo indexar la oportunidad", e);
+        }
+    }
+
+    /**
+     * Añade o actualiza varias oportunidades en el índice, confirmando los cambios una sola vez.
+     * @param oportunidades oportunidades guardadas (con identificador)
+     */
+    public void indexarTodas(Collection<Oportunidad> oportunidades) {
+        if (oportunidades.isEmpty()) {
+            return;
+        }
+        try {
+            for (Oportunidad oportunidad : oportunidades) {
+                indexWriter.updateDocument(new Term(ID, oportunidad.getId().toString()), toDocument(oportunidad));
+            }
+            confirmar();
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudieron indexar las oportunidades", e);
+        }
+    }
+
+    /**
+     * Elimina una oportunidad del índice.
+     * @param id    identificador de la oportunidad
+     */
+    public void eliminar(Long id) {
+        try {
+            indexWriter.deleteDocuments(new Term(ID, id.toString()));
+            confirmar();
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo eliminar la oportunidad del índice", e);
+        }
+    }
+
+    /**
+     * Busca oportunidades por palabras clave, ordenadas por relevancia y, a igualdad, de la más reciente
+     * a la más antigua. Sin palabras clave, devuelve las oportunidades que cumplen los filtros por fecha.
+     * @param texto         palabras clave (opcional)
+     * @param categoria     categoría exacta, sin distinguir mayúsculas (opcional)
+     * @param estado        estado de la oportunidad (opcional)
+     * @param ubicacion     términos que debe contener la ubicación (opcional)
+     * @param pagina        número de página, empezando en 0
+     * @param tamanio       tamaño de página
+     * @return              identificadores de la página solicitada y total de coincidencias
+     * @throws IllegalArgumentException si la página está fuera de rango
+     */
+    public ResultadoBusqueda buscar(String texto, String categoria, EstadoOportunidad estado, String ubicacion,
+                                    int pagina, int tamanio) {
+        if (pagina < 0 || (long) (pagina + 1) * tamanio > MAX_RESULTADOS) {
+            throw new IllegalArgumentException("Página fuera de rango");
+        }
+
+        Query query = construirConsulta(texto, categoria, estado, ubicacion);
+        Sort orden = esVacio(texto)
+                ? new Sort(new SortField(FECHA, SortField.Type.LONG, true))
+                : new Sort(SortField.FIELD_SCORE, new SortField(FECHA, SortField.Type.LONG, true));
+
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            TopDocs topDocs = searcher.search(query, (pagina + 1) * tamanio, orden);
+            StoredFields storedFields = searcher.storedFields();
+
+            List<Long> ids = new ArrayList<>();
+            for (int i = pagina * tamanio; i < topDocs.scoreDocs.length; i++) {
+                ids.add(Long.valueOf(storedFields.document(topDocs.scoreDocs[i].doc).get(ID)));
+            }
+            return new ResultadoBusqueda(ids, searcher.count(query));
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo consultar el índice de búsqueda", e);
+        } finally {
+            if (searcher != null) {
+                try {
+                    searcherManager.release(searcher);
+                } catch (IOException ignored) {
+                    // El lector se cierra igualmente al refrescar el índice.
+                }
+            }
+        }
+    }
+
+    /**
+     * Cierra el índice al detener la aplicación.
+     * @throws IOException  si falla el cierre
+     */
+    @PreDestroy
+    public void cerrar() throws IOException {
+        searcherManager.close();
+        indexWriter.close();
+    }
+
+    private Set<Long> idsIndexados() {
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            int numDocs = searcher.getIndexReader().numDocs();
+            Set<Long> ids = new HashSet<>();
+            if (numDocs == 0) {
+                return ids;
+            }
+            StoredFields storedFields = searcher.storedFields();
+            for (ScoreDoc scoreDoc : searcher.search(new MatchAllDocsQuery(), numDocs).scoreDocs) {
+                ids.add(Long.valueOf(storedFields.document(scoreDoc.doc).get(ID)));
+            }
+            return ids;
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo leer el índice de búsqueda", e);
+        } finally {
+            if (searcher != null) {
+                try {
+                    searcherManager.release(searcher);
+                } catch (IOException ignored) {
+                    // El lector se cierra igualmente al refrescar el índice.
+                }
+            }
+        }
+    }
+
+    private Query construirConsulta(String texto, String categoria, EstadoOportunidad estado, String ubicacion) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        try {
+            if (esVacio(texto)) {
+                builder.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+            } else {
+                MultiFieldQueryParser parser = new MultiFieldQueryParser(CAMPOS_TEXTO, analyzer, PESOS);
+                builder.add(parser.parse(QueryParser.escape(texto)), BooleanClause.Occur.MUST);
+            }
+            if (!esVacio(ubicacion)) {
+                QueryParser parser = new QueryParser(UBICACION, analyzer);
+                parser.setDefaultOperator(QueryParser.Operator.AND);
+                builder.add(parser.parse(QueryParser.escape(ubicacion)), BooleanClause.Occur.FILTER);
+            }
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Consulta de búsqueda inválida", e);
+        }
+        if (!esVacio(categoria)) {
+            builder.add(new TermQuery(new Term(CATEGORIA, normalizar(categoria))), BooleanClause.Occur.FILTER);
+        }
+        if (estado != null) {
+            builder.add(new TermQuery(new Term(ESTADO, estado.name())), BooleanClause.Occur.FILTER);
+        }
+        return builder.build();
+    }
+
+    private Document toDocument(Oportunidad oportunidad) {
+        Document document = new Document();
+        document.add(new StringField(ID, oportunidad.getId().toString(), Field.Store.YES));
+        agregarTexto(document, TITULO, oportunidad.getTitulo());
+        agregarTexto(document, DESCRIPCION, oportunidad.getDescripcion());
+        agregarTexto(document, REQUISITOS, oportunidad.getRequisitos());
+        agregarTexto(document, UBICACION, oportunidad.getUbicacion());
+        if (oportunidad.getCategoria() != null) {
+            document.add(new StringField(CATEGORIA, normalizar(oportunidad.getCategoria()), Field.Store.NO));
+        }
+        if (oportunidad.getEstado() != null) {
+            document.add(new StringField(ESTADO, oportunidad.getEstado().name(), Field.Store.NO));
+        }
+        long fecha = oportunidad.getFecha() == null ? 0L : oportunidad.getFecha().toInstant(ZoneOffset.UTC).toEpochMilli();
+        document.add(new NumericDocValuesField(FECHA, fecha));
+        return document;
+    }
+
+    private static void agregarTexto(Document document, String campo, String valor) {
+        if (valor != null) {
+            document.add(new TextField(campo, valor, Field.Store.NO));
+        }
+    }
+
+    private synchronized void confirmar() throws IOException {
+        indexWriter.commit();
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    private static String normalizar(String valor) {
+        return valor.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean esVacio(String valor) {
+        return valor == null || valor.isBlank();
+    }
+
+    /**
+     * Resultado de una búsqueda: identificadores de la página en orden de relevancia y total de coincidencias.
+     */
+    @Getter
+    public static class ResultadoBusqueda {
+        private final List<Long> ids;
+        private final int total;
+
+        public ResultadoBusqueda(List<Long> ids, int total) {
+            this.ids = ids;
+            this.total = total;
+        }
+    }
+}
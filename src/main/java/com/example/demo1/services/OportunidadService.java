@@ -1,18 +1,167 @@
 package com.example.demo1.services;
 
+import com.example.demo1.config.PaginationConfiguration;
+import com.example.demo1.mappers.CursorMapper;
 import com.example.demo1.models.dtos.Oportunidad.CrearOportunidadDTO;
 import com.example.demo1.models.entidades.Oportunidad;
+import com.example.demo1.models.enums.EstadoOportunidad;
 import com.example.demo1.repositories.IOportunidadRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class OportunidadService {
     private final IOportunidadRepository oportunidadRepository;
+    private final PaginationConfiguration paginationConfiguration;
+    private final OportunidadSearchService oportunidadSearchService;
 
-    public OportunidadService(IOportunidadRepository oportunidadRepository) {
+    public OportunidadService(IOportunidadRepository oportunidadRepository,
+                              PaginationConfiguration paginationConfiguration,
+                              OportunidadSearchService oportunidadSearchService) {
         this.oportunidadRepository = oportunidadRepository;
+        this.paginationConfiguration = paginationConfiguration;
+        this.oportunidadSearchService = oportunidadSearchService;
+    }
+
+    /**
+     * Al arrancar, asigna la fecha actual a las oportunidades anteriores que no tienen fecha de publicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rellenarFechasNulas() {
+        oportunidadRepository.rellenarFechasNulas(LocalDateTime.now());
+    }
+
+    /**
+     * Guarda una nueva oportunidad y la añade al índice de búsqueda.
+     * @param oportunidad   oportunidad a publicar
+     * @return              oportunidad guardada
+     */
+    public Oportunidad crear(Oportunidad oportunidad) {
+        Oportunidad saved = oportunidadRepository.save(oportunidad);
+        oportunidadSearchService.indexar(saved);
+        return saved;
+    }
+
+    /**
+     * Elimina una oportunidad y la retira del índice de búsqueda.
+     * @param oportunidad   oportunidad a eliminar
+     */
+    public void eliminar(Oportunidad oportunidad) {
+        oportunidadRepository.delete(oportunidad);
+        oportunidadSearchService.eliminar(oportunidad.getId());
+    }
+
+    /**
+     * Busca oportunidades por palabras clave en título, descripción, requisitos y ubicación.
+     * El índice es local a cada instancia y recoge los cambios de las demás en la reconciliación periódica,
+     * así que el estado y la fecha de cierre de la página se comprueban contra la base de datos. El total es
+     * el del índice de esta instancia y puede incluir oportunidades pendientes de reconciliar.
+     * @param texto     palabras clave (opcional)
+     * @param categoria categoría (opcional)
+     * @param estado    estado (opcional)
+     * @param ubicacion ubicación (opcional)
+     * @param page      número de página, empezando en 0 (opcional)
+     * @param size      tamaño de página solicitado (opcional)
+     * @return          página de oportunidades ordenadas por relevancia
+     */
+    public Page<Oportunidad> buscarTexto(String texto, String categoria, EstadoOportunidad estado, String ubicacion,
+                                         Integer page, Integer size) {
+        int pagina = page == null ? 0 : page;
+        int tamanio = paginationConfiguration.resolveSize(size);
+        OportunidadSearchService.ResultadoBusqueda resultado =
+                oportunidadSearchService.buscar(texto, categoria, estado, ubicacion, pagina, tamanio);
+
+        Map<Long, Oportunidad> porId = oportunidadRepository.findByIdIn(resultado.getIds()).stream()
+                .collect(Collectors.toMap(Oportunidad::getId, Function.identity()));
+        LocalDateTime ahora = LocalDateTime.now();
+        List<Oportunidad> contenido = resultado.getIds().stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .filter(oportunidad -> estado == null || cumpleEstado(oportunidad, estado, ahora))
+                .toList();
+        return new PageImpl<>(contenido, PageRequest.of(pagina, tamanio), resultado.getTotal());
+    }
+
+    /**
+     * Indica si la oportunidad está en el estado buscado. Una oportunidad abierta con la fecha de cierre
+     * ya pasada no se considera abierta aunque el cierre automático aún no la haya procesado.
+     */
+    private static boolean cumpleEstado(Oportunidad oportunidad, EstadoOportunidad estado, LocalDateTime ahora) {
+        if (oportunidad.getEstado() != estado) {
+            return false;
+        }
+        return estado != EstadoOportunidad.ABIERTO
+                || oportunidad.getFechaCierre() == null
+                || !oportunidad.getFechaCierre().isBefore(ahora);
+    }
+
+    /**
+     * Lista una página de oportunidades, de la más reciente a la más antigua.
+     * @param cursor    cursor de continuación devuelto por la página anterior, o null
+     * @param size      tamaño de página solicitado, o null para el valor por defecto
+     * @return          ventana de oportunidades
+     */
+    public Window<Oportunidad> listar(String cursor, Integer size) {
+        return oportunidadRepository.findAllByOrderByFechaDescIdDesc(toPosition(cursor), toLimit(size));
+    }
+
+    /**
+     * Lista una página de oportunidades de una categoría.
+     * @param categoria categoría de la oportunidad
+     * @param cursor    cursor de continuación, o null
+     * @param size      tamaño de página solicitado, o null
+     * @return          ventana de oportunidades
+     */
+    public Window<Oportunidad> listarPorCategoria(String categoria, String cursor, Integer size) {
+        return oportunidadRepository.findByCategoriaOrderByFechaDescIdDesc(categoria, toPosition(cursor), toLimit(size));
+    }
+
+    /**
+     * Lista una página de oportunidades en un estado.
+     * @param estado    estado de la oportunidad
+     * @param cursor    cursor de continuación, o null
+     * @param size      tamaño de página solicitado, o null
+     * @return          ventana de oportunidades
+     */
+    public Window<Oportunidad> listarPorEstado(EstadoOportunidad estado, String cursor, Integer size) {
+        return oportunidadRepository.findByEstadoOrderByFechaDescIdDesc(estado, toPosition(cursor), toLimit(size));
+    }
+
+    /**
+     * Genera el cursor de la página siguiente a una ventana.
+     * @param window    ventana devuelta por uno de los listados
+     * @return          cursor opaco, o null si no hay más páginas
+     */
+    public String nextCursor(Window<Oportunidad> window) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+        return CursorMapper.toCursor(window.positionAt(window.size() - 1), "fecha", "id");
+    }
+
+    private ScrollPosition toPosition(String cursor) {
+        return CursorMapper.toPosition(cursor, "fecha", "id");
+    }
+
+    private Limit toLimit(Integer size) {
+        return Limit.of(paginationConfiguration.resolveSize(size));
     }
 
     public Optional<Oportunidad> findById(Long id) {
@@ -31,6 +180,8 @@ public class OportunidadService {
 
 
 
-        return oportunidadRepository.save(original);
+        Oportunidad actualizado = oportunidadRepository.save(original);
+        oportunidadSearchService.indexar(actualizado);
+        return actualizado;
     }
 }
@@ -9,6 +9,8 @@
  */
 package com.example.demo1.services;
 
+import com.example.demo1.security.MeteredBCryptPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -21,11 +23,11 @@ public class PasswordEncoderService {
     private final BCryptPasswordEncoder passwordEncoder;
 
     /**
-     * Constructor que inicializa el codificador BCrypt.
+     * Constructor que inicializa el codificador BCrypt con sus métricas de tiempo.
+     * @param meterRegistry registro de métricas
      */
-    public PasswordEncoderService() {
-        this.passwordEncoder = new BCryptPasswordEncoder();
-
+    public PasswordEncoderService(MeterRegistry meterRegistry) {
+        this.passwordEncoder = new MeteredBCryptPasswordEncoder(meterRegistry);
     }
 
     /**
@@ -0,0 +1,119 @@
+/**
+ * PasswordHashingService.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Servicio que ejecuta las comprobaciones de contraseñas con BCrypt en un grupo de hilos
+ * propio, limitado al número de núcleos y con una cola acotada. Así una ráfaga de inicios de sesión
+ * no ocupa con cálculo todos los hilos de Tomcat, y cuando la cola se llena se rechaza al momento.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.services;
+
+import com.example.demo1.config.PasswordHashingConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servicio de comprobación de contraseñas sobre un ejecutor acotado.
+ */
+@Service
+public class PasswordHashingService {
+
+    /**
+     * Contador de comprobaciones rechazadas por tener la cola llena.
+     */
+    public static final String REJECTED_COUNTER = "security.bcrypt.rejected";
+
+    /**
+     * Comprobaciones esperando en la cola del ejecutor.
+     */
+    public static final String QUEUE_GAUGE = "security.bcrypt.queue";
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Counter rechazadas;
+    private final String hashFicticio;
+
+    /**
+     * Constructor que crea el ejecutor y registra sus métricas.
+     * @param passwordEncoder   codificador BCrypt (con métricas de tiempo)
+     * @param configuration     parámetros del ejecutor
+     * @param meterRegistry     registro de métricas
+     */
+    public PasswordHashingService(BCryptPasswordEncoder passwordEncoder,
+                                  PasswordHashingConfiguration configuration,
+                                  MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        int threads = configuration.resolveThreads();
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(configuration.getQueueCapacity()),
+                tarea -> {
+                    Thread thread = new Thread(tarea, "bcrypt-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.rechazadas = Counter.builder(REJECTED_COUNTER)
+                .description("Comprobaciones de contraseña rechazadas por saturación del ejecutor de BCrypt")
+                .register(meterRegistry);
+        Gauge.builder(QUEUE_GAUGE, executor, e -> e.getQueue().size())
+                .description("Comprobaciones de contraseña esperando en la cola del ejecutor de BCrypt")
+                .register(meterRegistry);
+        // Hash con el que se compara cuando el usuario no existe, para que la respuesta tarde lo mismo
+        this.hashFicticio = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
+
+    /**
+     * Comprueba una contraseña en el ejecutor de BCrypt, esperando al resultado.
+     * Si no hay hash (el usuario no existe) se compara igualmente con uno ficticio y se devuelve false,
+     * para no revelar por el tiempo de respuesta qué emails están registrados.
+     * @param rawPassword       contraseña en texto plano
+     * @param encodedPassword   hash almacenado, o null si el usuario no existe
+     * @return                  true si la contraseña coincide
+     * @throws RejectedExecutionException si la cola del ejecutor está llena
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        String hash = encodedPassword != null ? encodedPassword : hashFicticio;
+        boolean coincide = esperar(enviar(() -> passwordEncoder.matches(rawPassword, hash)));
+        return encodedPassword != null && coincide;
+    }
+
+    /**
+     * Cierra el ejecutor al detener la aplicación.
+     */
+    @PreDestroy
+    public void cerrar() {
+        executor.shutdownNow();
+    }
+
+    private Future<Boolean> enviar(Callable<Boolean> tarea) {
+        try {
+            return executor.submit(tarea);
+        } catch (RejectedExecutionException e) {
+            rechazadas.increment();
+            throw e;
+        }
+    }
+
+    private static boolean esperar(Future<Boolean> resultado) {
+        try {
+            return resultado.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            resultado.cancel(true);
+            throw new IllegalStateException("Comprobación de contraseña interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error al comprobar la contraseña", e.getCause());
+        }
+    }
+}
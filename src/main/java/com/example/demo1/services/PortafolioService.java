@@ -2,7 +2,7 @@
  * PortafolioService.java
  * Proyecto: Scénico -Plataforma para artistas emergentes
  * Descripción: Servicio que gestiona la lógica de negocio para los portafolios de artistas.
- * Permite crear y actualizar obras vinculadas a un usuario.
+ * Permite crear, actualizar y eliminar obras vinculadas a un usuario.
  * Autor: Andrea Johanna Villavicencio Lema
  * Fecha: Mayo de 2025
  * Email: johannna.villavicencio@gmail.com
@@ -14,10 +14,15 @@ import com.example.demo1.models.dtos.Portafolio.PortafolioPubliDTO;
 import com.example.demo1.models.dtos.Portafolio.PortafolioRequestDTO;
 import com.example.demo1.models.entidades.Portafolio;
 import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.models.enums.TipoArchivo;
 import com.example.demo1.repositories.IPortafolioRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Servicio que gestiona la creación y actualización de portafolios artísticos.
@@ -26,13 +31,16 @@ import java.time.LocalDateTime;
 public class PortafolioService {
 
     private final IPortafolioRepository portafolioRepository;
+    private final EtiquetaIndexService etiquetaIndexService;
 
     /**
-     * Constructor que inyecta el repositorio de portafolios.
-     * @param portafolioRepository repositorio para acceder a la base de datos
+     * Constructor que inyecta el repositorio de portafolios y el índice de etiquetas.
+     * @param portafolioRepository  repositorio para acceder a la base de datos
+     * @param etiquetaIndexService  índice de etiquetas en memoria
      */
-    public PortafolioService(IPortafolioRepository portafolioRepository) {
+    public PortafolioService(IPortafolioRepository portafolioRepository, EtiquetaIndexService etiquetaIndexService) {
         this.portafolioRepository = portafolioRepository;
+        this.etiquetaIndexService = etiquetaIndexService;
     }
 
     /**
@@ -41,12 +49,15 @@ public class PortafolioService {
      * @param user       usuario autenticado que crea el portafolio
      * @return           DTO con los datos públicos del portafolio recién creado
      */
+    @Transactional
     public PortafolioPubliDTO crearPortafolio(PortafolioRequestDTO dto, UserModel user) {
         Portafolio portafolio = PortafolioMapper.toEntity(dto);
         portafolio.setUserModel(user);
         portafolio.setFechaCreacion(LocalDateTime.now());
+        portafolio.setEtiquetasNormalizadas(etiquetaIndexService.resolverEtiquetas(dto.getEtiquetas()));
 
         Portafolio saved = portafolioRepository.save(portafolio);
+        etiquetaIndexService.indexarAlConfirmar(saved.getIdPortafolio(), saved.getEtiquetas());
         return PortafolioMapper.toPubliDTO(saved);
     }
 
@@ -57,6 +68,7 @@ public class PortafolioService {
      * @param user          usuario autenticado que realiza la modificación
      * @return              DTO con los datos actualizados y visibles públicamente
      */
+    @Transactional
     public PortafolioPubliDTO actualizarPortafolio(Long idPortafolio, PortafolioRequestDTO dto, UserModel user) {
 
         Portafolio portafolio = portafolioRepository.findById(idPortafolio)
@@ -76,11 +88,53 @@ public class PortafolioService {
         portafolio.setNombreImagen(dto.getNombreImagen());
         portafolio.setDescripcionImagen(dto.getDescripcionImagen());
         portafolio.setEtiquetas(dto.getEtiquetas());
+        portafolio.setEtiquetasNormalizadas(etiquetaIndexService.resolverEtiquetas(dto.getEtiquetas()));
 
 
         Portafolio actualizado = portafolioRepository.save(portafolio);
+        etiquetaIndexService.indexarAlConfirmar(actualizado.getIdPortafolio(), actualizado.getEtiquetas());
         return PortafolioMapper.toPubliDTO(actualizado);
     }
 
+    /**
+     * Elimina un portafolio y lo retira del índice de etiquetas al confirmar la transacción.
+     * @param idPortafolio  identificador del portafolio a eliminar
+     */
+    @Transactional
+    public void eliminarPortafolio(Long idPortafolio) {
+        portafolioRepository.deleteById(idPortafolio);
+        etiquetaIndexService.eliminarAlConfirmar(idPortafolio);
+    }
+
+    /**
+     * Busca portafolios por etiqueta usando el índice en memoria y, opcionalmente, por tipo de archivo.
+     * @param tipoArchivo   tipo de archivo (opcional)
+     * @param etiqueta      texto de la etiqueta a buscar
+     * @param prefijo       true para buscar etiquetas que empiecen por el texto; false para las que lo contengan
+     * @return              lista de portafolios encontrados, del más reciente al más antiguo
+     */
+    @Transactional(readOnly = true)
+    public List<Portafolio> buscarPorEtiqueta(TipoArchivo tipoArchivo, String etiqueta, boolean prefijo) {
+        Set<Long> ids = prefijo
+                ? etiquetaIndexService.buscarPorPrefijo(etiqueta)
+                : etiquetaIndexService.buscarPorSubcadena(etiqueta);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        if (tipoArchivo != null) {
+            return portafolioRepository.findByIdPortafolioInAndTipoArchivoOrderByFechaCreacionDesc(ids, tipoArchivo);
+        }
+
+        List<Portafolio> portafolios = portafolioRepository.findByIdPortafolioInOrderByFechaCreacionDesc(ids);
+        if (portafolios.size() < ids.size()) {
+            // El índice conserva portafolios eliminados de la base de datos: se depuran aquí.
+            Set<Long> encontrados = new HashSet<>();
+            portafolios.forEach(p -> encontrados.add(p.getIdPortafolio()));
+            ids.stream().filter(id -> !encontrados.contains(id)).forEach(etiquetaIndexService::eliminar);
+        }
+        return portafolios;
+    }
+
 
 }
@@ -0,0 +1,193 @@
+/**
+ * PostulacionService.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Servicio que gestiona la creación y el cambio de estado de las postulaciones,
+ * manteniendo en la misma transacción los contadores de postulaciones por oportunidad.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.services;
+
+import com.example.demo1.models.dtos.Postulacion.CambioEstadoPostulacionDTO;
+import com.example.demo1.models.dtos.Postulacion.PostulacionEstadisticasDTO;
+import com.example.demo1.models.dtos.Postulacion.ResultadoCambioEstadoDTO;
+import com.example.demo1.models.entidades.Postulacion;
+import com.example.demo1.models.enums.EstadoPostulacion;
+import com.example.demo1.models.enums.ResultadoCambioEstado;
+import com.example.demo1.repositories.IOportunidadRepository;
+import com.example.demo1.repositories.IPostulacionContadorRepository;
+import com.example.demo1.repositories.IPostulacionRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Servicio de postulaciones.
+ */
+@Service
+public class PostulacionService {
+
+    private final IPostulacionRepository postulacionRepository;
+    private final IPostulacionContadorRepository postulacionContadorRepository;
+    private final IOportunidadRepository oportunidadRepository;
+
+    /**
+     * Constructor que inyecta los repositorios necesarios.
+     * @param postulacionRepository         repositorio de postulaciones
+     * @param postulacionContadorRepository repositorio de contadores por oportunidad
+     * @param oportunidadRepository         repositorio de oportunidades
+     */
+    public PostulacionService(IPostulacionRepository postulacionRepository,
+                              IPostulacionContadorRepository postulacionContadorRepository,
+                              IOportunidadRepository oportunidadRepository) {
+        this.postulacionRepository = postulacionRepository;
+        this.postulacionContadorRepository = postulacionContadorRepository;
+        this.oportunidadRepository = oportunidadRepository;
+    }
+
+    /**
+     * Al arrancar, crea los contadores de las oportunidades con postulaciones anteriores a la tabla de contadores.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void inicializarContadores() {
+        postulacionContadorRepository.crearContadoresFaltantes();
+    }
+
+    /**
+     * Guarda una nueva postulación y la suma a los contadores de su oportunidad.
+     * No comprueba antes si el artista ya se ha postulado: la restricción única sobre
+     * (id_artista, id_oportunidad) rechaza el duplicado aunque lleguen dos peticiones a la vez.
+     * @param postulacion   postulación a guardar
+     * @return              postulación guardada
+     * @throws DataIntegrityViolationException si el artista ya se había postulado a la oportunidad
+     *                                         o la clave de idempotencia ya se usó
+     */
+    @Transactional
+    public Postulacion crear(Postulacion postulacion) {
+        Postulacion guardada = postulacionRepository.save(postulacion);
+        sumar(guardada.getOportunidad().getId(), guardada.getEstadoPostulacion(), 1);
+        return guardada;
+    }
+
+    /**
+     * Busca la postulación creada por una petición anterior con la misma clave de idempotencia,
+     * para devolverla al cliente que reintenta. Solo se consulta cuando la inserción ha fallado.
+     * @param idempotencyKey    clave de idempotencia enviada por el cliente (opcional)
+     * @param idArtista         artista de la petición actual
+     * @param idOportunidad     oportunidad de la petición actual
+     * @return                  postulación original, o vacío si la clave no existe o era de otra postulación
+     */
+    @Transactional(readOnly = true)
+    public Optional<Postulacion> buscarReintento(String idempotencyKey, Long idArtista, Long idOportunidad) {
+        if (idempotencyKey == null) {
+            return Optional.empty();
+        }
+        return postulacionRepository.findByIdempotencyKey(idempotencyKey)
+                .filter(p -> p.getUsuarioArtista().getId_user().equals(idArtista)
+                        && p.getOportunidad().getId().equals(idOportunidad));
+    }
+
+    /**
+     * Cambia el estado de una postulación y traslada la cuenta entre los contadores de su oportunidad.
+     * La postulación se bloquea mientras dura la transacción, para que dos cambios simultáneos no
+     * descuenten dos veces el mismo estado de origen.
+     * @param idPostulacion identificador de la postulación
+     * @param nuevoEstado   nuevo estado
+     * @return              postulación actualizada, o vacío si no existe
+     */
+    @Transactional
+    public Optional<Postulacion> actualizarEstado(Long idPostulacion, EstadoPostulacion nuevoEstado) {
+        return postulacionRepository.findByIdForUpdate(idPostulacion).map(postulacion -> {
+            EstadoPostulacion anterior = postulacion.getEstadoPostulacion();
+            if (anterior != nuevoEstado) {
+                postulacion.setEstadoPostulacion(nuevoEstado);
+                Long idOportunidad = postulacion.getOportunidad().getId();
+                sumar(idOportunidad, anterior, -1);
+                sumar(idOportunidad, nuevoEstado, 1);
+            }
+            return postulacionRepository.save(postulacion);
+        });
+    }
+
+    /**
+     * Cambia el estado de varias postulaciones de una misma oportunidad en una sola transacción.
+     * Lee y bloquea los estados actuales con una consulta, aplica una sentencia UPDATE por estado
+     * de destino y ajusta los contadores de la oportunidad con un único incremento neto.
+     * El llamante debe haber comprobado antes que la oportunidad pertenece a la empresa.
+     * @param idOportunidad identificador de la oportunidad
+     * @param cambios       cambios solicitados, en el orden recibido
+     * @return              resultado de cada cambio, en el mismo orden
+     */
+    @Transactional
+    public List<ResultadoCambioEstadoDTO> actualizarEstados(Long idOportunidad, List<CambioEstadoPostulacionDTO> cambios) {
+        Set<Long> ids = new LinkedHashSet<>();
+        cambios.forEach(cambio -> ids.add(cambio.getIdPostulacion()));
+        Map<Long, EstadoPostulacion> actuales = new HashMap<>();
+        postulacionRepository.findEstadosForUpdate(idOportunidad, ids)
+                .forEach(actual -> actuales.put(actual.getIdPostulacion(), actual.getEstado()));
+
+        Map<EstadoPostulacion, List<Long>> porEstado = new EnumMap<>(EstadoPostulacion.class);
+        Map<EstadoPostulacion, Long> deltas = new EnumMap<>(EstadoPostulacion.class);
+        Set<Long> vistos = new HashSet<>();
+        List<ResultadoCambioEstadoDTO> resultados = new ArrayList<>(cambios.size());
+        for (CambioEstadoPostulacionDTO cambio : cambios) {
+            Long id = cambio.getIdPostulacion();
+            EstadoPostulacion nuevoEstado = cambio.getNuevoEstado();
+            ResultadoCambioEstado resultado;
+            if (!vistos.add(id)) {
+                resultado = ResultadoCambioEstado.DUPLICADA;
+            } else if (!actuales.containsKey(id)) {
+                resultado = ResultadoCambioEstado.NO_ENCONTRADA;
+            } else if (actuales.get(id) == nuevoEstado) {
+                resultado = ResultadoCambioEstado.SIN_CAMBIOS;
+            } else {
+                porEstado.computeIfAbsent(nuevoEstado, estado -> new ArrayList<>()).add(id);
+                if (actuales.get(id) != null) {
+                    deltas.merge(actuales.get(id), -1L, Long::sum);
+                }
+                deltas.merge(nuevoEstado, 1L, Long::sum);
+                resultado = ResultadoCambioEstado.ACTUALIZADA;
+            }
+            resultados.add(new ResultadoCambioEstadoDTO(id, nuevoEstado, resultado));
+        }
+
+        porEstado.forEach((estado, idsEstado) -> postulacionRepository.cambiarEstado(idsEstado, estado));
+        if (!porEstado.isEmpty()) {
+            postulacionContadorRepository.sumar(idOportunidad,
+                    deltas.getOrDefault(EstadoPostulacion.PENDENTE, 0L),
+                    deltas.getOrDefault(EstadoPostulacion.ACEPTADA, 0L),
+                    deltas.getOrDefault(EstadoPostulacion.RECHAZADA, 0L));
+        }
+        return resultados;
+    }
+
+    /**
+     * Devuelve cuántas postulaciones tiene una oportunidad en cada estado, leyendo solo sus contadores.
+     * @param idOportunidad identificador de la oportunidad
+     * @return              estadísticas, o vacío si la oportunidad no existe
+     */
+    @Transactional(readOnly = true)
+    public Optional<PostulacionEstadisticasDTO> estadisticas(Long idOportunidad) {
+        return postulacionContadorRepository.findById(idOportunidad)
+                .map(c -> new PostulacionEstadisticasDTO(idOportunidad, c.getPendientes(), c.getAceptadas(), c.getRechazadas()))
+                .or(() -> oportunidadRepository.existsById(idOportunidad)
+                        ? Optional.of(new PostulacionEstadisticasDTO(idOportunidad, 0, 0, 0))
+                        : Optional.empty());
+    }
+
+    private void sumar(Long idOportunidad, EstadoPostulacion estado, long cantidad) {
+        if (estado == null) {
+            return;
+        }
+        postulacionContadorRepository.sumar(idOportunidad,
+                estado == EstadoPostulacion.PENDENTE ? cantidad : 0,
+                estado == EstadoPostulacion.ACEPTADA ? cantidad : 0,
+                estado == EstadoPostulacion.RECHAZADA ? cantidad : 0);
+    }
+}
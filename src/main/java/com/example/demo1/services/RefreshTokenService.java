@@ -0,0 +1,183 @@
+/**
+ * RefreshTokenService.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Servicio que emite, rota y revoca los tokens de refresco. Mantener una sesión
+ * abierta cuesta una consulta por índice y la firma de un token de acceso nuevo, en lugar de
+ * volver a comprobar la contraseña con BCrypt.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.services;
+
+import com.example.demo1.config.JwtConfiguration;
+import com.example.demo1.models.entidades.RefreshToken;
+import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.repositories.IRefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Servicio de tokens de refresco con rotación y detección de reutilización.
+ * El token en claro son 32 bytes aleatorios en Base64 URL; en la base de datos solo se guarda su hash.
+ */
+@Service
+public class RefreshTokenService {
+
+    /**
+     * Número de tokens de refresco ya rotados que se han vuelto a presentar (posible robo).
+     */
+    public static final String REUSE_COUNTER = "security.refresh_token.reuse";
+
+    private static final int BYTES_TOKEN = 32;
+
+    private final IRefreshTokenRepository refreshTokenRepository;
+    private final JwtConfiguration jwtConfiguration;
+    private final Clock clock;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final Counter reutilizaciones;
+
+    /**
+     * Constructor que inyecta las dependencias necesarias para el servicio.
+     * @param refreshTokenRepository    repositorio de tokens de refresco
+     * @param jwtConfiguration          configuración JWT (expiración de los tokens de refresco)
+     * @param meterRegistry             registro de métricas
+     */
+    @Autowired
+    public RefreshTokenService(IRefreshTokenRepository refreshTokenRepository, JwtConfiguration jwtConfiguration,
+                               MeterRegistry meterRegistry) {
+        this(refreshTokenRepository, jwtConfiguration, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    RefreshTokenService(IRefreshTokenRepository refreshTokenRepository, JwtConfiguration jwtConfiguration,
+                        MeterRegistry meterRegistry, Clock clock) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtConfiguration = jwtConfiguration;
+        this.clock = clock;
+        this.reutilizaciones = Counter.builder(REUSE_COUNTER)
+                .description("Tokens de refresco ya rotados presentados de nuevo; se revoca su sesión")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Emite el primer token de refresco de una sesión nueva.
+     * @param user  usuario autenticado
+     * @return      token de refresco en claro, para entregarlo al cliente
+     */
+    @Transactional
+    public String emitir(UserModel user) {
+        return guardar(user, UUID.randomUUID(), LocalDateTime.now(clock));
+    }
+
+    /**
+     * Canjea un token de refresco por uno nuevo de la misma sesión. El token presentado queda usado;
+     * si ya lo estaba, se entiende que ha sido robado y se revoca la sesión completa.
+     * @param token token de refresco en claro
+     * @return      usuario de la sesión y token de refresco nuevo, o vacío si el token no es válido,
+     *              ha caducado o ya se había usado
+     */
+    @Transactional
+    public Optional<Rotacion> rotar(String token) {
+        Optional<RefreshToken> encontrado = refreshTokenRepository.findByTokenHash(hash(token));
+        if (encontrado.isEmpty()) {
+            return Optional.empty();
+        }
+
+        RefreshToken actual = encontrado.get();
+        LocalDateTime ahora = LocalDateTime.now(clock);
+        if (!actual.getExpiraEn().isAfter(ahora)) {
+            return Optional.empty();
+        }
+        if (actual.getUsadoEn() != null || refreshTokenRepository.marcarUsado(actual.getId(), ahora) == 0) {
+            refreshTokenRepository.deleteByFamilia(actual.getFamilia());
+            reutilizaciones.increment();
+            return Optional.empty();
+        }
+
+        String nuevo = guardar(actual.getUser(), actual.getFamilia(), ahora);
+        return Optional.of(new Rotacion(actual.getUser(), nuevo));
+    }
+
+    /**
+     * Cierra la sesión a la que pertenece un token de refresco.
+     * @param token token de refresco en claro
+     */
+    @Transactional
+    public void revocar(String token) {
+        refreshTokenRepository.findByTokenHash(hash(token))
+                .ifPresent(actual -> refreshTokenRepository.deleteByFamilia(actual.getFamilia()));
+    }
+
+    /**
+     * Cierra todas las sesiones de un usuario, por ejemplo al cambiar su contraseña o al eliminarlo.
+     * @param userId    identificador interno del usuario
+     */
+    @Transactional
+    public void revocarSesiones(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * Borra periódicamente los tokens caducados con una única sentencia sobre el índice de expiración.
+     * Los tokens usados se conservan hasta entonces para poder detectar su reutilización.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void borrarCaducados() {
+        refreshTokenRepository.deleteCaducados(LocalDateTime.now(clock));
+    }
+
+    private String guardar(UserModel user, UUID familia, LocalDateTime ahora) {
+        byte[] bytes = new byte[BYTES_TOKEN];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setFamilia(familia);
+        refreshToken.setUser(user);
+        refreshToken.setExpiraEn(ahora.plus(Duration.ofMillis(jwtConfiguration.getRefreshExpirationMs())));
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Resultado de una rotación: usuario de la sesión y token de refresco nuevo en claro.
+     */
+    @Getter
+    public static class Rotacion {
+        private final UserModel user;
+        private final String refreshToken;
+
+        public Rotacion(UserModel user, String refreshToken) {
+            this.user = user;
+            this.refreshToken = refreshToken;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * SchedulerLockService.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Servicio que garantiza que una tarea programada se ejecuta en una sola instancia
+ * de la aplicación a la vez, mediante un bloqueo con caducidad guardado en la base de datos. Las
+ * fechas del bloqueo se guardan en UTC para que instancias en zonas horarias distintas las comparen igual.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.services;
+
+import com.example.demo1.models.entidades.SchedulerLock;
+import com.example.demo1.repositories.ISchedulerLockRepository;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Servicio de bloqueos distribuidos para tareas programadas.
+ */
+@Service
+public class SchedulerLockService {
+
+    private final ISchedulerLockRepository schedulerLockRepository;
+    private final Clock clock;
+
+    /**
+     * Identificador de esta instancia de la aplicación (pid@host).
+     */
+    @Getter
+    private final String instancia;
+
+    /**
+     * Constructor que inyecta el repositorio de bloqueos.
+     * @param schedulerLockRepository   repositorio de bloqueos
+     */
+    @Autowired
+    public SchedulerLockService(ISchedulerLockRepository schedulerLockRepository) {
+        this(schedulerLockRepository, Clock.systemUTC(), ManagementFactory.getRuntimeMXBean().getName());
+    }
+
+    SchedulerLockService(ISchedulerLockRepository schedulerLockRepository, Clock clock, String instancia) {
+        this.schedulerLockRepository = schedulerLockRepository;
+        this.clock = clock;
+        this.instancia = instancia;
+    }
+
+    /**
+     * Ejecuta la tarea si ninguna otra instancia la está ejecutando.
+     * @param nombre            nombre de la tarea
+     * @param duracionMaxima    tiempo tras el cual el bloqueo caduca aunque no se haya liberado
+     *                          (debe superar la duración esperada de la tarea)
+     * @param tarea             tarea a ejecutar
+     * @return                  true si se ejecutó, false si otra instancia tenía el bloqueo
+     */
+    public boolean ejecutarConBloqueo(String nombre, Duration duracionMaxima, Runnable tarea) {
+        if (!adquirir(nombre, duracionMaxima)) {
+            return false;
+        }
+        try {
+            tarea.run();
+        } finally {
+            schedulerLockRepository.liberar(nombre, LocalDateTime.now(clock), instancia);
+        }
+        return true;
+    }
+
+    private boolean adquirir(String nombre, Duration duracionMaxima) {
+        LocalDateTime ahora = LocalDateTime.now(clock);
+        LocalDateTime hasta = ahora.plus(duracionMaxima);
+        if (schedulerLockRepository.adquirir(nombre, ahora, hasta, instancia) == 1) {
+            return true;
+        }
+        if (schedulerLockRepository.existsById(nombre)) {
+            return false;
+        }
+
+        // Primera ejecución de la tarea: la clave primaria impide que dos instancias creen el bloqueo
+        SchedulerLock lock = new SchedulerLock();
+        lock.setNombre(nombre);
+        lock.setBloqueadoEn(ahora);
+        lock.setBloqueadoHasta(hasta);
+        lock.setBloqueadoPor(instancia);
+        try {
+            schedulerLockRepository.saveAndFlush(lock);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+}
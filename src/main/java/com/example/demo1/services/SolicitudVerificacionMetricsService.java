@@ -0,0 +1,88 @@
+/**
+ * SolicitudVerificacionMetricsService.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Servicio que publica el tamaño de la cola de solicitudes de verificación pendientes
+ * y la antigüedad de la más antigua, para poder alertar cuando la moderación se retrasa.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.services;
+
+import com.example.demo1.models.enums.EstadoSolicitud;
+import com.example.demo1.repositories.ISolucitudVerifRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Servicio de métricas de la cola de verificación.
+ * Los valores se consultan a la base de datos periódicamente y no en cada lectura de las métricas;
+ * la antigüedad se calcula al leerla, por lo que sigue creciendo entre dos consultas.
+ */
+@Service
+public class SolicitudVerificacionMetricsService {
+
+    /**
+     * Número de solicitudes de verificación pendientes.
+     */
+    public static final String PENDIENTES_GAUGE = "verificacion.cola.pendientes";
+
+    /**
+     * Antigüedad, en segundos, de la solicitud pendiente más antigua (0 si no hay ninguna).
+     */
+    public static final String ANTIGUEDAD_GAUGE = "verificacion.cola.antiguedad";
+
+    private final ISolucitudVerifRepository solicitudVerifRepository;
+    private final AtomicLong pendientes = new AtomicLong();
+    private final AtomicReference<LocalDateTime> masAntigua = new AtomicReference<>();
+
+    /**
+     * Constructor que inyecta el repositorio y registra las métricas.
+     * @param solicitudVerifRepository  repositorio de solicitudes de verificación
+     * @param meterRegistry             registro de métricas
+     */
+    @Autowired
+    public SolicitudVerificacionMetricsService(ISolucitudVerifRepository solicitudVerifRepository,
+                                               MeterRegistry meterRegistry) {
+        this(solicitudVerifRepository, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    SolicitudVerificacionMetricsService(ISolucitudVerifRepository solicitudVerifRepository,
+                                        MeterRegistry meterRegistry, Clock clock) {
+        this.solicitudVerifRepository = solicitudVerifRepository;
+        Gauge.builder(PENDIENTES_GAUGE, pendientes, AtomicLong::get)
+                .description("Solicitudes de verificación pendientes de moderación")
+                .register(meterRegistry);
+        // El indicador se asocia a la referencia y no al servicio, que aún no está construido.
+        Gauge.builder(ANTIGUEDAD_GAUGE, masAntigua, fecha -> antiguedadSegundos(fecha.get(), clock))
+                .description("Antigüedad de la solicitud de verificación pendiente más antigua")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Actualiza el número de solicitudes pendientes y la fecha de la más antigua.
+     * Ambas consultas usan el índice (estado_solicitud, date_solicitud).
+     */
+    @Scheduled(fixedDelayString = "${verificacion.cola.metricas-interval-ms:30000}")
+    public void actualizar() {
+        pendientes.set(solicitudVerifRepository.countByEstadoSolicitud(EstadoSolicitud.PENDIENTE));
+        masAntigua.set(solicitudVerifRepository.findFechaMasAntigua(EstadoSolicitud.PENDIENTE));
+    }
+
+    private static double antiguedadSegundos(LocalDateTime fecha, Clock clock) {
+        if (fecha == null) {
+            return 0;
+        }
+        return Math.max(0, Duration.between(fecha, LocalDateTime.now(clock)).toSeconds());
+    }
+}
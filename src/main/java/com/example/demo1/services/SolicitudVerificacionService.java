@@ -1,6 +1,11 @@
 package com.example.demo1.services;
 
+import com.example.demo1.config.PaginationConfiguration;
+import com.example.demo1.mappers.CursorMapper;
+import com.example.demo1.mappers.InvalidCursorException;
 import com.example.demo1.mappers.SolicitudVerificacionMapper;
+import com.example.demo1.models.dtos.SolicitudVerificacion.DecisionSolicitudDTO;
+import com.example.demo1.models.dtos.SolicitudVerificacion.ResultadoModeracionDTO;
 import com.example.demo1.models.dtos.SolicitudVerificacion.SolicitudVerificacionResponseDTO;
 import com.example.demo1.models.entidades.SolicitudVerificacion;
 import com.example.demo1.models.entidades.UserModel;
@@ -8,11 +13,16 @@ import com.example.demo1.models.enums.EstadoSolicitud;
 import com.example.demo1.models.enums.RoleName;
 import com.example.demo1.repositories.ISolucitudVerifRepository;
 import com.example.demo1.repositories.IUserRepository;
+import com.example.demo1.security.TokenVersionCache;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.management.relation.Role;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
 
 @Service
 public class SolicitudVerificacionService {
@@ -20,14 +30,62 @@ public class SolicitudVerificacionService {
     private final ISolucitudVerifRepository solicitudVerifRepository;
     private final IUserRepository userRepository;
     private final RoleService roleService;
+    private final TokenVersionCache tokenVersionCache;
+    private final UserCacheService userCacheService;
+    private final PaginationConfiguration paginationConfiguration;
 
     public SolicitudVerificacionService(
             ISolucitudVerifRepository solicitudVerifRepository,
             IUserRepository userRepository,
-            RoleService roleService) {
+            RoleService roleService,
+            TokenVersionCache tokenVersionCache,
+            UserCacheService userCacheService,
+            PaginationConfiguration paginationConfiguration) {
         this.solicitudVerifRepository = solicitudVerifRepository;
         this.userRepository = userRepository;
         this.roleService = roleService;
+        this.tokenVersionCache = tokenVersionCache;
+        this.userCacheService = userCacheService;
+        this.paginationConfiguration = paginationConfiguration;
+    }
+
+    /**
+     * Lista una página de la cola de verificación, de la solicitud más antigua a la más reciente.
+     * La paginación es por clave (fecha e identificador), por lo que el coste de cada página no
+     * depende de lo avanzada que esté.
+     * @param estado    estado de las solicitudes (opcional)
+     * @param rol       rol solicitado (opcional)
+     * @param cursor    cursor de continuación devuelto por la página anterior, o null
+     * @param size      tamaño de página solicitado, o null para el valor por defecto
+     * @return          ventana de solicitudes
+     * @throws InvalidCursorException si el cursor no es válido
+     */
+    public Window<SolicitudVerificacion> listarCola(EstadoSolicitud estado, RoleName rol, String cursor, Integer size) {
+        ScrollPosition position = CursorMapper.toPosition(cursor, "dateSolicitud", "idSolicitud");
+        Limit limit = Limit.of(paginationConfiguration.resolveSize(size));
+        if (estado != null && rol != null) {
+            return solicitudVerifRepository.findByEstadoSolicitudAndRolSolicitadoOrderByDateSolicitudAscIdSolicitudAsc(
+                    estado, rol, position, limit);
+        }
+        if (estado != null) {
+            return solicitudVerifRepository.findByEstadoSolicitudOrderByDateSolicitudAscIdSolicitudAsc(estado, position, limit);
+        }
+        if (rol != null) {
+            return solicitudVerifRepository.findByRolSolicitadoOrderByDateSolicitudAscIdSolicitudAsc(rol, position, limit);
+        }
+        return solicitudVerifRepository.findAllByOrderByDateSolicitudAscIdSolicitudAsc(position, limit);
+    }
+
+    /**
+     * Genera el cursor de la página siguiente de la cola de verificación.
+     * @param window    ventana devuelta por {@link #listarCola}
+     * @return          cursor opaco, o null si no hay más páginas
+     */
+    public String nextCursor(Window<SolicitudVerificacion> window) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+        return CursorMapper.toCursor(window.positionAt(window.size() - 1), "dateSolicitud", "idSolicitud");
     }
 
 
@@ -108,12 +166,115 @@ public class SolicitudVerificacionService {
 
 
     private void actualizarUsuario(UserModel user, RoleName nuevoRol) {
-        user.setTypeUser(nuevoRol);
+        asignarRolVerificado(user, nuevoRol);
+        // Los tokens emitidos con el rol anterior dejan de ser válidos
+        tokenVersionCache.revoke(user);
+        userRepository.save(user);
+        userCacheService.invalidar(user);
+    }
+
+    /**
+     * Asigna al usuario el rol aprobado y lo marca como verificado, sin guardarlo.
+     * RoleService comprueba que el rol cambia, por lo que se le llama antes de modificar el usuario.
+     */
+    private void asignarRolVerificado(UserModel user, RoleName nuevoRol) {
+        roleService.actualizarRolesSegunTipo(user, nuevoRol);
         user.setVerified(true);
         user.setUpdateAt(LocalDateTime.now());
-        roleService.actualizarRolesSegunTipo(user, nuevoRol);
-        userRepository.save(user);
+    }
+
+    /**
+     * Aprueba o rechaza varias solicitudes de verificación en una sola transacción.
+     * Las solicitudes, sus usuarios y las demás solicitudes pendientes de esos usuarios se cargan con
+     * dos consultas; las reglas se aplican en memoria y los cambios se envían juntos al final, en lotes
+     * JDBC. Una solicitud que no cumple las reglas se informa en su resultado y no impide procesar el resto.
+     * @param decisiones    resoluciones solicitadas, en el orden recibido
+     * @return              resultado de cada resolución, en el mismo orden
+     */
+    @Transactional
+    public List<ResultadoModeracionDTO> moderarSolicitudes(List<DecisionSolicitudDTO> decisiones) {
+        Set<Long> ids = new LinkedHashSet<>();
+        decisiones.forEach(decision -> ids.add(decision.getIdSolicitud()));
+        Map<Long, SolicitudVerificacion> solicitudes = new HashMap<>();
+        solicitudVerifRepository.findByIdSolicitudIn(ids)
+                .forEach(solicitud -> solicitudes.put(solicitud.getIdSolicitud(), solicitud));
 
+        Map<Long, UserModel> usuarios = new HashMap<>();
+        solicitudes.values().forEach(solicitud -> usuarios.put(solicitud.getUser().getId_user(), solicitud.getUser()));
+        Map<Long, List<SolicitudVerificacion>> pendientesPorUsuario = new HashMap<>();
+        if (!usuarios.isEmpty()) {
+            solicitudVerifRepository.findByUserInAndEstadoSolicitud(usuarios.values(), EstadoSolicitud.PENDIENTE)
+                    .forEach(pendiente -> pendientesPorUsuario
+                            .computeIfAbsent(pendiente.getUser().getId_user(), id -> new ArrayList<>())
+                            .add(pendiente));
+        }
+
+        Set<Long> procesadas = new HashSet<>();
+        Map<Long, UserModel> aprobados = new HashMap<>();
+        List<ResultadoModeracionDTO> resultados = new ArrayList<>(decisiones.size());
+        for (DecisionSolicitudDTO decision : decisiones) {
+            Long id = decision.getIdSolicitud();
+            SolicitudVerificacion solicitud = solicitudes.get(id);
+            try {
+                if (!procesadas.add(id)) {
+                    throw new IllegalStateException("La solicitud está repetida en el lote");
+                }
+                if (solicitud == null) {
+                    throw new IllegalStateException("Solicitud no encontrada");
+                }
+                if (solicitud.getEstadoSolicitud() != EstadoSolicitud.PENDIENTE) {
+                    throw new IllegalStateException("La solicitud no está en estado pendiente");
+                }
+                if (decision.getNuevoEstado() == EstadoSolicitud.ACEPTADO) {
+                    aprobarEnLote(solicitud, pendientesPorUsuario.getOrDefault(solicitud.getUser().getId_user(), List.of()));
+                    aprobados.put(solicitud.getUser().getId_user(), solicitud.getUser());
+                } else if (decision.getNuevoEstado() == EstadoSolicitud.RECHAZADO) {
+                    rechazarEnLote(solicitud, decision.getObservacionAdmin());
+                } else {
+                    throw new IllegalStateException("El nuevo estado debe ser ACEPTADO o RECHAZADO");
+                }
+                resultados.add(new ResultadoModeracionDTO(id, true, solicitud.getEstadoSolicitud(), null));
+            } catch (IllegalStateException e) {
+                resultados.add(new ResultadoModeracionDTO(id, false,
+                        solicitud == null ? null : solicitud.getEstadoSolicitud(), e.getMessage()));
+            }
+        }
+
+        // Las entidades modificadas (incluida la nueva versión de token) se actualizan al hacer flush,
+        // agrupadas por hibernate.jdbc.batch_size
+        aprobados.values().forEach(tokenVersionCache::revoke);
+        solicitudVerifRepository.flush();
+        aprobados.values().forEach(userCacheService::invalidar);
+        return resultados;
+    }
+
+    private void aprobarEnLote(SolicitudVerificacion solicitud, List<SolicitudVerificacion> pendientesUsuario) {
+        UserModel user = solicitud.getUser();
+        RoleName rolSolicitado = solicitud.getRolSolicitado();
+        if (user.getTypeUser() == rolSolicitado) {
+            throw new IllegalStateException("El usuario ya tiene el rol solicitado");
+        }
+        // Se consulta el estado en memoria: una solicitud resuelta antes en el mismo lote ya no cuenta
+        boolean otrasPendientes = pendientesUsuario.stream()
+                .anyMatch(otra -> otra != solicitud && otra.getEstadoSolicitud() == EstadoSolicitud.PENDIENTE);
+        if (otrasPendientes) {
+            throw new IllegalStateException("El usuario tiene otras solicitudes pendientes");
+        }
+        validarProgresionRoles(user.getTypeUser(), rolSolicitado);
+
+        asignarRolVerificado(user, rolSolicitado);
+        solicitud.setEstadoSolicitud(EstadoSolicitud.ACEPTADO);
+        solicitud.setFechaResolucion(LocalDateTime.now());
+    }
+
+    private void rechazarEnLote(SolicitudVerificacion solicitud, String observacionAdmin) {
+        if (observacionAdmin == null || observacionAdmin.trim().isEmpty()) {
+            throw new IllegalStateException("Debe proporcionar observaciones para el rechazo");
+        }
+        solicitud.setEstadoSolicitud(EstadoSolicitud.RECHAZADO);
+        solicitud.setFechaResolucion(LocalDateTime.now());
+        solicitud.setObservacionesAdmin(observacionAdmin.trim());
+        solicitud.getUser().setUpdateAt(LocalDateTime.now());
     }
 
     public SolicitudVerificacionResponseDTO rechazarSolicitud(Long idSolicitud, String observacionAdmin) {
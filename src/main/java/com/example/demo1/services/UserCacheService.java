@@ -0,0 +1,181 @@
+/**
+ * UserCacheService.java
+ * Proyecto: Scénico - Plataforma para artistas emergentes
+ * Descripción: Servicio de caché de lectura (Caffeine) para las consultas de usuarios por UUID,
+ * nombre de usuario y email. Las entradas caducan por tamaño y por tiempo, y se invalidan
+ * explícitamente cada vez que se modifica o elimina un usuario.
+ * Autor: Andrea Johanna Villavicencio Lema
+ * Fecha: Mayo de 2025
+ * Email: johannna.villavicencio@gmail.com
+ */
+package com.example.demo1.services;
+
+import com.example.demo1.config.UserCacheConfiguration;
+import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.repositories.IUserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.BeanUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Caché de usuarios. La entrada principal se guarda por UUID; el nombre de usuario y el email
+ * son índices secundarios que apuntan al UUID, de modo que invalidar un usuario por su UUID basta
+ * para que las tres búsquedas vuelvan a la base de datos.
+ * Cada nodo tiene su propia caché y la invalidación solo es local: los cambios hechos en otro nodo,
+ * incluido el tipo de usuario que se usa en las comprobaciones de autorización, se ven aquí cuando
+ * caduca la entrada (user.cache.ttl-seconds).
+ */
+@Service
+public class UserCacheService {
+
+    private final IUserRepository userRepository;
+    private final Cache<UUID, UserModel> usuariosPorUuid;
+    private final Cache<String, UUID> uuidPorUsername;
+    private final Cache<String, UUID> uuidPorEmail;
+
+    /**
+     * Constructor que crea las cachés y registra sus métricas (aciertos, fallos y desalojos).
+     * @param userRepository    repositorio de usuarios
+     * @param configuration     tamaño y tiempo de vida de la caché
+     * @param meterRegistry     registro de métricas
+     */
+    public UserCacheService(IUserRepository userRepository, UserCacheConfiguration configuration,
+                            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.usuariosPorUuid = crearCache(configuration);
+        this.uuidPorUsername = crearCache(configuration);
+        this.uuidPorEmail = crearCache(configuration);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, usuariosPorUuid, "usuarios.uuid");
+        CaffeineCacheMetrics.monitor(meterRegistry, uuidPorUsername, "usuarios.username");
+        CaffeineCacheMetrics.monitor(meterRegistry, uuidPorEmail, "usuarios.email");
+    }
+
+    private static <K, V> Cache<K, V> crearCache(UserCacheConfiguration configuration) {
+        return Caffeine.newBuilder()
+                .maximumSize(configuration.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(configuration.getTtlSeconds()))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Busca un usuario por su UUID.
+     * @param uuid  identificador público del usuario
+     * @return      usuario, si existe
+     */
+    public Optional<UserModel> findByUuid(UUID uuid) {
+        UserModel user = usuariosPorUuid.getIfPresent(uuid);
+        if (user != null) {
+            return Optional.of(user);
+        }
+        return userRepository.findByUuid(uuid).map(this::guardar);
+    }
+
+    /**
+     * Busca un usuario por su nombre de usuario.
+     * @param username  nombre de usuario
+     * @return          usuario, si existe
+     */
+    public Optional<UserModel> findByUsername(String username) {
+        UUID uuid = uuidPorUsername.getIfPresent(username);
+        if (uuid != null) {
+            Optional<UserModel> user = findByUuid(uuid).filter(u -> Objects.equals(u.getUsername(), username));
+            if (user.isPresent()) {
+                return user;
+            }
+            uuidPorUsername.invalidate(username);
+        }
+        return userRepository.findByUsername(username).map(this::guardar);
+    }
+
+    /**
+     * Busca un usuario por su email.
+     * @param email     email del usuario
+     * @return          usuario, si existe
+     */
+    public Optional<UserModel> findByEmail(String email) {
+        UUID uuid = uuidPorEmail.getIfPresent(email);
+        if (uuid != null) {
+            Optional<UserModel> user = findByUuid(uuid).filter(u -> Objects.equals(u.getEmail(), email));
+            if (user.isPresent()) {
+                return user;
+            }
+            uuidPorEmail.invalidate(email);
+        }
+        return userRepository.findByEmail(email).map(this::guardar);
+    }
+
+    /**
+     * Invalida todas las entradas de un usuario. Debe llamarse con los datos anteriores a la modificación
+     * (nombre de usuario y email antiguos). Si hay una transacción activa, la invalidación se repite al
+     * confirmarla, para que una lectura concurrente no vuelva a guardar los datos antiguos.
+     * @param user  usuario modificado o eliminado
+     */
+    public void invalidar(UserModel user) {
+        UUID uuid = user.getUuid();
+        String username = user.getUsername();
+        String email = user.getEmail();
+
+        Runnable invalidacion = () -> {
+            if (uuid != null) {
+                usuariosPorUuid.invalidate(uuid);
+            }
+            if (username != null) {
+                uuidPorUsername.invalidate(username);
+            }
+            if (email != null) {
+                uuidPorEmail.invalidate(email);
+            }
+        };
+        invalidacion.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidacion.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Vacía la caché por completo.
+     */
+    public void invalidarTodo() {
+        usuariosPorUuid.invalidateAll();
+        uuidPorUsername.invalidateAll();
+        uuidPorEmail.invalidateAll();
+    }
+
+    /**
+     * Guarda en la caché una copia desasociada del usuario, para que los cambios que se hagan sobre la
+     * entidad gestionada en la petición actual no se vean desde otras peticiones.
+     */
+    private UserModel guardar(UserModel user) {
+        if (user.getUuid() == null) {
+            return user;
+        }
+        UserModel copia = new UserModel();
+        BeanUtils.copyProperties(user, copia);
+        usuariosPorUuid.put(user.getUuid(), copia);
+        if (user.getUsername() != null) {
+            uuidPorUsername.put(user.getUsername(), user.getUuid());
+        }
+        if (user.getEmail() != null) {
+            uuidPorEmail.put(user.getEmail(), user.getUuid());
+        }
+        return user;
+    }
+}
@@ -19,16 +19,16 @@ import com.example.demo1.models.dtos.UserModel.UserResponseDTO;
 import com.example.demo1.models.entidades.UserModel;
 import com.example.demo1.models.enums.RoleName;
 import com.example.demo1.repositories.IUserRepository;
+import com.example.demo1.security.TokenVersionCache;
 import jakarta.transaction.Transactional;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -43,50 +43,92 @@ public class UserService {
     private final UserMapper userMapper;
     private final IUserRepository userRepository;
     private final RoleService roleService;
+    private final TokenVersionCache tokenVersionCache;
+    private final UserCacheService userCacheService;
+    private final MediaStorageService mediaStorageService;
+    private final RefreshTokenService refreshTokenService;
 
     /**
      * Constructor que inyecta las dependencias necesarias para el servicio.
      * @param userMapper        Mapper para transformar entidades y DTO
      * @param userRepository    Repositorio de usuario
      * @param roleService       Servicio de asignación de roles
+     * @param tokenVersionCache Registro de versiones de token para revocar sesiones
+     * @param userCacheService  Caché de consultas de usuarios
+     * @param mediaStorageService Almacenamiento de imágenes de perfil
+     * @param refreshTokenService Servicio de tokens de refresco, para cerrar sesiones
      */
-    public UserService(UserMapper userMapper, IUserRepository userRepository, RoleService roleService) {
+    public UserService(UserMapper userMapper, IUserRepository userRepository, RoleService roleService,
+                       TokenVersionCache tokenVersionCache, UserCacheService userCacheService,
+                       MediaStorageService mediaStorageService, RefreshTokenService refreshTokenService) {
         this.userMapper = userMapper;
         this.userRepository = userRepository;
         this.roleService = roleService;
+        this.tokenVersionCache = tokenVersionCache;
+        this.userCacheService = userCacheService;
+        this.mediaStorageService = mediaStorageService;
+        this.refreshTokenService = refreshTokenService;
     }
 
     /**
-     * Crea un nuevo usuario con validaciones previas y asignación de rol inicial.
+     * Crea un nuevo usuario con asignación de rol inicial.
+     * El email y el nombre de usuario no se comprueban antes de insertar: las restricciones únicas de la tabla
+     * rechazan los duplicados, también entre registros simultáneos, y la infracción se traduce al mensaje
+     * correspondiente. El alta es una sola sentencia en su propia transacción, por lo que al recibir el error
+     * ya se ha deshecho y se puede consultar la base de datos si la restricción no se reconoce.
      * @param createUserDTO DTO con los datos del nuevo usuario
      * @return representación del usuario creado
+     * @throws IllegalStateException si ya existe un usuario con el mismo email o nombre de usuario
      */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public UserResponseDTO createUser(CreateUserDTO createUserDTO) {
-        if (userRepository.existsByEmail(createUserDTO.getEmail())) {
-            throw new IllegalStateException("Ya existe un usuario con este correo.");
-        }
-        if(userRepository.existsByUsername(createUserDTO.getUsername())) {
-            throw new IllegalStateException("Ya existe un usuario con este nombre de usuario.");
-        }
-
         createUserDTO.setTypeUser(RoleName.USER);
         UserModel userModel = userMapper.toEntity(createUserDTO);
         userModel.setUuid(UUID.randomUUID());
 
         roleService.asignarRolInicial(userModel);
 
-
-        userModel = userRepository.save(userModel);
+        try {
+            userModel = userRepository.save(userModel);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException(mensajeDuplicado(e, createUserDTO), e);
+        }
         return userMapper.toResponseDTO(userModel);
     }
 
+    /**
+     * Obtiene el mensaje de un alta rechazada por una restricción única a partir del nombre de la restricción.
+     * Con restricciones sin nombre conocido (tablas creadas antes de nombrarlas) se consulta qué valor existe.
+     * @param e     infracción de integridad del alta
+     * @param dto   datos del alta
+     * @return      mensaje de usuario duplicado
+     */
+    private String mensajeDuplicado(DataIntegrityViolationException e, CreateUserDTO dto) {
+        String restriccion = e.getCause() instanceof ConstraintViolationException cve && cve.getConstraintName() != null
+                ? cve.getConstraintName().toLowerCase(Locale.ROOT)
+                : "";
+        boolean email = restriccion.contains(UserModel.UK_EMAIL);
+        boolean username = restriccion.contains(UserModel.UK_USERNAME);
+        if (!email && !username) {
+            email = userRepository.existsByEmail(dto.getEmail());
+            username = !email && userRepository.existsByUsername(dto.getUsername());
+        }
+        if (email) {
+            return "Ya existe un usuario con este correo.";
+        }
+        if (username) {
+            return "Ya existe un usuario con este nombre de usuario.";
+        }
+        throw e;
+    }
+
     /**
      * Obtiene un usuario por UUID, lanza una excepción si no existe.
      * @param uuid identificador público del usuario
      * @return entidad UserModel
      */
     public UserModel getByUuid(UUID uuid) {
-        return userRepository.findByUuid(uuid)
+        return userCacheService.findByUuid(uuid)
                 .orElseThrow(() -> new IllegalStateException("Usuario no encontrado con UUID: " + uuid));
     }
 
@@ -96,7 +138,7 @@ public class UserService {
      * @return DTO con los datos públicos del usuario
      */
     public UserResponseDTO findByUuid(UUID uuid) {
-        UserModel user = userRepository.findByUuid(uuid)
+        UserModel user = userCacheService.findByUuid(uuid)
                 .orElseThrow(() -> new IllegalStateException("No existe el usuario con el UUID: " + uuid));
         return userMapper.toResponseDTO(user);
     }
@@ -107,7 +149,7 @@ public class UserService {
      * @return DTO con la información del usuario
      */
     public UserResponseDTO findByUsername(String username) {
-        UserModel user = userRepository.findByUsername(username)
+        UserModel user = userCacheService.findByUsername(username)
                 .orElseThrow(() -> new IllegalStateException("No existe el usuario con el nombre de usuario: " + username));
         return userMapper.toResponseDTO(user);
     }
@@ -150,8 +192,19 @@ public class UserService {
             throw new IllegalStateException("Ya existe un usuario con este nombre de usuario.");
         }
 
+        userCacheService.invalidar(existingUser);
         userMapper.updateUserFromDTO(updateUserDTO, existingUser);
+        // Un cambio de rol, email o contraseña invalida los tokens emitidos anteriormente
+        if (updateUserDTO.getTypeUser() != null || updateUserDTO.getEmail() != null
+                || updateUserDTO.getPassword() != null) {
+            tokenVersionCache.revoke(existingUser);
+        }
         UserModel updatedUser = userRepository.save(existingUser);
+
+        // Un cambio de credenciales cierra además las sesiones abiertas con token de refresco
+        if (updateUserDTO.getEmail() != null || updateUserDTO.getPassword() != null) {
+            refreshTokenService.revocarSesiones(existingUser.getId_user());
+        }
         return userMapper.toResponseDTO(updatedUser);
     }
 
@@ -162,7 +215,10 @@ public class UserService {
     public void deleteUser(UUID uuid) {
         UserModel existingUser = userRepository.findByUuid(uuid)
                 .orElseThrow(() -> new IllegalStateException("No existe el usuario con el id: " + uuid));
+        refreshTokenService.revocarSesiones(existingUser.getId_user());
         userRepository.delete(existingUser);
+        userCacheService.invalidar(existingUser);
+        tokenVersionCache.revoke(existingUser);
     }
 
     /**
@@ -176,6 +232,7 @@ public class UserService {
         user.setVerified(true);
         user.setUpdateAt(java.time.LocalDateTime.now());
         UserModel updatedUser = userRepository.save(user);
+        userCacheService.invalidar(updatedUser);
         return userMapper.toResponseDTO(updatedUser);
     }
 
@@ -186,24 +243,23 @@ public class UserService {
      * @param uuid UUID del usuario
      * @param file archivo de imagen recibido
      * @return URL públicada de la imagen guardada
+     * @throws UncheckedIOException si no se puede escribir la imagen
      */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public String saveProfileImage(String uuid, MultipartFile file) {
         UserModel usuario = userRepository.findByUuid(UUID.fromString(uuid))
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+                .orElseThrow(() -> new IllegalStateException("Usuario no encontrado"));
 
-        String fileName = UUID.randomUUID() + "_" + file.getOriginalFilename();
-        Path path = Paths.get("upload-photo/" + fileName);
+        // El archivo se escribe fuera de la transacción; la URL solo se guarda cuando ya es duradero.
+        // Solo se actualiza la columna de la foto: guardar la entidad leída antes de la subida
+        // sobrescribiría los cambios hechos mientras tanto (contraseña, rol, versión de token...).
+        String imageUrl = mediaStorageService.guardar(file).getUrl();
 
-        try {
-            Files.copy(file.getInputStream(), path, StandardCopyOption.REPLACE_EXISTING);
-        } catch (IOException e) {
-            throw new RuntimeException("Error al guardar la imagen", e);
+        if (userRepository.actualizarFotoPerfil(usuario.getUuid(), imageUrl) == 0) {
+            throw new IllegalStateException("Usuario no encontrado");
         }
-
-        // Guardar la URL en el usuario
-        String imageUrl = "http://tuservidor.com/upload-photo/" + fileName;
         usuario.setPhotoProfile(imageUrl);
-        userRepository.save(usuario);
+        userCacheService.invalidar(usuario);
 
         return imageUrl;
     }
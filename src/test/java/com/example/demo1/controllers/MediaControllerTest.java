@@ -0,0 +1,125 @@
+package com.example.demo1.controllers;
+
+import com.example.demo1.services.MediaStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Pruebas unitarias para MediaController
+ */
+@ExtendWith(MockitoExtension.class)
+class MediaControllerTest {
+
+    private static final String HASH = "a".repeat(64);
+    private static final String NOMBRE = HASH + ".mp3";
+    private static final String ETAG = "\"" + HASH + "\"";
+
+    @TempDir
+    Path directorio;
+
+    @Mock
+    private MediaStorageService mediaStorageService;
+
+    @InjectMocks
+    private MediaController mediaController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path archivo = directorio.resolve(NOMBRE);
+        Files.writeString(archivo, "0123456789", StandardCharsets.US_ASCII);
+        when(mediaStorageService.buscar(anyString())).thenAnswer(invocation ->
+                NOMBRE.equals(invocation.getArgument(0)) ? Optional.of(archivo) : Optional.empty());
+        mockMvc = MockMvcBuilders.standaloneSetup(mediaController).build();
+    }
+
+    @Test
+    @DisplayName("GET completo → 200 con ETag fuerte, caché inmutable y soporte de rangos")
+    void archivoCompleto() throws Exception {
+        mockMvc.perform(get("/upload-photo/" + NOMBRE))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes("0123456789".getBytes(StandardCharsets.US_ASCII)))
+                .andExpect(content().contentType("audio/mpeg"))
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, MediaController.CACHE_CONTROL))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    @DisplayName("Range de bytes → 206 con Content-Range y solo el tramo pedido")
+    void rangoParcial() throws Exception {
+        mockMvc.perform(get("/upload-photo/" + NOMBRE).header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+                .andExpect(content().bytes("2345".getBytes(StandardCharsets.US_ASCII)));
+
+        mockMvc.perform(get("/upload-photo/" + NOMBRE).header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes("789".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    @DisplayName("Range fuera del archivo → 416 con el tamaño en Content-Range")
+    void rangoNoSatisfacible() throws Exception {
+        mockMvc.perform(get("/upload-photo/" + NOMBRE).header(HttpHeaders.RANGE, "bytes=50-60"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+
+    @Test
+    @DisplayName("If-Range con otro ETag → ignora el rango y devuelve el archivo completo")
+    void ifRangeNoCoincide() throws Exception {
+        mockMvc.perform(get("/upload-photo/" + NOMBRE)
+                        .header(HttpHeaders.RANGE, "bytes=2-5")
+                        .header(HttpHeaders.IF_RANGE, "\"otro\""))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10));
+    }
+
+    @Test
+    @DisplayName("If-None-Match o If-Modified-Since vigentes → 304 sin cuerpo")
+    void peticionesCondicionales() throws Exception {
+        mockMvc.perform(get("/upload-photo/" + NOMBRE).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+
+        long modificado = Files.getLastModifiedTime(directorio.resolve(NOMBRE)).toMillis();
+        mockMvc.perform(get("/upload-photo/" + NOMBRE).header(HttpHeaders.IF_MODIFIED_SINCE, modificado + 1000))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("HEAD → cabeceras sin cuerpo; nombre desconocido → 404")
+    void headYNoEncontrado() throws Exception {
+        mockMvc.perform(head("/upload-photo/" + NOMBRE))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+                .andExpect(content().bytes(new byte[0]));
+
+        mockMvc.perform(get("/upload-photo/../secreto.txt"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.demo1.controllers;
+
+import com.example.demo1.config.PaginationConfiguration;
+import com.example.demo1.mappers.CursorMapper;
+import com.example.demo1.models.entidades.Oportunidad;
+import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.models.enums.EstadoOportunidad;
+import com.example.demo1.models.enums.RoleName;
+import com.example.demo1.repositories.IOportunidadRepository;
+import com.example.demo1.services.JwtTokenService;
+import com.example.demo1.services.OportunidadSearchService;
+import com.example.demo1.services.OportunidadService;
+import com.example.demo1.services.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Pruebas de los listados paginados por cursor de OportunidadController.
+ */
+@ExtendWith(MockitoExtension.class)
+class OportunidadControllerTest {
+
+    private static final String BASE = "/api/v1/users/empresas/oportunidades";
+
+    @Mock
+    private IOportunidadRepository oportunidadRepository;
+
+    @Mock
+    private OportunidadSearchService oportunidadSearchService;
+
+    private MockMvc mockMvc;
+
+    private final LocalDateTime fecha = LocalDateTime.of(2025, 5, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        PaginationConfiguration paginationConfiguration = new PaginationConfiguration();
+        ReflectionTestUtils.setField(paginationConfiguration, "defaultSize", 20);
+        ReflectionTestUtils.setField(paginationConfiguration, "maxSize", 100);
+        OportunidadService oportunidadService =
+                new OportunidadService(oportunidadRepository, paginationConfiguration, oportunidadSearchService);
+        OportunidadController controller =
+                new OportunidadController(mock(JwtTokenService.class), oportunidadService, mock(UserService.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    @DisplayName("Página con más resultados → cabecera X-Next-Cursor con la posición del último elemento")
+    void categoria_DevuelveCursorSiguiente() throws Exception {
+        when(oportunidadRepository.findByCategoriaOrderByFechaDescIdDesc(eq("Teatro"), any(), eq(Limit.of(1))))
+                .thenReturn(ventana(true, oportunidad(5L)));
+
+        String cursor = mockMvc.perform(get(BASE + "/categoria/Teatro").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(5))
+                .andReturn().getResponse().getHeader(OportunidadController.NEXT_CURSOR_HEADER);
+
+        assertThat(((KeysetScrollPosition) CursorMapper.toPosition(cursor, "fecha", "id")).getKeys())
+                .containsEntry("fecha", fecha).containsEntry("id", 5L);
+    }
+
+    @Test
+    @DisplayName("Cursor recibido → se continúa desde esa posición; última página sin cabecera")
+    void estado_ContinuaDesdeCursor() throws Exception {
+        String cursor = CursorMapper.toCursor(ScrollPosition.forward(Map.of("fecha", fecha, "id", 5L)), "fecha", "id");
+        when(oportunidadRepository.findByEstadoOrderByFechaDescIdDesc(eq(EstadoOportunidad.ABIERTO), any(), eq(Limit.of(20))))
+                .thenReturn(ventana(false, oportunidad(4L)));
+
+        mockMvc.perform(get(BASE + "/estadoOportunidad/ABIERTO").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(4))
+                .andExpect(header().doesNotExist(OportunidadController.NEXT_CURSOR_HEADER));
+
+        verify(oportunidadRepository).findByEstadoOrderByFechaDescIdDesc(eq(EstadoOportunidad.ABIERTO),
+                eq(ScrollPosition.forward(Map.of("fecha", fecha, "id", 5L))), eq(Limit.of(20)));
+    }
+
+    @Test
+    @DisplayName("Cursor inválido → 400 INVALID_CURSOR sin consultar el repositorio")
+    void cursorInvalido() throws Exception {
+        mockMvc.perform(get(BASE + "/todas/publicas").param("cursor", "no-es-un-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_CURSOR"));
+
+        verifyNoInteractions(oportunidadRepository);
+    }
+
+    private Window<Oportunidad> ventana(boolean hasNext, Oportunidad... oportunidades) {
+        List<Oportunidad> contenido = List.of(oportunidades);
+        return Window.from(contenido, i -> ScrollPosition.forward(
+                Map.of("fecha", contenido.get(i).getFecha(), "id", contenido.get(i).getId())), hasNext);
+    }
+
+    private Oportunidad oportunidad(Long id) {
+        UserModel empresa = new UserModel();
+        empresa.setUuid(UUID.randomUUID());
+        empresa.setUsername("empresa");
+        empresa.setTypeUser(RoleName.ENTERPRISE);
+
+        Oportunidad oportunidad = new Oportunidad();
+        oportunidad.setId(id);
+        oportunidad.setTitulo("Casting");
+        oportunidad.setCategoria("Teatro");
+        oportunidad.setFecha(fecha);
+        oportunidad.setUsuarioEmpresa(empresa);
+        return oportunidad;
+    }
+}
@@ -9,6 +9,7 @@ import com.example.demo1.models.entidades.UserModel;
 import com.example.demo1.models.enums.TipoArchivo;
 import com.example.demo1.repositories.IPortafolioRepository;
 import com.example.demo1.repositories.IUserRepository;
+import com.example.demo1.security.JwtPrincipal;
 import com.example.demo1.services.JwtTokenService;
 import com.example.demo1.services.PortafolioService;
 import com.example.demo1.services.UserService;
@@ -29,6 +30,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -81,6 +83,13 @@ class PortafolioControllerTest {
                 .build();
     }
 
+    /**
+     * Construye el principal que el filtro JWT dejaría en el SecurityContext.
+     */
+    private static JwtPrincipal principal(UUID uuid) {
+        return new JwtPrincipal(uuid, 1L, "USER", "test@example.com", Instant.now().plusSeconds(3600), 0);
+    }
+
     /**
      * Manejador que captura MethodArgumentNotValidException y devuelve ErrorResponseDTO.
      */
@@ -117,10 +126,8 @@ class PortafolioControllerTest {
             );
 
             // 2) Simulamos token y extracción de UUID:
-            String fakeToken = "Bearer x.y.z";
             UUID userUuid = UUID.randomUUID();
-            when(jwtTokenService.resolveToken()).thenReturn(fakeToken);
-            when(jwtTokenService.getUuidFromToken(fakeToken)).thenReturn(userUuid);
+            when(jwtTokenService.getCurrentPrincipal()).thenReturn(principal(userUuid));
 
             // 3) Simulamos userService.getByUuid(...)
             UserModel user = new UserModel();
@@ -160,8 +167,7 @@ class PortafolioControllerTest {
                     .andExpect(jsonPath("$.nombreUsuario").value("usuarioTest"));
 
             // 7) Verificamos que se haya llamado a los métodos esperados
-            verify(jwtTokenService, times(1)).resolveToken();
-            verify(jwtTokenService, times(1)).getUuidFromToken(fakeToken);
+            verify(jwtTokenService, times(1)).getCurrentPrincipal();
             verify(userService, times(1)).getByUuid(userUuid);
             verify(portafolioService, times(1))
                     .crearPortafolio(any(PortafolioRequestDTO.class), eq(user));
@@ -414,11 +420,8 @@ class PortafolioControllerTest {
                     "Pie nuevo",
                     etiquetas
             );
-
-            String fakeToken = "Bearer abc";
             UUID uuid = UUID.randomUUID();
-            when(jwtTokenService.resolveToken()).thenReturn(fakeToken);
-            when(jwtTokenService.getUuidFromToken(fakeToken)).thenReturn(uuid);
+            when(jwtTokenService.getCurrentPrincipal()).thenReturn(principal(uuid));
 
             UserModel user = new UserModel();
             user.setUuid(uuid);
@@ -453,8 +456,7 @@ class PortafolioControllerTest {
                     .andExpect(jsonPath("$.titulo").value("Nuevo Título"))
                     .andExpect(jsonPath("$.nombreUsuario").value("pepe"));
 
-            verify(jwtTokenService, times(1)).resolveToken();
-            verify(jwtTokenService, times(1)).getUuidFromToken(fakeToken);
+            verify(jwtTokenService, times(1)).getCurrentPrincipal();
             verify(userService, times(1)).getByUuid(uuid);
             verify(portafolioService, times(1))
                     .actualizarPortafolio(eq(idPortafolio), any(PortafolioRequestDTO.class), eq(user));
@@ -498,10 +500,8 @@ class PortafolioControllerTest {
         @DisplayName("Portafolio no existe → 404 Not Found")
         void eliminarPortafolioAuth_NotFound_Returns404() throws Exception {
             Long idPortafolio = 99L;
-            String fakeToken = "Bearer t";
             UUID uuid = UUID.randomUUID();
-            when(jwtTokenService.resolveToken()).thenReturn(fakeToken);
-            when(jwtTokenService.getUuidFromToken(fakeToken)).thenReturn(uuid);
+            when(jwtTokenService.getCurrentPrincipal()).thenReturn(principal(uuid));
 
             when(portafolioRepository.findById(idPortafolio)).thenReturn(Optional.empty());
 
@@ -515,10 +515,8 @@ class PortafolioControllerTest {
         @DisplayName("Usuario no propietario → 403 Forbidden")
         void eliminarPortafolioAuth_NotOwner_Returns403() throws Exception {
             Long idPortafolio = 11L;
-            String fakeToken = "Bearer tk";
             UUID uuid = UUID.randomUUID();
-            when(jwtTokenService.resolveToken()).thenReturn(fakeToken);
-            when(jwtTokenService.getUuidFromToken(fakeToken)).thenReturn(uuid);
+            when(jwtTokenService.getCurrentPrincipal()).thenReturn(principal(uuid));
 
             UserModel propietario = new UserModel();
             propietario.setUuid(UUID.randomUUID()); // distinto del token
@@ -533,17 +531,15 @@ class PortafolioControllerTest {
                     .andExpect(content().string("\"No tienes permiso para eliminar este portafolio.\""));
 
             verify(portafolioRepository, times(1)).findById(idPortafolio);
-            verify(portafolioRepository, never()).delete(any());
+            verify(portafolioService, never()).eliminarPortafolio(anyLong());
         }
 
         @Test
-        @DisplayName("Usuario propietario → 200 OK y llamada a delete(...)")
+        @DisplayName("Usuario propietario → 200 OK y llamada a eliminarPortafolio(...)")
         void eliminarPortafolioAuth_Owner_ReturnsOk() throws Exception {
             Long idPortafolio = 22L;
-            String fakeToken = "Bearer tz";
             UUID uuid = UUID.randomUUID();
-            when(jwtTokenService.resolveToken()).thenReturn(fakeToken);
-            when(jwtTokenService.getUuidFromToken(fakeToken)).thenReturn(uuid);
+            when(jwtTokenService.getCurrentPrincipal()).thenReturn(principal(uuid));
 
             UserModel propietario = new UserModel();
             propietario.setUuid(uuid);
@@ -557,7 +553,7 @@ class PortafolioControllerTest {
                     .andExpect(status().isOk());
 
             verify(portafolioRepository, times(1)).findById(idPortafolio);
-            verify(portafolioRepository, times(1)).delete(existente);
+            verify(portafolioService, times(1)).eliminarPortafolio(idPortafolio);
         }
     }
 
@@ -569,7 +565,7 @@ class PortafolioControllerTest {
     class EliminarPortafolioTests {
 
         @Test
-        @DisplayName("Portafolio existe → 200 OK y deleteById(...)")
+        @DisplayName("Portafolio existe → 200 OK y eliminarPortafolio(...)")
         void eliminarPortafolio_Exists_ReturnsOk() throws Exception {
             Long idPortafolio = 33L;
             when(portafolioRepository.findById(idPortafolio)).thenReturn(Optional.of(new Portafolio()));
@@ -578,7 +574,7 @@ class PortafolioControllerTest {
                     .andExpect(status().isOk());
 
             verify(portafolioRepository, times(1)).findById(idPortafolio);
-            verify(portafolioRepository, times(1)).deleteById(idPortafolio);
+            verify(portafolioService, times(1)).eliminarPortafolio(idPortafolio);
         }
 
         @Test
@@ -591,7 +587,7 @@ class PortafolioControllerTest {
                     .andExpect(status().isNotFound());
 
             verify(portafolioRepository, times(1)).findById(idPortafolio);
-            verify(portafolioRepository, never()).deleteById(anyLong());
+            verify(portafolioService, never()).eliminarPortafolio(anyLong());
         }
     }
 
@@ -603,7 +599,7 @@ class PortafolioControllerTest {
     class BuscarTests {
 
         @Test
-        @DisplayName("Ambos filtros presentes → findByTipoArchivoAndEtiquetasContainingIgnoreCase(...)")
+        @DisplayName("Ambos filtros presentes → portafolioService.buscarPorEtiqueta(tipo, etiqueta, false)")
         void buscar_BothParams_ReturnsFiltered() throws Exception {
             TipoArchivo tipo = TipoArchivo.AUDIO;
             String etiqueta = "rock";
@@ -622,7 +618,7 @@ class PortafolioControllerTest {
                 setUsername("u");
             }});
 
-            when(portafolioRepository.findByTipoArchivoAndEtiquetasContainingIgnoreCase(tipo, etiqueta))
+            when(portafolioService.buscarPorEtiqueta(tipo, etiqueta, false))
                     .thenReturn(Collections.singletonList(p));
 
             try (MockedStatic<PortafolioMapper> mapperMock = Mockito.mockStatic(PortafolioMapper.class)) {
@@ -641,8 +637,7 @@ class PortafolioControllerTest {
                         .andExpect(jsonPath("$.length()").value(1))
                         .andExpect(jsonPath("$[0].idPortafolio").value(77));
 
-                verify(portafolioRepository, times(1))
-                        .findByTipoArchivoAndEtiquetasContainingIgnoreCase(tipo, etiqueta);
+                verify(portafolioService, times(1)).buscarPorEtiqueta(tipo, etiqueta, false);
                 mapperMock.verify(() -> PortafolioMapper.toPubliDTO(p), times(1));
             }
         }
@@ -688,7 +683,7 @@ class PortafolioControllerTest {
         }
 
         @Test
-        @DisplayName("Solo etiqueta presente : findByEtiquetaYTipoArchivo(null, etiqueta)")
+        @DisplayName("Solo etiqueta presente : portafolioService.buscarPorEtiqueta(null, etiqueta, false)")
         void buscar_OnlyEtiqueta_ReturnsFiltered() throws Exception {
             String etiqueta = "rock";
             Portafolio p = new Portafolio();
@@ -705,7 +700,7 @@ class PortafolioControllerTest {
                 setUsername("e");
             }});
 
-            when(portafolioRepository.findByEtiquetaYTipoArchivo(null, etiqueta))
+            when(portafolioService.buscarPorEtiqueta(null, etiqueta, false))
                     .thenReturn(Collections.singletonList(p));
 
             try (MockedStatic<PortafolioMapper> mapperMock = Mockito.mockStatic(PortafolioMapper.class)) {
@@ -722,7 +717,7 @@ class PortafolioControllerTest {
                         .andExpect(jsonPath("$.length()").value(1))
                         .andExpect(jsonPath("$[0].idPortafolio").value(99));
 
-                verify(portafolioRepository, times(1)).findByEtiquetaYTipoArchivo(null, etiqueta);
+                verify(portafolioService, times(1)).buscarPorEtiqueta(null, etiqueta, false);
                 mapperMock.verify(() -> PortafolioMapper.toPubliDTO(p), times(1));
             }
         }
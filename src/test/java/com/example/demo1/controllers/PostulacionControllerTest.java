@@ -0,0 +1,177 @@
+package com.example.demo1.controllers;
+
+import com.example.demo1.models.dtos.Postulacion.ResultadoCambioEstadoDTO;
+import com.example.demo1.models.entidades.Oportunidad;
+import com.example.demo1.models.entidades.Postulacion;
+import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.models.enums.EstadoPostulacion;
+import com.example.demo1.models.enums.ResultadoCambioEstado;
+import com.example.demo1.models.enums.RoleName;
+import com.example.demo1.repositories.IOportunidadRepository;
+import com.example.demo1.repositories.IPostulacionRepository;
+import com.example.demo1.repositories.IUserRepository;
+import com.example.demo1.security.JwtPrincipal;
+import com.example.demo1.services.JwtTokenService;
+import com.example.demo1.services.PostulacionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Pruebas unitarias de la creación de postulaciones en PostulacionController.
+ */
+@ExtendWith(MockitoExtension.class)
+class PostulacionControllerTest {
+
+    @Mock
+    private IPostulacionRepository postulacionRepository;
+
+    @Mock
+    private IUserRepository userRepository;
+
+    @Mock
+    private IOportunidadRepository oportunidadRepository;
+
+    @Mock
+    private PostulacionService postulacionService;
+
+    @Mock
+    private JwtTokenService jwtTokenService;
+
+    @InjectMocks
+    private PostulacionController postulacionController;
+
+    private MockMvc mockMvc;
+
+    private UserModel artista;
+
+    private UserModel empresa;
+
+    private Oportunidad oportunidad;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(postulacionController).build();
+
+        artista = new UserModel();
+        artista.setId_user(1L);
+        artista.setUsername("artista_ana");
+        artista.setTypeUser(RoleName.ARTIST);
+        oportunidad = new Oportunidad();
+        oportunidad.setId(2L);
+        oportunidad.setTitulo("Casting");
+        empresa = new UserModel();
+        empresa.setUuid(UUID.randomUUID());
+        empresa.setTypeUser(RoleName.ENTERPRISE);
+        oportunidad.setUsuarioEmpresa(empresa);
+        lenient().when(userRepository.findById(1L)).thenReturn(Optional.of(artista));
+        lenient().when(oportunidadRepository.findById(2L)).thenReturn(Optional.of(oportunidad));
+    }
+
+    @Test
+    @DisplayName("Nueva postulación → una sola inserción, sin consultar antes si existe")
+    void crear_Nueva_Inserta() throws Exception {
+        Postulacion guardada = postulacion(10L);
+        when(postulacionService.crear(any(Postulacion.class))).thenReturn(guardada);
+
+        mockMvc.perform(post("/api/postulaciones/1/2").content("Hola"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(10))
+                .andExpect(jsonPath("$.usernameArtista").value("artista_ana"))
+                .andExpect(jsonPath("$.usuarioArtista").doesNotExist());
+
+        verifyNoInteractions(postulacionRepository);
+        verify(postulacionService, never()).buscarReintento(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Postulación duplicada sin clave de idempotencia → 409")
+    void crear_Duplicada_Conflicto() throws Exception {
+        when(postulacionService.crear(any(Postulacion.class))).thenThrow(new DataIntegrityViolationException("duplicada"));
+        when(postulacionService.buscarReintento(null, 1L, 2L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/api/postulaciones/1/2"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("POSTULACION_DUPLICADA"));
+    }
+
+    @Test
+    @DisplayName("Reintento con la misma Idempotency-Key → 200 con la postulación original")
+    void crear_Reintento_DevuelveOriginal() throws Exception {
+        Postulacion original = postulacion(10L);
+        when(postulacionService.crear(any(Postulacion.class))).thenThrow(new DataIntegrityViolationException("duplicada"));
+        when(postulacionService.buscarReintento("clave-1", 1L, 2L)).thenReturn(Optional.of(original));
+
+        mockMvc.perform(post("/api/postulaciones/1/2").header("Idempotency-Key", "clave-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(10));
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key demasiado larga → 400 sin insertar")
+    void crear_ClaveInvalida_BadRequest() throws Exception {
+        mockMvc.perform(post("/api/postulaciones/1/2").header("Idempotency-Key", "x".repeat(65)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_IDEMPOTENCY_KEY"));
+
+        verifyNoInteractions(postulacionService);
+    }
+
+    @Test
+    @DisplayName("Cambio masivo de la empresa propietaria → 200 con un resultado por postulación")
+    void actualizarEstados_Propietaria_Ok() throws Exception {
+        when(jwtTokenService.getCurrentPrincipal()).thenReturn(principal(empresa.getUuid()));
+        when(postulacionService.actualizarEstados(eq(2L), anyList())).thenReturn(List.of(
+                new ResultadoCambioEstadoDTO(10L, EstadoPostulacion.ACEPTADA, ResultadoCambioEstado.ACTUALIZADA)));
+
+        mockMvc.perform(patch("/api/postulaciones/oportunidad/2/estados")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"cambios\":[{\"idPostulacion\":10,\"nuevoEstado\":\"ACEPTADA\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].resultado").value("ACTUALIZADA"));
+    }
+
+    @Test
+    @DisplayName("Cambio masivo sobre una oportunidad de otra empresa → 403 sin tocar postulaciones")
+    void actualizarEstados_OtraEmpresa_Forbidden() throws Exception {
+        when(jwtTokenService.getCurrentPrincipal()).thenReturn(principal(UUID.randomUUID()));
+
+        mockMvc.perform(patch("/api/postulaciones/oportunidad/2/estados")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"cambios\":[{\"idPostulacion\":10,\"nuevoEstado\":\"ACEPTADA\"}]}"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(postulacionService);
+    }
+
+    private Postulacion postulacion(Long id) {
+        Postulacion postulacion = new Postulacion();
+        postulacion.setId(id);
+        postulacion.setUsuarioArtista(artista);
+        postulacion.setOportunidad(oportunidad);
+        return postulacion;
+    }
+
+    private static JwtPrincipal principal(UUID uuid) {
+        return new JwtPrincipal(uuid, 3L, "ENTERPRISE", "empresa@example.com", Instant.now().plusSeconds(60), 0);
+    }
+}
@@ -21,6 +21,8 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -400,6 +402,37 @@ class UserControllerStandaloneTest {
 //        }
 //    }
 
+    @Nested
+    @DisplayName("uploadPhoto(...) - errores")
+    class UploadPhotoErrorTests {
+
+        @Test
+        @DisplayName("Fallo de escritura en disco → 500 con ERROR_STORING_PHOTO")
+        void uploadPhoto_FalloEscritura_Returns500() throws Exception {
+            String uuidStr = UUID.randomUUID().toString();
+            MockMultipartFile file = new MockMultipartFile("file", "imagen.png", "image/png", "contenido".getBytes());
+            when(userService.saveProfileImage(eq(uuidStr), any()))
+                    .thenThrow(new UncheckedIOException("Error al guardar la imagen", new IOException("disco lleno")));
+
+            mockMvc.perform(multipart("/api/v1/users/upload-photo").file(file).param("uuid", uuidStr))
+                    .andExpect(status().isInternalServerError())
+                    .andExpect(jsonPath("$.code").value("ERROR_STORING_PHOTO"));
+        }
+
+        @Test
+        @DisplayName("Usuario no existe → 400 con ERROR_UPLOADING_PHOTO")
+        void uploadPhoto_UsuarioNoExiste_Returns400() throws Exception {
+            String uuidStr = UUID.randomUUID().toString();
+            MockMultipartFile file = new MockMultipartFile("file", "imagen.png", "image/png", "contenido".getBytes());
+            when(userService.saveProfileImage(eq(uuidStr), any()))
+                    .thenThrow(new IllegalStateException("Usuario no encontrado"));
+
+            mockMvc.perform(multipart("/api/v1/users/upload-photo").file(file).param("uuid", uuidStr))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.code").value("ERROR_UPLOADING_PHOTO"));
+        }
+    }
+
     /**
      * Un pequeño ControllerAdvice para que los errores de validación (@Valid) devuelvan 400 Bad Request con JSON.
      */
@@ -0,0 +1,84 @@
+package com.example.demo1.filters;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestConcurrencyFilterTest {
+
+    @Test
+    @DisplayName("Petición con permisos libres → pasa por la cadena y libera el permiso")
+    void dejaPasarYLibera() throws Exception {
+        RequestConcurrencyFilter filter = new RequestConcurrencyFilter(2, 10);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean[] invocado = {false};
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/oportunidades"), response,
+                (req, res) -> invocado[0] = true);
+
+        assertThat(invocado[0]).isTrue();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(filter.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Límite alcanzado → 503 con Retry-After sin invocar la cadena")
+    void rechazaAlSaturarse() throws Exception {
+        RequestConcurrencyFilter filter = new RequestConcurrencyFilter(1, 10);
+        CountDownLatch dentro = new CountDownLatch(1);
+        CountDownLatch salir = new CountDownLatch(1);
+
+        FilterChain bloqueante = (req, res) -> {
+            dentro.countDown();
+            try {
+                salir.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        Thread ocupante = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), bloqueante);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(dentro.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean[] invocado = {false};
+        filter.doFilter(new MockHttpServletRequest(), response, (req, res) -> invocado[0] = true);
+
+        assertThat(invocado[0]).isFalse();
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(response.getContentAsString()).contains("SERVICE_UNAVAILABLE");
+
+        salir.countDown();
+        ocupante.join(5000);
+        assertThat(filter.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Preflight CORS → pasa aunque no queden permisos")
+    void noLimitaPreflight() throws Exception {
+        RequestConcurrencyFilter filter = new RequestConcurrencyFilter(1, 10);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean[] invocado = {false};
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (req, res) ->
+                filter.doFilter(new MockHttpServletRequest("OPTIONS", "/api/v1/users/login"), response,
+                        (preflight, respuesta) -> invocado[0] = true));
+
+        assertThat(invocado[0]).isTrue();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(filter.availablePermits()).isEqualTo(1);
+    }
+}
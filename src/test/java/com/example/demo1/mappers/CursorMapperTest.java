@@ -0,0 +1,55 @@
+package com.example.demo1.mappers;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorMapperTest {
+
+    private final LocalDateTime fecha = LocalDateTime.of(2025, 5, 1, 12, 30, 15);
+
+    @Test
+    @DisplayName("Cursor generado → se convierte de nuevo en la misma posición keyset")
+    void idaYVuelta() {
+        String cursor = CursorMapper.toCursor(ScrollPosition.forward(Map.of("fecha", fecha, "id", 42L)), "fecha", "id");
+
+        ScrollPosition position = CursorMapper.toPosition(cursor, "fecha", "id");
+
+        assertThat(position).isInstanceOf(KeysetScrollPosition.class);
+        assertThat(((KeysetScrollPosition) position).getKeys()).containsEntry("fecha", fecha).containsEntry("id", 42L);
+        assertThat(cursor).doesNotContain("=", "+", "/");
+    }
+
+    @Test
+    @DisplayName("Sin cursor → posición inicial")
+    void sinCursor() {
+        assertThat(CursorMapper.toPosition(null, "fecha", "id").isInitial()).isTrue();
+        assertThat(CursorMapper.toPosition("  ", "fecha", "id").isInitial()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Cursor manipulado → InvalidCursorException")
+    void cursorInvalido() {
+        assertThatThrownBy(() -> CursorMapper.toPosition("%%%", "fecha", "id"))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> CursorMapper.toPosition(codificar("sin-separador"), "fecha", "id"))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> CursorMapper.toPosition(codificar("no-es-fecha|1"), "fecha", "id"))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> CursorMapper.toPosition(codificar(fecha + "|uno"), "fecha", "id"))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    private static String codificar(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
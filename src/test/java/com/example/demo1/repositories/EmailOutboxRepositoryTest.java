@@ -0,0 +1,93 @@
+package com.example.demo1.repositories;
+
+import com.example.demo1.models.entidades.EmailOutbox;
+import com.example.demo1.models.enums.EstadoEmail;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de la reclamación de lotes de la bandeja de salida entre instancias.
+ */
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.sql.init.mode=never"
+})
+class EmailOutboxRepositoryTest {
+
+    private static final List<EstadoEmail> RECLAMABLES = List.of(EstadoEmail.PENDIENTE, EstadoEmail.ENVIANDO);
+
+    @Autowired
+    private IEmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final LocalDateTime ahora = LocalDateTime.now().withNano(0);
+
+    private Long primero;
+    private Long segundo;
+
+    @BeforeEach
+    void setUp() {
+        primero = email(EstadoEmail.PENDIENTE, ahora.minusMinutes(1));
+        segundo = email(EstadoEmail.PENDIENTE, ahora);
+        email(EstadoEmail.PENDIENTE, ahora.plusMinutes(5));
+        email(EstadoEmail.ENVIADO, ahora.minusMinutes(1));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Dos instancias con los mismos candidatos → solo la primera reclama y carga el lote")
+    void reclamar_SoloUnaInstancia() {
+        List<Long> candidatos = emailOutboxRepository.findIdsListos(RECLAMABLES, ahora, Limit.of(10));
+        assertThat(candidatos).containsExactly(primero, segundo);
+
+        LocalDateTime vence = ahora.plusMinutes(5);
+        assertThat(emailOutboxRepository.reclamar(candidatos, RECLAMABLES, "lote-a", EstadoEmail.ENVIANDO, vence, ahora))
+                .isEqualTo(2);
+        assertThat(emailOutboxRepository.reclamar(candidatos, RECLAMABLES, "lote-b", EstadoEmail.ENVIANDO, vence, ahora))
+                .isZero();
+
+        entityManager.clear();
+        assertThat(emailOutboxRepository.findByIdInAndReclamadoPorOrderByIdAsc(candidatos, "lote-a"))
+                .extracting(EmailOutbox::getId).containsExactly(primero, segundo);
+        assertThat(emailOutboxRepository.findByIdInAndReclamadoPorOrderByIdAsc(candidatos, "lote-b")).isEmpty();
+        assertThat(emailOutboxRepository.findIdsListos(RECLAMABLES, ahora, Limit.of(10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Reclamación vencida de una instancia caída → otra instancia vuelve a reclamar el correo")
+    void reclamar_ReclamacionVencida() {
+        emailOutboxRepository.reclamar(List.of(primero), RECLAMABLES, "lote-a", EstadoEmail.ENVIANDO,
+                ahora.plusMinutes(5), ahora);
+
+        LocalDateTime despues = ahora.plusMinutes(6);
+        assertThat(emailOutboxRepository.findIdsListos(RECLAMABLES, despues, Limit.of(10))).contains(primero);
+        assertThat(emailOutboxRepository.reclamar(List.of(primero), RECLAMABLES, "lote-b", EstadoEmail.ENVIANDO,
+                despues.plusMinutes(5), despues)).isEqualTo(1);
+    }
+
+    private Long email(EstadoEmail estado, LocalDateTime proximoIntento) {
+        EmailOutbox email = new EmailOutbox();
+        email.setDestinatario("ana@example.com");
+        email.setAsunto("Asunto");
+        email.setCuerpo("<p>Cuerpo</p>");
+        email.setEstado(estado);
+        email.setProximoIntento(proximoIntento);
+        return entityManager.persistAndGetId(email, Long.class);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo1.repositories;
+
+import com.example.demo1.models.entidades.Etiqueta;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de la creación concurrente de etiquetas del diccionario.
+ */
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:etiquetas;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.sql.init.mode=never"
+})
+class EtiquetaRepositoryTest {
+
+    @Autowired
+    private IEtiquetaRepository etiquetaRepository;
+
+    @Test
+    @DisplayName("insertarSiNoExiste → una etiqueta ya creada no viola la restricción única y se relee")
+    void insertarSiNoExiste_Idempotente() {
+        assertThat(etiquetaRepository.insertarSiNoExiste("rock")).isEqualTo(1);
+        etiquetaRepository.insertarSiNoExiste("rock");
+        etiquetaRepository.insertarSiNoExiste("jazz");
+
+        assertThat(etiquetaRepository.findByNombreInForShare(List.of("rock", "jazz", "pop")))
+                .extracting(Etiqueta::getNombre).containsExactlyInAnyOrder("rock", "jazz");
+        assertThat(etiquetaRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Etiqueta de más de 100 caracteres → cabe en el diccionario como en la colección del portafolio")
+    void insertarSiNoExiste_EtiquetaLarga() {
+        String larga = "x".repeat(255);
+
+        etiquetaRepository.insertarSiNoExiste(larga);
+
+        assertThat(etiquetaRepository.findByNombreInForShare(List.of(larga))).hasSize(1);
+    }
+}
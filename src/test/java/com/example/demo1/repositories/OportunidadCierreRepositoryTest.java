@@ -0,0 +1,117 @@
+package com.example.demo1.repositories;
+
+import com.example.demo1.models.entidades.Oportunidad;
+import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.models.enums.EstadoOportunidad;
+import com.example.demo1.models.enums.RoleName;
+import com.example.demo1.services.SchedulerLockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de las consultas del cierre automático de oportunidades y del bloqueo entre instancias.
+ */
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cierre;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.jakarta.persistence.validation.mode=none",
+        "spring.sql.init.mode=never"
+})
+@Import(SchedulerLockService.class)
+class OportunidadCierreRepositoryTest {
+
+    @Autowired
+    private IOportunidadRepository oportunidadRepository;
+
+    @Autowired
+    private SchedulerLockService schedulerLockService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final LocalDateTime ahora = LocalDateTime.now();
+
+    private Long vencida;
+    private Long vigente;
+    private Long yaCerrada;
+
+    @BeforeEach
+    void setUp() {
+        UserModel empresa = new UserModel();
+        empresa.setUuid(UUID.randomUUID());
+        empresa.setUsername("empresa");
+        empresa.setEmail("empresa@example.com");
+        empresa.setPassword("password123");
+        empresa.setTypeUser(RoleName.ENTERPRISE);
+        entityManager.persist(empresa);
+
+        vencida = oportunidad(empresa, ahora.minusDays(1), EstadoOportunidad.ABIERTO);
+        vigente = oportunidad(empresa, ahora.plusDays(1), EstadoOportunidad.ABIERTO);
+        yaCerrada = oportunidad(empresa, ahora.minusDays(2), EstadoOportunidad.CERRADO);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("findIdsVencidas + cambiarEstado → cierra solo las abiertas vencidas y es idempotente")
+    void cierraSoloVencidas() {
+        List<Long> ids = oportunidadRepository.findIdsVencidas(EstadoOportunidad.ABIERTO, ahora,
+                Limit.of(10));
+        assertThat(ids).containsExactly(vencida);
+
+        LocalDateTime cierre = ahora.plusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        assertThat(oportunidadRepository.cambiarEstado(List.of(vencida, vigente, yaCerrada),
+                EstadoOportunidad.ABIERTO, EstadoOportunidad.CERRADO, cierre)).isEqualTo(2);
+        assertThat(oportunidadRepository.cambiarEstado(List.of(vencida),
+                EstadoOportunidad.ABIERTO, EstadoOportunidad.CERRADO, ahora)).isZero();
+
+        entityManager.clear();
+        assertThat(oportunidadRepository.findIdsVencidas(EstadoOportunidad.ABIERTO, ahora,
+                Limit.of(10))).isEmpty();
+        assertThat(oportunidadRepository.findById(vencida).orElseThrow().getEstado()).isEqualTo(EstadoOportunidad.CERRADO);
+        assertThat(oportunidadRepository.findByActualizadaEnGreaterThanEqual(cierre))
+                .extracting(Oportunidad::getId).containsExactlyInAnyOrder(vencida, vigente);
+    }
+
+    @Test
+    @DisplayName("Bloqueo de tarea → una segunda ejecución concurrente no entra; al terminar se puede volver a ejecutar")
+    void bloqueoEntreEjecuciones() {
+        boolean[] anidada = {true};
+
+        boolean ejecutada = schedulerLockService.ejecutarConBloqueo("tarea", Duration.ofMinutes(5), () ->
+                anidada[0] = schedulerLockService.ejecutarConBloqueo("tarea", Duration.ofMinutes(5), () -> { }));
+
+        assertThat(ejecutada).isTrue();
+        assertThat(anidada[0]).isFalse();
+        assertThat(schedulerLockService.ejecutarConBloqueo("tarea", Duration.ofMinutes(5), () -> { })).isTrue();
+    }
+
+    private Long oportunidad(UserModel empresa, LocalDateTime fechaCierre, EstadoOportunidad estado) {
+        Oportunidad oportunidad = new Oportunidad();
+        oportunidad.setTitulo("Casting");
+        oportunidad.setDescripcion("Descripción");
+        oportunidad.setCategoria("Teatro");
+        oportunidad.setRequisitos("Experiencia");
+        oportunidad.setUbicacion("Madrid");
+        oportunidad.setFechaCierre(fechaCierre);
+        oportunidad.setEstado(estado);
+        oportunidad.setUsuarioEmpresa(empresa);
+        return entityManager.persistAndGetId(oportunidad, Long.class);
+    }
+}
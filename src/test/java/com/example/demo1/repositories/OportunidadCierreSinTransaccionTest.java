@@ -0,0 +1,95 @@
+package com.example.demo1.repositories;
+
+import com.example.demo1.config.OportunidadCierreConfiguration;
+import com.example.demo1.models.entidades.Oportunidad;
+import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.models.enums.EstadoOportunidad;
+import com.example.demo1.models.enums.RoleName;
+import com.example.demo1.services.OportunidadCierreService;
+import com.example.demo1.services.OportunidadSearchService;
+import com.example.demo1.services.SchedulerLockService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Pruebas del cierre automático tal como lo ejecuta la tarea programada: sin una transacción alrededor.
+ */
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cierre-sin-tx;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.jakarta.persistence.validation.mode=none",
+        "spring.sql.init.mode=never"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OportunidadCierreSinTransaccionTest {
+
+    @Autowired
+    private IOportunidadRepository oportunidadRepository;
+
+    @Autowired
+    private IUserRepository userRepository;
+
+    @Autowired
+    private ISchedulerLockRepository schedulerLockRepository;
+
+    @AfterEach
+    void tearDown() {
+        oportunidadRepository.deleteAll();
+        userRepository.deleteAll();
+        schedulerLockRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("cerrarVencidas sin transacción abierta → cierra las vencidas (cambiarEstado abre la suya)")
+    void cierraSinTransaccionExterna() {
+        UserModel empresa = new UserModel();
+        empresa.setUuid(UUID.randomUUID());
+        empresa.setUsername("empresa");
+        empresa.setEmail("empresa@example.com");
+        empresa.setPassword("password123");
+        empresa.setTypeUser(RoleName.ENTERPRISE);
+        empresa = userRepository.save(empresa);
+        Long vencida = oportunidad(empresa, LocalDateTime.now().minusDays(1));
+        Long vigente = oportunidad(empresa, LocalDateTime.now().plusDays(1));
+
+        OportunidadCierreConfiguration configuration = new OportunidadCierreConfiguration();
+        ReflectionTestUtils.setField(configuration, "batchSize", 10);
+        ReflectionTestUtils.setField(configuration, "lockAtMostMs", 60000L);
+        OportunidadCierreService cierreService = new OportunidadCierreService(oportunidadRepository,
+                mock(OportunidadSearchService.class), new SchedulerLockService(schedulerLockRepository),
+                configuration, new SimpleMeterRegistry());
+
+        cierreService.cerrarVencidas();
+
+        assertThat(oportunidadRepository.findById(vencida).orElseThrow().getEstado()).isEqualTo(EstadoOportunidad.CERRADO);
+        assertThat(oportunidadRepository.findById(vigente).orElseThrow().getEstado()).isEqualTo(EstadoOportunidad.ABIERTO);
+    }
+
+    private Long oportunidad(UserModel empresa, LocalDateTime fechaCierre) {
+        Oportunidad oportunidad = new Oportunidad();
+        oportunidad.setTitulo("Casting");
+        oportunidad.setDescripcion("Descripción");
+        oportunidad.setCategoria("Teatro");
+        oportunidad.setRequisitos("Experiencia");
+        oportunidad.setUbicacion("Madrid");
+        oportunidad.setFechaCierre(fechaCierre);
+        oportunidad.setEstado(EstadoOportunidad.ABIERTO);
+        oportunidad.setUsuarioEmpresa(empresa);
+        return oportunidadRepository.save(oportunidad).getId();
+    }
+}
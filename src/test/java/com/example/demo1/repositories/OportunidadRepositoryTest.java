@@ -0,0 +1,115 @@
+package com.example.demo1.repositories;
+
+import com.example.demo1.mappers.CursorMapper;
+import com.example.demo1.models.entidades.Oportunidad;
+import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.models.enums.EstadoOportunidad;
+import com.example.demo1.models.enums.RoleName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de los listados de oportunidades paginados por clave sobre (fecha, id).
+ */
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:oportunidades;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.jakarta.persistence.validation.mode=none",
+        "spring.sql.init.mode=never"
+})
+class OportunidadRepositoryTest {
+
+    @Autowired
+    private IOportunidadRepository oportunidadRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final LocalDateTime ahora = LocalDateTime.now().withNano(0);
+
+    private Long teatroAntigua;
+    private Long teatroEmpateA;
+    private Long teatroEmpateB;
+    private Long musica;
+
+    @BeforeEach
+    void setUp() {
+        UserModel empresa = new UserModel();
+        empresa.setUuid(UUID.randomUUID());
+        empresa.setUsername("empresa");
+        empresa.setEmail("empresa@example.com");
+        empresa.setPassword("password123");
+        empresa.setTypeUser(RoleName.ENTERPRISE);
+        entityManager.persist(empresa);
+
+        teatroAntigua = oportunidad(empresa, "Teatro", ahora.minusDays(2), EstadoOportunidad.CERRADO);
+        teatroEmpateA = oportunidad(empresa, "Teatro", ahora, EstadoOportunidad.ABIERTO);
+        teatroEmpateB = oportunidad(empresa, "Teatro", ahora, EstadoOportunidad.ABIERTO);
+        musica = oportunidad(empresa, "Música", ahora.minusDays(1), EstadoOportunidad.ABIERTO);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Listado por categoría → de la más reciente a la más antigua, desempatando por id al continuar")
+    void porCategoria_PaginaPorClave() {
+        Window<Oportunidad> pagina = oportunidadRepository.findByCategoriaOrderByFechaDescIdDesc(
+                "Teatro", ScrollPosition.keyset(), Limit.of(1));
+        assertThat(pagina.getContent()).extracting(Oportunidad::getId).containsExactly(teatroEmpateB);
+        assertThat(pagina.hasNext()).isTrue();
+
+        Window<Oportunidad> siguiente = oportunidadRepository.findByCategoriaOrderByFechaDescIdDesc(
+                "Teatro", continuar(pagina), Limit.of(5));
+        assertThat(siguiente.getContent()).extracting(Oportunidad::getId).containsExactly(teatroEmpateA, teatroAntigua);
+        assertThat(siguiente.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Listado por estado y listado general → mismo orden y cursor")
+    void porEstadoYGeneral_PaginaPorClave() {
+        Window<Oportunidad> abiertas = oportunidadRepository.findByEstadoOrderByFechaDescIdDesc(
+                EstadoOportunidad.ABIERTO, ScrollPosition.keyset(), Limit.of(2));
+        assertThat(abiertas.getContent()).extracting(Oportunidad::getId).containsExactly(teatroEmpateB, teatroEmpateA);
+        assertThat(oportunidadRepository.findByEstadoOrderByFechaDescIdDesc(
+                EstadoOportunidad.ABIERTO, continuar(abiertas), Limit.of(2)).getContent())
+                .extracting(Oportunidad::getId).containsExactly(musica);
+
+        Window<Oportunidad> todas = oportunidadRepository.findAllByOrderByFechaDescIdDesc(
+                ScrollPosition.keyset(), Limit.of(3));
+        assertThat(oportunidadRepository.findAllByOrderByFechaDescIdDesc(continuar(todas), Limit.of(3)).getContent())
+                .extracting(Oportunidad::getId).containsExactly(teatroAntigua);
+    }
+
+    private static ScrollPosition continuar(Window<Oportunidad> pagina) {
+        String cursor = CursorMapper.toCursor(pagina.positionAt(pagina.size() - 1), "fecha", "id");
+        return CursorMapper.toPosition(cursor, "fecha", "id");
+    }
+
+    private Long oportunidad(UserModel empresa, String categoria, LocalDateTime fecha, EstadoOportunidad estado) {
+        Oportunidad oportunidad = new Oportunidad();
+        oportunidad.setTitulo("Casting");
+        oportunidad.setDescripcion("Descripción");
+        oportunidad.setCategoria(categoria);
+        oportunidad.setRequisitos("Experiencia");
+        oportunidad.setUbicacion("Madrid");
+        oportunidad.setFecha(fecha);
+        oportunidad.setFechaCierre(ahora.plusDays(30));
+        oportunidad.setEstado(estado);
+        oportunidad.setUsuarioEmpresa(empresa);
+        return entityManager.persistAndGetId(oportunidad, Long.class);
+    }
+}
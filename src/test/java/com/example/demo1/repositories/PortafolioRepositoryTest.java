@@ -0,0 +1,120 @@
+package com.example.demo1.repositories;
+
+import com.example.demo1.mappers.PortafolioMapper;
+import com.example.demo1.models.dtos.Portafolio.PortafolioPubliDTO;
+import com.example.demo1.models.entidades.Portafolio;
+import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.models.enums.RoleName;
+import com.example.demo1.models.enums.TipoArchivo;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de IPortafolioRepository que comprueban, mediante las estadísticas de Hibernate,
+ * que los listados de portafolios se cargan en un número constante de consultas.
+ */
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:portafolios;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never"
+})
+class PortafolioRepositoryTest {
+
+    private static final int USUARIOS = 5;
+    private static final int PORTAFOLIOS_POR_USUARIO = 3;
+
+    @Autowired
+    private IPortafolioRepository portafolioRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private UserModel primerUsuario;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < USUARIOS; i++) {
+            UserModel user = new UserModel();
+            user.setUuid(UUID.randomUUID());
+            user.setUsername("artista" + i);
+            user.setEmail("artista" + i + "@example.com");
+            user.setPassword("password123");
+            user.setTypeUser(RoleName.ARTIST);
+            entityManager.persist(user);
+            if (primerUsuario == null) {
+                primerUsuario = user;
+            }
+
+            for (int j = 0; j < PORTAFOLIOS_POR_USUARIO; j++) {
+                Portafolio portafolio = new Portafolio();
+                portafolio.setTitulo("Obra " + i + "-" + j);
+                portafolio.setTipoArchivo(TipoArchivo.IMAGE);
+                portafolio.setEtiquetas(List.of("arte", "pintura" + j));
+                portafolio.setUserModel(user);
+                entityManager.persist(portafolio);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("findAll + toPubliDTO → una sola consulta para todos los portafolios")
+    void findAll_MapToDto_SingleQuery() {
+        List<PortafolioPubliDTO> dtos = portafolioRepository.findAll().stream()
+                .map(PortafolioMapper::toPubliDTO)
+                .toList();
+
+        assertThat(dtos).hasSize(USUARIOS * PORTAFOLIOS_POR_USUARIO);
+        assertThat(dtos).allSatisfy(dto -> {
+            assertThat(dto.getNombreUsuario()).startsWith("artista");
+            assertThat(dto.getEtiquetas()).hasSize(2);
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findByTipoArchivo + toPubliDTO → una sola consulta")
+    void findByTipoArchivo_MapToDto_SingleQuery() {
+        List<PortafolioPubliDTO> dtos = portafolioRepository.findByTipoArchivo(TipoArchivo.IMAGE).stream()
+                .map(PortafolioMapper::toPubliDTO)
+                .toList();
+
+        assertThat(dtos).hasSize(USUARIOS * PORTAFOLIOS_POR_USUARIO);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findByUserModel + toPubliDTO → una sola consulta")
+    void findByUserModel_MapToDto_SingleQuery() {
+        List<PortafolioPubliDTO> dtos = portafolioRepository.findByUserModel(primerUsuario).stream()
+                .map(PortafolioMapper::toPubliDTO)
+                .toList();
+
+        assertThat(dtos).hasSize(PORTAFOLIOS_POR_USUARIO);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
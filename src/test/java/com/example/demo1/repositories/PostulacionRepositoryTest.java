@@ -0,0 +1,211 @@
+package com.example.demo1.repositories;
+
+import com.example.demo1.models.dtos.Postulacion.CambioEstadoPostulacionDTO;
+import com.example.demo1.models.dtos.Postulacion.PostulacionEstadisticasDTO;
+import com.example.demo1.models.dtos.Postulacion.PostulacionResponseDTO;
+import com.example.demo1.models.dtos.Postulacion.ResultadoCambioEstadoDTO;
+import com.example.demo1.models.entidades.Oportunidad;
+import com.example.demo1.models.entidades.Postulacion;
+import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.models.enums.EstadoPostulacion;
+import com.example.demo1.models.enums.ResultadoCambioEstado;
+import com.example.demo1.models.enums.RoleName;
+import com.example.demo1.services.PostulacionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Pruebas de las consultas de postulaciones y de sus contadores por oportunidad.
+ */
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:contadores;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.sql.init.mode=never"
+})
+@Import(PostulacionService.class)
+class PostulacionRepositoryTest {
+
+    @Autowired
+    private PostulacionService postulacionService;
+
+    @Autowired
+    private IPostulacionRepository postulacionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private UserModel empresa;
+    private Oportunidad oportunidad;
+
+    @BeforeEach
+    void setUp() {
+        empresa = usuario("empresa", RoleName.ENTERPRISE);
+        oportunidad = oportunidad();
+    }
+
+    @Test
+    @DisplayName("crear + actualizarEstado → los contadores reflejan cada estado sin cargar postulaciones")
+    void crearYActualizar_MantieneContadores() {
+        Postulacion primera = postulacionService.crear(postulacion(usuario("artista_ana", RoleName.ARTIST), EstadoPostulacion.PENDENTE));
+        Postulacion segunda = postulacionService.crear(postulacion(usuario("artista_luis", RoleName.ARTIST), EstadoPostulacion.PENDENTE));
+        postulacionService.crear(postulacion(usuario("artista_eva", RoleName.ARTIST), EstadoPostulacion.PENDENTE));
+
+        postulacionService.actualizarEstado(primera.getId(), EstadoPostulacion.ACEPTADA);
+        postulacionService.actualizarEstado(segunda.getId(), EstadoPostulacion.RECHAZADA);
+        postulacionService.actualizarEstado(segunda.getId(), EstadoPostulacion.RECHAZADA);
+        entityManager.flush();
+        entityManager.clear();
+
+        PostulacionEstadisticasDTO estadisticas = postulacionService.estadisticas(oportunidad.getId()).orElseThrow();
+        assertThat(estadisticas.getPendientes()).isEqualTo(1);
+        assertThat(estadisticas.getAceptadas()).isEqualTo(1);
+        assertThat(estadisticas.getRechazadas()).isEqualTo(1);
+        assertThat(estadisticas.getTotal()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Postulaciones previas a los contadores → inicializarContadores las cuenta una sola vez")
+    void inicializarContadores_CreaFilasFaltantes() {
+        entityManager.persist(postulacion(usuario("artista_ana", RoleName.ARTIST), EstadoPostulacion.ACEPTADA));
+        entityManager.persist(postulacion(usuario("artista_luis", RoleName.ARTIST), EstadoPostulacion.PENDENTE));
+        entityManager.flush();
+
+        postulacionService.inicializarContadores();
+        postulacionService.inicializarContadores();
+        entityManager.clear();
+
+        PostulacionEstadisticasDTO estadisticas = postulacionService.estadisticas(oportunidad.getId()).orElseThrow();
+        assertThat(estadisticas.getPendientes()).isEqualTo(1);
+        assertThat(estadisticas.getAceptadas()).isEqualTo(1);
+        assertThat(estadisticas.getTotal()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("actualizarEstados → un UPDATE por estado, resultado por elemento y contadores ajustados")
+    void actualizarEstados_AplicaLote() {
+        Postulacion primera = postulacionService.crear(postulacion(usuario("artista_ana", RoleName.ARTIST), EstadoPostulacion.PENDENTE));
+        Postulacion segunda = postulacionService.crear(postulacion(usuario("artista_luis", RoleName.ARTIST), EstadoPostulacion.PENDENTE));
+        Postulacion tercera = postulacionService.crear(postulacion(usuario("artista_eva", RoleName.ARTIST), EstadoPostulacion.ACEPTADA));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ResultadoCambioEstadoDTO> resultados = postulacionService.actualizarEstados(oportunidad.getId(), List.of(
+                cambio(primera.getId(), EstadoPostulacion.ACEPTADA),
+                cambio(segunda.getId(), EstadoPostulacion.RECHAZADA),
+                cambio(tercera.getId(), EstadoPostulacion.ACEPTADA),
+                cambio(primera.getId(), EstadoPostulacion.RECHAZADA),
+                cambio(9999L, EstadoPostulacion.ACEPTADA)));
+        entityManager.clear();
+
+        assertThat(resultados).extracting(ResultadoCambioEstadoDTO::getResultado).containsExactly(
+                ResultadoCambioEstado.ACTUALIZADA, ResultadoCambioEstado.ACTUALIZADA, ResultadoCambioEstado.SIN_CAMBIOS,
+                ResultadoCambioEstado.DUPLICADA, ResultadoCambioEstado.NO_ENCONTRADA);
+        assertThat(entityManager.find(Postulacion.class, primera.getId()).getEstadoPostulacion()).isEqualTo(EstadoPostulacion.ACEPTADA);
+        assertThat(entityManager.find(Postulacion.class, segunda.getId()).getEstadoPostulacion()).isEqualTo(EstadoPostulacion.RECHAZADA);
+
+        PostulacionEstadisticasDTO estadisticas = postulacionService.estadisticas(oportunidad.getId()).orElseThrow();
+        assertThat(estadisticas.getPendientes()).isZero();
+        assertThat(estadisticas.getAceptadas()).isEqualTo(2);
+        assertThat(estadisticas.getRechazadas()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findResumenByOportunidad / findResumenByArtista → DTOs proyectados, más recientes primero")
+    void findResumen_ProyectaDTOs() {
+        UserModel artista = usuario("artista_ana", RoleName.ARTIST);
+        Postulacion antigua = postulacion(artista, EstadoPostulacion.PENDENTE);
+        antigua.setFecha(LocalDateTime.now().minusDays(1));
+        entityManager.persist(antigua);
+        Oportunidad otra = oportunidad();
+        Postulacion reciente = postulacion(artista, EstadoPostulacion.ACEPTADA);
+        reciente.setOportunidad(otra);
+        entityManager.persist(reciente);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(postulacionRepository.findResumenByArtista(artista.getId_user()))
+                .extracting(PostulacionResponseDTO::getId, PostulacionResponseDTO::getIdOportunidad)
+                .containsExactly(tuple(reciente.getId(), otra.getId()), tuple(antigua.getId(), oportunidad.getId()));
+        assertThat(postulacionRepository.findResumenByOportunidad(oportunidad.getId()))
+                .singleElement()
+                .satisfies(dto -> {
+                    assertThat(dto.getUsernameArtista()).isEqualTo("artista_ana");
+                    assertThat(dto.getTituloOportunidad()).isEqualTo("Casting");
+                    assertThat(dto.getEstadoPostulacion()).isEqualTo(EstadoPostulacion.PENDENTE);
+                });
+    }
+
+    @Test
+    @DisplayName("Segunda postulación del mismo artista → la restricción única la rechaza sin consulta previa")
+    void crear_Duplicada_ViolaRestriccionUnica() {
+        UserModel artista = usuario("artista_ana", RoleName.ARTIST);
+        postulacionService.crear(postulacion(artista, EstadoPostulacion.PENDENTE));
+
+        assertThatThrownBy(() -> postulacionService.crear(postulacion(artista, EstadoPostulacion.PENDENTE)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("Oportunidad sin postulaciones → ceros; oportunidad inexistente → vacío")
+    void estadisticas_SinContadores() {
+        assertThat(postulacionService.estadisticas(oportunidad.getId()))
+                .get()
+                .extracting(PostulacionEstadisticasDTO::getTotal)
+                .isEqualTo(0L);
+        assertThat(postulacionService.estadisticas(oportunidad.getId() + 100)).isEmpty();
+    }
+
+    private static CambioEstadoPostulacionDTO cambio(Long idPostulacion, EstadoPostulacion nuevoEstado) {
+        CambioEstadoPostulacionDTO cambio = new CambioEstadoPostulacionDTO();
+        cambio.setIdPostulacion(idPostulacion);
+        cambio.setNuevoEstado(nuevoEstado);
+        return cambio;
+    }
+
+    private UserModel usuario(String username, RoleName rol) {
+        UserModel usuario = new UserModel();
+        usuario.setUuid(UUID.randomUUID());
+        usuario.setUsername(username);
+        usuario.setEmail(username + "@example.com");
+        usuario.setPassword("password123");
+        usuario.setTypeUser(rol);
+        return entityManager.persist(usuario);
+    }
+
+    private Oportunidad oportunidad() {
+        Oportunidad nueva = new Oportunidad();
+        nueva.setTitulo("Casting");
+        nueva.setDescripcion("Descripción");
+        nueva.setCategoria("Teatro");
+        nueva.setRequisitos("Experiencia");
+        nueva.setUbicacion("Madrid");
+        nueva.setFechaCierre(LocalDateTime.now().plusDays(10));
+        nueva.setUsuarioEmpresa(empresa);
+        return entityManager.persist(nueva);
+    }
+
+    private Postulacion postulacion(UserModel artista, EstadoPostulacion estado) {
+        Postulacion postulacion = new Postulacion();
+        postulacion.setUsuarioArtista(artista);
+        postulacion.setOportunidad(oportunidad);
+        postulacion.setMensaje("Hola");
+        postulacion.setEstadoPostulacion(estado);
+        return postulacion;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo1.repositories;
+
+import com.example.demo1.security.LimiteTasa;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de los cubos de fichas compartidos en base de datos.
+ */
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ratelimit;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.sql.init.mode=never"
+})
+class RateLimitBucketRepositoryTest {
+
+    @Autowired
+    private IRateLimitBucketRepository rateLimitBucketRepository;
+
+    @Test
+    @DisplayName("reponer + consumir → agota la ráfaga, repone con el tiempo y borra los cubos caducados")
+    void consumoYReposicion() {
+        LimiteTasa limite = LimiteTasa.parse("2/60");
+        long ahora = 1_000_000L;
+
+        assertThat(consumir("login:ip:1", limite, ahora)).isTrue();
+        assertThat(consumir("login:ip:1", limite, ahora)).isTrue();
+        assertThat(consumir("login:ip:1", limite, ahora)).isFalse();
+        assertThat(consumir("login:ip:1", limite, ahora + 1_000)).isTrue();
+        assertThat(consumir("login:ip:1", limite, ahora + 1_000)).isFalse();
+
+        assertThat(rateLimitBucketRepository.borrarCaducados(ahora + 1_000)).isZero();
+        assertThat(rateLimitBucketRepository.borrarCaducados(ahora + 10_000)).isEqualTo(1);
+    }
+
+    private boolean consumir(String clave, LimiteTasa limite, long ahora) {
+        rateLimitBucketRepository.reponer(clave, limite.getCapacidad(), limite.getPorMinuto(), ahora,
+                ahora + limite.milisegundosHastaLleno());
+        return rateLimitBucketRepository.consumir(clave) == 1;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.demo1.repositories;
+
+import com.example.demo1.mappers.CursorMapper;
+import com.example.demo1.models.entidades.SolicitudVerificacion;
+import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.models.enums.EstadoSolicitud;
+import com.example.demo1.models.enums.RoleName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de las consultas de la cola de verificación.
+ */
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:verificacion;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.sql.init.mode=never"
+})
+class SolicitudVerificacionRepositoryTest {
+
+    @Autowired
+    private ISolucitudVerifRepository solicitudVerifRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final LocalDateTime ahora = LocalDateTime.now().withNano(0);
+
+    private Long primera;
+    private Long segunda;
+    private Long tercera;
+
+    @BeforeEach
+    void setUp() {
+        primera = solicitud("usuario_uno", RoleName.ARTIST, EstadoSolicitud.PENDIENTE, ahora.minusDays(3));
+        solicitud("usuario_dos", RoleName.ENTERPRISE, EstadoSolicitud.PENDIENTE, ahora.minusDays(2));
+        segunda = solicitud("usuario_tres", RoleName.ARTIST, EstadoSolicitud.PENDIENTE, ahora.minusDays(1));
+        solicitud("usuario_cuatro", RoleName.ARTIST, EstadoSolicitud.ACEPTADO, ahora.minusDays(5));
+        tercera = solicitud("usuario_cinco", RoleName.ARTIST, EstadoSolicitud.PENDIENTE, ahora);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Cola por estado y rol → de la más antigua a la más reciente, continuando con el cursor")
+    void cola_PaginaPorClave() {
+        Window<SolicitudVerificacion> pagina = solicitudVerifRepository
+                .findByEstadoSolicitudAndRolSolicitadoOrderByDateSolicitudAscIdSolicitudAsc(
+                        EstadoSolicitud.PENDIENTE, RoleName.ARTIST, ScrollPosition.keyset(), Limit.of(2));
+        assertThat(pagina.getContent()).extracting(SolicitudVerificacion::getIdSolicitud).containsExactly(primera, segunda);
+        assertThat(pagina.hasNext()).isTrue();
+
+        String cursor = CursorMapper.toCursor(pagina.positionAt(pagina.size() - 1), "dateSolicitud", "idSolicitud");
+        Window<SolicitudVerificacion> siguiente = solicitudVerifRepository
+                .findByEstadoSolicitudAndRolSolicitadoOrderByDateSolicitudAscIdSolicitudAsc(
+                        EstadoSolicitud.PENDIENTE, RoleName.ARTIST,
+                        CursorMapper.toPosition(cursor, "dateSolicitud", "idSolicitud"), Limit.of(2));
+        assertThat(siguiente.getContent()).extracting(SolicitudVerificacion::getIdSolicitud).containsExactly(tercera);
+        assertThat(siguiente.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Métricas de la cola → número de pendientes y fecha de la más antigua")
+    void metricasCola() {
+        assertThat(solicitudVerifRepository.countByEstadoSolicitud(EstadoSolicitud.PENDIENTE)).isEqualTo(4);
+        assertThat(solicitudVerifRepository.findFechaMasAntigua(EstadoSolicitud.PENDIENTE)).isEqualTo(ahora.minusDays(3));
+        assertThat(solicitudVerifRepository.findFechaMasAntigua(EstadoSolicitud.RECHAZADO)).isNull();
+    }
+
+    private Long solicitud(String username, RoleName rol, EstadoSolicitud estado, LocalDateTime fecha) {
+        UserModel usuario = new UserModel();
+        usuario.setUuid(UUID.randomUUID());
+        usuario.setUsername(username);
+        usuario.setEmail(username + "@example.com");
+        usuario.setPassword("password123");
+        usuario.setTypeUser(RoleName.USER);
+        entityManager.persist(usuario);
+
+        SolicitudVerificacion solicitud = new SolicitudVerificacion();
+        solicitud.setUser(usuario);
+        solicitud.setDescripcion("Descripción");
+        solicitud.setArchivoDemoUrl("https://example.com/demo.mp3");
+        solicitud.setRolSolicitado(rol);
+        solicitud.setEstadoSolicitud(estado);
+        solicitud.setDateSolicitud(fecha);
+        return entityManager.persistAndGetId(solicitud, Long.class);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.demo1.repositories;
+
+import com.example.demo1.mappers.UserMapper;
+import com.example.demo1.models.dtos.UserModel.CreateUserDTO;
+import com.example.demo1.security.TokenVersionCache;
+import com.example.demo1.services.MediaStorageService;
+import com.example.demo1.services.PasswordEncoderService;
+import com.example.demo1.services.RefreshTokenService;
+import com.example.demo1.services.RoleService;
+import com.example.demo1.services.UserCacheService;
+import com.example.demo1.services.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Pruebas del alta de usuarios apoyada en las restricciones únicas, con registros simultáneos reales.
+ */
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:registro;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserRegistroConcurrenteTest {
+
+    @Autowired
+    private IUserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UserService userService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userService = new UserService(new UserMapper(new PasswordEncoderService(new SimpleMeterRegistry())),
+                userRepository, new RoleService(), mock(TokenVersionCache.class), mock(UserCacheService.class),
+                mock(MediaStorageService.class), mock(RefreshTokenService.class));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Alta correcta → una sola sentencia (antes: dos comprobaciones de existencia y la inserción)")
+    void altaEnUnaSentencia() {
+        userService.createUser(dto("artista_ana", "ana@example.com"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Registros simultáneos con el mismo email → solo uno se crea y el resto recibe el mensaje de duplicado")
+    void registrosSimultaneos() throws Exception {
+        int intentos = 8;
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<String>> resultados;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(intentos)) {
+            resultados = new ArrayList<>();
+            for (int i = 0; i < intentos; i++) {
+                String username = "artista_" + i;
+                resultados.add(executor.submit(() -> {
+                    salida.await();
+                    try {
+                        userService.createUser(dto(username, "mismo@example.com"));
+                        return "creado";
+                    } catch (IllegalStateException e) {
+                        return e.getMessage();
+                    }
+                }));
+            }
+            salida.countDown();
+        }
+
+        List<String> mensajes = new ArrayList<>();
+        for (Future<String> resultado : resultados) {
+            mensajes.add(resultado.get(10, TimeUnit.SECONDS));
+        }
+        // Una inserción por intento; la restricción con nombre evita consultas adicionales en los duplicados
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(intentos);
+        assertThat(mensajes).filteredOn("creado"::equals).hasSize(1);
+        assertThat(mensajes).filteredOn("Ya existe un usuario con este correo."::equals).hasSize(intentos - 1);
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    private static CreateUserDTO dto(String username, String email) {
+        CreateUserDTO dto = new CreateUserDTO();
+        dto.setUsername(username);
+        dto.setEmail(email);
+        dto.setPassword("password123");
+        dto.setFirstName("Artista");
+        dto.setLastName("Prueba");
+        return dto;
+    }
+}
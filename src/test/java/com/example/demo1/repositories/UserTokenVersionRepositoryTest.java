@@ -0,0 +1,75 @@
+package com.example.demo1.repositories;
+
+import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.models.enums.RoleName;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de las actualizaciones parciales del usuario: versión de token y foto de perfil.
+ */
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:token-version;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.sql.init.mode=never"
+})
+class UserTokenVersionRepositoryTest {
+
+    @Autowired
+    private IUserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("incrementarTokenVersion → guardar después una copia desactualizada no deshace el incremento")
+    void incremento_NoLoPisaUnGuardadoDesactualizado() {
+        Long id = entityManager.persistAndGetId(usuario(), Long.class);
+        entityManager.flush();
+        entityManager.clear();
+        UserModel desactualizado = userRepository.findById(id).orElseThrow();
+        entityManager.detach(desactualizado);
+
+        assertThat(userRepository.incrementarTokenVersion(id)).isEqualTo(1);
+        desactualizado.setPassword("otra-password");
+        userRepository.saveAndFlush(desactualizado);
+        entityManager.clear();
+
+        assertThat(userRepository.findTokenVersionById(id)).contains(1);
+        assertThat(userRepository.incrementarTokenVersion(999L)).isZero();
+    }
+
+    @Test
+    @DisplayName("actualizarFotoPerfil → solo cambia la foto y respeta los demás campos")
+    void actualizarFotoPerfil_SoloLaFoto() {
+        UserModel usuario = usuario();
+        Long id = entityManager.persistAndGetId(usuario, Long.class);
+        entityManager.flush();
+
+        assertThat(userRepository.actualizarFotoPerfil(usuario.getUuid(), "/upload-photo/a.png")).isEqualTo(1);
+        entityManager.clear();
+
+        UserModel guardado = userRepository.findById(id).orElseThrow();
+        assertThat(guardado.getPhotoProfile()).isEqualTo("/upload-photo/a.png");
+        assertThat(guardado.getEmail()).isEqualTo("ana@example.com");
+    }
+
+    private static UserModel usuario() {
+        UserModel usuario = new UserModel();
+        usuario.setUuid(UUID.randomUUID());
+        usuario.setUsername("ana_artista");
+        usuario.setEmail("ana@example.com");
+        usuario.setPassword("password123");
+        usuario.setTypeUser(RoleName.USER);
+        return usuario;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo1.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryRateLimiterTest {
+
+    private final AtomicLong reloj = new AtomicLong(1_000_000L);
+    private final InMemoryRateLimiter rateLimiter = new InMemoryRateLimiter(1000, reloj::get);
+
+    @Test
+    @DisplayName("Cubo lleno → admite la ráfaga, rechaza después y repone una ficha por intervalo")
+    void rafagaYReposicion() {
+        LimiteTasa limite = LimiteTasa.parse("3/6");
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.intentarConsumir("login:ip:1", limite)).isTrue();
+        }
+        assertThat(rateLimiter.intentarConsumir("login:ip:1", limite)).isFalse();
+        assertThat(rateLimiter.intentarConsumir("login:ip:2", limite)).isTrue();
+
+        reloj.addAndGet(9_999);
+        assertThat(rateLimiter.intentarConsumir("login:ip:1", limite)).isFalse();
+        reloj.addAndGet(1);
+        assertThat(rateLimiter.intentarConsumir("login:ip:1", limite)).isTrue();
+        assertThat(rateLimiter.intentarConsumir("login:ip:1", limite)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Consumo concurrente → nunca se conceden más fichas que la capacidad")
+    void concurrenciaSinExceso() throws Exception {
+        LimiteTasa limite = new LimiteTasa(50, 1);
+        AtomicInteger concedidas = new AtomicInteger();
+        CountDownLatch salida = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 200; i++) {
+                executor.submit(() -> {
+                    salida.await();
+                    if (rateLimiter.intentarConsumir("register:account:x", limite)) {
+                        concedidas.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            salida.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(concedidas.get()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("parse → lee capacidad/por-minuto y rechaza formatos inválidos")
+    void parse() {
+        LimiteTasa limite = LimiteTasa.parse(" 20 / 10 ");
+        assertThat(limite.getCapacidad()).isEqualTo(20);
+        assertThat(limite.getPorMinuto()).isEqualTo(10);
+        assertThat(limite.segundosPorFicha()).isEqualTo(6);
+
+        assertThatThrownBy(() -> LimiteTasa.parse("20"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
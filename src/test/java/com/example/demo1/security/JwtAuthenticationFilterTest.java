@@ -0,0 +1,99 @@
+package com.example.demo1.security;
+
+import com.example.demo1.config.JwtConfiguration;
+import com.example.demo1.services.JwtTokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private final JwtTokenService jwtTokenService = mock(JwtTokenService.class);
+    private final JwtConfiguration jwtConfiguration = mock(JwtConfiguration.class);
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    private final JwtAuthenticationFilter filter =
+            new JwtAuthenticationFilter(jwtTokenService, userDetailsService, jwtConfiguration);
+
+    private final JwtPrincipal principal = new JwtPrincipal(UUID.randomUUID(), 7L, "ARTIST", "ana@example.com",
+            Instant.now().plusSeconds(600), 0);
+
+    @BeforeEach
+    void setUp() {
+        when(jwtConfiguration.isJwtStateless()).thenReturn(true);
+        when(jwtTokenService.parseToken("token")).thenReturn(Optional.of(principal));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Lectura pública con token → no verifica el token hasta que se consulta la autenticación")
+    void lecturaPublicaDiferida() throws Exception {
+        Authentication[] autenticacion = {null};
+
+        filter.doFilter(peticion("GET", "/api/v1/users/username/artista_ana"), new MockHttpServletResponse(),
+                (req, res) -> {
+                    verify(jwtTokenService, never()).parseToken(anyString());
+                    autenticacion[0] = SecurityContextHolder.getContext().getAuthentication();
+                });
+
+        assertThat(autenticacion[0].getPrincipal()).isSameAs(principal);
+        verify(jwtTokenService, times(1)).parseToken("token");
+    }
+
+    @Test
+    @DisplayName("Lectura pública sin consultar la autenticación → el token nunca se verifica")
+    void lecturaPublicaSinConsulta() throws Exception {
+        filter.doFilter(peticion("GET", "/api/v1/portafolios/1"), new MockHttpServletResponse(), (req, res) -> { });
+
+        verify(jwtTokenService, never()).parseToken(anyString());
+    }
+
+    @Test
+    @DisplayName("Modo sin estado → las autoridades salen del claim de rol, sin consultar al usuario")
+    void autoridadesSinEstado() throws Exception {
+        filter.doFilter(peticion("GET", "/api/v1/users/portafolios/mis-portafolios"), new MockHttpServletResponse(),
+                (req, res) -> assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities())
+                        .extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ARTIST"));
+
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("Ruta protegida → autentica en el filtro; ruta de autenticación → ignora el token")
+    void rutasProtegidasYDeAutenticacion() throws Exception {
+        filter.doFilter(peticion("POST", "/api/postulaciones"), new MockHttpServletResponse(),
+                (req, res) -> assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                        .isSameAs(principal));
+        verify(jwtTokenService, times(1)).parseToken("token");
+
+        SecurityContextHolder.clearContext();
+        filter.doFilter(peticion("POST", "/api/v1/users/login"), new MockHttpServletResponse(),
+                (req, res) -> assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull());
+        verify(jwtTokenService, times(1)).parseToken("token");
+    }
+
+    private static MockHttpServletRequest peticion(String metodo, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(metodo, uri);
+        request.setServletPath(uri);
+        request.addHeader("Authorization", "Bearer token");
+        return request;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.demo1.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtClaimsCacheTest {
+
+    @Test
+    @DisplayName("Token vigente → se devuelve el principal; token expirado → no se guarda ni se devuelve")
+    void respetaLaExpiracionDelToken() {
+        JwtClaimsCache cache = new JwtClaimsCache(10);
+        JwtPrincipal vigente = principal(Instant.now().plusSeconds(60));
+        JwtPrincipal expirado = principal(Instant.now().minusSeconds(1));
+
+        cache.put("vigente", vigente);
+        cache.put("expirado", expirado);
+
+        assertThat(cache.get("vigente")).isSameAs(vigente);
+        assertThat(cache.get("expirado")).isNull();
+    }
+
+    @Test
+    @DisplayName("Caché llena → no supera el tamaño máximo; tamaño 0 → desactivada")
+    void acotaElTamanio() {
+        JwtClaimsCache cache = new JwtClaimsCache(100);
+        for (int i = 0; i < 1000; i++) {
+            cache.put("token-" + i, principal(Instant.now().plusSeconds(60)));
+        }
+        assertThat(cache.size()).isLessThanOrEqualTo(100);
+
+        JwtClaimsCache desactivada = new JwtClaimsCache(0);
+        desactivada.put("token", principal(Instant.now().plusSeconds(60)));
+        assertThat(desactivada.get("token")).isNull();
+        assertThat(desactivada.size()).isZero();
+    }
+
+    private static JwtPrincipal principal(Instant expiration) {
+        return new JwtPrincipal(UUID.randomUUID(), 1L, "ROLE_USER", "ana@example.com", expiration, 0);
+    }
+}
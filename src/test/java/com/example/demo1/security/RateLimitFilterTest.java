@@ -0,0 +1,94 @@
+package com.example.demo1.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimitFilter filter = new RateLimitFilter(new InMemoryRateLimiter(1000),
+            List.of(new RateLimitFilter.Ruta("login", "/api/v1/users/login",
+                    LimiteTasa.parse("3/1"), LimiteTasa.parse("2/1"))),
+            new ObjectMapper(), meterRegistry);
+
+    @Test
+    @DisplayName("Mismo email desde varias IP → 429 con Retry-After al agotar el cubo de la cuenta; el cuerpo llega intacto")
+    void limitaPorCuenta() throws Exception {
+        String cuerpo = "{\"email\":\"Ana@Example.com\",\"password\":\"secreta\"}";
+
+        for (int i = 0; i < 2; i++) {
+            String[] leido = {null};
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(login("10.0.0." + i, cuerpo), response,
+                    (req, res) -> leido[0] = new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(leido[0]).isEqualTo(cuerpo);
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean[] invocado = {false};
+        filter.doFilter(login("10.0.0.9", cuerpo.replace("Ana@", "ana@")), response,
+                (req, res) -> invocado[0] = true);
+
+        assertThat(invocado[0]).isFalse();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("60");
+        assertThat(response.getContentAsString()).contains("TOO_MANY_REQUESTS");
+        assertThat(meterRegistry.counter("security.rate_limit.requests",
+                "route", "login", "key", "account", "outcome", "rejected").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Misma IP con emails distintos → limita por IP; otras rutas y métodos no se limitan")
+    void limitaPorIp() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(login("10.0.0.1", "{\"email\":\"u" + i + "@example.com\"}"), response, (req, res) -> { });
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+
+        MockHttpServletResponse rechazada = new MockHttpServletResponse();
+        filter.doFilter(login("10.0.0.1", "no es json"), rechazada, (req, res) -> { });
+        assertThat(rechazada.getStatus()).isEqualTo(429);
+
+        boolean[] invocado = {false};
+        MockHttpServletRequest otra = new MockHttpServletRequest("GET", "/api/v1/users/login");
+        otra.setServletPath("/api/v1/users/login");
+        otra.setRemoteAddr("10.0.0.1");
+        filter.doFilter(otra, new MockHttpServletResponse(), (req, res) -> invocado[0] = true);
+        assertThat(invocado[0]).isTrue();
+    }
+
+    @Test
+    @DisplayName("Ruta codificada (%6cogin) → se compara la ruta decodificada y también se limita")
+    void limitaRutaCodificada() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(login("10.0.0.2", "{}"), new MockHttpServletResponse(), (req, res) -> { });
+        }
+
+        MockHttpServletRequest codificada = login("10.0.0.2", "{}");
+        codificada.setRequestURI("/api/v1/users/%6cogin");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(codificada, response, (req, res) -> { });
+
+        assertThat(response.getStatus()).isEqualTo(429);
+    }
+
+    private static MockHttpServletRequest login(String ip, String cuerpo) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/users/login");
+        request.setServletPath("/api/v1/users/login");
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(cuerpo.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
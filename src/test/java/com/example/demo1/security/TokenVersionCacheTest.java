@@ -0,0 +1,118 @@
+package com.example.demo1.security;
+
+import com.example.demo1.config.JwtConfiguration;
+import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.repositories.IUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class TokenVersionCacheTest {
+
+    // Simula la columna token_version compartida por todas las instancias
+    private final Map<Long, Integer> columna = new HashMap<>();
+    private final IUserRepository userRepository = mock(IUserRepository.class);
+    private final JwtConfiguration jwtConfiguration = new JwtConfiguration();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtConfiguration, "jwtCacheMaxSize", 100);
+        ReflectionTestUtils.setField(jwtConfiguration, "tokenVersionTtlSeconds", 30L);
+        when(userRepository.findTokenVersionById(anyLong()))
+                .thenAnswer(inv -> Optional.ofNullable(columna.get(inv.<Long>getArgument(0))));
+        when(userRepository.incrementarTokenVersion(anyLong()))
+                .thenAnswer(inv -> columna.computeIfPresent(inv.<Long>getArgument(0), (id, v) -> v + 1) == null ? 0 : 1);
+        columna.put(7L, 0);
+    }
+
+    @Test
+    @DisplayName("Versión vigente → se lee una vez de la base de datos y después desde la caché")
+    void versionVigenteCacheada() {
+        TokenVersionCache cache = new TokenVersionCache(userRepository, jwtConfiguration);
+
+        assertThat(cache.isCurrent(7L, 0)).isTrue();
+        assertThat(cache.isCurrent(7L, 0)).isTrue();
+
+        verify(userRepository, times(1)).findTokenVersionById(7L);
+    }
+
+    @Test
+    @DisplayName("Revocación → incrementa la versión del usuario y rechaza localmente los tokens anteriores")
+    void revocacionLocal() {
+        TokenVersionCache cache = new TokenVersionCache(userRepository, jwtConfiguration);
+        UserModel user = usuario();
+        assertThat(cache.isCurrent(7L, 0)).isTrue();
+
+        cache.revoke(user);
+
+        assertThat(columna.get(7L)).isEqualTo(1);
+        assertThat(user.getTokenVersion()).isEqualTo(1);
+        assertThat(cache.isCurrent(7L, 0)).isFalse();
+        assertThat(cache.isCurrent(7L, 1)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Revocación en otra instancia o antes de un reinicio → la versión persistida se respeta")
+    void revocacionEntreInstancias() {
+        TokenVersionCache instanciaA = new TokenVersionCache(userRepository, jwtConfiguration);
+        TokenVersionCache instanciaB = new TokenVersionCache(userRepository, jwtConfiguration);
+        assertThat(instanciaB.isCurrent(7L, 0)).isTrue();
+
+        UserModel user = usuario();
+        instanciaA.revoke(user);
+
+        // Un token nuevo emitido en A obliga a B a releer la versión
+        assertThat(instanciaB.isCurrent(7L, 1)).isTrue();
+        assertThat(instanciaB.isCurrent(7L, 0)).isFalse();
+        // Una instancia recién arrancada no acepta tokens revocados antes del reinicio
+        assertThat(new TokenVersionCache(userRepository, jwtConfiguration).isCurrent(7L, 0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Usuario eliminado → sus tokens se rechazan")
+    void usuarioEliminado() {
+        TokenVersionCache cache = new TokenVersionCache(userRepository, jwtConfiguration);
+        columna.remove(7L);
+
+        assertThat(cache.isCurrent(7L, 0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Revocación con una entidad desactualizada → incrementa sobre el valor guardado, no sobre el leído")
+    void revocacionConEntidadDesactualizada() {
+        TokenVersionCache cache = new TokenVersionCache(userRepository, jwtConfiguration);
+        UserModel leidaAntes = usuario();
+        columna.put(7L, 3);
+
+        cache.revoke(leidaAntes);
+
+        assertThat(columna.get(7L)).isEqualTo(4);
+        assertThat(leidaAntes.getTokenVersion()).isEqualTo(4);
+        assertThat(cache.isCurrent(7L, 3)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Token sin userId → se rechaza sin consultar la base de datos")
+    void tokenSinUsuario() {
+        TokenVersionCache cache = new TokenVersionCache(userRepository, jwtConfiguration);
+
+        assertThat(cache.isCurrent(null, 0)).isFalse();
+        verify(userRepository, never()).findTokenVersionById(any());
+    }
+
+    private UserModel usuario() {
+        UserModel user = new UserModel();
+        user.setId_user(7L);
+        return user;
+    }
+}
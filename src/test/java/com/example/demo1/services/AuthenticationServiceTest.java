@@ -0,0 +1,73 @@
+package com.example.demo1.services;
+
+import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.models.enums.RoleName;
+import com.example.demo1.repositories.IUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticationServiceTest {
+
+    @Mock
+    private IUserRepository userRepository;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    private AuthenticationService authenticationService;
+
+    private UserModel user;
+
+    @BeforeEach
+    void setUp() {
+        authenticationService = new AuthenticationService(userRepository, passwordHashingService);
+        user = new UserModel();
+        user.setEmail("ana@example.com");
+        user.setPassword("$2a$10$hash");
+        user.setTypeUser(RoleName.ARTIST);
+    }
+
+    @Test
+    @DisplayName("Credenciales válidas → una sola búsqueda en la base de datos y se devuelve el mismo usuario")
+    void authenticate_Valido_UnaBusqueda() {
+        when(userRepository.findByEmail("ana@example.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("secreta1", "$2a$10$hash")).thenReturn(true);
+
+        assertThat(authenticationService.authenticate("ana@example.com", "secreta1")).isSameAs(user);
+
+        verify(userRepository, times(1)).findByEmail("ana@example.com");
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Email inexistente → se calcula igualmente el hash y BadCredentialsException")
+    void authenticate_EmailInexistente_HashFicticio() {
+        when(userRepository.findByEmail("nadie@example.com")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> authenticationService.authenticate("nadie@example.com", "secreta1"))
+                .isInstanceOf(BadCredentialsException.class);
+        verify(passwordHashingService).matches("secreta1", null);
+    }
+
+    @Test
+    @DisplayName("Contraseña incorrecta → BadCredentialsException")
+    void authenticate_PasswordIncorrecta() {
+        when(userRepository.findByEmail("ana@example.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("otra", "$2a$10$hash")).thenReturn(false);
+
+        assertThatThrownBy(() -> authenticationService.authenticate("ana@example.com", "otra"))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+}
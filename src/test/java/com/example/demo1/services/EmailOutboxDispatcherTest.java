@@ -0,0 +1,162 @@
+package com.example.demo1.services;
+
+import com.example.demo1.config.EmailOutboxConfiguration;
+import com.example.demo1.models.entidades.EmailOutbox;
+import com.example.demo1.models.enums.EstadoEmail;
+import com.example.demo1.repositories.IEmailOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas del envío de la bandeja de salida contra un servidor SMTP local (GreenMail).
+ */
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-05-01T10:00:00Z"), ZoneId.of("UTC"));
+    private static final LocalDateTime AHORA = LocalDateTime.now(CLOCK);
+
+    @Mock
+    private IEmailOutboxRepository emailOutboxRepository;
+
+    private EmailOutboxConfiguration configuration;
+
+    @BeforeEach
+    void setUp() {
+        configuration = new EmailOutboxConfiguration();
+        ReflectionTestUtils.setField(configuration, "batchSize", 10);
+        ReflectionTestUtils.setField(configuration, "maxAttempts", 3);
+        ReflectionTestUtils.setField(configuration, "backoffMs", 1000L);
+        ReflectionTestUtils.setField(configuration, "maxBackoffMs", 60000L);
+        ReflectionTestUtils.setField(configuration, "claimTimeoutMs", 300000L);
+    }
+
+    @Test
+    @DisplayName("Lote pendiente → todos los correos se entregan y quedan como ENVIADO")
+    void despacharLote_ServidorDisponible_EnviaTodos() throws Exception {
+        List<EmailOutbox> lote = List.of(email("ana@example.com", 0), email("luis@example.com", 0));
+        reclamados(lote);
+
+        int enviados = dispatcher(greenMail.getSmtp().getPort()).despacharLote();
+
+        assertThat(enviados).isEqualTo(2);
+        MimeMessage[] recibidos = greenMail.getReceivedMessages();
+        assertThat(recibidos).hasSize(2);
+        assertThat(recibidos[0].getSubject()).isEqualTo("Restablece tu contraseña");
+        assertThat(lote).allSatisfy(email -> {
+            assertThat(email.getEstado()).isEqualTo(EstadoEmail.ENVIADO);
+            assertThat(email.getFechaEnvio()).isEqualTo(AHORA);
+            assertThat(email.getIntentos()).isEqualTo(1);
+            assertThat(email.getReclamadoPor()).isNull();
+        });
+        verify(emailOutboxRepository).saveAll(lote);
+    }
+
+    @Test
+    @DisplayName("Servidor caído → se programa un reintento con espera exponencial")
+    void despacharLote_ServidorCaido_ProgramaReintento() {
+        EmailOutbox primero = email("ana@example.com", 0);
+        EmailOutbox segundo = email("luis@example.com", 1);
+        reclamados(List.of(primero, segundo));
+
+        int enviados = dispatcher(1).despacharLote();
+
+        assertThat(enviados).isZero();
+        assertThat(primero.getEstado()).isEqualTo(EstadoEmail.PENDIENTE);
+        assertThat(primero.getProximoIntento()).isEqualTo(AHORA.plusSeconds(1));
+        assertThat(segundo.getProximoIntento()).isEqualTo(AHORA.plusSeconds(2));
+        assertThat(primero.getUltimoError()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("Último intento fallido → el correo pasa a FALLIDO")
+    void despacharLote_IntentosAgotados_MarcaFallido() {
+        EmailOutbox email = email("ana@example.com", 2);
+        reclamados(List.of(email));
+
+        dispatcher(1).despacharLote();
+
+        assertThat(email.getEstado()).isEqualTo(EstadoEmail.FALLIDO);
+        assertThat(email.getIntentos()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Bandeja vacía → no se abre conexión SMTP")
+    void despacharLote_SinPendientes_NoEnvia() {
+        when(emailOutboxRepository.findIdsListos(any(), eq(AHORA), any(Limit.class))).thenReturn(List.of());
+
+        assertThat(dispatcher(greenMail.getSmtp().getPort()).despacharLote()).isZero();
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        verify(emailOutboxRepository, never()).reclamar(any(), any(), any(), any(), any(), any());
+        verify(emailOutboxRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Candidatos ya reclamados por otra instancia → no se envía nada")
+    void despacharLote_ReclamadosPorOtraInstancia_NoEnvia() {
+        when(emailOutboxRepository.findIdsListos(any(), eq(AHORA), any(Limit.class))).thenReturn(List.of(1L, 2L));
+        when(emailOutboxRepository.reclamar(any(), any(), anyString(), eq(EstadoEmail.ENVIANDO), any(), eq(AHORA)))
+                .thenReturn(0);
+
+        assertThat(dispatcher(greenMail.getSmtp().getPort()).despacharLote()).isZero();
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        verify(emailOutboxRepository, never()).findByIdInAndReclamadoPorOrderByIdAsc(any(), any());
+    }
+
+    private void reclamados(List<EmailOutbox> lote) {
+        List<Long> ids = new ArrayList<>();
+        for (EmailOutbox email : lote) {
+            email.setId((long) ids.size() + 1);
+            email.setEstado(EstadoEmail.ENVIANDO);
+            ids.add(email.getId());
+        }
+        when(emailOutboxRepository.findIdsListos(any(), eq(AHORA), any(Limit.class))).thenReturn(ids);
+        when(emailOutboxRepository.reclamar(eq(ids), any(), anyString(), eq(EstadoEmail.ENVIANDO), any(), eq(AHORA)))
+                .thenReturn(lote.size());
+        when(emailOutboxRepository.findByIdInAndReclamadoPorOrderByIdAsc(eq(ids), anyString())).thenReturn(lote);
+    }
+
+    private EmailOutboxDispatcher dispatcher(int puerto) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(puerto);
+        return new EmailOutboxDispatcher(emailOutboxRepository, mailSender, configuration, CLOCK);
+    }
+
+    private static EmailOutbox email(String destinatario, int intentos) {
+        EmailOutbox email = new EmailOutbox();
+        email.setDestinatario(destinatario);
+        email.setAsunto("Restablece tu contraseña");
+        email.setCuerpo("<p>Enlace</p>");
+        email.setIntentos(intentos);
+        email.setProximoIntento(AHORA);
+        return email;
+    }
+}
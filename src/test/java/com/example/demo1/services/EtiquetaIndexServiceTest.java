@@ -0,0 +1,156 @@
+package com.example.demo1.services;
+
+import com.example.demo1.models.entidades.Etiqueta;
+import com.example.demo1.repositories.IEtiquetaRepository;
+import com.example.demo1.repositories.IPortafolioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EtiquetaIndexServiceTest {
+
+    @Mock
+    private IEtiquetaRepository etiquetaRepository;
+
+    @Mock
+    private IPortafolioRepository portafolioRepository;
+
+    private EtiquetaIndexService etiquetaIndexService;
+
+    @BeforeEach
+    void setUp() {
+        etiquetaIndexService = new EtiquetaIndexService(etiquetaRepository, portafolioRepository);
+        etiquetaIndexService.indexar(1L, List.of("Rock", "Jazz "));
+        etiquetaIndexService.indexar(2L, List.of("rockabilly"));
+        etiquetaIndexService.indexar(3L, List.of("pop"));
+    }
+
+    @Test
+    @DisplayName("Búsqueda por prefijo ignora mayúsculas y espacios")
+    void buscarPorPrefijo_DevuelvePortafoliosConEtiquetaQueEmpieza() {
+        assertThat(etiquetaIndexService.buscarPorPrefijo(" ROCK")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(etiquetaIndexService.buscarPorPrefijo("ja")).containsExactly(1L);
+        assertThat(etiquetaIndexService.buscarPorPrefijo("blues")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Búsqueda por subcadena usa trigramas y, para textos cortos, el diccionario")
+    void buscarPorSubcadena_DevuelvePortafoliosConEtiquetaQueContiene() {
+        assertThat(etiquetaIndexService.buscarPorSubcadena("billy")).containsExactly(2L);
+        assertThat(etiquetaIndexService.buscarPorSubcadena("oc")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(etiquetaIndexService.buscarPorSubcadena("azzy")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Reindexar o eliminar un portafolio actualiza el índice")
+    void indexarYEliminar_ActualizanElIndice() {
+        etiquetaIndexService.indexar(1L, List.of("blues"));
+        assertThat(etiquetaIndexService.buscarPorPrefijo("rock")).containsExactly(2L);
+        assertThat(etiquetaIndexService.buscarPorSubcadena("lue")).containsExactly(1L);
+
+        etiquetaIndexService.eliminar(2L);
+        assertThat(etiquetaIndexService.buscarPorSubcadena("billy")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Indexar al confirmar → el portafolio solo aparece cuando la transacción se confirma")
+    void indexarAlConfirmar_EsperaAlCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            etiquetaIndexService.indexarAlConfirmar(4L, List.of("folk"));
+            assertThat(etiquetaIndexService.buscarPorPrefijo("folk")).isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(etiquetaIndexService.buscarPorPrefijo("folk")).containsExactly(4L);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("eliminarAlConfirmar → el portafolio sigue en el índice hasta el commit")
+    void eliminarAlConfirmar_EsperaAlCommit() {
+        etiquetaIndexService.indexar(6L, List.of("soul"));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            etiquetaIndexService.eliminarAlConfirmar(6L);
+            assertThat(etiquetaIndexService.buscarPorPrefijo("soul")).containsExactly(6L);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(etiquetaIndexService.buscarPorPrefijo("soul")).isEmpty();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Recarga periódica → incorpora los cambios de otras instancias sin deshacer los locales")
+    void recargarIndice_SincronizaConLaBaseDeDatos() {
+        when(portafolioRepository.findAllEtiquetasNormalizadas()).thenAnswer(inv -> {
+            // Portafolio guardado en esta instancia mientras se leía la base de datos
+            etiquetaIndexService.indexar(9L, List.of("soul"));
+            return List.of(fila(1L, "rock"), fila(2L, "rockabilly"), fila(5L, "flamenco"));
+        });
+
+        etiquetaIndexService.recargarIndice();
+
+        assertThat(etiquetaIndexService.buscarPorPrefijo("flam")).containsExactly(5L);
+        assertThat(etiquetaIndexService.buscarPorPrefijo("jazz")).isEmpty();
+        assertThat(etiquetaIndexService.buscarPorPrefijo("pop")).isEmpty();
+        assertThat(etiquetaIndexService.buscarPorPrefijo("soul")).containsExactly(9L);
+    }
+
+    @Test
+    @DisplayName("Resolver etiquetas → crea solo las que faltan, sin fallar si otra transacción ya las creó")
+    void resolverEtiquetas_InsertaLasQueFaltan() {
+        Etiqueta rock = etiqueta(1L, "rock");
+        Etiqueta blues = etiqueta(2L, "blues");
+        Etiqueta soul = etiqueta(3L, "soul");
+        when(etiquetaRepository.findByNombreIn(any())).thenReturn(List.of(rock));
+        when(etiquetaRepository.findByNombreInForShare(any())).thenReturn(List.of(blues, soul));
+
+        Set<Etiqueta> resultado = etiquetaIndexService.resolverEtiquetas(List.of("Soul", "rock", " blues"));
+
+        assertThat(resultado).containsExactlyInAnyOrder(rock, blues, soul);
+        InOrder orden = inOrder(etiquetaRepository);
+        orden.verify(etiquetaRepository).insertarSiNoExiste("blues");
+        orden.verify(etiquetaRepository).insertarSiNoExiste("soul");
+        orden.verify(etiquetaRepository).findByNombreInForShare(Set.of("blues", "soul"));
+        verify(etiquetaRepository, never()).insertarSiNoExiste("rock");
+    }
+
+    private static IPortafolioRepository.EtiquetaPortafolioView fila(Long idPortafolio, String nombre) {
+        return new IPortafolioRepository.EtiquetaPortafolioView() {
+            @Override
+            public Long getIdPortafolio() {
+                return idPortafolio;
+            }
+
+            @Override
+            public String getNombre() {
+                return nombre;
+            }
+        };
+    }
+
+    private static Etiqueta etiqueta(Long id, String nombre) {
+        Etiqueta etiqueta = new Etiqueta();
+        etiqueta.setIdEtiqueta(id);
+        etiqueta.setNombre(nombre);
+        return etiqueta;
+    }
+}
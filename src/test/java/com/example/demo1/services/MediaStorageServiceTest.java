@@ -0,0 +1,122 @@
+package com.example.demo1.services;
+
+import com.example.demo1.config.MediaStorageConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MediaStorageServiceTest {
+
+    @TempDir
+    Path directorio;
+
+    private MediaStorageService mediaStorageService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MediaStorageConfiguration configuration = new MediaStorageConfiguration();
+        ReflectionTestUtils.setField(configuration, "storagePath", directorio.toString());
+        ReflectionTestUtils.setField(configuration, "publicUrl", "/upload-photo/");
+        ReflectionTestUtils.setField(configuration, "thumbnailSize", 32);
+        ReflectionTestUtils.setField(configuration, "thumbnailThreads", 1);
+        ReflectionTestUtils.setField(configuration, "thumbnailQueueCapacity", 10);
+        ReflectionTestUtils.setField(configuration, "thumbnailMaxPixels", 100_000L);
+        mediaStorageService = new MediaStorageService(configuration);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        mediaStorageService.cerrar();
+    }
+
+    @Test
+    @DisplayName("Guarda la imagen con el SHA-256 como nombre y genera la miniatura reducida")
+    void guardaPorContenidoYGeneraMiniatura() throws Exception {
+        byte[] png = png(200, 100);
+
+        MediaStorageService.MediaGuardada media =
+                mediaStorageService.guardar(new MockMultipartFile("file", "foto.png", "image/png", png));
+        mediaStorageService.cerrar();
+
+        assertThat(media.getNombre()).matches("[0-9a-f]{64}\\.png");
+        assertThat(media.getUrl()).isEqualTo("/upload-photo/" + media.getNombre());
+        assertThat(Files.readAllBytes(directorio.resolve(media.getNombre()))).isEqualTo(png);
+
+        Path miniatura = directorio.resolve(media.getUrlMiniatura().substring("/upload-photo/".length()));
+        BufferedImage reducida = ImageIO.read(miniatura.toFile());
+        assertThat(reducida.getWidth()).isEqualTo(32);
+        assertThat(reducida.getHeight()).isEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("Dos subidas con el mismo contenido comparten un único archivo")
+    void deduplicaPorContenido() throws Exception {
+        byte[] png = png(10, 10);
+
+        String primero = mediaStorageService.guardar(new MockMultipartFile("file", "a.png", "image/png", png)).getNombre();
+        String segundo = mediaStorageService.guardar(new MockMultipartFile("file", "b.png", "image/png", png)).getNombre();
+
+        assertThat(segundo).isEqualTo(primero);
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            assertThat(archivos.filter(Files::isRegularFile)).hasSize(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Tipo de archivo no admitido → IllegalArgumentException sin escribir nada")
+    void rechazaTiposNoAdmitidos() throws IOException {
+        assertThatThrownBy(() -> mediaStorageService.guardar(
+                new MockMultipartFile("file", "x.html", "text/html", "<html>".getBytes())))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            assertThat(archivos.filter(Files::isRegularFile)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("El formato se toma de los primeros bytes, no del tipo declarado por el cliente")
+    void detectaFormatoPorContenido() throws IOException {
+        assertThatThrownBy(() -> mediaStorageService.guardar(
+                new MockMultipartFile("file", "x.png", "image/png", "<html><script>".getBytes())))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Formato de imagen no permitido");
+
+        MediaStorageService.MediaGuardada media = mediaStorageService.guardar(
+                new MockMultipartFile("file", "foto.gif", "image/gif", png(10, 10)));
+
+        assertThat(media.getNombre()).endsWith(".png");
+    }
+
+    @Test
+    @DisplayName("Imagen por encima del límite de píxeles → se guarda sin miniatura")
+    void omiteMiniaturaSiSuperaLimiteDePixeles() throws Exception {
+        MediaStorageService.MediaGuardada media = mediaStorageService.guardar(
+                new MockMultipartFile("file", "grande.png", "image/png", png(400, 300)));
+        mediaStorageService.cerrar();
+
+        assertThat(directorio.resolve(media.getNombre())).exists();
+        assertThat(directorio.resolve(media.getUrlMiniatura().substring("/upload-photo/".length()))).doesNotExist();
+    }
+
+    private static byte[] png(int ancho, int alto) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_RGB), "png", salida);
+        return salida.toByteArray();
+    }
+}
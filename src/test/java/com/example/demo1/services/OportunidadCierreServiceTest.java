@@ -0,0 +1,84 @@
+package com.example.demo1.services;
+
+import com.example.demo1.config.OportunidadCierreConfiguration;
+import com.example.demo1.models.enums.EstadoOportunidad;
+import com.example.demo1.repositories.IOportunidadRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OportunidadCierreServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-05-20T10:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private IOportunidadRepository oportunidadRepository;
+
+    @Mock
+    private OportunidadSearchService oportunidadSearchService;
+
+    @Mock
+    private SchedulerLockService schedulerLockService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OportunidadCierreService oportunidadCierreService;
+
+    @BeforeEach
+    void setUp() {
+        OportunidadCierreConfiguration configuration = new OportunidadCierreConfiguration();
+        ReflectionTestUtils.setField(configuration, "batchSize", 2);
+        ReflectionTestUtils.setField(configuration, "lockAtMostMs", 60000L);
+        meterRegistry = new SimpleMeterRegistry();
+        oportunidadCierreService = new OportunidadCierreService(oportunidadRepository, oportunidadSearchService,
+                schedulerLockService, configuration, meterRegistry, CLOCK);
+    }
+
+    @Test
+    @DisplayName("Cierra por lotes hasta que un lote viene incompleto, reindexa cada lote y publica el total")
+    void cierraPorLotes() {
+        LocalDateTime ahora = LocalDateTime.now(CLOCK);
+        when(oportunidadRepository.findIdsVencidas(EstadoOportunidad.ABIERTO, ahora, Limit.of(2)))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+        when(oportunidadRepository.cambiarEstado(anyCollection(), eq(EstadoOportunidad.ABIERTO), eq(EstadoOportunidad.CERRADO),
+                eq(ahora)))
+                .thenReturn(2, 1);
+        when(oportunidadRepository.findByIdIn(anyCollection())).thenReturn(List.of());
+
+        int cerradas = oportunidadCierreService.cerrarLotes();
+
+        assertThat(cerradas).isEqualTo(3);
+        verify(oportunidadRepository, times(2)).findIdsVencidas(any(), any(), any());
+        verify(oportunidadSearchService, times(2)).indexarTodas(anyCollection());
+        assertThat(meterRegistry.get(OportunidadCierreService.CERRADAS_COUNTER).counter().count()).isEqualTo(3.0);
+        assertThat(meterRegistry.get(OportunidadCierreService.POR_EJECUCION_SUMMARY).summary().totalAmount()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Sin el bloqueo de la tarea → no consulta ni modifica oportunidades")
+    void sinBloqueoNoHaceNada() {
+        when(schedulerLockService.ejecutarConBloqueo(eq(OportunidadCierreService.LOCK), any(), any())).thenReturn(false);
+
+        oportunidadCierreService.cerrarVencidas();
+
+        verifyNoInteractions(oportunidadRepository, oportunidadSearchService);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.demo1.services;
+
+import com.example.demo1.models.entidades.Oportunidad;
+import com.example.demo1.models.enums.EstadoOportunidad;
+import com.example.demo1.repositories.IOportunidadRepository;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas del índice de texto completo de oportunidades sobre un directorio en memoria.
+ */
+@ExtendWith(MockitoExtension.class)
+class OportunidadSearchServiceTest {
+
+    @Mock
+    private IOportunidadRepository oportunidadRepository;
+
+    private OportunidadSearchService searchService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        searchService = new OportunidadSearchService(new ByteBuffersDirectory(), oportunidadRepository);
+        searchService.reconstruirIndice(List.of(
+                oportunidad(1L, "Casting de guitarrista", "Buscamos guitarrista para gira", "Música", "Madrid", EstadoOportunidad.ABIERTO, 1),
+                oportunidad(2L, "Actores para cortometraje", "Rodaje con guitarras en escena", "Cine", "Barcelona", EstadoOportunidad.ABIERTO, 2),
+                oportunidad(3L, "Bajista para banda", "Banda de rock busca bajista", "Música", "Madrid", EstadoOportunidad.CERRADO, 3)
+        ));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        searchService.cerrar();
+    }
+
+    @Nested
+    @DisplayName("buscar(...)")
+    class BuscarTests {
+
+        @Test
+        @DisplayName("Palabras clave → coincidencia en el título antes que en la descripción")
+        void buscar_PalabrasClave_OrdenaPorRelevancia() {
+            OportunidadSearchService.ResultadoBusqueda resultado =
+                    searchService.buscar("guitarrista", null, null, null, 0, 10);
+
+            assertThat(resultado.getIds()).first().isEqualTo(1L);
+            assertThat(resultado.getTotal()).isEqualTo(resultado.getIds().size());
+        }
+
+        @Test
+        @DisplayName("Filtros de categoría, estado y ubicación se combinan con las palabras clave")
+        void buscar_ConFiltros_RestringeResultados() {
+            assertThat(searchService.buscar(null, "MÚSICA", null, "madrid", 0, 10).getIds())
+                    .containsExactly(3L, 1L);
+            assertThat(searchService.buscar(null, "música", EstadoOportunidad.ABIERTO, null, 0, 10).getIds())
+                    .containsExactly(1L);
+            assertThat(searchService.buscar("bajista", "cine", null, null, 0, 10).getIds()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Paginación → devuelve la página pedida y el total de coincidencias")
+        void buscar_Paginado_DevuelvePaginaYTotal() {
+            OportunidadSearchService.ResultadoBusqueda resultado = searchService.buscar(null, null, null, null, 1, 2);
+
+            assertThat(resultado.getIds()).containsExactly(1L);
+            assertThat(resultado.getTotal()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Caracteres especiales de la sintaxis de consulta no provocan errores")
+        void buscar_CaracteresEspeciales_SeEscapan() {
+            assertThat(searchService.buscar("rock AND (bajista", null, null, null, 0, 10).getIds())
+                    .contains(3L);
+        }
+
+        @Test
+        @DisplayName("Página fuera de rango → IllegalArgumentException")
+        void buscar_PaginaFueraDeRango_LanzaExcepcion() {
+            assertThatThrownBy(() -> searchService.buscar("rock", null, null, null, 100, 100))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("indexar/eliminar → el índice refleja los cambios inmediatamente")
+    void indexarYEliminar_ActualizanElIndice() {
+        searchService.indexar(oportunidad(1L, "Casting de violinista", "Orquesta", "Música", "Sevilla", EstadoOportunidad.ABIERTO, 1));
+        assertThat(searchService.buscar("guitarrista", null, null, null, 0, 10).getIds()).doesNotContain(1L);
+        assertThat(searchService.buscar("violinista", null, null, null, 0, 10).getIds()).containsExactly(1L);
+
+        searchService.eliminar(1L);
+        assertThat(searchService.buscar("violinista", null, null, null, 0, 10).getIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("sincronizarIndice() → reindexa todas las oportunidades y retira las que ya no existen")
+    void sincronizarIndice_ReconciliaConLaBaseDeDatos() {
+        when(oportunidadRepository.findAll()).thenReturn(List.of(
+                oportunidad(4L, "Bailarina", "Compañía de danza", "Danza", "Valencia", EstadoOportunidad.ABIERTO, 4)));
+        when(oportunidadRepository.findAllIds()).thenReturn(List.of(4L));
+
+        searchService.sincronizarIndice();
+
+        assertThat(searchService.buscar(null, null, null, null, 0, 10).getIds()).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("reconciliarIndice() → incorpora solo los cambios posteriores a la última reconciliación")
+    void reconciliarIndice_IncorporaCambiosDeOtrasInstancias() {
+        when(oportunidadRepository.findAll()).thenReturn(List.of());
+        when(oportunidadRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        searchService.sincronizarIndice();
+
+        when(oportunidadRepository.findByActualizadaEnGreaterThanEqual(any())).thenReturn(List.of(
+                oportunidad(1L, "Casting de guitarrista", "Buscamos guitarrista para gira", "Música", "Madrid", EstadoOportunidad.CERRADO, 1),
+                oportunidad(5L, "Escenógrafo", "Montaje de teatro", "Teatro", "Bilbao", EstadoOportunidad.ABIERTO, 5)));
+        when(oportunidadRepository.findAllIds()).thenReturn(List.of(1L, 3L, 5L));
+        searchService.reconciliarIndice();
+
+        verify(oportunidadRepository, times(1)).findAll();
+        assertThat(searchService.buscar(null, null, EstadoOportunidad.ABIERTO, null, 0, 10).getIds())
+                .containsExactly(5L);
+        assertThat(searchService.buscar(null, null, null, null, 0, 10).getIds()).containsExactly(5L, 3L, 1L);
+    }
+
+    private static Oportunidad oportunidad(Long id, String titulo, String descripcion, String categoria,
+                                           String ubicacion, EstadoOportunidad estado, int dias) {
+        Oportunidad oportunidad = new Oportunidad();
+        oportunidad.setId(id);
+        oportunidad.setTitulo(titulo);
+        oportunidad.setDescripcion(descripcion);
+        oportunidad.setCategoria(categoria);
+        oportunidad.setRequisitos("Experiencia previa");
+        oportunidad.setUbicacion(ubicacion);
+        oportunidad.setEstado(estado);
+        oportunidad.setFecha(LocalDateTime.of(2025, 5, 1, 12, 0).plusDays(dias));
+        return oportunidad;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo1.services;
+
+import com.example.demo1.config.PaginationConfiguration;
+import com.example.demo1.models.entidades.Oportunidad;
+import com.example.demo1.models.enums.EstadoOportunidad;
+import com.example.demo1.repositories.IOportunidadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OportunidadServiceTest {
+
+    @Mock
+    private IOportunidadRepository oportunidadRepository;
+
+    @Mock
+    private OportunidadSearchService oportunidadSearchService;
+
+    private OportunidadService oportunidadService;
+
+    @BeforeEach
+    void setUp() {
+        PaginationConfiguration paginationConfiguration = new PaginationConfiguration();
+        ReflectionTestUtils.setField(paginationConfiguration, "defaultSize", 20);
+        ReflectionTestUtils.setField(paginationConfiguration, "maxSize", 100);
+        oportunidadService = new OportunidadService(oportunidadRepository, paginationConfiguration,
+                oportunidadSearchService);
+    }
+
+    @Test
+    @DisplayName("Búsqueda por estado: descarta las cerradas en otra instancia sin escribir en el índice")
+    void buscarTexto_EstadoDesactualizado_DescartaSinReindexar() {
+        Oportunidad abierta = oportunidad(1L, EstadoOportunidad.ABIERTO, LocalDateTime.now().plusDays(5));
+        Oportunidad cerrada = oportunidad(2L, EstadoOportunidad.CERRADO, LocalDateTime.now().minusDays(1));
+        when(oportunidadSearchService.buscar("teatro", null, EstadoOportunidad.ABIERTO, null, 0, 20))
+                .thenReturn(new OportunidadSearchService.ResultadoBusqueda(List.of(2L, 1L), 2));
+        when(oportunidadRepository.findByIdIn(List.of(2L, 1L))).thenReturn(List.of(abierta, cerrada));
+
+        Page<Oportunidad> pagina = oportunidadService.buscarTexto("teatro", null, EstadoOportunidad.ABIERTO,
+                null, null, null);
+
+        assertThat(pagina.getContent()).containsExactly(abierta);
+        verify(oportunidadSearchService, never()).indexarTodas(any());
+    }
+
+    @Test
+    @DisplayName("Búsqueda de abiertas: descarta las vencidas que el cierre automático aún no ha procesado")
+    void buscarTexto_AbiertaVencida_SeDescarta() {
+        Oportunidad vencida = oportunidad(1L, EstadoOportunidad.ABIERTO, LocalDateTime.now().minusMinutes(1));
+        when(oportunidadSearchService.buscar(null, null, EstadoOportunidad.ABIERTO, null, 0, 20))
+                .thenReturn(new OportunidadSearchService.ResultadoBusqueda(List.of(1L), 1));
+        when(oportunidadRepository.findByIdIn(List.of(1L))).thenReturn(List.of(vencida));
+
+        Page<Oportunidad> pagina = oportunidadService.buscarTexto(null, null, EstadoOportunidad.ABIERTO,
+                null, null, null);
+
+        assertThat(pagina.getContent()).isEmpty();
+        verify(oportunidadSearchService, never()).indexarTodas(any());
+    }
+
+    private static Oportunidad oportunidad(Long id, EstadoOportunidad estado, LocalDateTime fechaCierre) {
+        Oportunidad oportunidad = new Oportunidad();
+        oportunidad.setId(id);
+        oportunidad.setEstado(estado);
+        oportunidad.setFechaCierre(fechaCierre);
+        return oportunidad;
+    }
+}
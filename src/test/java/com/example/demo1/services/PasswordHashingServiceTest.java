@@ -0,0 +1,90 @@
+package com.example.demo1.services;
+
+import com.example.demo1.config.PasswordHashingConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingServiceTest {
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final CountDownLatch ocupado = new CountDownLatch(1);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PasswordHashingService passwordHashingService;
+
+    private ExecutorService clientes;
+
+    @BeforeEach
+    void setUp() {
+        PasswordHashingConfiguration configuration = new PasswordHashingConfiguration();
+        ReflectionTestUtils.setField(configuration, "threads", 1);
+        ReflectionTestUtils.setField(configuration, "queueCapacity", 1);
+        meterRegistry = new SimpleMeterRegistry();
+        clientes = Executors.newFixedThreadPool(2);
+
+        // Codificador de coste mínimo que se bloquea con la contraseña "lenta" para saturar el ejecutor
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                if ("lenta".contentEquals(rawPassword)) {
+                    ocupado.countDown();
+                    try {
+                        liberar.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.matches(rawPassword, encodedPassword);
+            }
+        };
+        passwordHashingService = new PasswordHashingService(encoder, configuration, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        clientes.shutdownNow();
+        passwordHashingService.cerrar();
+    }
+
+    @Test
+    @DisplayName("matches(...) → compara en el ejecutor; sin hash compara con uno ficticio y devuelve false")
+    void matches_ComparaEnEjecutor() {
+        String hash = new BCryptPasswordEncoder(4).encode("secreta1");
+
+        assertThat(passwordHashingService.matches("secreta1", hash)).isTrue();
+        assertThat(passwordHashingService.matches("otra", hash)).isFalse();
+        assertThat(passwordHashingService.matches("secreta1", null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Hilo ocupado y cola llena → RejectedExecutionException inmediata y métrica de rechazos")
+    void matches_Saturado_Rechaza() throws Exception {
+        String hash = new BCryptPasswordEncoder(4).encode("secreta1");
+        Future<Boolean> enCurso = clientes.submit(() -> passwordHashingService.matches("lenta", hash));
+        assertThat(ocupado.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Boolean> enCola = clientes.submit(() -> passwordHashingService.matches("secreta1", hash));
+        while (meterRegistry.get(PasswordHashingService.QUEUE_GAUGE).gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> passwordHashingService.matches("secreta1", hash))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.get(PasswordHashingService.REJECTED_COUNTER).counter().count()).isEqualTo(1.0);
+
+        liberar.countDown();
+        assertThat(enCurso.get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(enCola.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
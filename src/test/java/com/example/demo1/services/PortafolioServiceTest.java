@@ -26,6 +26,9 @@ class PortafolioServiceTest {
     @Mock
     private IPortafolioRepository portafolioRepository;
 
+    @Mock
+    private EtiquetaIndexService etiquetaIndexService;
+
     @InjectMocks
     private PortafolioService portafolioService;
 
@@ -282,4 +285,54 @@ class PortafolioServiceTest {
             }
         }
     }
+
+    // ---------------------------------------------------------
+    // 3) Pruebas para buscarPorEtiqueta(...)
+    // ---------------------------------------------------------
+    @Nested
+    @DisplayName("buscarPorEtiqueta(...)")
+    class BuscarPorEtiquetaTests {
+
+        @Test
+        @DisplayName("Sin coincidencias en el índice → lista vacía sin consultar la base de datos")
+        void buscarPorEtiqueta_SinCoincidencias_NoConsultaRepositorio() {
+            when(etiquetaIndexService.buscarPorSubcadena("rock")).thenReturn(Set.of());
+
+            List<Portafolio> resultado = portafolioService.buscarPorEtiqueta(null, "rock", false);
+
+            assertThat(resultado).isEmpty();
+            verifyNoInteractions(portafolioRepository);
+        }
+
+        @Test
+        @DisplayName("Portafolio eliminado en la base de datos → se depura del índice")
+        void buscarPorEtiqueta_IdEliminado_SeEliminaDelIndice() {
+            Portafolio existente = new Portafolio();
+            existente.setIdPortafolio(1L);
+            Set<Long> ids = new HashSet<>(List.of(1L, 2L));
+
+            when(etiquetaIndexService.buscarPorPrefijo("ro")).thenReturn(ids);
+            when(portafolioRepository.findByIdPortafolioInOrderByFechaCreacionDesc(ids))
+                    .thenReturn(List.of(existente));
+
+            List<Portafolio> resultado = portafolioService.buscarPorEtiqueta(null, "ro", true);
+
+            assertThat(resultado).containsExactly(existente);
+            verify(etiquetaIndexService, times(1)).eliminar(2L);
+            verify(etiquetaIndexService, never()).eliminar(1L);
+        }
+    }
+
+    // ---------------------------------------------------------
+    // 4) Pruebas para eliminarPortafolio(...)
+    // ---------------------------------------------------------
+    @Test
+    @DisplayName("eliminarPortafolio → borra de la base de datos y lo retira del índice al confirmar")
+    void eliminarPortafolio_BorraYRetiraDelIndice() {
+        portafolioService.eliminarPortafolio(5L);
+
+        InOrder orden = inOrder(portafolioRepository, etiquetaIndexService);
+        orden.verify(portafolioRepository).deleteById(5L);
+        orden.verify(etiquetaIndexService).eliminarAlConfirmar(5L);
+    }
 }
@@ -0,0 +1,114 @@
+package com.example.demo1.services;
+
+import com.example.demo1.config.JwtConfiguration;
+import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.models.enums.RoleName;
+import com.example.demo1.repositories.IRefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas de la rotación de tokens de refresco, la detección de reutilización y el borrado de caducados.
+ */
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:refresh;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.sql.init.mode=never"
+})
+class RefreshTokenServiceTest {
+
+    private static final Instant INICIO = Instant.parse("2025-05-01T10:00:00Z");
+
+    @Autowired
+    private IRefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtConfiguration jwtConfiguration = mock(JwtConfiguration.class);
+    private UserModel user;
+
+    @BeforeEach
+    void setUp() {
+        when(jwtConfiguration.getRefreshExpirationMs()).thenReturn(Duration.ofDays(30).toMillis());
+
+        user = new UserModel();
+        user.setUuid(UUID.randomUUID());
+        user.setUsername("artista_ana");
+        user.setEmail("ana@example.com");
+        user.setPassword("password123");
+        user.setTypeUser(RoleName.ARTIST);
+        entityManager.persist(user);
+    }
+
+    @Test
+    @DisplayName("rotar → entrega un token nuevo; volver a usar el anterior revoca toda la sesión")
+    void rotacionYReutilizacion() {
+        RefreshTokenService servicio = servicio(INICIO);
+        String original = servicio.emitir(user);
+
+        Optional<RefreshTokenService.Rotacion> rotacion = servicio.rotar(original);
+        assertThat(rotacion).isPresent();
+        assertThat(rotacion.get().getUser().getEmail()).isEqualTo("ana@example.com");
+        String nuevo = rotacion.get().getRefreshToken();
+        assertThat(nuevo).isNotEqualTo(original);
+
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(servicio.rotar(original)).isEmpty();
+        assertThat(servicio.rotar(nuevo)).isEmpty();
+        assertThat(refreshTokenRepository.count()).isZero();
+        assertThat(meterRegistry.counter(RefreshTokenService.REUSE_COUNTER).count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Token caducado → no se puede rotar y el borrado periódico lo elimina; los vigentes se conservan")
+    void caducidad() {
+        String antiguo = servicio(INICIO).emitir(user);
+        String reciente = servicio(INICIO.plus(Duration.ofDays(20))).emitir(user);
+
+        RefreshTokenService dentroDe31Dias = servicio(INICIO.plus(Duration.ofDays(31)));
+        assertThat(dentroDe31Dias.rotar(antiguo)).isEmpty();
+
+        dentroDe31Dias.borrarCaducados();
+        assertThat(refreshTokenRepository.count()).isEqualTo(1);
+        assertThat(dentroDe31Dias.rotar(reciente)).isPresent();
+    }
+
+    @Test
+    @DisplayName("revocarSesiones → borra los tokens de todas las sesiones del usuario")
+    void revocarSesiones() {
+        RefreshTokenService servicio = servicio(INICIO);
+        String primera = servicio.emitir(user);
+        servicio.emitir(user);
+
+        servicio.revocarSesiones(user.getId_user());
+
+        assertThat(refreshTokenRepository.count()).isZero();
+        assertThat(servicio.rotar(primera)).isEmpty();
+    }
+
+    private RefreshTokenService servicio(Instant ahora) {
+        return new RefreshTokenService(refreshTokenRepository, jwtConfiguration, meterRegistry,
+                Clock.fixed(ahora, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo1.services;
+
+import com.example.demo1.models.enums.EstadoSolicitud;
+import com.example.demo1.repositories.ISolucitudVerifRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SolicitudVerificacionMetricsServiceTest {
+
+    @Mock
+    private ISolucitudVerifRepository solicitudVerifRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SolicitudVerificacionMetricsService metricsService;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2025-05-20T10:00:00Z"), ZoneOffset.UTC);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metricsService = new SolicitudVerificacionMetricsService(solicitudVerifRepository, meterRegistry, clock);
+    }
+
+    @Test
+    @DisplayName("actualizar() → publica pendientes y antigüedad de la más antigua en segundos")
+    void actualizar_PublicaGauges() {
+        when(solicitudVerifRepository.countByEstadoSolicitud(EstadoSolicitud.PENDIENTE)).thenReturn(7L);
+        when(solicitudVerifRepository.findFechaMasAntigua(EstadoSolicitud.PENDIENTE))
+                .thenReturn(LocalDateTime.now(clock).minusHours(2));
+
+        metricsService.actualizar();
+
+        assertThat(meterRegistry.get(SolicitudVerificacionMetricsService.PENDIENTES_GAUGE).gauge().value()).isEqualTo(7.0);
+        assertThat(meterRegistry.get(SolicitudVerificacionMetricsService.ANTIGUEDAD_GAUGE).gauge().value()).isEqualTo(7200.0);
+    }
+
+    @Test
+    @DisplayName("Cola vacía → antigüedad 0")
+    void actualizar_ColaVacia() {
+        when(solicitudVerifRepository.countByEstadoSolicitud(EstadoSolicitud.PENDIENTE)).thenReturn(0L);
+        when(solicitudVerifRepository.findFechaMasAntigua(EstadoSolicitud.PENDIENTE)).thenReturn(null);
+
+        metricsService.actualizar();
+
+        assertThat(meterRegistry.get(SolicitudVerificacionMetricsService.PENDIENTES_GAUGE).gauge().value()).isZero();
+        assertThat(meterRegistry.get(SolicitudVerificacionMetricsService.ANTIGUEDAD_GAUGE).gauge().value()).isZero();
+    }
+}
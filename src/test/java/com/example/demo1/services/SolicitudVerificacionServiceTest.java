@@ -0,0 +1,134 @@
+package com.example.demo1.services;
+
+import com.example.demo1.config.PaginationConfiguration;
+import com.example.demo1.models.dtos.SolicitudVerificacion.DecisionSolicitudDTO;
+import com.example.demo1.models.dtos.SolicitudVerificacion.ResultadoModeracionDTO;
+import com.example.demo1.models.entidades.SolicitudVerificacion;
+import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.models.enums.EstadoSolicitud;
+import com.example.demo1.models.enums.RoleName;
+import com.example.demo1.repositories.ISolucitudVerifRepository;
+import com.example.demo1.repositories.IUserRepository;
+import com.example.demo1.security.TokenVersionCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SolicitudVerificacionServiceTest {
+
+    @Mock
+    private ISolucitudVerifRepository solicitudVerifRepository;
+
+    @Mock
+    private IUserRepository userRepository;
+
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+
+    @Mock
+    private UserCacheService userCacheService;
+
+    private SolicitudVerificacionService solicitudVerificacionService;
+
+    private SolicitudVerificacion artista;
+    private SolicitudVerificacion empresa;
+    private SolicitudVerificacion yaResuelta;
+
+    @BeforeEach
+    void setUp() {
+        solicitudVerificacionService = new SolicitudVerificacionService(solicitudVerifRepository, userRepository,
+                new RoleService(), tokenVersionCache, userCacheService, new PaginationConfiguration());
+
+        artista = solicitud(1L, usuario(10L, RoleName.USER), RoleName.ARTIST, EstadoSolicitud.PENDIENTE);
+        empresa = solicitud(2L, usuario(20L, RoleName.USER), RoleName.ENTERPRISE, EstadoSolicitud.PENDIENTE);
+        yaResuelta = solicitud(3L, usuario(30L, RoleName.USER), RoleName.ARTIST, EstadoSolicitud.ACEPTADO);
+    }
+
+    @Test
+    @DisplayName("moderarSolicitudes(...) → dos consultas, un flush y un resultado por solicitud sin abortar el lote")
+    void moderarSolicitudes_ResultadoPorElemento() {
+        when(solicitudVerifRepository.findByIdSolicitudIn(anyCollection())).thenReturn(List.of(artista, empresa, yaResuelta));
+        when(solicitudVerifRepository.findByUserInAndEstadoSolicitud(anyCollection(), eq(EstadoSolicitud.PENDIENTE)))
+                .thenReturn(List.of(artista, empresa));
+
+        List<ResultadoModeracionDTO> resultados = solicitudVerificacionService.moderarSolicitudes(List.of(
+                decision(1L, EstadoSolicitud.ACEPTADO, null),
+                decision(2L, EstadoSolicitud.RECHAZADO, "  Falta portafolio "),
+                decision(3L, EstadoSolicitud.ACEPTADO, null),
+                decision(99L, EstadoSolicitud.ACEPTADO, null),
+                decision(1L, EstadoSolicitud.RECHAZADO, "Repetida")));
+
+        assertThat(resultados).extracting(ResultadoModeracionDTO::getIdSolicitud, ResultadoModeracionDTO::isProcesada,
+                ResultadoModeracionDTO::getEstadoSolicitud).containsExactly(
+                tuple(1L, true, EstadoSolicitud.ACEPTADO),
+                tuple(2L, true, EstadoSolicitud.RECHAZADO),
+                tuple(3L, false, EstadoSolicitud.ACEPTADO),
+                tuple(99L, false, null),
+                tuple(1L, false, EstadoSolicitud.ACEPTADO));
+        assertThat(artista.getUser().getTypeUser()).isEqualTo(RoleName.ARTIST);
+        assertThat(artista.getUser().isVerified()).isTrue();
+        assertThat(empresa.getUser().getTypeUser()).isEqualTo(RoleName.USER);
+        assertThat(empresa.getObservacionesAdmin()).isEqualTo("Falta portafolio");
+
+        verify(solicitudVerifRepository).flush();
+        verify(solicitudVerifRepository, never()).save(any());
+        verifyNoInteractions(userRepository);
+        verify(tokenVersionCache).revoke(artista.getUser());
+        verifyNoMoreInteractions(tokenVersionCache);
+    }
+
+    @Test
+    @DisplayName("Aprobación con otra solicitud pendiente del mismo usuario → se rechaza solo ese elemento")
+    void moderarSolicitudes_OtraPendiente() {
+        SolicitudVerificacion otra = solicitud(4L, artista.getUser(), RoleName.ENTERPRISE, EstadoSolicitud.PENDIENTE);
+        when(solicitudVerifRepository.findByIdSolicitudIn(anyCollection())).thenReturn(List.of(artista, otra));
+        when(solicitudVerifRepository.findByUserInAndEstadoSolicitud(anyCollection(), eq(EstadoSolicitud.PENDIENTE)))
+                .thenReturn(List.of(artista, otra));
+
+        List<ResultadoModeracionDTO> resultados = solicitudVerificacionService.moderarSolicitudes(List.of(
+                decision(1L, EstadoSolicitud.ACEPTADO, null),
+                decision(4L, EstadoSolicitud.RECHAZADO, "Duplicada"),
+                decision(1L, EstadoSolicitud.ACEPTADO, null)));
+
+        assertThat(resultados.get(0).isProcesada()).isFalse();
+        assertThat(resultados.get(0).getMensaje()).isEqualTo("El usuario tiene otras solicitudes pendientes");
+        assertThat(resultados.get(1).isProcesada()).isTrue();
+        assertThat(artista.getEstadoSolicitud()).isEqualTo(EstadoSolicitud.PENDIENTE);
+    }
+
+    private static DecisionSolicitudDTO decision(Long id, EstadoSolicitud estado, String observacion) {
+        DecisionSolicitudDTO decision = new DecisionSolicitudDTO();
+        decision.setIdSolicitud(id);
+        decision.setNuevoEstado(estado);
+        decision.setObservacionAdmin(observacion);
+        return decision;
+    }
+
+    private static UserModel usuario(Long id, RoleName rol) {
+        UserModel usuario = new UserModel();
+        usuario.setId_user(id);
+        usuario.setUsername("usuario" + id);
+        usuario.setTypeUser(rol);
+        return usuario;
+    }
+
+    private static SolicitudVerificacion solicitud(Long id, UserModel usuario, RoleName rol, EstadoSolicitud estado) {
+        SolicitudVerificacion solicitud = new SolicitudVerificacion();
+        solicitud.setIdSolicitud(id);
+        solicitud.setUser(usuario);
+        solicitud.setRolSolicitado(rol);
+        solicitud.setEstadoSolicitud(estado);
+        return solicitud;
+    }
+}
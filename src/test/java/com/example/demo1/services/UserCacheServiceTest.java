@@ -0,0 +1,114 @@
+package com.example.demo1.services;
+
+import com.example.demo1.config.UserCacheConfiguration;
+import com.example.demo1.models.entidades.UserModel;
+import com.example.demo1.repositories.IUserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheServiceTest {
+
+    @Mock
+    private IUserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private UserCacheService userCacheService;
+
+    private UserModel user;
+
+    @BeforeEach
+    void setUp() {
+        UserCacheConfiguration configuration = new UserCacheConfiguration();
+        ReflectionTestUtils.setField(configuration, "maxSize", 100L);
+        ReflectionTestUtils.setField(configuration, "ttlSeconds", 60L);
+        meterRegistry = new SimpleMeterRegistry();
+        userCacheService = new UserCacheService(userRepository, configuration, meterRegistry);
+
+        user = new UserModel();
+        user.setId_user(1L);
+        user.setUuid(UUID.randomUUID());
+        user.setUsername("ana");
+        user.setEmail("ana@example.com");
+    }
+
+    @Test
+    @DisplayName("Segunda búsqueda por UUID, username o email → no consulta la base de datos")
+    void findBy_SegundaConsulta_UsaCache() {
+        when(userRepository.findByUuid(user.getUuid())).thenReturn(Optional.of(user));
+
+        assertThat(userCacheService.findByUuid(user.getUuid())).contains(user);
+        assertThat(userCacheService.findByUuid(user.getUuid())).contains(user);
+        assertThat(userCacheService.findByUsername("ana")).contains(user);
+        assertThat(userCacheService.findByEmail("ana@example.com")).contains(user);
+
+        verify(userRepository, times(1)).findByUuid(user.getUuid());
+        verifyNoMoreInteractions(userRepository);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "usuarios.uuid").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Usuario inexistente → no se guarda en caché")
+    void findByUuid_NoExiste_NoCachea() {
+        UUID uuid = UUID.randomUUID();
+        when(userRepository.findByUuid(uuid)).thenReturn(Optional.empty());
+
+        assertThat(userCacheService.findByUuid(uuid)).isEmpty();
+        assertThat(userCacheService.findByUuid(uuid)).isEmpty();
+
+        verify(userRepository, times(2)).findByUuid(uuid);
+    }
+
+    @Test
+    @DisplayName("invalidar(...) → las tres claves vuelven a la base de datos")
+    void invalidar_EliminaTodasLasClaves() {
+        when(userRepository.findByUuid(user.getUuid())).thenReturn(Optional.of(user));
+        userCacheService.findByUuid(user.getUuid());
+
+        userCacheService.invalidar(user);
+
+        UserModel renombrado = new UserModel();
+        renombrado.setUuid(user.getUuid());
+        renombrado.setUsername("ana_v2");
+        renombrado.setEmail("ana@example.com");
+        when(userRepository.findByUsername("ana")).thenReturn(Optional.empty());
+        when(userRepository.findByEmail("ana@example.com")).thenReturn(Optional.of(renombrado));
+
+        assertThat(userCacheService.findByUsername("ana")).isEmpty();
+        assertThat(userCacheService.findByEmail("ana@example.com")).contains(renombrado);
+        verify(userRepository).findByUsername("ana");
+        verify(userRepository).findByEmail("ana@example.com");
+    }
+
+    @Test
+    @DisplayName("Cambios en la entidad gestionada no modifican la copia en caché")
+    void findByUuid_DevuelveCopiaDesasociada() {
+        when(userRepository.findByUuid(user.getUuid())).thenReturn(Optional.of(user));
+        userCacheService.findByUuid(user.getUuid());
+
+        user.setUsername("modificado");
+
+        assertThat(userCacheService.findByUuid(user.getUuid()))
+                .get()
+                .extracting(UserModel::getUsername)
+                .isEqualTo("ana");
+        assertThat(meterRegistry.find("cache.evictions").functionCounters())
+                .extracting(FunctionCounter::count)
+                .containsOnly(0.0);
+    }
+}
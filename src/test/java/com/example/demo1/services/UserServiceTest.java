@@ -7,16 +7,21 @@ import com.example.demo1.models.dtos.UserModel.UserResponseDTO;
 import com.example.demo1.models.entidades.UserModel;
 import com.example.demo1.models.enums.RoleName;
 import com.example.demo1.repositories.IUserRepository;
+import com.example.demo1.security.TokenVersionCache;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
+import org.hibernate.exception.ConstraintViolationException;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.*;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -35,6 +40,18 @@ class UserServiceTest {
     @Mock
     private RoleService roleService;
 
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+
+    @Mock
+    private UserCacheService userCacheService;
+
+    @Mock
+    private MediaStorageService mediaStorageService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @InjectMocks
     private UserService userService;
 
@@ -73,6 +90,11 @@ class UserServiceTest {
         }
     }
 
+    private static DataIntegrityViolationException duplicado(String restriccion) {
+        return new DataIntegrityViolationException("Duplicate entry",
+                new ConstraintViolationException("Duplicate entry", new SQLException("Duplicate entry"), restriccion));
+    }
+
     private static void deleteRecursively(Path path) throws IOException {
         if (Files.notExists(path)) return;
         if (Files.isDirectory(path)) {
@@ -93,42 +115,59 @@ class UserServiceTest {
     class CreateUserTests {
 
         @Test
-        @DisplayName("Cuando existe un usuario con el mismo email, lanza IllegalStateException")
+        @DisplayName("Cuando el alta infringe la restricción única del email, lanza IllegalStateException sin consultas previas")
         void createUser_EmailExistente_LanzaError() {
             CreateUserDTO dto = new CreateUserDTO();
             dto.setEmail("a@ejemplo.com");
             dto.setUsername("usuario1");
 
-            when(userRepository.existsByEmail("a@ejemplo.com")).thenReturn(true);
+            UserModel entidad = new UserModel();
+            when(userMapper.toEntity(dto)).thenReturn(entidad);
+            when(userRepository.save(entidad)).thenThrow(duplicado("USER.UK_USER_EMAIL"));
 
             assertThatThrownBy(() -> userService.createUser(dto))
                     .isInstanceOf(IllegalStateException.class)
                     .hasMessage("Ya existe un usuario con este correo.");
 
-            verify(userRepository, times(1)).existsByEmail("a@ejemplo.com");
+            verify(userRepository, never()).existsByEmail(anyString());
             verify(userRepository, never()).existsByUsername(anyString());
-            verify(userRepository, never()).save(any());
-            verify(roleService, never()).asignarRolInicial(any());
         }
 
         @Test
-        @DisplayName("Cuando existe un usuario con el mismo username, lanza IllegalStateException")
+        @DisplayName("Cuando el alta infringe la restricción única del username, lanza IllegalStateException sin consultas previas")
         void createUser_UsernameExistente_LanzaError() {
             CreateUserDTO dto = new CreateUserDTO();
             dto.setEmail("nuevo@ejemplo.com");
             dto.setUsername("userExistente");
 
+            UserModel entidad = new UserModel();
+            when(userMapper.toEntity(dto)).thenReturn(entidad);
+            when(userRepository.save(entidad)).thenThrow(duplicado("uk_user_username"));
+
+            assertThatThrownBy(() -> userService.createUser(dto))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("Ya existe un usuario con este nombre de usuario.");
+
+            verify(userRepository, never()).existsByEmail(anyString());
+            verify(userRepository, never()).existsByUsername(anyString());
+        }
+
+        @Test
+        @DisplayName("Restricción sin nombre conocido → consulta qué valor existe para elegir el mensaje")
+        void createUser_RestriccionDesconocida_ConsultaDuplicado() {
+            CreateUserDTO dto = new CreateUserDTO();
+            dto.setEmail("nuevo@ejemplo.com");
+            dto.setUsername("userExistente");
+
+            UserModel entidad = new UserModel();
+            when(userMapper.toEntity(dto)).thenReturn(entidad);
+            when(userRepository.save(entidad)).thenThrow(duplicado("UK_OB8KQYQQGMEFL0ACO34AKDTPE"));
             when(userRepository.existsByEmail("nuevo@ejemplo.com")).thenReturn(false);
             when(userRepository.existsByUsername("userExistente")).thenReturn(true);
 
             assertThatThrownBy(() -> userService.createUser(dto))
                     .isInstanceOf(IllegalStateException.class)
                     .hasMessage("Ya existe un usuario con este nombre de usuario.");
-
-            verify(userRepository, times(1)).existsByEmail("nuevo@ejemplo.com");
-            verify(userRepository, times(1)).existsByUsername("userExistente");
-            verify(userRepository, never()).save(any());
-            verify(roleService, never()).asignarRolInicial(any());
         }
 
         @Test
@@ -140,9 +179,6 @@ class UserServiceTest {
             // Antes de llamar, el método createUser impone dto.setTypeUser(RoleName.USER)
             // Así que podemos simplemente verificar que userMapper.toEntity recibe un CreateUserDTO cuyo typeUser sea USER.
 
-            when(userRepository.existsByEmail("ok@ejemplo.com")).thenReturn(false);
-            when(userRepository.existsByUsername("usuarioOK")).thenReturn(false);
-
             // Simulamos mapper → entidad
             UserModel entidadSinId = new UserModel();
             entidadSinId.setEmail("ok@ejemplo.com");
@@ -187,8 +223,8 @@ class UserServiceTest {
             assertThat(resultado.getEmail()).isEqualTo("ok@ejemplo.com");
             assertThat(resultado.getUsername()).isEqualTo("usuarioOK");
 
-            verify(userRepository, times(1)).existsByEmail("ok@ejemplo.com");
-            verify(userRepository, times(1)).existsByUsername("usuarioOK");
+            verify(userRepository, never()).existsByEmail(anyString());
+            verify(userRepository, never()).existsByUsername(anyString());
             verify(userMapper, times(1)).toEntity(any(CreateUserDTO.class));
             verify(roleService, times(1)).asignarRolInicial(entidadSinId);
             verify(userRepository, times(1)).save(entidadSinId);
@@ -207,13 +243,13 @@ class UserServiceTest {
         @DisplayName("getByUuid: usuario no encontrado → IllegalStateException")
         void getByUuid_NoExiste_LanzaError() {
             UUID buscado = UUID.randomUUID();
-            when(userRepository.findByUuid(buscado)).thenReturn(Optional.empty());
+            when(userCacheService.findByUuid(buscado)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> userService.getByUuid(buscado))
                     .isInstanceOf(IllegalStateException.class)
                     .hasMessage("Usuario no encontrado con UUID: " + buscado);
 
-            verify(userRepository, times(1)).findByUuid(buscado);
+            verify(userCacheService, times(1)).findByUuid(buscado);
         }
 
         @Test
@@ -223,25 +259,25 @@ class UserServiceTest {
             UserModel m = new UserModel();
             m.setUuid(buscado);
             m.setUsername("pepito");
-            when(userRepository.findByUuid(buscado)).thenReturn(Optional.of(m));
+            when(userCacheService.findByUuid(buscado)).thenReturn(Optional.of(m));
 
             UserModel result = userService.getByUuid(buscado);
 
             assertThat(result).isEqualTo(m);
-            verify(userRepository, times(1)).findByUuid(buscado);
+            verify(userCacheService, times(1)).findByUuid(buscado);
         }
 
         @Test
         @DisplayName("findByUuid: usuario no encontrado → IllegalStateException")
         void findByUuid_NoExiste_LanzaError() {
             UUID buscado = UUID.randomUUID();
-            when(userRepository.findByUuid(buscado)).thenReturn(Optional.empty());
+            when(userCacheService.findByUuid(buscado)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> userService.findByUuid(buscado))
                     .isInstanceOf(IllegalStateException.class)
                     .hasMessage("No existe el usuario con el UUID: " + buscado);
 
-            verify(userRepository, times(1)).findByUuid(buscado);
+            verify(userCacheService, times(1)).findByUuid(buscado);
         }
 
         @Test
@@ -252,7 +288,7 @@ class UserServiceTest {
             m.setUuid(buscado);
             m.setEmail("xyz@ejemplo.com");
             m.setUsername("pepito");
-            when(userRepository.findByUuid(buscado)).thenReturn(Optional.of(m));
+            when(userCacheService.findByUuid(buscado)).thenReturn(Optional.of(m));
 
             UserResponseDTO dto = new UserResponseDTO();
             dto.setId_user(10L);
@@ -263,7 +299,7 @@ class UserServiceTest {
             UserResponseDTO resultado = userService.findByUuid(buscado);
 
             assertThat(resultado).isEqualTo(dto);
-            verify(userRepository, times(1)).findByUuid(buscado);
+            verify(userCacheService, times(1)).findByUuid(buscado);
             verify(userMapper, times(1)).toResponseDTO(m);
         }
     }
@@ -278,13 +314,13 @@ class UserServiceTest {
         @Test
         @DisplayName("Usuario no encontrado → IllegalStateException")
         void findByUsername_NoExiste_LanzaError() {
-            when(userRepository.findByUsername("juan")).thenReturn(Optional.empty());
+            when(userCacheService.findByUsername("juan")).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> userService.findByUsername("juan"))
                     .isInstanceOf(IllegalStateException.class)
                     .hasMessage("No existe el usuario con el nombre de usuario: juan");
 
-            verify(userRepository, times(1)).findByUsername("juan");
+            verify(userCacheService, times(1)).findByUsername("juan");
         }
 
         @Test
@@ -294,7 +330,7 @@ class UserServiceTest {
             m.setId_user(7L);
             m.setUsername("juan");
             m.setEmail("juan@ejemplo.com");
-            when(userRepository.findByUsername("juan")).thenReturn(Optional.of(m));
+            when(userCacheService.findByUsername("juan")).thenReturn(Optional.of(m));
 
             UserResponseDTO dto = new UserResponseDTO();
             dto.setId_user(7L);
@@ -305,7 +341,7 @@ class UserServiceTest {
             UserResponseDTO resultado = userService.findByUsername("juan");
 
             assertThat(resultado).isEqualTo(dto);
-            verify(userRepository, times(1)).findByUsername("juan");
+            verify(userCacheService, times(1)).findByUsername("juan");
             verify(userMapper, times(1)).toResponseDTO(m);
         }
     }
@@ -599,83 +635,63 @@ class UserServiceTest {
     // ---------------------------------------------------------
     // 8) Pruebas para saveProfileImage(...)
     // ---------------------------------------------------------
-//    @Nested
-//    @DisplayName("saveProfileImage(...)")
-//    class SaveProfileImageTests {
-//
-//        @Test
-//        @DisplayName("Cuando el usuario no existe, lanza RuntimeException")
-//        void saveProfileImage_NoExisteUsuario_LanzaError() {
-//            String uuidStr = UUID.randomUUID().toString();
-//            when(userRepository.findByUuid(UUID.fromString(uuidStr))).thenReturn(Optional.empty());
-//
-//            MockMultipartFile file = new MockMultipartFile(
-//                    "file",
-//                    "imagen.jpg",
-//                    "image/jpeg",
-//                    "contenidoImagen".getBytes()
-//            );
-//
-//            assertThatThrownBy(() -> userService.saveProfileImage(uuidStr, file))
-//                    .isInstanceOf(RuntimeException.class)
-//                    .hasMessage("Usuario no encontrado");
-//
-//            verify(userRepository, times(1)).findByUuid(UUID.fromString(uuidStr));
-//            verify(userRepository, never()).save(any());
-//        }
-//
-//        @Test
-//        @DisplayName("Guarda exitosamente la imagen y retorna la URL esperada")
-//        void saveProfileImage_UsuarioExiste_GuardaYRetornaURL() throws IOException {
-//            // 1) Preparamos usuario en repo
-//            UUID uuidUsuario = UUID.randomUUID();
-//            UserModel m = new UserModel();
-//            m.setUuid(uuidUsuario);
-//            m.setEmail("u@ejemplo.com");
-//            m.setUsername("u");
-//            // El campo photoProfile se llenará después
-//            when(userRepository.findByUuid(uuidUsuario)).thenReturn(Optional.of(m));
-//
-//            // 2) Creamos un MockMultipartFile
-//            byte[] contenido = "datos-de-prueba".getBytes();
-//            MockMultipartFile file = new MockMultipartFile(
-//                    "file",
-//                    "foto.png",
-//                    "image/png",
-//                    contenido
-//            );
-//
-//            // 3) Llamamos al método
-//            String resultadoUrl = userService.saveProfileImage(uuidUsuario.toString(), file);
-//
-//            // 4) Verificaciones
-//            // 4.1 El archivo debe haberse copiado en tempDir/upload-photo/
-//            Path carpetaUpload = tempDir.resolve("upload-photo");
-//            try (DirectoryStream<Path> ds = Files.newDirectoryStream(carpetaUpload)) {
-//                // Debe haber exactamente un archivo cuyo nombre contenga el original "foto.png"
-//                List<Path> encontrados = new ArrayList<>();
-//                for (Path p : ds) {
-//                    encontrados.add(p);
-//                }
-//                assertThat(encontrados).hasSize(1);
-//                String nombreGuardado = encontrados.get(0).getFileName().toString();
-//                assertThat(nombreGuardado)
-//                        .endsWith("_foto.png");
-//                // Verificamos que el contenido del archivo sea el mismo que enviamos
-//                byte[] leido = Files.readAllBytes(carpetaUpload.resolve(nombreGuardado));
-//                assertThat(leido).isEqualTo(contenido);
-//
-//                // 4.2 La URL devuelta debe tener la forma "http://tuservidor.com/upload-photo/<uuid>_foto.png"
-//                assertThat(resultadoUrl).contains("http://tuservidor.com/upload-photo/");
-//                assertThat(resultadoUrl).endsWith("/" + nombreGuardado);
-//
-//                // 4.3 El usuario debe haber sido guardado con el campo photoProfile actualizado
-//                //    Dado que el servicio llama a userRepository.save(m), verificamos esa llamada:
-//                ArgumentCaptor<UserModel> captor = ArgumentCaptor.forClass(UserModel.class);
-//                verify(userRepository, times(1)).save(captor.capture());
-//                UserModel guardadoUsuario = captor.getValue();
-//                assertThat(guardadoUsuario.getPhotoProfile()).isEqualTo(resultadoUrl);
-//            }
-//        }
-//    }
+    @Nested
+    @DisplayName("saveProfileImage(...)")
+    class SaveProfileImageTests {
+
+        private final MockMultipartFile file = new MockMultipartFile(
+                "file", "foto.png", "image/png", "datos-de-prueba".getBytes());
+
+        @Test
+        @DisplayName("Cuando el usuario no existe, lanza IllegalStateException sin escribir el archivo")
+        void saveProfileImage_NoExisteUsuario_LanzaError() {
+            String uuidStr = UUID.randomUUID().toString();
+            when(userRepository.findByUuid(UUID.fromString(uuidStr))).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> userService.saveProfileImage(uuidStr, file))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("Usuario no encontrado");
+
+            verifyNoInteractions(mediaStorageService);
+            verify(userRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Guarda la imagen antes de actualizar el usuario y retorna la URL")
+        void saveProfileImage_UsuarioExiste_GuardaYRetornaURL() {
+            UUID uuidUsuario = UUID.randomUUID();
+            UserModel m = new UserModel();
+            m.setUuid(uuidUsuario);
+            when(userRepository.findByUuid(uuidUsuario)).thenReturn(Optional.of(m));
+            when(mediaStorageService.guardar(file)).thenReturn(new MediaStorageService.MediaGuardada(
+                    "abc.png", "/upload-photo/abc.png", "/upload-photo/thumbs/abc.jpg"));
+            when(userRepository.actualizarFotoPerfil(uuidUsuario, "/upload-photo/abc.png")).thenReturn(1);
+
+            String resultadoUrl = userService.saveProfileImage(uuidUsuario.toString(), file);
+
+            assertThat(resultadoUrl).isEqualTo("/upload-photo/abc.png");
+            InOrder orden = inOrder(mediaStorageService, userRepository, userCacheService);
+            orden.verify(mediaStorageService).guardar(file);
+            orden.verify(userRepository).actualizarFotoPerfil(uuidUsuario, resultadoUrl);
+            orden.verify(userCacheService).invalidar(m);
+            verify(userRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Si falla la escritura del archivo, no actualiza el usuario")
+        void saveProfileImage_FallaEscritura_NoActualiza() {
+            UUID uuidUsuario = UUID.randomUUID();
+            UserModel m = new UserModel();
+            m.setUuid(uuidUsuario);
+            when(userRepository.findByUuid(uuidUsuario)).thenReturn(Optional.of(m));
+            when(mediaStorageService.guardar(file)).thenThrow(
+                    new UncheckedIOException("Error al guardar la imagen", new IOException("disco lleno")));
+
+            assertThatThrownBy(() -> userService.saveProfileImage(uuidUsuario.toString(), file))
+                    .isInstanceOf(UncheckedIOException.class);
+
+            verify(userRepository, never()).actualizarFotoPerfil(any(), any());
+            assertThat(m.getPhotoProfile()).isNull();
+        }
+    }
 }